@@ -56,6 +56,7 @@ javafx {
 }
 
 dependencies {
+    implementation(project(":tetris-core"))
     implementation("org.apache.groovy:groovy:4.0.21")
     testImplementation("org.junit.jupiter:junit-jupiter-api:${junitVersion}")
     testImplementation("org.junit.jupiter:junit-jupiter-params:${junitVersion}")
@@ -126,6 +127,14 @@ tasks.jacocoTestCoverageVerification {
     }
 }
 
+// 나쁜 네트워크 시나리오 벤치마크: gradle netBench --args="--scenario all --seed 1"
+tasks.register<JavaExec>("netBench") {
+    group = "verification"
+    description = "Runs in-game sync through an impaired loopback proxy and reports latency, staleness and desync"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("org.example.service.NetworkScenarioBench")
+}
+
 // 테스트 검증을 빌드 프로세스에서 제외 (개발 중에는 선택적으로 실행)
 // tasks.check {
 //     dependsOn(tasks.jacocoTestCoverageVerification)
@@ -1,2 +1,4 @@
-
 rootProject.name = "se-tetris-team12"
+
+// JavaFX 없이 동작하는 게임 엔진/네트워크 코덱 모듈 (서버, 봇, 벤치마크, 빠른 테스트용)
+include("tetris-core")
@@ -19,6 +19,8 @@ public abstract class BaseController {
     protected static SettingManager settingManager;
 
     protected Scene scene;
+    // 마지막 키 입력이 Scene에 도착한 시각 (System.nanoTime, 입력 지연 측정용)
+    protected long lastKeyEventNanos;
 
     public static void Initialize(Stage primaryStage, SettingManager settingManager) {
         BaseController.primaryStage = primaryStage;
@@ -42,7 +44,10 @@ public abstract class BaseController {
 
         scene = new Scene(root, width, height);
         scene.setFill(ColorManager.getInstance().getCanvasBackgroundColor());
-        scene.setOnKeyPressed(event -> handleKeyInput(event));
+        scene.setOnKeyPressed(event -> {
+            lastKeyEventNanos = System.nanoTime();
+            handleKeyInput(event);
+        });
 
         // CSS 스타일시트 로드
         String css = App.class.getResource("/styles/tetris.css").toExternalForm();
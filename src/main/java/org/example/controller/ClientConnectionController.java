@@ -14,6 +14,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -110,7 +111,15 @@ public class ClientConnectionController extends BaseController {
 
     private void startConnection(String ipAddress) {
         connectionThread = Thread.startVirtualThread(() -> {
-            Socket socket = new Socket();
+            Socket socket;
+            try {
+                socket = SocketChannel.open().socket(); // 연결 루프(Selector)에서 쓰도록 채널 기반 소켓
+            } catch (IOException e) {
+                System.err.println("Exception: " + e.getClass().getName() + " - " + e.getMessage());
+                Platform.runLater(() -> view.setTitleText(MSG_CONNECTION_FAILED));
+                isConnecting.set(false);
+                return;
+            }
             try {
                 socket.connect(new InetSocketAddress(ipAddress, 54673), 3000);
                 
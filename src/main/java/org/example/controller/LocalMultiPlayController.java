@@ -5,16 +5,18 @@ import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.io.IOException;
 
 import org.example.model.AdderBoard;
 import org.example.model.GameMode;
 import org.example.model.KeyData;
-import org.example.service.ItemTetrisSystem;
-import org.example.service.SuperRotationSystem;
+import org.example.service.InputLatencyTracker;
+import org.example.service.InputLatencyTracker.Action;
+import org.example.service.MatchEngine;
+import org.example.service.PlayerInputQueue;
+import org.example.service.PlayerSession;
 import org.example.service.TetrisSystem;
-import org.example.service.TimeTetrisSystem;
+import org.example.service.TetrisUtil;
 import org.example.view.LocalMultiPlayView;
 
 /**
@@ -23,22 +25,21 @@ import org.example.view.LocalMultiPlayView;
  */
 public class LocalMultiPlayController extends BaseController {
 
+    private static final int PLAYER_COUNT = 2; // 화면과 키 설정이 2인 기준
+
     private LocalMultiPlayView localMultiPlayView;
-    private TetrisSystem player1System;
-    private TetrisSystem player2System;
+    private final MatchEngine engine;
     private AnimationTimer gameTimer;
 
-    private long lastDropTime1;
-    private long lastDropTime2;
-    private long lastKeyProcessTime;
-    
-    // AdderBoard for each player
-    private AdderBoard player1AdderBoard;
-    private AdderBoard player2AdderBoard;
+    // 키 입력: 플레이어별 타임스탬프 이벤트 큐 (매 틱마다 도착 순서대로 처리)
+    private static final long REPEAT_INTERVAL_NANOS = 50_000_000L; // 이동 키 자동 반복 간격 (50ms)
+    private final PlayerInputQueue[] inputs = new PlayerInputQueue[PLAYER_COUNT];
+    private boolean pauseRequested;
     
-    // 키 입력 (Player 1, Player 2 공통)
-    private final Set<KeyCode> pressedKeys = new HashSet<>();
-    private final Set<KeyCode> justPressedKeys = new HashSet<>();
+    // 입력 지연 측정 (-Dtetris.debug.latency=true 일 때 오버레이 표시 및 CSV 내보내기)
+    private final InputLatencyTracker[] latencyTrackers = new InputLatencyTracker[PLAYER_COUNT];
+    private final boolean latencyDebug = InputLatencyTracker.isDebugEnabled();
+    private long lastOverlayUpdateTime;
     
     // 게임 모드 정보
     private final GameMode gameMode;
@@ -48,62 +49,14 @@ public class LocalMultiPlayController extends BaseController {
         this.gameMode = gameMode;
         this.difficulty = difficulty;
         
-        // Player 1 시스템 초기화
-        if (gameMode == GameMode.ITEM) {
-            player1System = new ItemTetrisSystem();
-        } else if (gameMode == GameMode.TIME_ATTACK) {
-            player1System = new TimeTetrisSystem();
-        } else {
-            player1System = new TetrisSystem();
-        }
-        player1System.setDifficulty(difficulty);
-        
-        // Player 2 시스템 초기화
-        if (gameMode == GameMode.ITEM) {
-            player2System = new ItemTetrisSystem();
-        } else if (gameMode == GameMode.TIME_ATTACK) {
-            player2System = new TimeTetrisSystem();
-        } else {
-            player2System = new TetrisSystem();
+        // 플레이어 세션 생성 (공격 라인은 엔진이 상대 AdderBoard로 전달)
+        this.engine = new MatchEngine(gameMode, difficulty, PLAYER_COUNT);
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            inputs[i] = new PlayerInputQueue();
+            latencyTrackers[i] = new InputLatencyTracker();
         }
-        player2System.setDifficulty(difficulty);
 
         this.localMultiPlayView = new LocalMultiPlayView();
-        this.lastDropTime1 = System.currentTimeMillis();
-        this.lastDropTime2 = System.currentTimeMillis();
-        
-        // AdderBoard 초기화
-        this.player1AdderBoard = new AdderBoard();
-        this.player2AdderBoard = new AdderBoard();
-        
-        // lockPiece 후 콜백 설정: 2줄 이상 완성 시 상대방 AdderBoard에 추가
-        player1System.setOnPieceLocked(() -> {
-            // Player 1이 2줄 이상 완성한 경우에만 Player 2의 AdderBoard에 추가
-            // previousSnapshot 사용 (이전 턴의 보드 상태, 빈 칸 있는 상태)
-            var completedLines = player1System.getCompletedLineIndices();
-            if (completedLines.size() >= 2 && player1System.getPreviousSnapshot() != null) {
-                int[][] lines = player1System.getPreviousSnapshot().getLines(completedLines);
-                player2AdderBoard.addLines(lines);
-            }
-            // Player 1의 AdderBoard 라인을 게임보드에 적용
-            if (player1AdderBoard.getLineCount() > 0) {
-                player1AdderBoard.applyToBoard(player1System.getBoard());
-            }
-        });
-
-        player2System.setOnPieceLocked(() -> {
-            // Player 2가 2줄 이상 완성한 경우에만 Player 1의 AdderBoard에 추가
-            // previousSnapshot 사용 (이전 턴의 보드 상태, 빈 칸 있는 상태)
-            var completedLines = player2System.getCompletedLineIndices();
-            if (completedLines.size() >= 2 && player2System.getPreviousSnapshot() != null) {
-                int[][] lines = player2System.getPreviousSnapshot().getLines(completedLines);
-                player1AdderBoard.addLines(lines);
-            }
-            // Player 2의 AdderBoard 라인을 게임보드에 적용
-            if (player2AdderBoard.getLineCount() > 0) {
-                player2AdderBoard.applyToBoard(player2System.getBoard());
-            }
-        });
 
         gameTimer = new AnimationTimer() {
             @Override
@@ -148,6 +101,10 @@ public class LocalMultiPlayController extends BaseController {
             localMultiPlayView.setShowTimer(true);
         }
 
+        localMultiPlayView.getPlayer1Canvas().setOnDrawn(latencyTrackers[0]::onFrameDrawn);
+        localMultiPlayView.getPlayer2Canvas().setOnDrawn(latencyTrackers[1]::onFrameDrawn);
+        localMultiPlayView.setLatencyOverlayVisible(latencyDebug);
+
         // 키 릴리즈 핸들 따로 추가
         scene.setOnKeyReleased(event -> handleKeyReleased(event.getCode()));
 
@@ -159,27 +116,19 @@ public class LocalMultiPlayController extends BaseController {
     protected void exit() {
         gameTimer.stop();
         // TIME_ATTACK 모드: 타이머 일시정지
-        if (player1System instanceof TimeTetrisSystem) {
-            ((TimeTetrisSystem) player1System).pauseTimer();
-        }
-        if (player2System instanceof TimeTetrisSystem) {
-            ((TimeTetrisSystem) player2System).pauseTimer();
-        }
+        engine.pauseTimers();
     }
 
     @Override
     protected void resume() {
         // 키 입력 상태 초기화
-        pressedKeys.clear();
-        justPressedKeys.clear();
+        for (PlayerInputQueue queue : inputs) {
+            queue.clear();
+        }
+        pauseRequested = false;
 
         // TIME_ATTACK 모드: 타이머 재개
-        if (player1System instanceof TimeTetrisSystem) {
-            ((TimeTetrisSystem) player1System).resumeTimer();
-        }
-        if (player2System instanceof TimeTetrisSystem) {
-            ((TimeTetrisSystem) player2System).resumeTimer();
-        }
+        engine.resumeTimers();
 
         // LocalMultiPlayView의 모든 UI 요소 크기 업데이트
         localMultiPlayView.onResume();
@@ -193,40 +142,28 @@ public class LocalMultiPlayController extends BaseController {
     public void update(double deltaTime) {
         long currentTime = System.currentTimeMillis();
         
-        // TIME_ATTACK 모드: 시간 체크 (두 플레이어 중 하나만 체크 - 동기화됨)
-        if (player1System instanceof TimeTetrisSystem) {
-            TimeTetrisSystem timeSystem = (TimeTetrisSystem) player1System;
-            if (timeSystem.isTimeUp()) {
-                handleTimeAttackEnd();
-                return;
-            }
+        // TIME_ATTACK 모드: 시간 체크 (모든 플레이어의 타이머는 동기화됨)
+        if (engine.isTimeUp()) {
+            handleTimeAttackEnd();
+            return;
         }
 
-        if (currentTime - lastKeyProcessTime >= 50) {
-            handleInputs();
-            justPressedKeys.clear();
-            lastKeyProcessTime = currentTime;
-        }
-        
-        // Player 1 업데이트
-        if (currentTime - lastDropTime1 >= player1System.getDropInterval()) {
-            player1System.update();
-            lastDropTime1 = currentTime;
-        }
-        
-        player1System.getBoard().processPendingClearsIfDue();
-        
-        // Player 2 업데이트
-        if (currentTime - lastDropTime2 >= player2System.getDropInterval()) {
-            player2System.update();
-            lastDropTime2 = currentTime;
+        if (handleInputs()) {
+            return;
         }
         
-        player2System.getBoard().processPendingClearsIfDue();
+        // 모든 플레이어의 중력 낙하 및 라인 삭제
+        engine.tick(currentTime);
 
         // 화면 업데이트
         updateDisplay();
 
+        if (latencyDebug && currentTime - lastOverlayUpdateTime >= 500) {
+            localMultiPlayView.updateLatencyOverlay(
+                    latencyTrackers[0].getSummary(), latencyTrackers[1].getSummary());
+            lastOverlayUpdateTime = currentTime;
+        }
+
         // 게임 오버 체크
         checkGameOver();
     }
@@ -235,51 +172,36 @@ public class LocalMultiPlayController extends BaseController {
      * 화면 업데이트
      */
     private void updateDisplay() {
-        // Player 1 화면 업데이트
-        var ghostPiece1 = player1System.getCurrentPiece() != null
-                ? SuperRotationSystem.hardDrop(player1System.getCurrentPiece(), player1System.getBoard())
-                : null;
-        
-        var holdPiece1 = player1System.getHoldPiece();
-        
-        var nextPiece1 = !player1System.getNextQueue().isEmpty() 
-                ? player1System.getNextQueue().get(0) 
-                : null;
+        // TIME_ATTACK 남은 시간은 Player 1 기준 (동기화됨)
+        long remainingTime = engine.getSession(0).getSystem().getRemainingTime();
 
+        PlayerSession session1 = engine.getSession(0);
+        TetrisSystem system1 = session1.getSystem();
         localMultiPlayView.updatePlayer1Display(
-                player1System.getBoard(),
-                player1System.getCurrentPiece(),
-                ghostPiece1,
-                holdPiece1,
-                nextPiece1,
-                player1AdderBoard,
-                player1System.getScore(),
-                player1System.getLines(),
-                player1System.getLevel(),
-                player1System.getRemainingTime());
-
-        // Player 2 화면 업데이트
-        var ghostPiece2 = player2System.getCurrentPiece() != null
-                ? SuperRotationSystem.hardDrop(player2System.getCurrentPiece(), player2System.getBoard())
-                : null;
-        
-        var holdPiece2 = player2System.getHoldPiece();
-        
-        var nextPiece2 = !player2System.getNextQueue().isEmpty() 
-                ? player2System.getNextQueue().get(0) 
-                : null;
-
+                system1.getBoard(),
+                system1.getCurrentPiece(),
+                session1.getGhostPiece(),
+                system1.getHoldPiece(),
+                session1.getNextPiece(),
+                session1.getAdderBoard(),
+                system1.getScore(),
+                system1.getLines(),
+                system1.getLevel(),
+                remainingTime);
+
+        PlayerSession session2 = engine.getSession(1);
+        TetrisSystem system2 = session2.getSystem();
         localMultiPlayView.updatePlayer2Display(
-                player2System.getBoard(),
-                player2System.getCurrentPiece(),
-                ghostPiece2,
-                holdPiece2,
-                nextPiece2,
-                player2AdderBoard,
-                player2System.getScore(),
-                player2System.getLines(),
-                player2System.getLevel(),
-                player1System.getRemainingTime());
+                system2.getBoard(),
+                system2.getCurrentPiece(),
+                session2.getGhostPiece(),
+                system2.getHoldPiece(),
+                session2.getNextPiece(),
+                session2.getAdderBoard(),
+                system2.getScore(),
+                system2.getLines(),
+                system2.getLevel(),
+                remainingTime);
     }
 
     @Override
@@ -289,86 +211,129 @@ public class LocalMultiPlayController extends BaseController {
 
     /**
      * 키 입력 처리 - 키가 눌렸을 때
+     * 도착 시각과 함께 해당 플레이어의 입력 큐에 넣고, 실제 처리는 다음 틱에서 합니다.
      */
     public void handleKeyPressed(KeyCode key) {
-        if (!pressedKeys.contains(key)) {
-            justPressedKeys.add(key);
+        long nanos = System.nanoTime();
+        KeyData data = settingManager.getCurrentSettings().controlData;
+
+        if (key == data.pause) {
+            pauseRequested = true;
+            return;
+        }
+        for (int player = 0; player < PLAYER_COUNT; player++) {
+            if (toAction(key, player, data) != null) {
+                inputs[player].pushPress(key, nanos);
+            }
         }
-        pressedKeys.add(key);
     }
 
     /**
      * 키 입력 처리 - 키가 떼어졌을 때
      */
     public void handleKeyReleased(KeyCode key) {
-        pressedKeys.remove(key);
+        long nanos = System.nanoTime();
+        for (PlayerInputQueue queue : inputs) {
+            queue.pushRelease(key, nanos);
+        }
     }
-    
+
     /**
-     * 입력에 따른 게임 로직 실행
+     * 큐에 쌓인 입력을 두 플레이어 통틀어 도착 순서대로 처리하고,
+     * 눌려 있는 이동 키의 자동 반복을 실행합니다.
+     *
+     * @return 일시정지로 전환되었으면 true
      */
-    private void handleInputs() {
-        if (player1System.isGameOver() && player2System.isGameOver())
-            return;
-
-        KeyData data = settingManager.getCurrentSettings().controlData;
-
-        // Pause 키는 한 번만 처리 (공유 키)
-        if (justPressedKeys.contains(data.pause)) {
+    private boolean handleInputs() {
+        if (pauseRequested) {
+            pauseRequested = false;
             handlePause();
-            return;
+            return true;
         }
 
-        // 한 번만 실행되는 입력
-        for (KeyCode key : justPressedKeys) {
-            // Player 1
-            if (!player1System.isGameOver()) {
-                if (key == data.multi1HardDrop) {
-                    player1System.hardDrop();
-                } else if (key == data.multi1RotateCounterClockwise) {
-                    player1System.rotateCounterClockwise();
-                } else if (key == data.multi1RotateClockwise) {
-                    player1System.rotateClockwise();
-                } else if (key == data.multi1Hold) {
-                    player1System.hold();
-                }
-            }
-            // Player 2
-            if (!player2System.isGameOver()) {
-                if (key == data.multi2HardDrop) {
-                    player2System.hardDrop();
-                } else if (key == data.multi2RotateCounterClockwise) {
-                    player2System.rotateCounterClockwise();
-                } else if (key == data.multi2RotateClockwise) {
-                    player2System.rotateClockwise();
-                } else if (key == data.multi2Hold) {
-                    player2System.hold();
-                }
+        if (engine.getAliveCount() == 0) {
+            for (PlayerInputQueue queue : inputs) {
+                queue.clear();
             }
+            return false;
         }
 
-        // 연속 실행되는 입력
-        for (KeyCode key : pressedKeys) {
-            // Player 1
-            if (!player1System.isGameOver()) {
-                if (key == data.multi1MoveLeft) {
-                    player1System.moveLeft();
-                } else if (key == data.multi1MoveRight) {
-                    player1System.moveRight();
-                } else if (key == data.multi1SoftDrop) {
-                    player1System.moveDown();
-                }
+        KeyData data = settingManager.getCurrentSettings().controlData;
+
+        PlayerInputQueue queue;
+        while ((queue = PlayerInputQueue.earliest(inputs)) != null) {
+            int player = indexOf(queue);
+            PlayerInputQueue.InputEvent event = queue.poll();
+            Action action = toAction(event.key(), player, data);
+            if (action == null) {
+                continue;
+            }
+            if (!event.pressed()) {
+                queue.stopRepeat(event.key());
+                continue;
             }
-            // Player 2
-            if (!player2System.isGameOver()) {
-                if (key == data.multi2MoveLeft) {
-                    player2System.moveLeft();
-                } else if (key == data.multi2MoveRight) {
-                    player2System.moveRight();
-                } else if (key == data.multi2SoftDrop) {
-                    player2System.moveDown();
-                }
+            // 이동 키는 누르는 즉시 한 번 실행하고 이후 일정 간격으로 반복
+            if (isRepeatable(action)) {
+                queue.startRepeat(event.key(), event.nanos() + REPEAT_INTERVAL_NANOS);
             }
+            executeAction(player, action, event.nanos());
+        }
+
+        long now = System.nanoTime();
+        for (int player = 0; player < PLAYER_COUNT; player++) {
+            int p = player;
+            inputs[p].forEachDueRepeat(now, REPEAT_INTERVAL_NANOS,
+                    key -> executeAction(p, toAction(key, p, data), 0L));
+        }
+        return false;
+    }
+
+    private int indexOf(PlayerInputQueue queue) {
+        for (int i = 0; i < inputs.length; i++) {
+            if (inputs[i] == queue) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 키를 플레이어별 액션으로 변환합니다.
+     *
+     * @param player 플레이어 인덱스 (0: Player 1, 1: Player 2)
+     * @return 해당 플레이어의 키가 아니면 null
+     */
+    private static Action toAction(KeyCode key, int player, KeyData data) {
+        if (player == 0) {
+            if (key == data.multi1MoveLeft) return Action.MOVE_LEFT;
+            if (key == data.multi1MoveRight) return Action.MOVE_RIGHT;
+            if (key == data.multi1SoftDrop) return Action.SOFT_DROP;
+            if (key == data.multi1HardDrop) return Action.HARD_DROP;
+            if (key == data.multi1RotateCounterClockwise) return Action.ROTATE_CCW;
+            if (key == data.multi1RotateClockwise) return Action.ROTATE_CW;
+            if (key == data.multi1Hold) return Action.HOLD;
+        } else {
+            if (key == data.multi2MoveLeft) return Action.MOVE_LEFT;
+            if (key == data.multi2MoveRight) return Action.MOVE_RIGHT;
+            if (key == data.multi2SoftDrop) return Action.SOFT_DROP;
+            if (key == data.multi2HardDrop) return Action.HARD_DROP;
+            if (key == data.multi2RotateCounterClockwise) return Action.ROTATE_CCW;
+            if (key == data.multi2RotateClockwise) return Action.ROTATE_CW;
+            if (key == data.multi2Hold) return Action.HOLD;
+        }
+        return null;
+    }
+
+    private static boolean isRepeatable(Action action) {
+        return action == Action.MOVE_LEFT || action == Action.MOVE_RIGHT || action == Action.SOFT_DROP;
+    }
+
+    /**
+     * 플레이어 세션에 액션을 실행하고, 상태가 바뀌면 지연 시간을 기록합니다.
+     *
+     * @param pressNanos 키 이벤트 도착 시각 (자동 반복은 0 - 측정 제외)
+     */
+    private void executeAction(int player, Action action, long pressNanos) {
+        if (action != null && engine.getSession(player).execute(action)) {
+            latencyTrackers[player].recordStateChange(action, pressNanos);
         }
     }
 
@@ -384,75 +349,82 @@ public class LocalMultiPlayController extends BaseController {
      */
     private void handleTimeAttackEnd() {
         gameTimer.stop();
+        exportLatency();
         
         // 점수 비교로 승자 결정
-        String winner;
-        int score1 = player1System.getScore();
-        int score2 = player2System.getScore();
-        
-        if (score1 > score2) {
-            winner = "Player 1";
-        } else if (score2 > score1) {
-            winner = "Player 2";
-        } else {
-            winner = "Draw";
-        }
-        
-        setState(new LocalMultiGameOverController(winner, gameMode, difficulty));
+        setState(new LocalMultiGameOverController(winnerName(engine.getLeaderIndex()), gameMode, difficulty));
     }
 
     /**
      * 게임 오버 체크 및 처리
      */
     private void checkGameOver() {
-        if (player1System.isGameOver() && player2System.isGameOver()) {
-            handleGameOver("Draw");
-        } else if (player1System.isGameOver()) {
-            handleGameOver("Player 2");
-        } else if (player2System.isGameOver()) {
-            handleGameOver("Player 1");
+        if (engine.isMatchOver()) {
+            handleGameOver(winnerName(engine.getSurvivorIndex()));
         }
     }
 
+    private static String winnerName(int playerIndex) {
+        return playerIndex < 0 ? "Draw" : "Player " + (playerIndex + 1);
+    }
+
     /**
      * 게임 오버 처리
      */
     private void handleGameOver(String winner) {
         gameTimer.stop();
+        exportLatency();
         // GameOver 화면으로 전환 (승자 표시)
         setState(new LocalMultiGameOverController(winner, gameMode, difficulty));
     }
 
+    /**
+     * 디버그 모드일 때 플레이어별 입력 지연 통계를 CSV로 내보냄
+     */
+    private void exportLatency() {
+        if (!latencyDebug) return;
+        try {
+            for (int i = 0; i < PLAYER_COUNT; i++) {
+                latencyTrackers[i].exportCsv(TetrisUtil.getAppDataPath() + "input_latency_p" + (i + 1) + ".csv");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to export input latency: " + e.getMessage());
+        }
+    }
+
     /**
      * 게임 로직 반환
      */
     public TetrisSystem getPlayer1System() {
-        return player1System;
+        return engine.getSession(0).getSystem();
     }
 
     public TetrisSystem getPlayer2System() {
-        return player2System;
+        return engine.getSession(1).getSystem();
+    }
+
+    public MatchEngine getEngine() {
+        return engine;
     }
 
     /**
      * lastDropTime 리셋
      */
     public void resetLastDropTime() {
-        this.lastDropTime1 = System.currentTimeMillis();
-        this.lastDropTime2 = System.currentTimeMillis();
+        engine.resetDropTimers(System.currentTimeMillis());
     }
     
     /**
      * Player 1의 AdderBoard 반환
      */
     public AdderBoard getPlayer1AdderBoard() {
-        return player1AdderBoard;
+        return engine.getSession(0).getAdderBoard();
     }
     
     /**
      * Player 2의 AdderBoard 반환
      */
     public AdderBoard getPlayer2AdderBoard() {
-        return player2AdderBoard;
+        return engine.getSession(1).getAdderBoard();
     }
 }
@@ -5,6 +5,8 @@ import javafx.scene.Scene;
 import javafx.scene.input.KeyEvent;
 
 import org.example.model.P2PGameResult;
+import org.example.service.ConnectionLoop;
+import org.example.service.P2PProtocol;
 import org.example.view.P2PGameOverView;
 
 import java.io.DataInputStream;
@@ -55,7 +57,8 @@ public class P2PGameOverController extends BaseController {
     private void startReceiveThread() {
         receiveThread = Thread.startVirtualThread(() -> {
             try {
-                Thread.sleep(100);
+                // 게임 중 연결 루프가 소켓을 블로킹 모드로 되돌릴 때까지 대기
+                ConnectionLoop.awaitRelease(gameResult.socket, ConnectionLoop.RELEASE_TIMEOUT_MS);
                 DataInputStream in = new DataInputStream(gameResult.socket.getInputStream());
                 byte signal = in.readByte();
                 
@@ -65,7 +68,7 @@ public class P2PGameOverController extends BaseController {
                 }
                 
             }
-            catch (EOFException | InterruptedException e) {
+            catch (EOFException e) {
                 System.err.println("Receive thread terminated");
             } catch (Exception e) {
                 if (Thread.currentThread().isInterrupted()) {
@@ -80,6 +83,7 @@ public class P2PGameOverController extends BaseController {
     private void sendSignal(byte signal) {
         if (gameResult.isServer) {
             try {
+                ConnectionLoop.awaitRelease(gameResult.socket, ConnectionLoop.RELEASE_TIMEOUT_MS);
                 DataOutputStream out = new DataOutputStream(gameResult.socket.getOutputStream());
                 out.writeByte(signal);
                 out.flush();
@@ -93,7 +97,10 @@ public class P2PGameOverController extends BaseController {
         if (gameResult.isServer) {
             sendSignal(SIGNAL_PLAY_AGAIN);
         }
-        swapState(new P2PMultiPlayController(gameResult.socket, gameResult.isServer, gameResult.gameMode, gameResult.difficulty));
+        // 다시 하기는 핸드셰이크가 없으므로 양쪽이 지난 시드에서 같은 다음 시드를 계산
+        long seed = gameResult.seed != 0 ? P2PProtocol.nextMatchSeed(gameResult.seed) : 0;
+        swapState(new P2PMultiPlayController(gameResult.socket, gameResult.isServer, gameResult.gameMode, gameResult.difficulty,
+                gameResult.capabilities, seed));
     }
 
     public void handleGoWaitingRoom() {
@@ -5,7 +5,7 @@ import javafx.scene.input.KeyEvent;
 import org.example.view.P2PModeView;
 
 /**
- * P2P Mode에서 Server/Client 선택 화면의 입력을 처리하는 Controller
+ * P2P Mode에서 Server/Client/관전 선택 화면의 입력을 처리하는 Controller
  */
 public class P2PModeController extends BaseController {
 
@@ -20,6 +20,7 @@ public class P2PModeController extends BaseController {
         var root = view.createView(
             this::handleServer,
             this::handleClient,
+            this::handleSpectate,
             this::handleGoBack
         );
         createDefaultScene(root);
@@ -34,6 +35,10 @@ public class P2PModeController extends BaseController {
         stackState(new ClientConnectionController());
     }
 
+    public void handleSpectate() {
+        stackState(new SpectatorController());
+    }
+
     public void handleGoBack() {
         popState();
     }
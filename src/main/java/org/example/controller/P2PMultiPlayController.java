@@ -7,9 +7,11 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.util.Pair;
 
+import java.io.IOException;
 import java.net.Socket;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.example.model.AdderBoardSync;
 import org.example.model.GameMode;
@@ -17,9 +19,18 @@ import org.example.model.KeyData;
 import org.example.model.P2PGameResult;
 import org.example.service.DisplayManager;
 import org.example.service.InGameNetworkManager;
-import org.example.service.ItemTetrisSystem;
-import org.example.service.SuperRotationSystem;
+import org.example.service.InputLatencyTracker.Action;
+import org.example.service.LockstepMatch;
+import org.example.service.MatchEngine;
+import org.example.service.PlayerSession;
+import org.example.service.NetworkStats;
+import org.example.service.P2PProtocol;
+import org.example.service.Reconnector;
+import org.example.service.ResumeCodec;
+import org.example.service.SpectatorBroadcaster;
+import org.example.service.SpectatorCodec;
 import org.example.service.TetrisSystem;
+import org.example.service.TetrisUtil;
 import org.example.service.TimeTetrisSystem;
 import org.example.view.P2PMultiPlayView;
 
@@ -30,56 +41,85 @@ import org.example.view.P2PMultiPlayView;
 public class P2PMultiPlayController extends BaseController {
 
     private P2PMultiPlayView view;
+    private MatchEngine engine;
+    private PlayerSession session;
     private TetrisSystem tetrisSystem;
     private GameMode gameMode;
     private AnimationTimer gameTimer;
     private InGameNetworkManager netManager;
     private AdderBoardSync adderBoard;
+    private SpectatorBroadcaster spectators; // 서버만 경기를 관전자에게 내보냄 (꺼져 있으면 null)
+    private LockstepMatch lockstep;          // 입력 교환 대전이면 설정 (null이면 보드 동기화 대전)
+    private long lockstepStartTime = -1;     // 입력 교환 대전의 프레임 시계 기준 (첫 update 시각)
 
-    private long lastDropTime;
     private final boolean isServer;
+    private final int capabilities;
+    private final long seed;
     private final Set<KeyCode> pressedKeys = new HashSet<>();
     private final Set<KeyCode> justPressedKeys = new HashSet<>();
+    private boolean reconnecting; // 재연결을 기다리는 동안 게임과 입력을 멈춤
     private byte gameOverStatus = -1;
     // 0: 점수비교로 판단, 1: 내가 게임오버, 2: 상대가 게임오버
 
     public P2PMultiPlayController(Socket socket, boolean isServer, GameMode gameMode, int difficulty) {
-        if (gameMode == GameMode.ITEM) {
-            tetrisSystem = new ItemTetrisSystem();
-        } else if (gameMode == GameMode.TIME_ATTACK) {
-            tetrisSystem = new TimeTetrisSystem();
+        this(socket, isServer, gameMode, difficulty, P2PProtocol.LOCAL_CAPABILITIES);
+    }
+
+    public P2PMultiPlayController(Socket socket, boolean isServer, GameMode gameMode, int difficulty, int capabilities) {
+        this(socket, isServer, gameMode, difficulty, capabilities, 0);
+    }
+
+    /**
+     * @param capabilities 대기실 핸드셰이크에서 정한 공통 기능 비트 (P2PProtocol.CAP_*)
+     * @param seed 대기실 START로 받은 경기 시드 (0이면 입력 교환 대전을 쓰지 않음)
+     */
+    public P2PMultiPlayController(Socket socket, boolean isServer, GameMode gameMode, int difficulty, int capabilities, long seed) {
+        if ((capabilities & P2PProtocol.CAP_LOCKSTEP) != 0 && seed != 0) {
+            // 입력 교환 대전: 두 플레이어를 같은 시드로 내 엔진에서 진행하고 입력만 주고받음
+            this.lockstep = new LockstepMatch(gameMode, difficulty, seed, isServer ? 0 : 1);
+            this.engine = lockstep.getEngine();
+            this.session = lockstep.getLocalSession();
         } else {
-            tetrisSystem = new TetrisSystem();
+            // 로컬 플레이어 1명만 엔진에서 진행하고, 상대는 네트워크로 동기화
+            this.engine = new MatchEngine(gameMode, difficulty, 1);
+            this.session = engine.getSession(0);
+            this.adderBoard = new AdderBoardSync(session.getSystem().getBoard());
         }
-        tetrisSystem.setDifficulty(difficulty);
+        this.tetrisSystem = session.getSystem();
 
         this.view = new P2PMultiPlayView();
+        // 서버는 두 보드를 LAN 멀티캐스트로 내보내므로 받은 상대 화면을 송신기에도 복사해 둠
+        SpectatorBroadcaster broadcaster = isServer ? SpectatorBroadcaster.openDefault(gameMode) : null;
+        this.spectators = broadcaster;
+        Consumer<int[][]> onOpponentBoard = broadcaster == null ? view::updateOpponentDisplay : board -> {
+            broadcaster.setGuestBoard(board);
+            view.updateOpponentDisplay(board);
+        };
         this.netManager = new InGameNetworkManager(
             socket,
             this::handleDisconnect,
             this::handleOpponentGoWaitingRoom,
             this::handleOpponentGameOver,
             this::handleAdderBoardReceived,
-            view::updateOpponentDisplay,
+            onOpponentBoard,
             tetrisSystem::getCompressedBoardData,
             tetrisSystem::getScore, 
             view::updateNetworkDelay
         );
         this.isServer = isServer;
         this.gameMode = gameMode;
-        this.lastDropTime = System.currentTimeMillis();
-        this.adderBoard = new AdderBoardSync(tetrisSystem.getBoard());
-
-        tetrisSystem.setOnPieceLocked(() -> {
-            var completedLines = tetrisSystem.getCompletedLineIndices();
-            if (completedLines.size() >= 2 && tetrisSystem.getPreviousSnapshot() != null) {
-                int[][] lines = tetrisSystem.getPreviousSnapshot().getLines(completedLines);
-                netManager.sendAdderBoard(lines);
-            }
-            if (!adderBoard.isEmpty()) {
-                adderBoard.applyToBoard();
-            }
-        });
+        this.capabilities = capabilities;
+        this.seed = seed;
+        // 공격 라인, 보드 이벤트, 입력 묶음은 UDP 신뢰성 통로로 보내 TCP 재전송 대기(head-of-line blocking)를 피함
+        netManager.setReliableUdp((capabilities & P2PProtocol.CAP_RELIABLE_UDP) != 0);
+        netManager.setOnNetworkStats(stats -> view.updateNetworkStats(stats.rttMs(), stats.jitterMs(), stats.lossPercent()));
+        if (lockstep != null) {
+            // 상대 화면과 공격 라인은 내 엔진이 계산하므로 받은 입력 묶음만 경기에 넘김
+            // 재연결은 쓰지 않음 (끊긴 동안 잃은 입력 묶음을 되살릴 수 없음)
+            netManager.setLockstepMatch(lockstep);
+        } else {
+            setUpBoardSync(socket);
+        }
 
         gameTimer = new AnimationTimer() {
             @Override
@@ -89,6 +129,45 @@ public class P2PMultiPlayController extends BaseController {
         };
     }
 
+    /**
+     * 보드 동기화 대전: 내 화면을 상대에게 보내고, 공격 라인을 주고받습니다.
+     */
+    private void setUpBoardSync(Socket socket) {
+        netManager.setAdderBoardSink(adderBoard);
+        // 상대 화면은 보드 전체 대신 조각 포즈 + 보드 이벤트로 동기화 (상대가 지원하지 않으면 보드 델타)
+        if ((capabilities & P2PProtocol.CAP_POSE_SYNC) != 0) {
+            netManager.setPoseSource(tetrisSystem);
+        }
+        // 포즈 동기화 중 재구성한 상대 보드를 해시로 주기적으로 검증하고, 어긋나면 보드 전체를 다시 받음
+        netManager.setBoardHashing((capabilities & P2PProtocol.CAP_BOARD_HASH) != 0);
+        // 내 화면이 바뀔 때만 송신 스레드를 깨움 (변화 없으면 heartbeat만)
+        session.setOnStateChanged(netManager::notifyLocalChange);
+        // 연결이 잠깐 끊겨도 서버는 같은 포트에서 기다리고 클라이언트는 다시 접속해 경기를 이어감
+        if ((capabilities & P2PProtocol.CAP_RECONNECT) != 0) {
+            Reconnector reconnector = isServer
+                    ? Reconnector.listen(socket.getLocalPort())
+                    : Reconnector.dial(socket.getInetAddress(), socket.getPort());
+            netManager.enableReconnect(reconnector, tetrisSystem::getRemainingTime,
+                    this::handleConnectionInterrupted, this::handleResumed);
+            if (isServer) {
+                netManager.startSession();
+            }
+        }
+
+        // 공격 라인은 상대에게 전송하고, 받은 공격 라인은 AdderBoardSync에서 적용
+        engine.setGarbageSink((from, lines) -> {
+            netManager.sendAdderBoard(lines);
+            if (spectators != null) {
+                spectators.addEvent(SpectatorCodec.EVENT_ATTACK, 0, lines.length);
+            }
+        });
+        session.setIncomingGarbageApplier(() -> {
+            if (!adderBoard.isEmpty()) {
+                adderBoard.applyToBoard();
+            }
+        });
+    }
+
     @Override
     protected Scene createScene() {
         DisplayManager.getInstance().setMultiplayerMode(true);
@@ -142,22 +221,58 @@ public class P2PMultiPlayController extends BaseController {
      * 게임 업데이트 로직
      */
     private void update(double deltaTime) {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastDropTime >= tetrisSystem.getDropInterval()) {
-            tetrisSystem.update();
-            lastDropTime = currentTime;
+        long now = System.currentTimeMillis();
+        if (lockstep != null) {
+            updateLockstep(now);
+            return;
         }
-        tetrisSystem.getBoard().processPendingClearsIfDue();
+        engine.tick(now);
+        int incomingLines = adderBoard.getQueueDepth(); // 이번 틱에 받은 상대 공격 (대기열 통계, 관전 이벤트용)
+        netManager.getNetworkStats().recordAttackQueue(incomingLines, adderBoard.getDroppedLines());
         adderBoard.consumeIfExists();
         // Update UI through View
         updateDisplay();
+        if (spectators != null) {
+            publishSpectatorFrame(now, incomingLines);
+        }
 
         if (isServer && tetrisSystem.getRemainingTime() == 0) {
             //getRemainingTime 최솟값이 0이어서 == 0으로 체크해도 됨. -1은 TimeAttack 모드가 아닐 때 반환하는 값
             gameOverStatus = 0; // 점수 비교로 판단
             handleGameOver();
         }
-        else if (tetrisSystem.isGameOver()) {
+        else if (engine.isMatchOver()) {
+            gameOverStatus = 1; // 내가 게임오버
+            handleGameOver();
+        }
+    }
+
+    /**
+     * 입력 교환 대전 업데이트: 경기 시작 후 지난 시간까지 프레임을 진행하고, 이번 틱까지의 내 입력을 보냅니다.
+     * 상대 화면은 내 엔진이 계산한 상대 세션으로 그립니다.
+     */
+    private void updateLockstep(long now) {
+        if (lockstepStartTime < 0) {
+            lockstepStartTime = now;
+        }
+        lockstep.advanceTo(now - lockstepStartTime); // 예측 한도에 걸리면 상대 입력이 올 때까지 멈춤
+        byte[] inputs = lockstep.pollOutgoing();
+        if (inputs != null) {
+            netManager.sendLockstepInputs(inputs);
+        }
+        int[][] opponentBoard = lockstep.getRemoteSession().getSystem().getCompressedBoardData();
+        view.updateOpponentDisplay(opponentBoard);
+        updateDisplay();
+        if (spectators != null) {
+            spectators.setGuestBoard(opponentBoard);
+            publishSpectatorFrame(now, 0);
+        }
+
+        if (isServer && tetrisSystem.getRemainingTime() == 0) {
+            gameOverStatus = 0; // 점수 비교로 판단
+            handleGameOver();
+        }
+        else if (lockstep.isLocalGameOverConfirmed()) { // 롤백으로 취소되지 않는 게임 오버만
             gameOverStatus = 1; // 내가 게임오버
             handleGameOver();
         }
@@ -167,21 +282,17 @@ public class P2PMultiPlayController extends BaseController {
      * 화면 업데이트
      */
     private void updateDisplay() {
-        var ghostPiece = tetrisSystem.getCurrentPiece() != null
-                ? SuperRotationSystem.hardDrop(tetrisSystem.getCurrentPiece(), tetrisSystem.getBoard())
-                : null;
-
-        var nextPiece = !tetrisSystem.getNextQueue().isEmpty() 
-                ? tetrisSystem.getNextQueue().get(0) 
-                : null;
-        
+        // 입력 교환 대전은 받은 공격 라인도 엔진의 AdderBoard에 있음
+        int[] adderHoleMasks = lockstep != null ? session.getAdderBoard().getHoleMasks() : adderBoard.getHoleMasks();
+        int adderLines = lockstep != null ? session.getAdderBoard().getLineCount() : adderBoard.getLineCount();
         view.updateDisplay(
                 tetrisSystem.getBoard(),
                 tetrisSystem.getCurrentPiece(),
-                ghostPiece,
+                session.getGhostPiece(),
                 tetrisSystem.getHoldPiece(),
-                nextPiece,
-                adderBoard,
+                session.getNextPiece(),
+                adderHoleMasks,
+                adderLines,
                 tetrisSystem.getScore(),
                 tetrisSystem.getLines(),
                 tetrisSystem.getLevel(),
@@ -216,7 +327,7 @@ public class P2PMultiPlayController extends BaseController {
      * 입력에 따른 게임 로직 실행
      */
     private void handleInputs() {
-        if (tetrisSystem == null || tetrisSystem.isGameOver())
+        if (tetrisSystem == null || tetrisSystem.isGameOver() || reconnecting)
             return;
 
         // SettingManager를 통해 최신 키 설정 가져오기
@@ -225,13 +336,13 @@ public class P2PMultiPlayController extends BaseController {
         // 한 번만 실행되는 입력 처리
         for (KeyCode key : justPressedKeys) {
             if (key == data.hardDrop) {
-                tetrisSystem.hardDrop();
+                execute(Action.HARD_DROP);
             } else if (key == data.rotateCounterClockwise) {
-                tetrisSystem.rotateCounterClockwise();
+                execute(Action.ROTATE_CCW);
             } else if (key == data.rotateClockwise) {
-                tetrisSystem.rotateClockwise();
+                execute(Action.ROTATE_CW);
             } else if (key == data.hold) {
-                tetrisSystem.hold();
+                execute(Action.HOLD);
             } else if (key == data.pause) {
                 handlePause();
             }
@@ -240,17 +351,29 @@ public class P2PMultiPlayController extends BaseController {
         // 연속 실행되는 입력 처리
         for (KeyCode key : pressedKeys) {
             if (key == data.moveLeft) {
-                tetrisSystem.moveLeft();
+                execute(Action.MOVE_LEFT);
             } else if (key == data.moveRight) {
-                tetrisSystem.moveRight();
+                execute(Action.MOVE_RIGHT);
             } else if (key == data.softDrop) {
-                tetrisSystem.moveDown();
+                execute(Action.SOFT_DROP);
             }
         }
     }
 
+    /**
+     * 입력 교환 대전은 다음 프레임에 적용하도록 기록만 하고, 보드 동기화 대전은 바로 실행합니다.
+     */
+    private void execute(Action action) {
+        if (lockstep != null) {
+            lockstep.addLocalInput(action);
+        } else {
+            session.execute(action);
+        }
+    }
+
     private void handleOpponentGameOver(int opponentScore, boolean timeover) {
         gameTimer.stop();
+        exportNetworkStats();
         int myScore = tetrisSystem.getScore();
         if (gameOverStatus == -1) { // -1이면 상대가 최초로 신호를 보냈다는 뜻
             if (timeover)
@@ -258,9 +381,10 @@ public class P2PMultiPlayController extends BaseController {
             else
                 gameOverStatus = 2; // 상대가 게임오버
         }
+        finishSpectators(myScore, opponentScore);
         P2PGameResult result = new P2PGameResult(
             myScore, opponentScore, gameOverStatus,
-            netManager.getSocket(), isServer, gameMode, tetrisSystem.getDifficulty()
+            netManager.getSocket(), isServer, gameMode, tetrisSystem.getDifficulty(), capabilities, seed
         );
         popToP2PPlayState();
         swapState(new P2PGameOverController(result));
@@ -268,16 +392,39 @@ public class P2PMultiPlayController extends BaseController {
 
     private void handleOpponentGoWaitingRoom() {
         gameTimer.stop();
+        closeSpectators();
+        exportNetworkStats();
         popToP2PPlayState();
         swapState(new WaitingRoomController(netManager.getSocket(), isServer));
     }
 
-    private void handleAdderBoardReceived(int[][] addedLines) {
+    private void handleAdderBoardReceived(int[] addedLines) {
         adderBoard.enqueueLines(addedLines);
     }
 
+    private void handleConnectionInterrupted() {
+        reconnecting = true;
+        gameTimer.stop();
+        engine.pauseTimers();
+        pressedKeys.clear();
+        view.showReconnecting();
+    }
+
+    private void handleResumed(ResumeCodec.State opponentState) {
+        // 타임 어택 남은 시간은 서버 기준으로 맞춤
+        if (!isServer && opponentState.hasTimer() && tetrisSystem instanceof TimeTetrisSystem timeSystem) {
+            timeSystem.setRemainingTime(opponentState.remainingMs());
+        }
+        engine.resumeTimers();
+        engine.resetDropTimers(System.currentTimeMillis());
+        reconnecting = false;
+        gameTimer.start();
+    }
+
     private void handleDisconnect() {
         gameTimer.stop();
+        closeSpectators();
+        exportNetworkStats();
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Error");
         alert.setHeaderText("Connection Lost");
@@ -300,11 +447,75 @@ public class P2PMultiPlayController extends BaseController {
     private Pair<Socket, Boolean> handleGoWaitingRoom() {
         netManager.sendGoWaitingRoomAndShutDown();
         gameTimer.stop();
+        closeSpectators();
+        exportNetworkStats();
         return new Pair<>(netManager.getSocket(), isServer);
     }
 
     private void handleGoMainMenu() {
         netManager.disconnect();
         gameTimer.stop();
+        closeSpectators();
+        exportNetworkStats();
+    }
+
+    /**
+     * 관전자에게 이번 틱의 두 보드와 점수를 보냅니다. (서버만, 간격 제한은 송신기가 처리)
+     */
+    private void publishSpectatorFrame(long now, int incomingLines) {
+        if (incomingLines > 0) {
+            spectators.addEvent(SpectatorCodec.EVENT_ATTACK, 1, incomingLines);
+        }
+        int state = tetrisSystem.isGameOver() ? 1 : 0;
+        spectators.publish(now, state, tetrisSystem.getRemainingTime(),
+                tetrisSystem.getCompressedBoardData(), tetrisSystem.getScore());
+    }
+
+    /**
+     * 경기 결과를 관전자에게 알리고 송신기를 닫습니다.
+     */
+    private void finishSpectators(int myScore, int opponentScore) {
+        if (spectators == null) {
+            return;
+        }
+        spectators.setGuestScore(opponentScore);
+        int state = 0;
+        int winner;
+        if (gameOverStatus == 1) {
+            state = 1;
+            winner = 1;
+            spectators.addEvent(SpectatorCodec.EVENT_TOP_OUT, 0, myScore);
+        } else if (gameOverStatus == 2) {
+            state = 1 << 1;
+            winner = 0;
+            spectators.addEvent(SpectatorCodec.EVENT_TOP_OUT, 1, opponentScore);
+        } else {
+            winner = myScore > opponentScore ? 0 : myScore < opponentScore ? 1 : -1;
+        }
+        spectators.addEvent(SpectatorCodec.EVENT_MATCH_END, winner, 0);
+        spectators.publishFinal(state, tetrisSystem.getCompressedBoardData(), myScore);
+        closeSpectators();
+    }
+
+    private void closeSpectators() {
+        if (spectators != null) {
+            spectators.close();
+            spectators = null;
+        }
+    }
+
+    /**
+     * 경기 네트워크 통계를 로그로 남기고, -Dtetris.debug.network=true 이면 CSV로 내보냅니다.
+     */
+    private void exportNetworkStats() {
+        NetworkStats stats = netManager.getNetworkStats();
+        System.err.println(stats.getSummary());
+        if (NetworkStats.isDebugEnabled()) {
+            try {
+                stats.exportCsv(TetrisUtil.getAppDataPath() + "network_stats.csv");
+            } catch (IOException e) {
+                System.err.println("Failed to export network stats: " + e.getMessage());
+            }
+        }
     }
 }
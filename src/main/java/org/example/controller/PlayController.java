@@ -5,16 +5,19 @@ import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.example.model.GameMode;
 import org.example.model.KeyData;
-import org.example.service.ItemTetrisSystem;
-import org.example.service.SuperRotationSystem;
+import org.example.service.InputLatencyTracker;
+import org.example.service.InputLatencyTracker.Action;
+import org.example.service.MatchEngine;
+import org.example.service.PlayerSession;
 import org.example.service.TetrisSystem;
-import org.example.service.TimeTetrisSystem;
 import org.example.service.ScoreManager;
+import org.example.service.TetrisUtil;
 import org.example.view.PlayView;
 import org.example.model.ScoreRecord;
 
@@ -24,27 +27,27 @@ import org.example.model.ScoreRecord;
 public class PlayController extends BaseController {
 
     private PlayView playView;
+    private MatchEngine engine;
+    private PlayerSession session;
     private TetrisSystem tetrisSystem;
     private GameMode gameMode;
     private AnimationTimer gameTimer;
 
-    private long lastDropTime;
     private final Set<KeyCode> pressedKeys = new HashSet<>();
     private final Set<KeyCode> justPressedKeys = new HashSet<>();
 
+    // 입력 지연 측정 (-Dtetris.debug.latency=true 일 때 오버레이 표시 및 CSV 내보내기)
+    private final InputLatencyTracker latencyTracker = new InputLatencyTracker();
+    private final boolean latencyDebug = InputLatencyTracker.isDebugEnabled();
+    private long lastOverlayUpdateTime;
+
     public PlayController(GameMode gameMode, int difficulty) {
-        if (gameMode == GameMode.ITEM) {
-            tetrisSystem = new ItemTetrisSystem();
-        } else if (gameMode == GameMode.TIME_ATTACK) {
-            tetrisSystem = new TimeTetrisSystem();
-        } else {
-            tetrisSystem = new TetrisSystem();
-        }
-        tetrisSystem.setDifficulty(difficulty);
+        this.engine = new MatchEngine(gameMode, difficulty, 1);
+        this.session = engine.getSession(0);
+        this.tetrisSystem = session.getSystem();
 
         this.playView = new PlayView();
         this.gameMode = gameMode;
-        this.lastDropTime = System.currentTimeMillis();
 
         gameTimer = new AnimationTimer() {
             @Override
@@ -74,6 +77,9 @@ public class PlayController extends BaseController {
             playView.setShowTimer(true);
         }
 
+        playView.getGameCanvas().setOnDrawn(latencyTracker::onFrameDrawn);
+        playView.setLatencyOverlayVisible(latencyDebug);
+
         //키 릴리즈 핸들 따로 추가
         scene.setOnKeyReleased(event -> handleKeyReleased(event.getCode()));
 
@@ -85,17 +91,13 @@ public class PlayController extends BaseController {
     protected void exit() {
         gameTimer.stop();
         // TIME_ATTACK 모드: 타이머 일시정지
-        if (tetrisSystem instanceof TimeTetrisSystem timeSystem) {
-            timeSystem.pauseTimer();
-        }
+        engine.pauseTimers();
     }
 
     @Override
     protected void resume() {
         // TIME_ATTACK 모드: 타이머 재개
-        if (tetrisSystem instanceof TimeTetrisSystem timeSystem) {
-            timeSystem.resumeTimer();
-        }
+        engine.resumeTimers();
         // PlayView의 모든 UI 요소 크기 업데이트
         playView.onResume();
         gameTimer.start();
@@ -121,24 +123,24 @@ public class PlayController extends BaseController {
         long currentTime = System.currentTimeMillis();
         
         // TIME_ATTACK 모드: 시간 체크
-        if (tetrisSystem instanceof TimeTetrisSystem timeSystem && timeSystem.isTimeUp()) {
+        if (engine.isTimeUp()) {
             handleGameOver();
             return;
         }
-        
-        if (currentTime - lastDropTime >= tetrisSystem.getDropInterval()) {
-            tetrisSystem.update();
-            lastDropTime = currentTime;
-        }
 
-        // Apply any pending board clears (after effect delay)
-        tetrisSystem.getBoard().processPendingClearsIfDue();
+        // Gravity and pending board clears (after effect delay)
+        engine.tick(currentTime);
 
         // Update UI through View
         updateDisplay();
 
+        if (latencyDebug && currentTime - lastOverlayUpdateTime >= 500) {
+            playView.updateLatencyOverlay(latencyTracker.getSummary());
+            lastOverlayUpdateTime = currentTime;
+        }
+
         // Check game over
-        if (tetrisSystem.isGameOver()) {
+        if (engine.isMatchOver()) {
             handleGameOver();
         }
     }
@@ -147,14 +149,10 @@ public class PlayController extends BaseController {
      * 화면 업데이트
      */
     private void updateDisplay() {
-        var ghostPiece = tetrisSystem.getCurrentPiece() != null
-                ? SuperRotationSystem.hardDrop(tetrisSystem.getCurrentPiece(), tetrisSystem.getBoard())
-                : null;
-
         playView.updateDisplay(
                 tetrisSystem.getBoard(),
                 tetrisSystem.getCurrentPiece(),
-                ghostPiece,
+                session.getGhostPiece(),
                 tetrisSystem.getHoldPiece(),
                 tetrisSystem.getNextQueue(),
                 tetrisSystem.getScore(),
@@ -200,30 +198,37 @@ public class PlayController extends BaseController {
         // 한 번만 실행되는 입력 처리
         for (KeyCode key : justPressedKeys) {
             if (key == data.hardDrop) {
-                tetrisSystem.hardDrop();
+                trackLatency(Action.HARD_DROP, session.execute(Action.HARD_DROP));
             } else if (key == data.rotateCounterClockwise) {
-                tetrisSystem.rotateCounterClockwise();
+                trackLatency(Action.ROTATE_CCW, session.execute(Action.ROTATE_CCW));
             } else if (key == data.rotateClockwise) {
-                tetrisSystem.rotateClockwise();
+                trackLatency(Action.ROTATE_CW, session.execute(Action.ROTATE_CW));
             } else if (key == data.hold) {
-                tetrisSystem.hold();
+                trackLatency(Action.HOLD, session.execute(Action.HOLD));
             } else if (key == data.pause) {
                 handlePause();
             }
         }
 
-        // 연속 실행되는 입력 처리
+        // 연속 실행되는 입력 처리 (지연 측정은 처음 눌린 키만)
         for (KeyCode key : pressedKeys) {
+            boolean firstPress = justPressedKeys.contains(key);
             if (key == data.moveLeft) {
-                tetrisSystem.moveLeft();
+                trackLatency(Action.MOVE_LEFT, session.execute(Action.MOVE_LEFT) && firstPress);
             } else if (key == data.moveRight) {
-                tetrisSystem.moveRight();
+                trackLatency(Action.MOVE_RIGHT, session.execute(Action.MOVE_RIGHT) && firstPress);
             } else if (key == data.softDrop) {
-                tetrisSystem.moveDown();
+                trackLatency(Action.SOFT_DROP, session.execute(Action.SOFT_DROP) && firstPress);
             }
         }
     }
 
+    private void trackLatency(Action action, boolean stateChanged) {
+        if (stateChanged) {
+            latencyTracker.recordStateChange(action, lastKeyEventNanos);
+        }
+    }
+
     /**
      * 일시정지 처리
      */
@@ -235,6 +240,14 @@ public class PlayController extends BaseController {
      * 게임 오버 처리
      */
     public void handleGameOver() {
+        if (latencyDebug) {
+            try {
+                latencyTracker.exportCsv(TetrisUtil.getAppDataPath() + "input_latency.csv");
+            } catch (IOException e) {
+                System.err.println("Failed to export input latency: " + e.getMessage());
+            }
+        }
+
         ScoreRecord record = new ScoreRecord(
             tetrisSystem.getScore(), 
             tetrisSystem.getLines(),
@@ -259,6 +272,14 @@ public class PlayController extends BaseController {
         return tetrisSystem;
     }
 
+    public MatchEngine getEngine() {
+        return engine;
+    }
+
+    public InputLatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
     public GameMode getGameMode() {
         return gameMode;
     }
@@ -267,6 +288,6 @@ public class PlayController extends BaseController {
      * lastDropTime 리셋
      */
     public void resetLastDropTime() {
-        this.lastDropTime = System.currentTimeMillis();
+        engine.resetDropTimers(System.currentTimeMillis());
     }
 }
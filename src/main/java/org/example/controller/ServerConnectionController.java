@@ -8,8 +8,9 @@ import java.io.IOException;
 import java.net.BindException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
-import java.net.ServerSocket;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
 
 import org.example.service.NetworkUtility;
 import org.example.view.ServerConnectionView;
@@ -88,9 +89,15 @@ public class ServerConnectionController extends BaseController {
             try {
                 System.out.println("waiting for client connection in port 54673...");
 
-                ServerSocket serverSocket = new ServerSocket(54673);
-                Socket client = serverSocket.accept(); // 클라이언트 접속 대기
-                serverSocket.close();
+                // 연결 루프(Selector)에서 쓰도록 채널 기반 소켓으로 수락
+                ServerSocketChannel serverChannel = ServerSocketChannel.open();
+                Socket client;
+                try {
+                    serverChannel.bind(new InetSocketAddress(54673));
+                    client = serverChannel.accept().socket(); // 클라이언트 접속 대기
+                } finally {
+                    serverChannel.close();
+                }
 
                 System.out.println("Client connected from " + client.getInetAddress().getHostAddress());
                 
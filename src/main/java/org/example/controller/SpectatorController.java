@@ -0,0 +1,142 @@
+package org.example.controller;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.example.model.GameBoard;
+import org.example.service.SpectatorBroadcaster;
+import org.example.service.SpectatorCodec;
+import org.example.service.SpectatorListener;
+import org.example.view.SpectatorView;
+
+/**
+ * 같은 LAN에서 진행 중인 P2P 경기를 관전하는 Controller
+ * 호스트가 멀티캐스트로 내보내는 프레임을 받기만 하며, 경기 수에 제한 없이 모두 보여줍니다.
+ */
+public class SpectatorController extends BaseController {
+
+    private static final String MSG_LISTEN_FAILED = "Could not join the spectator group";
+
+    private final SpectatorView view;
+    private final Map<Integer, SpectatorCodec.MatchDecoder> matches = new LinkedHashMap<>(); // JavaFX 스레드 전용
+    private SpectatorListener listener;
+    private AnimationTimer renderTimer;
+
+    public SpectatorController() {
+        this.view = new SpectatorView();
+    }
+
+    @Override
+    protected Scene createScene() {
+        var root = view.createView(this::handleGoBack);
+        createDefaultScene(root);
+        scene.heightProperty().addListener((_, _, _) -> view.updateCanvasSize(scene));
+        scene.widthProperty().addListener((_, _, _) -> view.updateCanvasSize(scene));
+        view.updateCanvasSize(scene);
+
+        try {
+            listener = new SpectatorListener(SpectatorBroadcaster.DEFAULT_GROUP, new SpectatorListener.Callbacks() {
+                @Override
+                public void onMatchFound(SpectatorCodec.MatchDecoder match) {
+                    matches.put(match.getMatchId(), match);
+                    view.addMatch(match.getMatchId(), match.getMode().toString());
+                }
+
+                @Override
+                public void onEvent(int matchId, SpectatorCodec.Event event) {
+                    view.showEvent(matchId, describeEvent(event));
+                }
+
+                @Override
+                public void onMatchLost(int matchId) {
+                    matches.remove(matchId);
+                    view.removeMatch(matchId);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Failed to join spectator group: " + e.getMessage());
+            view.setTitle(MSG_LISTEN_FAILED);
+        }
+
+        renderTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                render();
+            }
+        };
+        renderTimer.start();
+        return scene;
+    }
+
+    /**
+     * 화면 프레임마다 경기별 마지막 상태를 복사해 그립니다.
+     */
+    private void render() {
+        int[] scores = new int[SpectatorCodec.PLAYERS];
+        String[] playerStatus = new String[SpectatorCodec.PLAYERS];
+        for (SpectatorCodec.MatchDecoder match : matches.values()) {
+            // DummyTetrisCanvas는 나중에 그리므로 매번 새 배열에 복사
+            int[][][] boards = new int[SpectatorCodec.PLAYERS][][];
+            for (int i = 0; i < SpectatorCodec.PLAYERS; i++) {
+                int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+                boards[i] = match.copyBoard(i, board) ? board : null;
+                scores[i] = match.getScore(i);
+                playerStatus[i] = (i == 0 ? "Host" : "Guest") + (match.isToppedOut(i) ? " (Out)" : "");
+            }
+            view.updateMatch(match.getMatchId(), boards, scores, playerStatus, describeStatus(match));
+        }
+    }
+
+    private static String describeStatus(SpectatorCodec.MatchDecoder match) {
+        String status = match.getMode().toString();
+        if (match.isEnded()) {
+            return status + " - Finished";
+        }
+        int remainingMs = match.getRemainingMs();
+        if (remainingMs != SpectatorCodec.NO_TIMER) {
+            int seconds = remainingMs / 1000;
+            status += String.format(" - %d:%02d", seconds / 60, seconds % 60);
+        }
+        return status;
+    }
+
+    private static String describeEvent(SpectatorCodec.Event event) {
+        String player = event.player() == 0 ? "Host" : "Guest";
+        return switch (event.kind()) {
+            case SpectatorCodec.EVENT_ATTACK -> player + " sent " + event.value()
+                    + (event.value() == 1 ? " line" : " lines");
+            case SpectatorCodec.EVENT_TOP_OUT -> player + " topped out at " + event.value();
+            case SpectatorCodec.EVENT_MATCH_END -> event.player() < 0 ? "Draw!" : player + " wins!";
+            default -> "";
+        };
+    }
+
+    @Override
+    protected void exit() {
+        if (renderTimer != null) {
+            renderTimer.stop();
+        }
+        if (listener != null) {
+            listener.close();
+        }
+    }
+
+    public void handleGoBack() {
+        popState();
+    }
+
+    @Override
+    public void handleKeyInput(KeyEvent event) {
+        if (event.getCode() == KeyCode.ESCAPE) {
+            handleGoBack();
+            return;
+        }
+        view.getButtonSystem().handleInput(event);
+    }
+}
@@ -143,7 +143,8 @@ public class WaitingRoomController extends BaseController {
 
     private void handleGameStart() {
         System.out.println("[Game starting...]");
-        swapState(new P2PMultiPlayController(netManager.getSocket(), isServer, selectedGameMode, selectedDifficulty));
+        swapState(new P2PMultiPlayController(netManager.getSocket(), isServer, selectedGameMode, selectedDifficulty,
+                netManager.getSharedCapabilities(), netManager.getMatchSeed()));
     }
 
     private void handleGoBack() {
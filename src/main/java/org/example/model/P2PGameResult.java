@@ -13,8 +13,18 @@ public class P2PGameResult {
     public final boolean isServer;
     public final GameMode gameMode;
     public final int difficulty;
+    public final int capabilities; // 대기실에서 정한 공통 기능 비트 (다시 하기에서 그대로 씀)
+    public final long seed;        // 이번 경기 시드 (다시 하기는 P2PProtocol.nextMatchSeed로 이어감, 0이면 없음)
 
     public P2PGameResult(int myScore, int opponentScore, byte gameOverStatus, Socket socket, boolean isServer, GameMode gameMode, int difficulty) {
+        this(myScore, opponentScore, gameOverStatus, socket, isServer, gameMode, difficulty, ~0); // 제한 없음
+    }
+
+    public P2PGameResult(int myScore, int opponentScore, byte gameOverStatus, Socket socket, boolean isServer, GameMode gameMode, int difficulty, int capabilities) {
+        this(myScore, opponentScore, gameOverStatus, socket, isServer, gameMode, difficulty, capabilities, 0);
+    }
+
+    public P2PGameResult(int myScore, int opponentScore, byte gameOverStatus, Socket socket, boolean isServer, GameMode gameMode, int difficulty, int capabilities, long seed) {
         this.myScore = myScore;
         this.opponentScore = opponentScore;
         this.gameOverStatus = gameOverStatus;
@@ -22,5 +32,7 @@ public class P2PGameResult {
         this.isServer = isServer;
         this.gameMode = gameMode;
         this.difficulty = difficulty;
+        this.capabilities = capabilities;
+        this.seed = seed;
     }
 }
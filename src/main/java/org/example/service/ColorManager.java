@@ -2,6 +2,8 @@ package org.example.service;
 
 import javafx.scene.paint.Color;
 import org.example.model.SettingData.ColorBlindMode;
+import org.example.model.Tetromino;
+import org.example.model.TetrominoPosition;
 
 import java.io.InputStream;
 import java.util.HashMap;
@@ -14,7 +16,6 @@ import java.util.regex.Pattern;
  * CSS 파일에서 색상을 로드하여 색상 블라인드 모드에 따라 적절한 색상을 제공
  */
 public class ColorManager {
-    private static ColorManager instance;
     private Color[] currentColorSet;
     private ColorBlindMode currentMode;
 
@@ -90,14 +91,16 @@ public class ColorManager {
         cssColors.put("game-background", Color.DARKSLATEGRAY);
     }
     
+    // 클래스 로딩 시 JVM이 한 번만 초기화 (동기화 없이 스레드 안전한 지연 초기화)
+    private static class Holder {
+        private static final ColorManager INSTANCE = new ColorManager();
+    }
+
     /**
      * ColorManager 싱글톤 인스턴스 반환
      */
     public static ColorManager getInstance() {
-        if (instance == null) {
-            instance = new ColorManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
     
     /**
@@ -180,6 +183,25 @@ public class ColorManager {
         return currentColorSet[index - 1];
     }
     
+    /**
+     * 테트로미노 타입의 현재 색상 반환
+     */
+    public Color getColor(Tetromino type) {
+        return getColorFromIndex(type.getColorIndex());
+    }
+
+    /**
+     * 블록을 그릴 때 사용할 색상 반환
+     * 무게추/폭탄 아이템 블록은 고유 색상, 그 외에는 테트로미노 색상
+     */
+    public Color getDisplayColor(TetrominoPosition piece) {
+        return switch (piece.getSpecialKind()) {
+            case WEIGHT -> Color.GOLD;
+            case BOMB -> Color.ORANGERED;
+            default -> getColor(piece.getType());
+        };
+    }
+
     /**
      * 현재 색상 세트 전체 반환
      */
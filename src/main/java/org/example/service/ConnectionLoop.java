@@ -0,0 +1,453 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * P2P 연결 하나의 모든 I/O를 스레드 하나에서 처리하는 Selector 루프
+ * - TCP 제어 스트림: P2PProtocol 프레임을 읽어 Handler.onMessage로 넘기고,
+ *   send()/claim()으로 넣은 메시지는 풀 버퍼 큐(MessageQueue)에 모았다가 한 번의 gathering write로 씁니다.
+ *   보내는 쪽에서 모아 쓰므로 Nagle은 끄고(TCP_NODELAY) 작은 메시지도 바로 나가게 합니다.
+ * - UDP 채널 (선택): 읽을 데이터가 있으면 Handler.onDatagramReadable 호출
+ * - 타이머: 매 반복마다 Handler.onTick이 할 일을 처리하고 다음에 깨어날 때까지의 시간을 돌려줌
+ *
+ * 소켓 넘겨주기: 대기실 -> 게임 -> 게임 오버 화면이 같은 TCP 소켓을 차례로 씁니다.
+ * 루프는 메시지 경계를 넘어서 읽지 않으므로, finish() 뒤에 남은 데이터는 다음 소유자가 그대로 읽습니다.
+ * 시작할 때 이전 루프가 소켓을 놓을 때까지 기다리고, 끝나면 블로킹 모드로 되돌린 뒤 소켓을 놓습니다.
+ * 블로킹 스트림으로 소켓을 쓰는 쪽은 awaitRelease()로 기다립니다.
+ *
+ * 콜백에서 RuntimeException이 나면 소켓을 닫고 끊긴 연결로 보고합니다.
+ *
+ * 소켓은 SocketChannel로 만든 것이어야 합니다. (SocketChannel.open().socket(), ServerSocketChannel.accept())
+ */
+public final class ConnectionLoop {
+
+    /**
+     * 루프 스레드에서 호출되는 콜백
+     */
+    public interface Handler {
+        /**
+         * TCP 메시지 하나를 받았을 때
+         *
+         * @param data 종류 바이트 뒤의 내용 (재사용 버퍼이므로 보관하려면 복사)
+         * @param size data 중 유효한 길이
+         */
+        void onMessage(byte type, byte[] data, int size);
+
+        /**
+         * UDP 채널에 읽을 데이터가 있을 때
+         */
+        default void onDatagramReadable(DatagramChannel channel) throws IOException {}
+
+        /**
+         * 매 반복마다 호출: 타이머 작업을 처리합니다.
+         *
+         * @return 다음 호출까지 최대 대기 시간 (ms, 0 이하면 I/O나 wakeup()이 있을 때까지)
+         */
+        long onTick(long now) throws IOException;
+
+        /**
+         * 루프가 끝나고 소켓을 놓은 뒤
+         *
+         * @param connectionLost 연결이 끊겨서 끝났으면 true (disconnect/finish는 false)
+         */
+        default void onClosed(boolean connectionLost) {}
+    }
+
+    public static final long RELEASE_TIMEOUT_MS = 5000; // 이전 소유자를 기다리는 최대 시간
+    private static final int MAX_GATHER = 64;                 // write 한 번에 모을 최대 메시지 수
+    private static final long QUEUE_FULL_WAIT_NS = 200_000;   // 큐가 가득 찼을 때 다시 시도할 간격
+    static final long QUEUE_FULL_MAX_WAIT_NS = 4_000_000;     // 다른 스레드가 자리를 기다리는 최대 시간 (넘으면 버림)
+    private static final long CLOSE_LINGER_MS = 1000;         // finishAndClose()가 남은 쓰기를 기다리는 최대 시간
+
+    // 소켓 채널별 현재 소유 루프가 끝날 때 완료되는 future
+    private static final Map<SocketChannel, CompletableFuture<Void>> LEASES = new ConcurrentHashMap<>();
+
+    private final Socket socket;
+    private final SocketChannel channel;
+    private final String name;
+    private final Handler handler;
+    private final CompletableFuture<Void> lease = new CompletableFuture<>();
+    private final CompletableFuture<Void> previousLease;
+    private final MessageQueue outgoing = new MessageQueue();
+    private final ByteBuffer[] gatherBuffers = new ByteBuffer[MAX_GATHER]; // 루프 스레드 전용
+    private final AtomicLong droppedMessages = new AtomicLong();
+
+    private DatagramChannel datagram;
+    private volatile Selector selector;
+    private volatile Thread loopThread;
+    private SelectionKey socketKey;
+
+    private volatile boolean writesClosed;  // 마지막 메시지를 넣은 뒤로는 보내지 않음
+    private volatile boolean finishing;     // 남은 쓰기를 마치고 끝냄 (더 읽지 않음)
+    private volatile boolean closing;       // 바로 끝내고 소켓을 닫음
+    private volatile long closeDeadline;    // 0이 아니면 남은 쓰기를 마치거나 이 시각이 지나면 소켓을 닫음
+    private volatile boolean closeLost;
+    private volatile boolean datagramClosing;
+
+    // 루프 스레드 전용 읽기 상태
+    private final P2PProtocol.FrameReader frameReader = new P2PProtocol.FrameReader();
+    private final P2PProtocol.FrameHandler frameHandler;
+    private final BooleanSupplier stopReading = () -> finishing || closing;
+    private boolean lastSent; // 마지막 메시지를 보냄 (이후 메시지는 버림)
+
+    /**
+     * @param name 스레드 이름 (로그용)
+     */
+    public ConnectionLoop(Socket socket, String name, Handler handler) {
+        if (socket.getChannel() == null) {
+            throw new IllegalArgumentException("socket must be created from a SocketChannel");
+        }
+        this.socket = socket;
+        this.channel = socket.getChannel();
+        this.name = name;
+        this.handler = handler;
+        this.frameHandler = handler::onMessage;
+        this.previousLease = LEASES.put(channel, lease);
+    }
+
+    /**
+     * 루프가 함께 처리할 UDP 채널을 지정합니다. (start 전에 호출, 루프가 끝날 때 닫음)
+     */
+    public void setDatagramChannel(DatagramChannel datagram) {
+        this.datagram = datagram;
+    }
+
+    public void start() {
+        Thread.ofPlatform().daemon().name(name).start(this::run);
+    }
+
+    /**
+     * 메시지를 보냅니다. (아무 스레드에서나 호출 가능)
+     *
+     * @param message [종류][데이터] (길이는 루프가 붙임)
+     */
+    public void send(byte[] message) {
+        MessageQueue.Slot slot = claim(message.length);
+        if (slot != null) {
+            slot.buffer().put(message);
+            publish(slot);
+        }
+    }
+
+    /**
+     * 마지막 메시지를 보냅니다. 이후의 send()는 무시됩니다. (읽기는 계속)
+     */
+    public void sendLast(byte[] message) {
+        MessageQueue.Slot slot = claim(message.length);
+        if (slot != null) {
+            slot.buffer().put(message);
+            publishLast(slot);
+        }
+    }
+
+    /**
+     * 풀 버퍼에 메시지를 직접 쓰기 위해 자리를 잡습니다. 다 쓰면 publish()나 publishLast()를 호출합니다.
+     * 큐가 가득 차 있으면 루프가 비울 때까지 QUEUE_FULL_MAX_WAIT_NS만큼만 기다리고 버립니다.
+     * (루프 스레드에서는 기다리지 않고 바로 버림, 게임/FX 스레드가 멈춘 소켓 때문에 멈추지 않도록)
+     *
+     * @param length [종류][데이터]의 바이트 수
+     * @return 마지막 메시지를 이미 보냈거나, 연결이 닫혔거나, 큐가 비지 않아 버렸으면 null
+     */
+    public MessageQueue.Slot claim(int length) {
+        long deadline = 0;
+        while (!writesClosed && !closing) {
+            MessageQueue.Slot slot = outgoing.claim(length);
+            if (slot != null) {
+                return slot;
+            }
+            long now = System.nanoTime();
+            if (deadline == 0) {
+                deadline = now + QUEUE_FULL_MAX_WAIT_NS;
+            }
+            if (Thread.currentThread() == loopThread || now - deadline >= 0) {
+                droppedMessages.incrementAndGet();
+                System.err.println("(" + name + ")[Send queue full - message dropped]");
+                return null;
+            }
+            wakeup();
+            LockSupport.parkNanos(QUEUE_FULL_WAIT_NS);
+        }
+        return null;
+    }
+
+    /**
+     * 큐가 가득 차서 버린 메시지 수
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    public void publish(MessageQueue.Slot slot) {
+        outgoing.publish(slot, false);
+        wakeup();
+    }
+
+    /**
+     * 마지막 메시지로 공개합니다. 이후의 send()/claim()은 무시됩니다.
+     */
+    public void publishLast(MessageQueue.Slot slot) {
+        writesClosed = true;
+        outgoing.publish(slot, true);
+        wakeup();
+    }
+
+    /**
+     * UDP 채널만 닫습니다. (TCP는 계속)
+     */
+    public void closeDatagram() {
+        datagramClosing = true;
+        wakeup();
+    }
+
+    /**
+     * 남은 메시지를 다 보낸 뒤 루프를 끝내고 소켓을 다음 소유자에게 넘깁니다.
+     * 루프 스레드에서 호출하면 지금 처리 중인 메시지 뒤로는 더 읽지 않습니다.
+     */
+    public void finish() {
+        finishing = true;
+        wakeup();
+    }
+
+    /**
+     * 남은 메시지를 다 보낸 뒤 루프를 끝내고 소켓을 닫습니다. (onClosed에는 false)
+     * 상대가 읽지 않아 CLOSE_LINGER_MS 안에 다 쓰지 못하면 남은 메시지는 버립니다.
+     */
+    public void finishAndClose() {
+        closeDeadline = System.currentTimeMillis() + CLOSE_LINGER_MS;
+        finish();
+    }
+
+    /**
+     * 루프를 바로 끝내고 소켓을 닫습니다.
+     *
+     * @param connectionLost onClosed에 넘길 값
+     */
+    public void close(boolean connectionLost) {
+        closeLost = connectionLost;
+        closing = true;
+        try {
+            socket.close(); // 블로킹 중인 작업도 바로 끝남
+        } catch (IOException e) {
+            System.err.println("[Error while closing socket]");
+        }
+        wakeup();
+    }
+
+    /**
+     * 루프를 깨워 onTick을 바로 호출하게 합니다.
+     */
+    public void wakeup() {
+        Selector current = selector;
+        if (current != null) {
+            current.wakeup();
+        }
+    }
+
+    /**
+     * 이 소켓을 쓰던 루프가 소켓을 놓을 때까지 기다립니다. (블로킹 스트림을 쓰기 전에 호출)
+     *
+     * @return 시간 안에 놓였거나 쓰던 루프가 없으면 true
+     */
+    public static boolean awaitRelease(Socket socket, long timeoutMs) {
+        SocketChannel channel = socket.getChannel();
+        CompletableFuture<Void> current = channel == null ? null : LEASES.get(channel);
+        return current == null || awaitLease(current, timeoutMs);
+    }
+
+    private static boolean awaitLease(CompletableFuture<Void> lease, long timeoutMs) {
+        try {
+            lease.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void run() {
+        boolean lost = false;
+        loopThread = Thread.currentThread();
+        try {
+            if (!awaitPreviousOwner()) {
+                System.err.println("(" + name + ")[Previous socket owner did not release in time]");
+            }
+            selector = Selector.open();
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            synchronized (channel.blockingLock()) {
+                channel.configureBlocking(false);
+                socketKey = channel.register(selector, SelectionKey.OP_READ);
+            }
+            if (datagram != null) {
+                datagram.configureBlocking(false);
+                datagram.register(selector, SelectionKey.OP_READ);
+            }
+            System.err.println("-----------------" + name + " connection loop started------------------");
+
+            long wait = 0;
+            boolean immediate = true; // 첫 반복은 바로 onTick까지 진행
+            while (!closing) {
+                if (immediate) {
+                    selector.selectNow();
+                } else {
+                    selector.select(Math.max(0, wait)); // 0이면 I/O나 wakeup()까지
+                }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key == socketKey) {
+                        if (key.isReadable() && !finishing && !readMessages()) {
+                            System.err.println("(" + name + ")[Connection closed by peer]");
+                            lost = true;
+                            break;
+                        }
+                    } else if (key.isReadable()) {
+                        handler.onDatagramReadable(datagram);
+                    }
+                }
+                selector.selectedKeys().clear();
+                if (lost || closing) {
+                    break;
+                }
+                if (datagramClosing && datagram != null) {
+                    datagram.close();
+                    datagram = null;
+                }
+                boolean flushed = flushWrites();
+                if (finishing && flushed) {
+                    break;
+                }
+                if (finishing) {
+                    wait = 0; // 소켓 버퍼가 비어 쓸 수 있을 때까지 대기
+                    if (closeDeadline != 0) {
+                        wait = closeDeadline - System.currentTimeMillis();
+                        if (wait <= 0) {
+                            break;
+                        }
+                    }
+                    immediate = false;
+                    continue;
+                }
+                wait = handler.onTick(System.currentTimeMillis());
+                immediate = outgoing.hasPublished(); // onTick이 넣은 메시지는 바로 보냄
+            }
+        } catch (ClosedChannelException | CancelledKeyException e) {
+            lost = !closing; // 다른 곳에서 소켓을 닫음 (닫힌 채널의 키는 취소됨)
+        } catch (IOException e) {
+            if (!closing) {
+                System.err.println("(" + name + ")[Connection lost]");
+                System.err.println("Exception: " + e.getClass().getName() + " - " + e.getMessage());
+                lost = true;
+            }
+        } catch (RuntimeException e) {
+            // 콜백 오류로 루프가 멈추면 경기도 멈추므로 끊긴 연결로 알려 재연결/종료 처리를 받게 함
+            System.err.println("(" + name + ")[Handler failed - connection closed]");
+            e.printStackTrace();
+            lost = !closing;
+        } finally {
+            boolean connectionLost = closing ? closeLost : lost;
+            release(closing || lost || closeDeadline != 0);
+            handler.onClosed(connectionLost);
+        }
+    }
+
+    private boolean awaitPreviousOwner() {
+        if (previousLease == null) {
+            return true;
+        }
+        long deadline = System.currentTimeMillis() + RELEASE_TIMEOUT_MS;
+        while (!closing && System.currentTimeMillis() < deadline) {
+            if (awaitLease(previousLease, 50)) {
+                return true;
+            }
+        }
+        return closing;
+    }
+
+    /**
+     * 읽을 수 있는 만큼 메시지를 읽어 넘깁니다. finish()가 불리면 다음 메시지는 읽지 않습니다.
+     *
+     * @return 상대가 연결을 끊었으면 false
+     */
+    private boolean readMessages() throws IOException {
+        return frameReader.readFrom(channel, frameHandler, stopReading);
+    }
+
+    /**
+     * 공개된 메시지를 모아 gathering write로 보냅니다.
+     *
+     * @return 보낼 메시지를 모두 썼으면 true (소켓 버퍼가 차면 OP_WRITE로 다음에 이어서 씀)
+     */
+    private boolean flushWrites() throws IOException {
+        int readOps = finishing ? 0 : SelectionKey.OP_READ; // 끝내는 중에는 남은 데이터를 다음 소유자에게 남김
+        while (true) {
+            if (lastSent) {
+                outgoing.discardPublished();
+                socketKey.interestOps(readOps);
+                return true;
+            }
+            int count = outgoing.gather(gatherBuffers);
+            if (count == 0) {
+                socketKey.interestOps(readOps);
+                return true;
+            }
+            channel.write(gatherBuffers, 0, count);
+            boolean complete = !gatherBuffers[count - 1].hasRemaining();
+            lastSent = outgoing.releaseWritten();
+            if (!complete) {
+                socketKey.interestOps(readOps | SelectionKey.OP_WRITE);
+                return false;
+            }
+        }
+    }
+
+    private void release(boolean closeSocket) {
+        try {
+            if (selector != null) {
+                selector.close(); // 등록 해제
+            }
+            if (datagram != null) {
+                datagram.close();
+            }
+            if (closeSocket) {
+                socket.close();
+            } else {
+                synchronized (channel.blockingLock()) {
+                    if (channel.isOpen() && !channel.isRegistered()) {
+                        channel.configureBlocking(true); // 다음 소유자가 블로킹 스트림을 쓸 수 있도록
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("(" + name + ")[Error while releasing socket]");
+        } finally {
+            LEASES.remove(channel, lease);
+            lease.complete(null);
+            System.err.println("(" + name + ")[Connection loop stopped]");
+        }
+    }
+
+    public Socket getSocket() {
+        return socket;
+    }
+}
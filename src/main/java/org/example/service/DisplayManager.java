@@ -14,7 +14,6 @@ import java.util.List;
  * Singleton 패턴으로 구현되어 애플리케이션 전역에서 하나의 인스턴스만 사용
  */
 public class DisplayManager {
-    private static DisplayManager instance;
     private ScreenSize currentSize;
     private Stage primaryStage;
     private List<BaseView> registeredViews;
@@ -34,11 +33,12 @@ public class DisplayManager {
         this.isMultiplayerMode = false;
     }
 
+    private static class Holder {
+        private static final DisplayManager INSTANCE = new DisplayManager();
+    }
+
     public static DisplayManager getInstance() {
-        if (instance == null) {
-            instance = new DisplayManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     /**
@@ -1,73 +1,170 @@
 package org.example.service;
 
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
+import java.net.PortUnreachableException;
 import java.net.Socket;
 import java.nio.ByteBuffer;
+import java.security.SecureRandom;
 import java.nio.channels.DatagramChannel;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import org.example.model.AdderBoardSync;
 import org.example.model.GameBoard;
+import org.example.model.TetrominoPosition;
 
 import javafx.application.Platform;
 
 /**
  * 게임 중 실시간 데이터를 송수신하는 네트워크 매니저
+ * 메시지 형식은 BoardSyncCodec이 담당하고, 콜백은 callbackExecutor에서 실행됩니다.
+ * TCP 게임 이벤트와 UDP 보드 동기화는 ConnectionLoop 스레드 하나가 모두 처리합니다.
+ * 받은 포즈는 지터 버퍼(PoseJitterBuffer)를 거쳐 보낸 쪽 틱 간격대로 재생합니다.
+ * 보드 해시를 켜면 고정 보드의 해시를 주기적으로 보내, 상대가 재구성한 보드가 어긋났을 때 재동기화를 요청받습니다.
+ * 신뢰성 UDP 통로를 켜면 공격 라인, 보드 이벤트, 입력 묶음도 UDP(ReliableLane)로 보내고 TCP는 예비로 남깁니다.
+ * 입력 교환 대전(setLockstepMatch)에서는 보드/포즈 대신 LockstepMatch의 입력 묶음만 주고받습니다.
+ * 재연결을 켜면 연결이 끊겨도 RECONNECT_WINDOW 동안 새 소켓을 기다렸다가 상태 키프레임(ResumeCodec)을 주고받고 경기를 이어갑니다.
  */
 
 public class InGameNetworkManager {
 
-    public static final byte SIGNAL_ADDER_BOARD = 0x01;
-    public static final byte SIGNAL_GO_WAITING_ROOM = 0x02;
-    public static final byte SIGNAL_GAME_OVER = 0x03;
-    public static final byte SIGNAL_ENDING = 0x04;
+    public static final byte SIGNAL_ADDER_BOARD = BoardSyncCodec.SIGNAL_ADDER_BOARD;
+    public static final byte SIGNAL_GO_WAITING_ROOM = BoardSyncCodec.SIGNAL_GO_WAITING_ROOM;
+    public static final byte SIGNAL_GAME_OVER = BoardSyncCodec.SIGNAL_GAME_OVER;
+    public static final byte SIGNAL_ENDING = BoardSyncCodec.SIGNAL_ENDING;
 
-    private final Socket tcpSocket;
-    private DatagramChannel udpChannel;
-    private Selector selector;
+    private volatile Socket tcpSocket;
+    private volatile ConnectionLoop loop; // 다시 붙으면 새 루프로 바뀜
+    private DatagramChannel udpChannel; // 루프 스레드 전용 (생성 실패 시 null)
+    private volatile boolean udpStopped;
 
-    private Thread boardSyncSendThread;
-    private Thread boardSyncReceiveThread;
-    private Thread gameDataSendThread;
-    private Thread gameDataReceiveThread;
     private Runnable onDisconnect;
     private Runnable onGoWaitingRoom;
     private BiConsumer<Integer, Boolean> onGameOver;
-    private Consumer<int[][]> onAdderBoardReceived;
+    private Consumer<int[]> onAdderBoardReceived; // 줄마다 구멍 마스크
+    private volatile AdderBoardSync adderBoardSink; // 설정되면 공격 라인을 링에 바로 디코딩
     private Consumer<int[][]> onBoardDataReceived;
     private Supplier<int[][]> boardDataProvider;
     private IntSupplier scoreProvider;
     private LongConsumer displayDelay;
-    private final BlockingQueue<byte[]> sendQueue = new LinkedBlockingQueue<>();
-    private final AtomicBoolean released = new AtomicBoolean(false);
+    private final Executor callbackExecutor; // UI 콜백 실행 (기본: JavaFX 스레드)
+    // UDP 보드 동기화 상태 (루프 스레드 전용)
+    private final BoardDeltaCodec.Encoder boardEncoder = new BoardDeltaCodec.Encoder(KEYFRAME_INTERVAL);
+    private final BoardDeltaCodec.Decoder boardDecoder = new BoardDeltaCodec.Decoder();
+    // 포즈 동기화 상태: 설정되면 보드 대신 조각 포즈(UDP)와 보드 이벤트(TCP)를 보냄
+    private volatile TetrisSystem poseSource;
+    private final PoseSyncCodec.EventEncoder eventEncoder = new PoseSyncCodec.EventEncoder();
+    private final PoseSyncCodec.Mirror opponentMirror = new PoseSyncCodec.Mirror();
+    // 포즈 동기화로 보낼 내 상태: 게임 스레드가 채운 스냅샷을 교환으로만 넘겨 루프 스레드가 TetrisSystem을 읽지 않음
+    private PoseSnapshot writeSnapshot = new PoseSnapshot();   // 게임 스레드 전용
+    private final AtomicReference<PoseSnapshot> pendingSnapshot = new AtomicReference<>(new PoseSnapshot());
+    private PoseSnapshot readSnapshot = new PoseSnapshot();    // 루프 스레드 전용
+    private PoseJitterBuffer poseBuffer = new PoseJitterBuffer(); // 루프 스레드 전용
+    private final long startTime = System.currentTimeMillis(); // 포즈 송신 틱 기준
+    // 보드 해시: 마지막 보드 이벤트 순번과 그때 보드의 해시 (루프 스레드 전용)
+    private volatile boolean boardHashing;
+    private int hashedSeq = -1; // -1이면 아직 보낸 보드가 없음
+    private long hashedBoard;
+    private long lastHashSentTime;
+    private long lastResyncRequestTime;
+    private volatile long desyncCount;
+    private volatile LockstepMatch lockstepMatch; // 설정되면 받은 입력 묶음을 넘겨줌
+    private final List<byte[]> earlyLockstepInputs = new ArrayList<>(); // 설정 전에 도착한 입력 묶음 (lock)
+    // 신뢰성 UDP 통로: 게임 스레드가 넣은 메시지는 큐를 거쳐 루프 스레드가 통로에 넣음
+    private ReliableLane reliableLane = new ReliableLane(this::handleGameData);
+    private final MessageQueue laneOutgoing = new MessageQueue(ReliableLane.WINDOW);
+    private final ByteBuffer[] laneBatch = new ByteBuffer[16];
+    private volatile boolean reliableUdp;
+    private volatile boolean laneFailed; // 통로가 넘친 뒤로는 순서를 지키도록 모두 TCP로 보냄
+    // 재연결: 서버가 정한 세션 ID로 새 소켓의 상대를 확인하고, 그동안 잃은 공격은 다시 보냄
+    private volatile Reconnector reconnector;
+    private LongSupplier remainingTimeProvider;
+    private Runnable onInterrupted;
+    private Consumer<ResumeCodec.State> onResumed;
+    private volatile long sessionId;          // 0이면 아직 없음 (재연결 불가)
+    private volatile long reconnectDeadline;  // 0이면 재연결 중이 아님
+    private volatile boolean awaitingState;   // 새 소켓에서 상대의 상태 키프레임을 기다리는 중
+    private volatile boolean awaitingResumed; // 상대가 내 키프레임을 적용할 때까지 통로 대신 TCP로 (키프레임보다 앞서지 않도록)
+    private volatile boolean disconnected;
+    private volatile boolean peerLeft;        // 상대가 SIGNAL_LEAVE를 보내고 나감 (재연결을 기다리지 않음)
+    private volatile Thread reconnectThread;
+    private volatile int attacksReceived;     // 루프 스레드만 씀
+    private final int[][] sentAttacks = new int[ATTACK_HISTORY][]; // 최근 보낸 공격 (sentAttacks로 동기화)
+    private int attacksSent;
+    private int resendLimit; // 다시 붙기 전에 보낸 공격 수 (이후 공격은 새 연결로 감)
+    // 변화 기반 송신: 상태가 바뀌면 바로, 몰리면 최소 간격으로, 없으면 heartbeat로 보냄
+    private final SendScheduler sendScheduler = new SendScheduler();
+    // 링크 품질: 핑/퐁 RTT, 지터, 순번 기반 손실
+    private final NetworkStats networkStats = new NetworkStats();
+    private final LinkProbe linkProbe = new LinkProbe(networkStats);
+    private volatile Consumer<NetworkStats.Snapshot> onNetworkStats;
+    // 마지막으로 보낸 내용 (변화 없으면 건너뜀)
+    private final byte[] lastSentPose = new byte[PoseSyncCodec.POSE_PACKET_SIZE];
+    private final int[][] lastSentBoard = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+    private boolean hasSentState;
+    private int poseSeq;
+    // 루프 스레드 전용 버퍼와 타이머
+    private final ByteBuffer sendDataBuffer = ByteBuffer.allocate(MAX_PACKET_SIZE);
+    private final ByteBuffer receiveByteBuffer = ByteBuffer.allocate(MAX_PACKET_SIZE);
+    private final ByteBuffer replyBuffer = ByteBuffer.allocate(LinkProbe.PONG_SIZE);
+    private final int[][] decodeBuffer = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+    private long lastDelayDisplayTime = System.currentTimeMillis();
+    private long lastPacketTime = System.currentTimeMillis();
+    private long lastKeyframeRequestTime;
+    private int linkSamples;
 
     // ----------- 상수 -----------
-    private static final int TICK_TIME = 40;
+    private static final int KEYFRAME_REQUEST_INTERVAL = 40;
+    private static final int BOARD_HASH_INTERVAL = 1000;
     private static final int CONNECTION_LOST_TIME = 5000;
-    private static final int MAX_PACKET_SIZE = 1024; // 1KB
+    public static final int RECONNECT_WINDOW = 15000; // 끊긴 뒤 새 소켓을 기다리는 시간
+    private static final int ATTACK_HISTORY = 32;     // 다시 붙을 때 재전송할 수 있는 최근 공격 수
+    private static final SecureRandom SESSION_RANDOM = new SecureRandom();
+    private static final int MAX_PACKET_SIZE = ReliableLane.MAX_PACKET_SIZE; // 신뢰성 통로의 데이터 패킷까지
+    private static final int KEYFRAME_INTERVAL = BoardDeltaCodec.DEFAULT_KEYFRAME_INTERVAL; // 보드 키프레임 간격 (패킷 수)
 
     public InGameNetworkManager(
         Socket socket,
         Runnable onDisconnect,
         Runnable onGoWaitingRoom,
         BiConsumer<Integer, Boolean> onGameOver,
-        Consumer<int[][]> onAdderBoardReceived,
+        Consumer<int[]> onAdderBoardReceived,
         Consumer<int[][]> onBoardDataReceived, 
         Supplier<int[][]> boardDataProvider,
         IntSupplier scoreProvider,
         LongConsumer displayDelay
     )
+    {
+        this(socket, onDisconnect, onGoWaitingRoom, onGameOver, onAdderBoardReceived, onBoardDataReceived,
+                boardDataProvider, scoreProvider, displayDelay, Platform::runLater);
+    }
+
+    /**
+     * @param callbackExecutor 콜백을 실행할 Executor (헤드리스 환경에서는 Runnable::run 등)
+     */
+    public InGameNetworkManager(
+        Socket socket,
+        Runnable onDisconnect,
+        Runnable onGoWaitingRoom,
+        BiConsumer<Integer, Boolean> onGameOver,
+        Consumer<int[]> onAdderBoardReceived,
+        Consumer<int[][]> onBoardDataReceived, 
+        Supplier<int[][]> boardDataProvider,
+        IntSupplier scoreProvider,
+        LongConsumer displayDelay,
+        Executor callbackExecutor
+    )
     {
         this.tcpSocket = socket;
+        this.callbackExecutor = callbackExecutor;
         this.onDisconnect = onDisconnect;
         this.onGoWaitingRoom = onGoWaitingRoom;
         this.onGameOver = onGameOver;
@@ -76,348 +173,876 @@ public class InGameNetworkManager {
         this.boardDataProvider = boardDataProvider;
         this.scoreProvider = scoreProvider;
         this.displayDelay = displayDelay;
+        attach(socket, null);
+    }
+
+    /**
+     * 소켓에 새 연결 루프와 UDP 채널을 붙여 시작합니다.
+     *
+     * @param state 다시 붙는 경우 가장 먼저 보낼 내 상태 키프레임 (처음이면 null)
+     */
+    private void attach(Socket socket, ResumeCodec.State state) {
+        ConnectionLoop next = new ConnectionLoop(socket, "InGame", new LoopHandler());
+        DatagramChannel datagram = null;
         try {
-            // NIO DatagramChannel 설정
-            udpChannel = DatagramChannel.open();
-            udpChannel.configureBlocking(false);
-            udpChannel.bind(tcpSocket.getLocalSocketAddress());
-            udpChannel.connect(tcpSocket.getRemoteSocketAddress()); // 상대방 주소 고정
-            
-            // Selector 설정 (수신 대기용)
-            selector = Selector.open();
-            udpChannel.register(selector, SelectionKey.OP_READ);
-            
-            Thread.startVirtualThread(this::startNetworking);
+            datagram = DatagramChannel.open();
+            datagram.bind(socket.getLocalSocketAddress());
+            datagram.connect(socket.getRemoteSocketAddress()); // 상대방 주소 고정
+            next.setDatagramChannel(datagram);
         } catch (IOException e) {
             System.err.println("[Error while creating UDP channel]");
             System.err.println("Exception: " + e.getClass().getName() + " - " + e.getMessage());
-            releaseResources(true);
-            udpChannel = null;
+            try {
+                if (datagram != null) datagram.close();
+            } catch (IOException ignore) {}
+            datagram = null;
+            next.close(true); // 시작하자마자 끝나며 onClosed(true) 호출
+        }
+        if (state != null) {
+            MessageQueue.Slot slot = next.claim(ResumeCodec.stateSize(state));
+            if (slot != null) {
+                ResumeCodec.encodeState(slot.buffer(), state);
+                next.publish(slot);
+            }
+        }
+        udpChannel = datagram;
+        tcpSocket = socket;
+        synchronized (sentAttacks) {
+            resendLimit = attacksSent;
+            loop = next;
+        }
+        next.start();
+        if (disconnected) {
+            leave(next); // 붙는 사이에 disconnect()됨
         }
     }
-    
-    private void startNetworking() {
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            System.err.println("(InGame)[Networking start interrupted - graceful shutdown]");
+
+    /**
+     * 받은 공격 라인을 onAdderBoardReceived 대신 AdderBoardSync 링에 루프 스레드에서 바로 채우도록 합니다.
+     */
+    public void setAdderBoardSink(AdderBoardSync sink) {
+        this.adderBoardSink = sink;
+    }
+
+    /**
+     * 보드 전체 대신 현재 조각 포즈와 고정 보드 이벤트만 보내도록 합니다. (상대는 패킷 종류로 자동 구분)
+     */
+    public void setPoseSource(TetrisSystem system) {
+        this.poseSource = system;
+        captureSnapshot(system); // 변화가 없어도 첫 포즈와 보드를 보낼 수 있도록
+    }
+
+    /**
+     * 포즈 동기화로 보낼 내 상태 (고정 보드, 해시, 조각 사본)
+     * 세 개를 돌려 씁니다: 게임 스레드가 채우는 것, 넘겨 둔 것(pendingSnapshot), 루프 스레드가 읽는 것.
+     * 주고받기는 pendingSnapshot.getAndSet()으로만 하므로 어느 쪽도 기다리거나 반쯤 쓴 상태를 읽지 않습니다.
+     */
+    private static final class PoseSnapshot {
+        final int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH]; // 조각을 뺀 보이는 영역
+        long boardHash;
+        TetrominoPosition current;
+        TetrominoPosition next;
+        TetrominoPosition hold;
+        boolean filled; // 한 번이라도 채워짐
+        boolean fresh;  // 루프 스레드가 아직 가져가지 않음
+    }
+
+    // 게임 스레드: 보낼 상태를 복사해 루프 스레드에 넘김
+    private void captureSnapshot(TetrisSystem system) {
+        PoseSnapshot snapshot = writeSnapshot;
+        GameBoard board = system.getBoard();
+        int[][] visible = board.getVisibleBoard();
+        for (int row = 0; row < GameBoard.HEIGHT; row++) {
+            System.arraycopy(visible[row], 0, snapshot.board[row], 0, GameBoard.WIDTH);
+        }
+        snapshot.boardHash = board.getBoardHash();
+        snapshot.current = copyOf(system.getCurrentPiece());
+        List<TetrominoPosition> nextQueue = system.getNextQueue();
+        snapshot.next = nextQueue.isEmpty() ? null : copyOf(nextQueue.get(0));
+        snapshot.hold = copyOf(system.getHoldPiece());
+        snapshot.filled = true;
+        snapshot.fresh = true;
+        writeSnapshot = pendingSnapshot.getAndSet(snapshot);
+    }
+
+    private static TetrominoPosition copyOf(TetrominoPosition piece) {
+        return piece != null ? piece.copy() : null;
+    }
+
+    // 루프 스레드: 게임 스레드가 넘긴 가장 최근 스냅샷 (아직 없으면 null)
+    private PoseSnapshot latestSnapshot() {
+        if (pendingSnapshot.get().fresh) {
+            readSnapshot.fresh = false;
+            readSnapshot = pendingSnapshot.getAndSet(readSnapshot);
+        }
+        return readSnapshot.filled ? readSnapshot : null;
+    }
+
+    /**
+     * 공격 라인, 보드 이벤트, 입력 묶음을 TCP 대신 신뢰성 UDP 통로로 보내도록 합니다.
+     * 상대도 지원할 때만 켭니다. (P2PProtocol.CAP_RELIABLE_UDP) UDP를 쓸 수 없으면 계속 TCP로 보냅니다.
+     */
+    public void setReliableUdp(boolean enabled) {
+        this.reliableUdp = enabled;
+    }
+
+    /**
+     * 포즈 동기화 중 고정 보드의 해시를 BOARD_HASH_INTERVAL마다 보내도록 합니다.
+     * 상대도 지원할 때만 켭니다. (P2PProtocol.CAP_BOARD_HASH) 받은 해시는 설정과 관계없이 검사합니다.
+     */
+    public void setBoardHashing(boolean enabled) {
+        this.boardHashing = enabled;
+    }
+
+    /**
+     * 상대 보드 해시가 어긋나거나 보드 이벤트가 빠져 재동기화를 요청한 횟수
+     */
+    public long getDesyncCount() {
+        return desyncCount;
+    }
+
+    /**
+     * 연결이 끊기면 바로 onDisconnect를 부르지 않고 RECONNECT_WINDOW 동안 reconnector로 새 소켓을 기다립니다.
+     * 상대가 disconnect()로 나가면서 SIGNAL_LEAVE를 보냈으면 기다리지 않습니다.
+     * 상대도 지원할 때만 켭니다. (P2PProtocol.CAP_RECONNECT) 세션 ID는 서버가 startSession()으로 정합니다.
+     *
+     * @param remainingTimeProvider 상태 키프레임에 넣을 남은 시간 (타임 어택이 아니면 -1)
+     * @param onInterrupted 끊겨서 재연결을 기다리기 시작할 때 (callbackExecutor에서 실행)
+     * @param onResumed 상대 상태 키프레임을 적용해 경기를 이어갈 때 (callbackExecutor에서 실행)
+     */
+    public void enableReconnect(Reconnector reconnector, LongSupplier remainingTimeProvider,
+                                Runnable onInterrupted, Consumer<ResumeCodec.State> onResumed) {
+        this.remainingTimeProvider = remainingTimeProvider;
+        this.onInterrupted = onInterrupted;
+        this.onResumed = onResumed;
+        this.reconnector = reconnector;
+    }
+
+    /**
+     * 서버: 이번 경기의 세션 ID를 정해 상대에게 보냅니다. 새 소켓의 상대는 이 ID로 확인합니다.
+     */
+    public void startSession() {
+        long id = 0;
+        while (id == 0) {
+            id = SESSION_RANDOM.nextLong();
+        }
+        sessionId = id;
+        MessageQueue.Slot slot = loop.claim(ResumeCodec.SESSION_SIZE);
+        if (slot != null) {
+            ResumeCodec.encodeSession(slot.buffer(), id);
+            loop.publish(slot);
+        }
+    }
+
+    /**
+     * 이번 경기의 세션 ID (아직 정해지지 않았으면 0)
+     */
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * 입력 교환(lockstep) 대전: 상대가 보낸 입력 묶음을 이 경기에 넘겨주도록 합니다.
+     * 설정하면 보드/포즈 동기화 패킷은 보내지 않습니다. (게임 시작 전에 호출)
+     */
+    public void setLockstepMatch(LockstepMatch match) {
+        synchronized (earlyLockstepInputs) {
+            this.lockstepMatch = match;
+            // 루프는 생성자에서 시작하므로 상대가 먼저 보낸 입력 묶음이 있을 수 있음
+            earlyLockstepInputs.forEach(match::receiveRemoteInputs);
+            earlyLockstepInputs.clear();
+        }
+    }
+
+    /**
+     * @param message LockstepMatch.pollOutgoing()이 만든 입력 묶음
+     */
+    public void sendLockstepInputs(byte[] message) {
+        MessageQueue.Slot slot = laneActive() ? laneOutgoing.claim(message.length) : null;
+        if (slot != null) {
+            slot.buffer().put(message);
+            publishToLane(slot);
             return;
         }
-        boardSyncSendThread = new Thread(this::boardSyncSendLoop);
-        boardSyncSendThread.setDaemon(true);
-        boardSyncSendThread.start();
-        boardSyncReceiveThread = new Thread(this::boardSyncReceiveLoop);
-        boardSyncReceiveThread.setDaemon(true);
-        boardSyncReceiveThread.start();
-        gameDataSendThread = Thread.startVirtualThread(this::gameDataSendLoop);
-        gameDataReceiveThread = Thread.startVirtualThread(this::gameDataReceiveLoop);
-        System.err.println("-----------------In Game Network manager initialized------------------");
-    }
-
-    public void sendAdderBoard(int[][] adderBoard) {
-        int height = adderBoard.length;
-        int width = GameBoard.WIDTH;
-        int dataLen = height * width * 4;
-        ByteBuffer buffer = ByteBuffer.allocate(1 + dataLen);
-        buffer.put(SIGNAL_ADDER_BOARD);
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                buffer.putInt(adderBoard[i][j]);
+        loop.send(message);
+    }
+
+    /**
+     * 1초마다 현재 RTT/지터/손실률을 받을 콜백을 설정합니다. (callbackExecutor에서 실행)
+     */
+    public void setOnNetworkStats(Consumer<NetworkStats.Snapshot> onNetworkStats) {
+        this.onNetworkStats = onNetworkStats;
+    }
+
+    /**
+     * 이번 경기의 네트워크 통계 (경기 종료 후 요약/내보내기용)
+     */
+    public NetworkStats getNetworkStats() {
+        return networkStats;
+    }
+
+    /**
+     * 게임 스레드: 내 화면 상태가 바뀌었음을 알립니다. 루프가 깨어나 바로(또는 burst 상한 뒤에) 보냅니다.
+     * 포즈 동기화 중이면 여기서 상태를 복사해 두고, 루프 스레드는 그 사본만 읽습니다.
+     */
+    public void notifyLocalChange() {
+        TetrisSystem system = poseSource;
+        if (system != null) {
+            captureSnapshot(system);
+        }
+        sendScheduler.markChanged();
+        loop.wakeup();
+    }
+
+    /**
+     * @param holeMasks 보낼 공격 라인의 구멍 마스크 (줄당 2바이트로 전송)
+     */
+    public void sendAdderBoard(int[] holeMasks) {
+        int size = BoardSyncCodec.adderBoardSize(holeMasks.length);
+        ConnectionLoop target;
+        // 기록과 보낼 곳을 함께 정해야 다시 붙을 때 재전송할 공격과 새 연결로 갈 공격이 겹치지 않음
+        synchronized (sentAttacks) {
+            sentAttacks[attacksSent++ % ATTACK_HISTORY] = holeMasks.clone();
+            MessageQueue.Slot slot = laneActive() ? laneOutgoing.claim(size) : null;
+            if (slot != null) {
+                BoardSyncCodec.encodeAdderBoard(slot.buffer(), holeMasks);
+                publishToLane(slot);
+                return;
             }
+            target = loop;
         }
-        sendQueue.offer(buffer.array());
+        MessageQueue.Slot slot = target.claim(size);
+        if (slot != null) {
+            BoardSyncCodec.encodeAdderBoard(slot.buffer(), holeMasks);
+            target.publish(slot);
+        }
+    }
+
+    private boolean laneActive() {
+        return reliableUdp && !laneFailed && !awaitingResumed && !udpStopped && udpChannel != null;
+    }
+
+    private void publishToLane(MessageQueue.Slot slot) {
+        laneOutgoing.publish(slot, false);
+        loop.wakeup();
     }
 
+    // 종료 신호는 소켓 넘겨주기와 함께 TCP 스트림의 끝을 정하므로 항상 TCP로 보냄
+    // 종료 메시지를 보낸 뒤에도 상대의 ENDING/GAME_OVER를 받을 때까지 TCP는 계속 읽음
     public void sendGoWaitingRoomAndShutDown() {
-        byte[] msg = new byte[1];
-        msg[0] = SIGNAL_GO_WAITING_ROOM;
-        sendQueue.offer(msg);
-        stopUDPthread();
+        MessageQueue.Slot slot = loop.claim(BoardSyncCodec.GO_WAITING_ROOM_SIZE);
+        if (slot != null) {
+            slot.buffer().put(SIGNAL_GO_WAITING_ROOM);
+            loop.publishLast(slot);
+        }
+        stopUdp();
     }
 
     public void sendGameOverAndShutDown(int score, boolean timeover) {
-        ByteBuffer buffer = ByteBuffer.allocate(6);
-        buffer.put(SIGNAL_GAME_OVER);
-        buffer.putInt(score);
-        buffer.put((byte)(timeover ? 1 : 0));
-        sendQueue.offer(buffer.array());
-        stopUDPthread();
+        MessageQueue.Slot slot = loop.claim(BoardSyncCodec.GAME_OVER_SIZE);
+        if (slot != null) {
+            BoardSyncCodec.encodeGameOver(slot.buffer(), score, timeover);
+            loop.publishLast(slot);
+        }
+        stopUdp();
     }
 
+    // 상대의 종료 메시지에 답하고 소켓을 다음 화면에 넘김 (루프 스레드)
     private void sendEndingMsgAndShutDown(int score) {
-        ByteBuffer buffer = ByteBuffer.allocate(5);
-        buffer.put(SIGNAL_ENDING);
-        buffer.putInt(score);
-        sendQueue.offer(buffer.array());
-        stopUDPthread();
+        MessageQueue.Slot slot = loop.claim(BoardSyncCodec.ENDING_SIZE);
+        if (slot != null) {
+            BoardSyncCodec.encodeEnding(slot.buffer(), score);
+            loop.publishLast(slot);
+        }
+        stopUdp();
+        loop.finish();
     }
 
-    // 보드 동기화를 제외한 기타 게임 데이터 송신 루프
-    private void gameDataSendLoop() {
-        DataOutputStream outputStream;
-        try {
-            outputStream = new DataOutputStream(tcpSocket.getOutputStream());
-        } catch (IOException e) {
-            System.err.println("[Failed to initialize output stream]");
-            releaseResources(true);
-            return;
+    private final class LoopHandler implements ConnectionLoop.Handler {
+        @Override
+        public void onMessage(byte type, byte[] data, int size) {
+            handleGameData(type, data, size);
         }
-        try {
-            while (true) {
-                byte[] message = sendQueue.take(); // blocking - 메시지 올 때까지 대기
-                outputStream.writeInt(message.length);
-                outputStream.write(message);
-                outputStream.flush();
-                if (SIGNAL_GO_WAITING_ROOM <= message[0] && message[0] <= SIGNAL_ENDING) {
-                    System.err.println("(InGame)[Send thread stopped after sending ending message]");
-                    return ;
-                }
+
+        @Override
+        public void onDatagramReadable(DatagramChannel channel) throws IOException {
+            receiveBoardSync();
+        }
+
+        @Override
+        public long onTick(long now) throws IOException {
+            return tickBoardSync(now);
+        }
+
+        @Override
+        public void onClosed(boolean connectionLost) {
+            if (connectionLost && !startReconnect()) {
+                callbackExecutor.execute(onDisconnect);
             }
-        } catch (InterruptedException e) {
-            System.err.println("(InGame)[Send thread interrupted - graceful shutdown]");
-        } catch (IOException e) {
-            System.err.println("[Send failed - connection lost]");
-            releaseResources(true);
         }
     }
 
-    // 보드 동기화를 제외한 기타 게임 데이터 수신 루프
-    private void gameDataReceiveLoop() {
-        DataInputStream inputStream;
-        try {
-            inputStream = new DataInputStream(tcpSocket.getInputStream());
-        } catch (IOException e) {
-            System.err.println("[Failed to initialize input stream]");
-            releaseResources(true);
-            return;
+    /**
+     * 끊긴 연결을 다시 이을 수 있으면 재연결 스레드를 시작합니다. (처음 끊겼을 때 재연결 창이 열림)
+     *
+     * @return 재연결을 시작했으면 true (경기가 끝나는 중이거나 창이 지났으면 false)
+     */
+    private boolean startReconnect() {
+        if (reconnector == null || sessionId == 0 || udpStopped || disconnected || peerLeft) {
+            return false;
         }
-        try {
-            while (true) {
-                int length = inputStream.readInt(); // blocking - 데이터 올 때까지 대기
-                byte type = inputStream.readByte();
-                byte[] data = inputStream.readNBytes(length - 1);
-
-                if (type == SIGNAL_ADDER_BOARD) { //Adder Board
-                    int height = data.length / (4 * GameBoard.WIDTH);
-                    ByteBuffer buffer = ByteBuffer.wrap(data);
-                    int[][] adderBoard = new int[height][GameBoard.WIDTH];
-                    for (int i = 0; i < height; i++) {
-                        for (int j = 0; j < GameBoard.WIDTH; j++) {
-                            adderBoard[i][j] = buffer.getInt();
-                        }
-                    }
-                    onAdderBoardReceived.accept(adderBoard);
-                }
-                else if (type == SIGNAL_GO_WAITING_ROOM) { // Go Waiting Room
-                    sendEndingMsgAndShutDown(-1); // WaitingRoom 표시
-                    Platform.runLater(onGoWaitingRoom); 
-                    System.err.println("(InGame)[shutdown receive thread by remote go waiting room]");
-                    return ;
-                }
-                else if (type == SIGNAL_GAME_OVER) { // Game Over
-                    ByteBuffer scoreBuffer = ByteBuffer.wrap(data);
-                    int opponentScore = scoreBuffer.getInt();
-                    boolean timeover = scoreBuffer.get() == 1;
-                    sendEndingMsgAndShutDown(scoreProvider.getAsInt());
-                    Platform.runLater(() -> onGameOver.accept(opponentScore, timeover));
-                    System.err.println("(InGame)[shutdown receive thread by remote game over]");
-                    return ;
+        long now = System.currentTimeMillis();
+        if (reconnectDeadline == 0) {
+            reconnectDeadline = now + RECONNECT_WINDOW;
+            System.err.println("[Connection interrupted - waiting up to " + RECONNECT_WINDOW + "ms for reconnect]");
+            callbackExecutor.execute(onInterrupted);
+        } else if (now >= reconnectDeadline) {
+            return false;
+        }
+        reconnectThread = Thread.ofVirtual().name("InGame-reconnect").start(this::reconnect);
+        return true;
+    }
+
+    // 재연결 스레드: 창이 닫힐 때까지 새 소켓을 기다렸다가 붙임
+    private void reconnect() {
+        while (!disconnected) {
+            long remaining = reconnectDeadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            Socket socket;
+            try {
+                socket = reconnector.reconnect(remaining);
+            } catch (IOException e) {
+                if (disconnected) {
+                    return;
                 }
-                else if (type == SIGNAL_ENDING) { // stop receive data
-                    ByteBuffer scoreBuffer = ByteBuffer.wrap(data);
-                    int opponentScore = scoreBuffer.getInt();
-                    if (opponentScore != -1) {
-                        Platform.runLater(() -> onGameOver.accept(opponentScore, false));
-                    }
-                    System.err.println("(InGame)[shutdown receive thread by remote request]");
-                    return ;
+                System.err.println("[Reconnect attempt failed: " + e.getMessage() + "]");
+                try {
+                    Thread.sleep(Reconnector.RETRY_INTERVAL_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
                 }
+                continue;
             }
+            if (socket == null) {
+                continue;
+            }
+            if (disconnected) {
+                try {
+                    socket.close();
+                } catch (IOException ignore) {}
+                return;
+            }
+            System.err.println("[Reconnected - exchanging state keyframes]");
+            resume(socket);
+            return;
         }
-        catch (IOException e) {
-            if (Thread.currentThread().isInterrupted()) {
-                System.err.println("(InGame)[Receive thread interrupted - graceful shutdown]");
-            } else {
-                System.err.println("[Receive failed - connection lost]");
-                releaseResources(true);
+        if (!disconnected) {
+            System.err.println("[Reconnect window expired]");
+            callbackExecutor.execute(onDisconnect);
+        }
+    }
+
+    /**
+     * 새 소켓으로 이어 붙입니다. 이전 루프는 이미 끝났으므로 루프 스레드 전용 상태를 여기서 초기화합니다.
+     * 양쪽이 상태 키프레임을 먼저 보내고, 상대의 키프레임을 적용할 때까지(awaitingState) 다른 메시지는 받지 않습니다.
+     */
+    private void resume(Socket socket) {
+        reliableLane = new ReliableLane(this::handleGameData); // 이전 통로에 남은 메시지는 키프레임과 재전송으로 대신함
+        synchronized (sentAttacks) {
+            awaitingResumed = true;
+            laneOutgoing.discardPublished(); // 못 보낸 공격은 resendAttacks()가 다시 보냄
+        }
+        laneFailed = false;
+        poseBuffer = new PoseJitterBuffer();                   // 새 경로의 전송 지연을 다시 잼
+        boardEncoder.requestKeyframe();
+        hasSentState = false;
+        lastPacketTime = System.currentTimeMillis();
+        awaitingState = true;
+        attach(socket, captureState());
+    }
+
+    // 상대가 내 화면을 다시 그리는 데 필요한 상태 (루프가 멈춘 동안 호출)
+    private ResumeCodec.State captureState() {
+        int[][] cells = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        PoseSyncCodec.Pose pose = null;
+        if (poseSource != null) {
+            // 상대 미러는 마지막 보드 이벤트까지의 보드에서 이어서 이벤트를 받음
+            eventEncoder.copySentBoard(cells);
+            PoseSnapshot snapshot = latestSnapshot();
+            pose = snapshot == null ? new PoseSyncCodec.Pose(poseSeq, eventEncoder.getSeq(), null, null, null)
+                    : new PoseSyncCodec.Pose(poseSeq, eventEncoder.getSeq(),
+                            snapshot.current, snapshot.next, snapshot.hold);
+        } else {
+            int[][] data = boardDataProvider.get();
+            for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                System.arraycopy(data[row], 0, cells[row], 0, GameBoard.WIDTH);
             }
         }
+        LongSupplier timer = remainingTimeProvider;
+        long remaining = timer != null ? timer.getAsLong() : ResumeCodec.NO_TIMER;
+        return new ResumeCodec.State(sessionId, attacksReceived, scoreProvider.getAsInt(),
+                remaining < 0 ? ResumeCodec.NO_TIMER : remaining, pose, cells);
     }
 
-    //UDP 보드 동기화 송신 루프 (NIO)
-    private void boardSyncSendLoop() {
-        int[][] data;
-        int tick = 0;
-        final ByteBuffer sendDataBuffer = ByteBuffer.allocate(MAX_PACKET_SIZE);
+    // 다시 붙은 상대의 상태 키프레임 적용 (루프 스레드)
+    private void applyResumeState(ResumeCodec.State state) {
+        awaitingState = false;
+        PoseSyncCodec.Pose pose = state.pose();
+        if (pose != null) {
+            opponentMirror.load(pose, state.cells());
+            if (opponentMirror.compose(decodeBuffer)) {
+                onBoardDataReceived.accept(decodeBuffer);
+            }
+        } else {
+            for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                System.arraycopy(state.cells()[row], 0, decodeBuffer[row], 0, GameBoard.WIDTH);
+            }
+            onBoardDataReceived.accept(decodeBuffer);
+        }
+        resendAttacks(state.attacksReceived());
+        MessageQueue.Slot slot = loop.claim(ResumeCodec.RESUMED_SIZE);
+        if (slot != null) {
+            slot.buffer().put(ResumeCodec.SIGNAL_RESUMED);
+            loop.publish(slot);
+        }
+        reconnectDeadline = 0;
+        System.err.println("[Match resumed]");
+        Consumer<ResumeCodec.State> listener = onResumed;
+        callbackExecutor.execute(() -> listener.accept(state));
+    }
 
-        while (true) {
-            data = boardDataProvider.get();
-            sendDataBuffer.clear();
-            sendDataBuffer.putInt(tick++);
-            for (int i = 0; i < GameBoard.HEIGHT; i++) {
-                for (int j = 0; j < GameBoard.WIDTH; j++) {
-                    sendDataBuffer.putInt(data[i][j]);
-                }
+    // 끊기기 전에 상대가 받지 못한 공격을 TCP로 다시 보냄 (루프 스레드, 게임은 멈춘 상태)
+    private void resendAttacks(int received) {
+        synchronized (sentAttacks) {
+            int from = Math.max(received, attacksSent - ATTACK_HISTORY);
+            if (from > received) {
+                System.err.println("[" + (from - received) + " attacks too old to resend]");
             }
-            sendDataBuffer.flip();
-            try {
-                udpChannel.write(sendDataBuffer);
-            } catch (java.net.PortUnreachableException e) {
-                // 상대방 UDP 닫힘 or NAT 문제 - 무시하고 계속 (타임아웃으로 최종 판단)
-            } catch (IOException e) {
-                if (Thread.currentThread().isInterrupted()) {
-                    System.err.println("(BoardSync)[Send thread interrupted - graceful shutdown]");
-                    return;
+            for (int i = from; i < resendLimit; i++) {
+                int[] holeMasks = sentAttacks[i % ATTACK_HISTORY];
+                MessageQueue.Slot slot = loop.claim(BoardSyncCodec.adderBoardSize(holeMasks.length));
+                if (slot != null) {
+                    BoardSyncCodec.encodeAdderBoard(slot.buffer(), holeMasks);
+                    loop.publish(slot);
                 }
-                System.err.println("[Error while sending board data]");
-                releaseResources(true);
-                return;
             }
+        }
+    }
 
-            try {
-                Thread.sleep(TICK_TIME);
-            } catch (InterruptedException e) {
-                System.err.println("(BoardSync)[Send thread interrupted - graceful shutdown]");
+    // 보드 동기화를 제외한 기타 게임 데이터 (TCP 메시지 하나)
+    private void handleGameData(byte type, byte[] buffer, int size) {
+        if (type == ResumeCodec.SIGNAL_LEAVE) {
+            // 상대가 경기를 그만둠 - 끊김과 구분해 재연결 창을 열지 않고 바로 끊김으로 처리
+            System.err.println("(InGame)[Opponent left the match]");
+            peerLeft = true;
+            loop.close(true);
+            return;
+        }
+        if (awaitingState) {
+            ResumeCodec.State state = type == ResumeCodec.SIGNAL_STATE ? ResumeCodec.decodeState(buffer, size) : null;
+            if (state == null || state.sessionId() != sessionId) {
+                // 다른 상대이거나 이 경기의 세션이 아님 - 닫고 창이 남아 있으면 다시 기다림
+                System.err.println("[Reconnected peer did not resume this session]");
+                loop.close(true);
                 return;
             }
+            applyResumeState(state);
+            return;
+        }
+        if (type == ResumeCodec.SIGNAL_SESSION) {
+            sessionId = ResumeCodec.decodeSession(buffer, size);
+            return;
+        }
+        if (type == ResumeCodec.SIGNAL_RESUMED) {
+            awaitingResumed = false; // 상대가 키프레임을 적용함 - 이제 통로로 보내도 키프레임을 앞지르지 않음
+            return;
+        }
+        if (type == SIGNAL_ADDER_BOARD) {
+            attacksReceived++;
+        }
+        AdderBoardSync sink = adderBoardSink;
+        if (type == SIGNAL_ADDER_BOARD && sink != null) {
+            BoardSyncCodec.decodeAdderBoardInto(buffer, size, sink);
+            return;
         }
-    }
-    
-    // UDP 보드 동기화 수신 루프 (NIO)
-    private void boardSyncReceiveLoop() {
-        final int expectedLength = GameBoard.HEIGHT * GameBoard.WIDTH * 4 + 4;
-        final int[][] decodeBuffer = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
-        final ByteBuffer receiveByteBuffer = ByteBuffer.allocate(MAX_PACKET_SIZE);
-        
-        long delaySum = 0;
-        int delayCount = 0;
-        long lastDelayDisplayTime = System.currentTimeMillis();
-        int lastTick = -1;
-        long lastPacketTime = System.currentTimeMillis();
-
-        while (true) {
-            long loopStart = System.currentTimeMillis();
 
-            try {
-                int readyChannels = selector.select(TICK_TIME);
-                
-                if (readyChannels > 0) {
-                    selector.selectedKeys().clear();
-                    
-                    while (true) {
-                        receiveByteBuffer.clear();
-                        if (udpChannel.read(receiveByteBuffer) <= 0)
-                            break;
-                        receiveByteBuffer.flip();
-                        
-                        if (receiveByteBuffer.remaining() < expectedLength) {
-                            continue;
-                        }
-                        
-                        int receivedTick = receiveByteBuffer.getInt();
-                        if (receivedTick <= lastTick) {
-                            continue;
-                        }
-                        lastTick = receivedTick;
-                        lastPacketTime = System.currentTimeMillis();
-                        
-                        for (int i = 0; i < GameBoard.HEIGHT; i++) {
-                            for (int j = 0; j < GameBoard.WIDTH; j++) {
-                                decodeBuffer[i][j] = receiveByteBuffer.getInt();
-                            }
-                        }
-                        onBoardDataReceived.accept(decodeBuffer);
+        // 수신 버퍼에서 바로 디코딩하고, 다른 스레드가 보관하는 입력 묶음과 공격 라인만 복사
+        if (type == BoardSyncCodec.SIGNAL_LOCKSTEP_INPUTS) {
+            byte[] payload = Arrays.copyOf(buffer, size);
+            synchronized (earlyLockstepInputs) {
+                LockstepMatch match = lockstepMatch;
+                if (match != null) {
+                    match.receiveRemoteInputs(payload);
+                } else {
+                    earlyLockstepInputs.add(payload);
+                }
+            }
+        }
+        else if (type == BoardSyncCodec.SIGNAL_BOARD_EVENT) {
+            // 보드만 갱신하고, 화면은 다음 포즈 패킷을 받을 때 다시 그림
+            if (!opponentMirror.applyEvent(buffer, size)) {
+                System.err.println("[Invalid board event ignored]");
+                if (opponentMirror.isMissingEvents()) {
+                    // 빠진 이벤트는 다시 오지 않으므로 보드 전체(OP_RESET 이벤트)를 요청
+                    try {
+                        requestResync(System.currentTimeMillis(), "board event skipped");
+                    } catch (IOException e) {
+                        System.err.println("[Failed to request resync: " + e.getMessage() + "]");
                     }
                 }
-            } catch (java.net.PortUnreachableException e) {
-                // 상대방 UDP 닫힘 or NAT 문제 - 무시하고 계속 (타임아웃으로 최종 판단)
-            } catch (IOException e) {
-                if (Thread.currentThread().isInterrupted()) {
-                    System.err.println("(BoardSync)[Receive thread interrupted - graceful shutdown]");
-                    return;
+            }
+        }
+        else if (type == SIGNAL_ADDER_BOARD) { //Adder Board
+            onAdderBoardReceived.accept(BoardSyncCodec.decodeAdderBoard(Arrays.copyOf(buffer, size)));
+        }
+        else if (type == SIGNAL_GO_WAITING_ROOM) { // Go Waiting Room
+            sendEndingMsgAndShutDown(-1); // WaitingRoom 표시
+            callbackExecutor.execute(onGoWaitingRoom);
+            System.err.println("(InGame)[shutdown by remote go waiting room]");
+        }
+        else if (type == SIGNAL_GAME_OVER) { // Game Over
+            int opponentScore = BoardSyncCodec.decodeScore(buffer, size);
+            boolean timeover = BoardSyncCodec.decodeTimeover(buffer, size);
+            sendEndingMsgAndShutDown(scoreProvider.getAsInt());
+            callbackExecutor.execute(() -> onGameOver.accept(opponentScore, timeover));
+            System.err.println("(InGame)[shutdown by remote game over]");
+        }
+        else if (type == SIGNAL_ENDING) { // stop receive data
+            int opponentScore = BoardSyncCodec.decodeScore(buffer, size);
+            if (opponentScore != -1) {
+                callbackExecutor.execute(() -> onGameOver.accept(opponentScore, false));
+            }
+            stopUdp();
+            loop.finish();
+            System.err.println("(InGame)[shutdown by remote request]");
+        }
+    }
+
+    // UDP 보드 동기화 타이머 (루프 스레드)
+    // 상태가 바뀌었거나 heartbeat 때만 보내고, 그 사이에는 notifyLocalChange()가 깨울 때까지 잠듦
+    // 보드는 마지막 키프레임과의 XOR 델타로, 포즈 소스가 있으면 조각 포즈만 보냄 (고정 보드 변화는 TCP 이벤트)
+    private long tickBoardSync(long now) throws IOException {
+        if (udpStopped || udpChannel == null) {
+            return 0; // TCP 메시지만 기다림
+        }
+        playOpponentPose(now);
+        try {
+            flushReliableLane(now);
+            if (linkProbe.isPingDue(now)) {
+                sendDataBuffer.clear();
+                linkProbe.encodePing(sendDataBuffer, now);
+                sendDataBuffer.flip();
+                udpChannel.write(sendDataBuffer);
+            }
+            if (boardHashing && poseSource != null && hashedSeq >= 0
+                    && now - lastHashSentTime >= BOARD_HASH_INTERVAL) {
+                sendDataBuffer.clear();
+                PoseSyncCodec.encodeBoardHash(sendDataBuffer, hashedSeq, hashedBoard);
+                sendDataBuffer.flip();
+                udpChannel.write(sendDataBuffer);
+                lastHashSentTime = now;
+            }
+            // 입력 교환 대전은 상대 화면을 내 엔진이 계산하므로 보드/포즈를 보내지 않음 (연결 확인은 ping)
+            if (lockstepMatch == null && sendScheduler.delayUntilSend(now) == 0) {
+                boolean heartbeat = sendScheduler.isHeartbeatDue(now);
+                sendScheduler.clearChanged();
+                sendDataBuffer.clear();
+                if (encodeBoardSync(sendDataBuffer, heartbeat)) {
+                    sendDataBuffer.flip();
+                    udpChannel.write(sendDataBuffer);
+                    linkProbe.countSent();
+                    sendScheduler.onSent(now);
                 }
-                System.err.println("[Error while reading data]");
-                System.err.println("Exception: " + e.getClass().getName() + " - " + e.getMessage());
-                releaseResources(true);
-                return;
             }
+            // 기준 키프레임을 놓쳤으면 KEYFRAME_REQUEST_INTERVAL에 한 번씩 키프레임 요청
+            if (boardDecoder.needsKeyframe() && now - lastKeyframeRequestTime >= KEYFRAME_REQUEST_INTERVAL) {
+                replyBuffer.clear();
+                BoardDeltaCodec.encodeKeyframeRequest(replyBuffer);
+                replyBuffer.flip();
+                udpChannel.write(replyBuffer);
+                lastKeyframeRequestTime = now;
+            }
+        } catch (PortUnreachableException e) {
+            // 상대방 UDP 닫힘 or NAT 문제 - 무시하고 계속 (타임아웃으로 최종 판단)
+        }
 
-            long currentTime = System.currentTimeMillis();
-            // 딜레이 계산:
-            // 현재 시간 - 마지막으로 패킷이 전송될 때의 시간
-            // 만약 패킷이 통째로 밀린다면 밀린 시간만큼 차이가 생기고,
-            // 패킷이 유실되면 마지막으로 제대로 받은 패킷의 전송 시점의 시간이 들어가므로 
-            // 유실에 대한 딜레이도 구할 수 있음.
-            long delay = Math.max(0, currentTime - lastPacketTime - TICK_TIME);
-            delaySum += delay;
-            delayCount++;
-            
-            if (currentTime - lastDelayDisplayTime >= 1000) {
-                long avgDelay = delayCount > 0 ? delaySum / delayCount : 0;
-                Platform.runLater(() -> displayDelay.accept(avgDelay));
-                delaySum = 0;
-                delayCount = 0;
-                lastDelayDisplayTime = currentTime;
+        if (linkProbe.getSampleCount() != linkSamples) {
+            linkSamples = linkProbe.getSampleCount();
+            sendScheduler.updateLink(linkProbe.getRttMs(), linkProbe.getLossRate());
+            reliableLane.onRttSample(linkProbe.getRttMs());
+        }
+
+        // 딜레이: 핑/퐁으로 잰 RTT의 절반 (단방향 지연 추정)
+        // 상대는 변화가 있을 때만 보내므로 마지막 패킷 이후 시간은 지연이 아니라 연결 끊김 판단에만 사용
+        networkStats.rollWindow(now);
+        if (now - lastDelayDisplayTime >= NetworkStats.WINDOW_MS) {
+            double rtt = linkProbe.getRttMs();
+            if (rtt >= 0) {
+                long oneWayDelay = Math.round(rtt / 2);
+                callbackExecutor.execute(() -> displayDelay.accept(oneWayDelay));
             }
-            
-            if (delay > CONNECTION_LOST_TIME) {
-                System.err.println("[Connection lost detected (>5000ms)]");
-                releaseResources(true);
-                return;
+            Consumer<NetworkStats.Snapshot> statsListener = onNetworkStats;
+            if (statsListener != null) {
+                NetworkStats.Snapshot snapshot = networkStats.snapshot();
+                callbackExecutor.execute(() -> statsListener.accept(snapshot));
             }
+            lastDelayDisplayTime = now;
+        }
 
-            long sleep = TICK_TIME - (System.currentTimeMillis() - loopStart);
-            if (sleep <= 0)
-                continue;
+        if (now - lastPacketTime > CONNECTION_LOST_TIME) {
+            System.err.println("[Connection lost detected (>5000ms)]");
+            loop.close(true);
+            return 0;
+        }
+        if (awaitingState && now >= reconnectDeadline) {
+            System.err.println("[No state keyframe before the reconnect window closed]");
+            loop.close(true);
+            return 0;
+        }
 
-            try {
-                Thread.sleep(sleep);
-            } catch (InterruptedException e) {
-                System.err.println("(BoardSync)[Receive thread interrupted - graceful shutdown]");
+        long wait = Math.min(lockstepMatch == null ? sendScheduler.delayUntilSend(now) : Long.MAX_VALUE,
+                linkProbe.delayUntilPing(now));
+        wait = Math.min(wait, NetworkStats.WINDOW_MS - (now - lastDelayDisplayTime));
+        wait = Math.min(wait, reliableLane.delayUntilNext(now)); // 재전송 시각
+        wait = Math.min(wait, poseBuffer.delayUntilNext(now));   // 다음 포즈 재생 시각
+        if (boardDecoder.needsKeyframe()) {
+            wait = Math.min(wait, KEYFRAME_REQUEST_INTERVAL - (now - lastKeyframeRequestTime));
+        }
+        if (boardHashing && poseSource != null && hashedSeq >= 0) {
+            wait = Math.min(wait, BOARD_HASH_INTERVAL - (now - lastHashSentTime));
+        }
+        if (awaitingState) {
+            wait = Math.min(wait, reconnectDeadline - now);
+        }
+        return Math.max(1, wait); // notifyLocalChange()나 패킷 도착으로 일찍 깰 수 있음
+    }
+
+    /**
+     * 재생 시각이 된 상대 포즈를 적용하고, 다음 포즈가 늦으면 조각을 추정 위치까지 떨어뜨려 그립니다. (루프 스레드)
+     */
+    private void playOpponentPose(long now) {
+        PoseSyncCodec.Pose pose = poseBuffer.poll(now);
+        boolean changed = pose != null && opponentMirror.applyPose(pose);
+        int fallRows = poseBuffer.extrapolatedRows(now);
+        changed |= poseBuffer.updateFallRows(fallRows);
+        if (changed && opponentMirror.compose(decodeBuffer, fallRows)) {
+            onBoardDataReceived.accept(decodeBuffer);
+        }
+    }
+
+    /**
+     * 게임 스레드가 넣은 메시지를 통로로 옮기고, 보낼 데이터/재전송/ACK 패킷을 모두 보냅니다. (루프 스레드)
+     */
+    private void flushReliableLane(long now) throws IOException {
+        int count;
+        while ((count = laneOutgoing.gather(laneBatch)) > 0) {
+            for (int i = 0; i < count; i++) {
+                ByteBuffer message = laneBatch[i];
+                message.getInt(); // 길이 머리
+                if (!reliableLane.offer(message)) {
+                    byte[] copy = new byte[message.remaining()];
+                    message.get(copy);
+                    sendOverTcp(copy);
+                }
+            }
+            laneOutgoing.releaseWritten();
+        }
+        while (true) {
+            sendDataBuffer.clear();
+            if (!reliableLane.pollPacket(sendDataBuffer, now)) {
                 break;
             }
+            sendDataBuffer.flip();
+            udpChannel.write(sendDataBuffer);
         }
     }
 
-    private void releaseResources(boolean remoteDisconnected) {
-        if (!released.compareAndSet(false, true)) {
-            return; // 이미 해제됨
+    // 통로가 넘치면 이후 메시지는 모두 TCP로 (루프 스레드)
+    private void sendOverTcp(byte[] message) {
+        if (!laneFailed) {
+            laneFailed = true;
+            System.err.println("[Reliable UDP lane full - falling back to TCP]");
         }
-        if (remoteDisconnected) {
-            Platform.runLater(onDisconnect);
+        loop.send(message);
+    }
+
+    /**
+     * 보낼 보드 동기화 패킷을 씁니다. (루프 스레드 전용)
+     *
+     * @return 직전에 보낸 내용과 같고 heartbeat도 아니라서 쓰지 않았으면 false
+     */
+    private boolean encodeBoardSync(ByteBuffer out, boolean heartbeat) {
+        if (poseSource != null) {
+            PoseSnapshot snapshot = latestSnapshot();
+            if (snapshot == null) {
+                return false; // 게임 스레드가 아직 상태를 넘기지 않음
+            }
+            byte[] event = eventEncoder.poll(snapshot.board);
+            if (event != null || hashedSeq < 0) {
+                hashedSeq = eventEncoder.getSeq(); // 상대가 이 이벤트까지 적용한 보드의 해시
+                hashedBoard = snapshot.boardHash;
+            }
+            if (event != null) {
+                if (!laneActive()) {
+                    loop.send(event);
+                } else if (!reliableLane.offer(event)) {
+                    sendOverTcp(event);
+                } // 통로에 넣은 이벤트는 다음 반복(1ms 안)에 보냄
+            }
+            int tick = (int) (System.currentTimeMillis() - startTime);
+            PoseSyncCodec.encodePose(out, poseSeq + 1, eventEncoder.getSeq(), tick,
+                    snapshot.current, snapshot.next, snapshot.hold);
+            // poseSeq(1~4번째 바이트)와 뒤의 송신 틱을 뺀 나머지가 같으면 보낼 변화 없음
+            byte[] packet = out.array();
+            if (hasSentState && !heartbeat
+                    && Arrays.equals(packet, 5, PoseSyncCodec.POSE_PACKET_SIZE, lastSentPose, 5, PoseSyncCodec.POSE_PACKET_SIZE)) {
+                return false;
+            }
+            System.arraycopy(packet, 0, lastSentPose, 0, PoseSyncCodec.POSE_PACKET_SIZE);
+            poseSeq++;
+        } else {
+            int[][] data = boardDataProvider.get();
+            if (hasSentState && !heartbeat && Arrays.deepEquals(data, lastSentBoard)) {
+                return false;
+            }
+            for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                System.arraycopy(data[row], 0, lastSentBoard[row], 0, GameBoard.WIDTH);
+            }
+            boardEncoder.encode(out, data);
         }
-        if (boardSyncSendThread != null)
-            boardSyncSendThread.interrupt();
-        if (boardSyncReceiveThread != null)
-            boardSyncReceiveThread.interrupt();
-        if (gameDataSendThread != null)
-            gameDataSendThread.interrupt();
-        if (gameDataReceiveThread != null)
-            gameDataReceiveThread.interrupt();
-        try {
-            tcpSocket.close();
-            if (selector != null) selector.close();
-            if (udpChannel != null) udpChannel.close();
-        } catch (IOException e) {
-            System.err.println("[Error while closing socket]");
+        hasSentState = true;
+        return true;
+    }
+
+    // 상대에게 보드 전체를 다시 보내 달라고 요청 (루프 스레드, 해시 간격에 한 번까지)
+    private void requestResync(long now, String reason) throws IOException {
+        if (udpStopped || udpChannel == null || now - lastResyncRequestTime < BOARD_HASH_INTERVAL) {
+            return;
         }
+        desyncCount++;
+        lastResyncRequestTime = now;
+        System.err.println("[Opponent " + reason + " at event " + opponentMirror.getBoardSeq() + " - requesting resync]");
+        replyBuffer.clear();
+        BoardDeltaCodec.encodeKeyframeRequest(replyBuffer);
+        replyBuffer.flip();
+        udpChannel.write(replyBuffer);
     }
 
-    private void stopUDPthread() {
-        if (boardSyncSendThread != null)
-            boardSyncSendThread.interrupt();
-        if (boardSyncReceiveThread != null)
-            boardSyncReceiveThread.interrupt();
+    // UDP 보드 동기화 수신 (루프 스레드)
+    // 읽을 수 있는 패킷을 모두 처리하고 돌아감
+    private void receiveBoardSync() throws IOException {
+        if (udpStopped) {
+            return;
+        }
         try {
-            if (selector != null) selector.close();
-            if (udpChannel != null) udpChannel.close();
-        } catch (Exception e) {
-            System.err.println("[Error while closing UDP channel]");
+            while (true) {
+                receiveByteBuffer.clear();
+                if (udpChannel.read(receiveByteBuffer) <= 0)
+                    break;
+                receiveByteBuffer.flip();
+
+                byte packetType = BoardDeltaCodec.peekType(receiveByteBuffer);
+                if (packetType == BoardDeltaCodec.PACKET_KEYFRAME_REQUEST) {
+                    // 보드 델타는 다음 패킷을 키프레임으로, 포즈 동기화는 다음 보드 이벤트로 보드 전체를 다시 보냄
+                    boardEncoder.requestKeyframe();
+                    eventEncoder.requestReset();
+                    sendScheduler.markChanged();
+                    continue;
+                }
+                if (packetType == PoseSyncCodec.PACKET_BOARD_HASH) {
+                    long received = System.currentTimeMillis();
+                    // 요청이 유실되면 다음 해시가 다시 잡음
+                    if (PoseSyncCodec.checkBoardHash(receiveByteBuffer, opponentMirror)) {
+                        requestResync(received, "board hash mismatch");
+                    }
+                    lastPacketTime = received;
+                    continue;
+                }
+                if (packetType == ReliableLane.PACKET_DATA || packetType == ReliableLane.PACKET_ACK) {
+                    // 순서가 맞은 메시지는 handleGameData로 바로 넘어감
+                    if (reliableLane.onPacket(receiveByteBuffer, System.currentTimeMillis())) {
+                        lastPacketTime = System.currentTimeMillis();
+                    }
+                    continue;
+                }
+                if (packetType == LinkProbe.PACKET_PONG) {
+                    if (linkProbe.onPong(receiveByteBuffer, System.currentTimeMillis())) {
+                        lastPacketTime = System.currentTimeMillis();
+                    }
+                    continue;
+                }
+                linkProbe.countReceived();
+                if (packetType != LinkProbe.PACKET_PING && receiveByteBuffer.remaining() >= 5) {
+                    // 보드/포즈 패킷은 모두 [종류][seq(int)]로 시작
+                    networkStats.onSequence(receiveByteBuffer.getInt(receiveByteBuffer.position() + 1),
+                            System.currentTimeMillis());
+                }
+                if (packetType == LinkProbe.PACKET_PING) {
+                    replyBuffer.clear();
+                    if (linkProbe.answerPing(receiveByteBuffer, replyBuffer, System.currentTimeMillis())) {
+                        replyBuffer.flip();
+                        udpChannel.write(replyBuffer);
+                        lastPacketTime = System.currentTimeMillis();
+                    }
+                    continue;
+                }
+                if (packetType == PoseSyncCodec.PACKET_POSE) {
+                    PoseSyncCodec.Pose pose = PoseSyncCodec.decodePose(receiveByteBuffer);
+                    if (pose != null && pose.hasTick()) {
+                        // 재생은 tickBoardSync()에서 틱 간격대로
+                        if (poseBuffer.offer(pose, System.currentTimeMillis())) {
+                            lastPacketTime = System.currentTimeMillis();
+                        }
+                    } else if (opponentMirror.applyPose(pose)) { // 틱이 없는 이전 버전은 바로 적용
+                        lastPacketTime = System.currentTimeMillis();
+                        if (opponentMirror.compose(decodeBuffer)) {
+                            onBoardDataReceived.accept(decodeBuffer);
+                        }
+                    }
+                    continue;
+                }
+
+                BoardDeltaCodec.Result result = boardDecoder.decode(receiveByteBuffer, decodeBuffer);
+                if (result == BoardDeltaCodec.Result.IGNORED) {
+                    continue;
+                }
+                lastPacketTime = System.currentTimeMillis();
+                if (result == BoardDeltaCodec.Result.DECODED) {
+                    onBoardDataReceived.accept(decodeBuffer);
+                }
+            }
+        } catch (PortUnreachableException e) {
+            // 상대방 UDP 닫힘 or NAT 문제 - 무시하고 계속 (타임아웃으로 최종 판단)
         }
     }
 
+    // UDP만 멈춤 (채널은 루프 스레드가 닫음)
+    private void stopUdp() {
+        udpStopped = true;
+        loop.closeDatagram();
+    }
+
+    /**
+     * 경기를 그만둡니다. 상대가 재연결을 기다리지 않도록 SIGNAL_LEAVE를 보낸 뒤 소켓을 닫습니다.
+     */
     public void disconnect() {
-        releaseResources(false);
+        disconnected = true;
+        Thread reconnecting = reconnectThread;
+        if (reconnecting != null) {
+            reconnecting.interrupt(); // 기다리던 accept/connect를 끝냄
+        }
+        leave(loop);
+    }
+
+    private static void leave(ConnectionLoop target) {
+        MessageQueue.Slot slot = target.claim(ResumeCodec.LEAVE_SIZE);
+        if (slot != null) {
+            slot.buffer().put(ResumeCodec.SIGNAL_LEAVE);
+            target.publishLast(slot);
+        }
+        target.finishAndClose();
     }
 
     public Socket getSocket() {
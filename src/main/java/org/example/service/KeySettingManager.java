@@ -9,17 +9,17 @@ import org.example.model.KeyData;
  */
 public class KeySettingManager {
     private SettingManager settingManager;
-    private static KeySettingManager instance;
+
+    private static class Holder {
+        private static final KeySettingManager INSTANCE = new KeySettingManager();
+    }
 
     /**
      * KeySettingManager의 싱글톤 인스턴스를 반환합니다.
      * @return KeySettingManager 인스턴스
      */
     public static KeySettingManager getInstance() {
-        if (instance == null) {
-            instance = new KeySettingManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     /**
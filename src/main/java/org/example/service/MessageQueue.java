@@ -0,0 +1,198 @@
+package org.example.service;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * TCP 제어 메시지 송신 큐 (여러 생산자 / 단일 소비자, 고정 크기 링)
+ *
+ * 슬롯마다 미리 할당한 direct 버퍼를 두고, 생산자는 claim()으로 자리를 잡아
+ * [길이(int)] 뒤에 메시지를 바로 쓴 다음 publish()로 공개합니다. 메시지마다 버퍼나 큐 노드를 할당하지 않습니다.
+ * 소비자(연결 루프)는 gather()로 공개된 메시지를 순서대로 모아 한 번의 gathering write로 보내고,
+ * releaseWritten()으로 다 쓴 슬롯을 돌려줍니다.
+ *
+ * 순서는 claim 순서이며, 먼저 잡은 슬롯이 공개되기 전에는 뒤의 슬롯도 보내지 않습니다.
+ * 슬롯 버퍼보다 긴 메시지(채팅 등)가 오면 그 슬롯의 버퍼를 키워 계속 재사용합니다.
+ */
+public final class MessageQueue {
+
+    public static final int DEFAULT_CAPACITY = 128; // 2의 거듭제곱
+    public static final int SLOT_SIZE = 256;        // 길이 머리 포함 기본 슬롯 크기
+
+    /**
+     * 메시지 하나를 담는 슬롯 (생산자는 claim ~ publish 사이에만 buffer()에 씀)
+     */
+    public static final class Slot {
+        private final int index;
+        private long position;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(SLOT_SIZE);
+        private boolean last;
+
+        private Slot(int index) {
+            this.index = index;
+        }
+
+        /**
+         * 메시지를 쓸 버퍼 (길이 머리 뒤에 위치)
+         */
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * 이 메시지를 보낸 뒤로는 뒤의 메시지를 보내지 않음
+         */
+        public boolean isLast() {
+            return last;
+        }
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    // sequence[i] == 위치: 비어 있음 (그 위치의 생산자가 잡을 수 있음), == 위치 + 1: 공개됨
+    private final AtomicLongArray sequence;
+    private final AtomicLong tail = new AtomicLong(); // 생산자가 다음에 잡을 위치
+    private long head;                                // 소비자 전용: 다음에 보낼 위치
+    private long gathered;                            // 소비자 전용: 마지막 gather()가 모은 끝 위치
+
+    public MessageQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 슬롯 수 (2의 거듭제곱)
+     */
+    public MessageQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        slots = new Slot[capacity];
+        sequence = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+            sequence.set(i, i);
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * 생산자: length 바이트짜리 메시지 자리를 잡습니다.
+     *
+     * @return 큐가 가득 차 있으면 null
+     */
+    public Slot claim(int length) {
+        long pos = tail.get();
+        while (true) {
+            Slot slot = slots[(int) (pos & mask)];
+            long diff = sequence.get(slot.index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slot.position = pos;
+                    slot.last = false;
+                    if (slot.buffer.capacity() < 4 + length) {
+                        slot.buffer = ByteBuffer.allocateDirect(4 + length);
+                    }
+                    slot.buffer.clear().limit(4 + length);
+                    slot.buffer.putInt(length);
+                    return slot;
+                }
+                pos = tail.get(); // 다른 생산자가 먼저 잡음
+            } else if (diff < 0) {
+                return null; // 한 바퀴 전 메시지가 아직 전송 중
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 생산자: claim()으로 잡은 슬롯에 메시지를 다 썼을 때
+     *
+     * @param last 이 메시지 뒤로는 보내지 않을 마지막 메시지인지
+     */
+    public void publish(Slot slot, boolean last) {
+        slot.last = last;
+        slot.buffer.flip();
+        sequence.set(slot.index, slot.position + 1);
+    }
+
+    /**
+     * 생산자: 메시지 전체를 복사해 넣습니다.
+     *
+     * @return 큐가 가득 차 넣지 못했으면 false
+     */
+    public boolean offer(byte[] message, boolean last) {
+        Slot slot = claim(message.length);
+        if (slot == null) {
+            return false;
+        }
+        slot.buffer.put(message);
+        publish(slot, last);
+        return true;
+    }
+
+    /**
+     * 소비자: 아직 다 보내지 못한 공개된 메시지를 순서대로 모읍니다. (마지막 메시지에서 멈춤)
+     *
+     * @param out 버퍼를 담을 배열 (길이만큼만 모음)
+     * @return 모은 버퍼 수
+     */
+    public int gather(ByteBuffer[] out) {
+        int count = 0;
+        long pos = head;
+        while (count < out.length) {
+            Slot slot = slots[(int) (pos & mask)];
+            if (sequence.get(slot.index) != pos + 1) {
+                break; // 아직 공개되지 않음
+            }
+            out[count++] = slot.buffer;
+            pos++;
+            if (slot.last) {
+                break;
+            }
+        }
+        gathered = pos;
+        return count;
+    }
+
+    /**
+     * 소비자: 마지막 gather() 중 다 보낸 앞쪽 슬롯을 생산자에게 돌려줍니다.
+     *
+     * @return 돌려준 슬롯 중 마지막 메시지가 있었으면 true
+     */
+    public boolean releaseWritten() {
+        boolean lastWritten = false;
+        while (head < gathered) {
+            Slot slot = slots[(int) (head & mask)];
+            if (slot.buffer.hasRemaining()) {
+                break;
+            }
+            lastWritten |= slot.last;
+            sequence.set(slot.index, head + slots.length);
+            head++;
+        }
+        return lastWritten;
+    }
+
+    /**
+     * 소비자: 공개된 메시지를 보내지 않고 모두 돌려줍니다. (마지막 메시지를 보낸 뒤 들어온 메시지)
+     */
+    public void discardPublished() {
+        while (true) {
+            Slot slot = slots[(int) (head & mask)];
+            if (sequence.get(slot.index) != head + 1) {
+                return;
+            }
+            sequence.set(slot.index, head + slots.length);
+            head++;
+        }
+    }
+
+    /**
+     * 소비자: 보낼 메시지가 있는지 (공개되지 않은 슬롯은 제외)
+     */
+    public boolean hasPublished() {
+        return sequence.get((int) (head & mask)) == head + 1;
+    }
+}
@@ -4,7 +4,9 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 
 /**
  * 네트워크 유틸리티 클래스
@@ -73,6 +75,31 @@ public class NetworkUtility {
         return null;
     }
 
+    /**
+     * 멀티캐스트 그룹에 가입할 수 있는 인터페이스 목록을 반환합니다.
+     * 
+     * @return 활성화되어 있고 IPv4 주소가 있는 멀티캐스트 지원 인터페이스 (없으면 빈 목록)
+     */
+    public static List<NetworkInterface> getMulticastInterfaces() {
+        List<NetworkInterface> result = new ArrayList<>();
+        try {
+            Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
+            while (interfaces.hasMoreElements()) {
+                NetworkInterface iface = interfaces.nextElement();
+                if (!iface.isUp() || !iface.supportsMulticast()) {
+                    continue;
+                }
+                boolean hasIPv4 = iface.inetAddresses().anyMatch(addr -> addr instanceof java.net.Inet4Address);
+                if (hasIPv4) {
+                    result.add(iface);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to get network interfaces: " + e.getMessage());
+        }
+        return result;
+    }
+
     /**
      * 주어진 문자열이 올바른 IPv4 주소 형식인지 검사합니다. (trim 되어있다고 가정)
      * 
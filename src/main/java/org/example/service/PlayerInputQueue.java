@@ -0,0 +1,136 @@
+package org.example.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javafx.scene.input.KeyCode;
+
+/**
+ * 플레이어 한 명의 키 입력 큐
+ * - 키 눌림/떼어짐 이벤트를 도착 시각(System.nanoTime)과 함께 순서대로 보관
+ * - 시뮬레이션 틱마다 drain하여 틱 간격과 관계없이 모든 입력을 놓치지 않고 처리
+ * - 눌려 있는 이동 키의 자동 반복 시각을 관리
+ *
+ * 여러 플레이어의 큐는 {@link #earliest(PlayerInputQueue...)}로 도착 순서대로 병합합니다.
+ */
+public class PlayerInputQueue {
+
+    /**
+     * 타임스탬프가 붙은 키 이벤트
+     *
+     * @param key 키 코드
+     * @param pressed true면 눌림, false면 떼어짐
+     * @param nanos 이벤트 도착 시각 (System.nanoTime)
+     */
+    public record InputEvent(KeyCode key, boolean pressed, long nanos) {}
+
+    private final Deque<InputEvent> events = new ArrayDeque<>();
+    // 현재 눌려 있는 키 (OS 키 반복으로 들어오는 중복 눌림 제거용)
+    private final Map<KeyCode, Boolean> downKeys = new EnumMap<>(KeyCode.class);
+    // 자동 반복 중인 키 → 다음 반복 시각
+    private final Map<KeyCode, Long> repeatKeys = new EnumMap<>(KeyCode.class);
+
+    /**
+     * 키 눌림 이벤트를 추가합니다. 이미 눌려 있는 키의 반복 이벤트는 무시합니다.
+     *
+     * @return 새로 눌린 키면 true
+     */
+    public boolean pushPress(KeyCode key, long nanos) {
+        if (downKeys.put(key, Boolean.TRUE) != null) {
+            return false;
+        }
+        events.addLast(new InputEvent(key, true, nanos));
+        return true;
+    }
+
+    /**
+     * 키 떼어짐 이벤트를 추가합니다. 눌려 있지 않은 키는 무시합니다.
+     */
+    public void pushRelease(KeyCode key, long nanos) {
+        if (downKeys.remove(key) == null) {
+            return;
+        }
+        events.addLast(new InputEvent(key, false, nanos));
+    }
+
+    public boolean hasEvents() {
+        return !events.isEmpty();
+    }
+
+    /**
+     * 가장 먼저 도착한 이벤트의 시각, 이벤트가 없으면 Long.MAX_VALUE
+     */
+    public long peekNanos() {
+        InputEvent head = events.peekFirst();
+        return head != null ? head.nanos() : Long.MAX_VALUE;
+    }
+
+    public InputEvent poll() {
+        return events.pollFirst();
+    }
+
+    /**
+     * 키 자동 반복을 시작합니다. (눌림 이벤트 처리 시 호출)
+     *
+     * @param nextRepeatNanos 첫 반복 시각
+     */
+    public void startRepeat(KeyCode key, long nextRepeatNanos) {
+        repeatKeys.put(key, nextRepeatNanos);
+    }
+
+    /**
+     * 키 자동 반복을 중지합니다. (떼어짐 이벤트 처리 시 호출)
+     */
+    public void stopRepeat(KeyCode key) {
+        repeatKeys.remove(key);
+    }
+
+    public boolean isRepeating(KeyCode key) {
+        return repeatKeys.containsKey(key);
+    }
+
+    /**
+     * 반복 시각이 된 키마다 action을 실행하고 다음 반복 시각을 예약합니다.
+     * 틱이 늦어져도 한 번에 여러 번 몰아서 실행하지 않습니다.
+     *
+     * @param nowNanos 현재 시각 (System.nanoTime)
+     * @param intervalNanos 반복 간격
+     */
+    public void forEachDueRepeat(long nowNanos, long intervalNanos, Consumer<KeyCode> action) {
+        for (Map.Entry<KeyCode, Long> entry : repeatKeys.entrySet()) {
+            if (nowNanos - entry.getValue() >= 0) {
+                entry.setValue(nowNanos + intervalNanos);
+                action.accept(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 이벤트와 눌림/반복 상태를 모두 초기화합니다.
+     */
+    public void clear() {
+        events.clear();
+        downKeys.clear();
+        repeatKeys.clear();
+    }
+
+    /**
+     * 대기 중인 이벤트 중 가장 먼저 도착한 이벤트를 가진 큐를 반환합니다.
+     * 시각이 같으면 앞쪽 큐(플레이어 번호가 낮은 쪽)를 우선합니다.
+     *
+     * @return 이벤트가 남은 큐가 없으면 null
+     */
+    public static PlayerInputQueue earliest(PlayerInputQueue... queues) {
+        PlayerInputQueue earliest = null;
+        for (PlayerInputQueue queue : queues) {
+            if (queue.hasEvents()
+                    && (earliest == null || queue.peekNanos() - earliest.peekNanos() < 0)) {
+                earliest = queue;
+            }
+        }
+        return earliest;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * 게임 중 끊긴 연결을 새 소켓으로 다시 잇는 방법 (InGameNetworkManager의 재연결 창에서 사용)
+ * 서버는 처음 연결을 받았던 포트에서 다시 기다리고, 클라이언트는 같은 주소로 다시 접속합니다.
+ */
+public interface Reconnector {
+
+    long RETRY_INTERVAL_MS = 250; // 클라이언트 재접속 간격
+
+    /**
+     * 새 연결을 기다립니다. (블로킹, 인터럽트되면 바로 끝남)
+     *
+     * @return ConnectionLoop에 넘길 채널 기반 소켓, 시간 안에 잇지 못했으면 null
+     */
+    Socket reconnect(long timeoutMs) throws IOException;
+
+    /**
+     * 서버: port에서 접속을 하나 받습니다.
+     */
+    static Reconnector listen(int port) {
+        return timeoutMs -> {
+            try (ServerSocketChannel server = ServerSocketChannel.open()) {
+                server.setOption(StandardSocketOptions.SO_REUSEADDR, true); // 끊긴 연결이 TIME_WAIT여도 다시 바인드
+                server.bind(new InetSocketAddress(port));
+                server.socket().setSoTimeout((int) Math.max(1, timeoutMs));
+                return server.socket().accept();
+            } catch (SocketTimeoutException e) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * 클라이언트: 서버가 다시 기다릴 때까지 RETRY_INTERVAL_MS마다 접속을 시도합니다.
+     */
+    static Reconnector dial(InetAddress address, int port) {
+        return timeoutMs -> {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            while (true) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return null;
+                }
+                Socket socket = SocketChannel.open().socket();
+                try {
+                    socket.connect(new InetSocketAddress(address, port), (int) Math.max(1, remaining));
+                    return socket;
+                } catch (IOException e) {
+                    socket.close();
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw e;
+                    }
+                }
+                try {
+                    Thread.sleep(Math.min(RETRY_INTERVAL_MS, Math.max(0, deadline - System.currentTimeMillis())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        };
+    }
+}
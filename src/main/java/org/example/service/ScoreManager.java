@@ -19,18 +19,19 @@ public class ScoreManager {
     private static final int MAX_SCORES = 10;
     
     private List<ScoreRecord> scores;
-    private static ScoreManager instance;
 
     private ScoreManager() {
         scores = new ArrayList<>();
         loadScores();
     }
 
+    // Holder 클래스가 처음 참조될 때 한 번만 생성됨 (스레드 안전)
+    private static class Holder {
+        private static final ScoreManager INSTANCE = new ScoreManager();
+    }
+
     public static ScoreManager getInstance() {
-        if (instance == null) {
-            instance = new ScoreManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     /**
@@ -38,7 +39,7 @@ public class ScoreManager {
      * @param record 추가할 점수 기록
      * @return 추가 성공 여부
      */
-    public boolean addScore(ScoreRecord record) {
+    public synchronized boolean addScore(ScoreRecord record) {
         if (record == null) {
             return false;
         }
@@ -64,7 +65,7 @@ public class ScoreManager {
      * 상위 점수 목록을 반환합니다.
      * @return 전체 상위 점수 목록
      */
-    public List<ScoreRecord> getTopScores() {
+    public synchronized List<ScoreRecord> getTopScores() {
         return new ArrayList<>(scores);
     }
 
@@ -73,7 +74,7 @@ public class ScoreManager {
      * @param count 반환할 점수 개수
      * @return 상위 점수 목록
      */
-    public List<ScoreRecord> getTopScores(int count) {
+    public synchronized List<ScoreRecord> getTopScores(int count) {
         int limit = Math.min(count, scores.size());
         return new ArrayList<>(scores.subList(0, limit));
     }
@@ -81,7 +82,7 @@ public class ScoreManager {
     /**
      * 모든 점수를 삭제합니다.
      */
-    public void clearScores() {
+    public synchronized void clearScores() {
         scores.clear();
         saveScores();
     }
@@ -91,7 +92,7 @@ public class ScoreManager {
      * @param score 확인할 점수
      * @return 상위 점수 여부
      */
-    public boolean isHighScore(int score) {
+    public synchronized boolean isHighScore(int score) {
         if (scores.size() < MAX_SCORES) {
             return true;
         }
@@ -104,7 +105,7 @@ public class ScoreManager {
      * @param score 확인할 점수
      * @return 저장 가능 여부
      */
-    public boolean isScoreEligibleForSaving(int score) {
+    public synchronized boolean isScoreEligibleForSaving(int score) {
         // 10개 미만의 점수가 저장되어 있으면 저장 가능
         if (scores.size() < MAX_SCORES) {
             return true;
@@ -120,7 +121,7 @@ public class ScoreManager {
      * @param score 확인할 점수
      * @return 순위 (1부터 시작), 순위권 밖이면 -1
      */
-    public int getScoreRank(int score) {
+    public synchronized int getScoreRank(int score) {
         for (int i = 0; i < scores.size(); i++) {
             if (score > scores.get(i).getScore()) {
                 return i + 1;
@@ -0,0 +1,168 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.security.SecureRandom;
+
+import org.example.model.GameBoard;
+import org.example.model.GameMode;
+
+/**
+ * 호스트가 경기를 관전자에게 UDP 멀티캐스트로 내보내는 송신기
+ * 게임 틱마다 두 보드, 점수, 이벤트를 프레임(SpectatorCodec) 하나로 그룹에 보내므로 관전자 수와 관계없이 비용이 같습니다.
+ * 관전자는 응답하지 않으며, 중간에 들어온 관전자는 주기적인 보드 키프레임으로 따라잡습니다.
+ * -Dtetris.spectator=false 이면 켜지 않습니다.
+ */
+public class SpectatorBroadcaster implements AutoCloseable {
+
+    public static final String ENABLED_PROPERTY = "tetris.spectator";
+    public static final InetSocketAddress DEFAULT_GROUP = new InetSocketAddress("239.255.77.77", 47777);
+    static final long MIN_FRAME_INTERVAL_MS = 16;  // 틱이 빨라도 초당 약 60프레임까지만
+    private static final int MULTICAST_TTL = 1;    // 같은 LAN 밖으로 나가지 않음
+    private static final int KEYFRAME_INTERVAL = BoardDeltaCodec.DEFAULT_KEYFRAME_INTERVAL;
+    private static final SecureRandom MATCH_RANDOM = new SecureRandom();
+
+    private final DatagramChannel channel;
+    private final InetSocketAddress target;
+    private final SpectatorCodec.FrameEncoder encoder;
+    private final ByteBuffer sendBuffer = ByteBuffer.allocate(SpectatorCodec.MAX_FRAME_SIZE);
+    // 게임 스레드 전용
+    private final int[][][] boards = new int[SpectatorCodec.PLAYERS][GameBoard.HEIGHT][GameBoard.WIDTH];
+    private final int[] scores = new int[SpectatorCodec.PLAYERS];
+    private long lastSendTime;
+    private boolean failed;
+    // 상대 보드: 수신 스레드가 쓰고 게임 스레드가 읽음 (guestBoard로 동기화)
+    private final int[][] guestBoard = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+    private volatile int guestScore = -1; // 경기가 끝나 상대 점수를 받기 전에는 모름
+
+    /**
+     * @param target 멀티캐스트 그룹 (테스트에서는 유니캐스트 주소도 가능)
+     */
+    public SpectatorBroadcaster(InetSocketAddress target, GameMode mode) throws IOException {
+        this.target = target;
+        this.channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        try {
+            channel.configureBlocking(false); // 버퍼가 차면 그 프레임만 버리고 게임 스레드는 기다리지 않음
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, MULTICAST_TTL);
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true); // 같은 컴퓨터의 관전자도 받음
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        int matchId;
+        do {
+            matchId = MATCH_RANDOM.nextInt();
+        } while (matchId == 0);
+        this.encoder = new SpectatorCodec.FrameEncoder(matchId, mode, KEYFRAME_INTERVAL);
+    }
+
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+    }
+
+    /**
+     * 기본 그룹으로 보내는 송신기를 엽니다.
+     *
+     * @return 꺼져 있거나 채널을 열지 못하면 null (관전 없이 경기 진행)
+     */
+    public static SpectatorBroadcaster openDefault(GameMode mode) {
+        if (!isEnabled()) {
+            return null;
+        }
+        try {
+            return new SpectatorBroadcaster(DEFAULT_GROUP, mode);
+        } catch (IOException e) {
+            System.err.println("Failed to open spectator channel: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public int getMatchId() {
+        return encoder.getMatchId();
+    }
+
+    /**
+     * 상대 화면을 복사해 둡니다. (수신 스레드에서 호출, board는 재사용되어도 됨)
+     */
+    public void setGuestBoard(int[][] board) {
+        synchronized (guestBoard) {
+            for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                System.arraycopy(board[row], 0, guestBoard[row], 0, GameBoard.WIDTH);
+            }
+        }
+    }
+
+    public void setGuestScore(int score) {
+        guestScore = score;
+    }
+
+    /**
+     * 다음 프레임들에 이벤트를 싣습니다. (아무 스레드에서나 호출 가능)
+     *
+     * @param player 0: 호스트, 1: 상대
+     */
+    public void addEvent(byte kind, int player, int value) {
+        encoder.addEvent(kind, player, value);
+    }
+
+    /**
+     * 게임 틱마다 호출합니다. MIN_FRAME_INTERVAL_MS보다 자주 부르면 건너뜁니다.
+     *
+     * @param state SpectatorCodec 상태 비트
+     * @param remainingMs 타임 어택 남은 시간 (아니면 음수)
+     * @param hostBoard 호스트의 압축 보드 (조각 포함)
+     */
+    public void publish(long now, int state, long remainingMs, int[][] hostBoard, int hostScore) {
+        if (now - lastSendTime < MIN_FRAME_INTERVAL_MS) {
+            return;
+        }
+        lastSendTime = now;
+        send(state, remainingMs, hostBoard, hostScore);
+    }
+
+    /**
+     * 경기 끝 프레임을 이벤트가 모두 실릴 만큼 거듭 보냅니다. (간격 제한 없음)
+     */
+    public void publishFinal(int state, int[][] hostBoard, int hostScore) {
+        for (int i = 0; i < SpectatorCodec.EVENT_REPEATS; i++) {
+            send(state | SpectatorCodec.STATE_ENDED, SpectatorCodec.NO_TIMER, hostBoard, hostScore);
+        }
+    }
+
+    private void send(int state, long remainingMs, int[][] hostBoard, int hostScore) {
+        if (failed) {
+            return;
+        }
+        for (int row = 0; row < GameBoard.HEIGHT; row++) {
+            System.arraycopy(hostBoard[row], 0, boards[0][row], 0, GameBoard.WIDTH);
+        }
+        synchronized (guestBoard) {
+            for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                System.arraycopy(guestBoard[row], 0, boards[1][row], 0, GameBoard.WIDTH);
+            }
+        }
+        scores[0] = hostScore;
+        scores[1] = guestScore;
+
+        sendBuffer.clear();
+        encoder.encode(sendBuffer, state, remainingMs, boards, scores);
+        sendBuffer.flip();
+        try {
+            channel.send(sendBuffer, target); // 0을 반환하면 이번 프레임만 잃음 (다음 키프레임으로 회복)
+        } catch (IOException e) {
+            failed = true; // 경기는 관전과 무관하게 계속
+            System.err.println("Spectator broadcast stopped: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignore) {}
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import javafx.application.Platform;
+
+/**
+ * 관전자 측: 멀티캐스트 그룹에서 경기 프레임을 받아 경기별 상태(SpectatorCodec.MatchDecoder)를 유지합니다.
+ * 호스트에게 아무것도 보내지 않으므로 관전자가 늘어도 호스트 부담은 그대로입니다.
+ * 보드는 화면 쪽에서 MatchDecoder.copyBoard()로 가져가고, 경기 시작/이벤트/종료만 callbackExecutor로 알립니다.
+ */
+public class SpectatorListener implements AutoCloseable {
+
+    /**
+     * 경기 알림 (callbackExecutor에서 호출)
+     */
+    public interface Callbacks {
+        void onMatchFound(SpectatorCodec.MatchDecoder match);
+
+        void onEvent(int matchId, SpectatorCodec.Event event);
+
+        /** 호스트가 MATCH_TIMEOUT 동안 보내지 않아 목록에서 뺀 경기 */
+        void onMatchLost(int matchId);
+    }
+
+    static final int MATCH_TIMEOUT = 5000;
+    static final int MAX_MATCHES = 16;       // 그룹에 쓰레기 패킷이 돌아도 메모리가 늘지 않도록
+    private static final int RECEIVE_TIMEOUT = 500; // 경기 만료를 확인하는 간격
+
+    private final MulticastSocket socket;
+    private final Executor callbackExecutor;
+    private final Callbacks callbacks;
+    // 수신 스레드 전용
+    private final Map<Integer, SpectatorCodec.MatchDecoder> matches = new HashMap<>();
+    private final Map<Integer, Long> lastFrameTimes = new HashMap<>();
+    private final List<SpectatorCodec.Event> pendingEvents = new ArrayList<>(); // 경기 알림 뒤에 이벤트를 넘기도록 모아 둠
+    private volatile boolean closed;
+
+    public SpectatorListener(InetSocketAddress group, Callbacks callbacks) throws IOException {
+        this(group, callbacks, Platform::runLater);
+    }
+
+    /**
+     * @param group 멀티캐스트 그룹 (유니캐스트 주소면 그 포트에서 받기만 함, 포트 0이면 임의 포트)
+     * @param callbackExecutor 콜백을 실행할 Executor (헤드리스 환경에서는 Runnable::run 등)
+     */
+    public SpectatorListener(InetSocketAddress group, Callbacks callbacks, Executor callbackExecutor) throws IOException {
+        this.callbacks = callbacks;
+        this.callbackExecutor = callbackExecutor;
+        this.socket = new MulticastSocket(group.getPort()); // SO_REUSEADDR: 같은 컴퓨터의 관전자 여럿이 같은 포트를 씀
+        try {
+            socket.setSoTimeout(RECEIVE_TIMEOUT);
+            if (group.getAddress().isMulticastAddress()) {
+                joinGroup(group);
+            }
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        Thread.ofPlatform().daemon().name("SpectatorListener").start(this::run);
+    }
+
+    private void joinGroup(InetSocketAddress group) throws IOException {
+        List<NetworkInterface> interfaces = NetworkUtility.getMulticastInterfaces();
+        if (interfaces.isEmpty()) {
+            socket.joinGroup(group, null); // 기본 인터페이스
+            return;
+        }
+        int joined = 0;
+        IOException lastError = null;
+        for (NetworkInterface iface : interfaces) {
+            try {
+                socket.joinGroup(group, iface);
+                joined++;
+            } catch (IOException e) {
+                lastError = e;
+            }
+        }
+        if (joined == 0) {
+            throw lastError;
+        }
+    }
+
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    private void run() {
+        byte[] data = new byte[SpectatorCodec.MAX_FRAME_SIZE];
+        DatagramPacket packet = new DatagramPacket(data, data.length);
+        while (!closed) {
+            try {
+                packet.setLength(data.length);
+                socket.receive(packet);
+                handleFrame(ByteBuffer.wrap(data, 0, packet.getLength()), System.currentTimeMillis());
+            } catch (SocketTimeoutException e) {
+                // 만료 확인만
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Spectator receive failed: " + e.getMessage());
+                }
+                break;
+            }
+            expireMatches(System.currentTimeMillis());
+        }
+    }
+
+    private void handleFrame(ByteBuffer frame, long now) {
+        int matchId = SpectatorCodec.peekMatchId(frame);
+        if (matchId == 0) {
+            return;
+        }
+        SpectatorCodec.MatchDecoder match = matches.get(matchId);
+        boolean found = false;
+        if (match == null) {
+            if (matches.size() >= MAX_MATCHES) {
+                return;
+            }
+            match = new SpectatorCodec.MatchDecoder(matchId);
+            found = true;
+        }
+        pendingEvents.clear();
+        if (!match.apply(frame, pendingEvents::add)) {
+            return; // 손상된 첫 프레임이면 경기로 보지 않음
+        }
+        lastFrameTimes.put(matchId, now);
+        if (found) {
+            matches.put(matchId, match);
+            SpectatorCodec.MatchDecoder added = match;
+            callbackExecutor.execute(() -> callbacks.onMatchFound(added));
+        }
+        for (SpectatorCodec.Event event : pendingEvents) {
+            callbackExecutor.execute(() -> callbacks.onEvent(matchId, event));
+        }
+    }
+
+    private void expireMatches(long now) {
+        Iterator<Map.Entry<Integer, Long>> it = lastFrameTimes.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Long> entry = it.next();
+            if (now - entry.getValue() > MATCH_TIMEOUT) {
+                int matchId = entry.getKey();
+                it.remove();
+                matches.remove(matchId);
+                callbackExecutor.execute(() -> callbacks.onMatchLost(matchId));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        socket.close();
+    }
+}
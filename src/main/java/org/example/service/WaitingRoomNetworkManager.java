@@ -1,13 +1,6 @@
 package org.example.service;
 
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
-import java.io.IOException;
 import java.net.Socket;
-import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Consumer;
 
 import org.example.model.GameMode;
@@ -16,22 +9,24 @@ import javafx.application.Platform;
 
 /**
  * 대기실에서 게임 모드 변경을 송수신하는 네트워크 매니저
+ * 송수신과 heartbeat는 ConnectionLoop 스레드 하나가 처리합니다.
+ * 연결되면 가장 먼저 HELLO를 주고받아 프로토콜 버전과 공통 기능을 정하고, 호환되지 않으면 연결을 끊습니다.
  */
 public class WaitingRoomNetworkManager {
 
-    public static final byte SIGNAL_GAME_MODE_CHANGE = 0x01;
-    public static final byte SIGNAL_READY_STATE = 0x02;
-    public static final byte SIGNAL_GAME_START = 0x03;
-    public static final byte SIGNAL_HEARTBEAT = 0x04;
-    public static final byte SIGNAL_CHAT_MESSAGE = 0x05;
-    public static final byte SIGNAL_DIFFICULTY_CHANGE = 0x06;
+    public static final byte SIGNAL_GAME_MODE_CHANGE = P2PProtocol.MSG_GAME_MODE_CHANGE;
+    public static final byte SIGNAL_READY_STATE = P2PProtocol.MSG_READY_STATE;
+    public static final byte SIGNAL_GAME_START = P2PProtocol.MSG_GAME_START;
+    public static final byte SIGNAL_HEARTBEAT = P2PProtocol.MSG_HEARTBEAT;
+    public static final byte SIGNAL_CHAT_MESSAGE = P2PProtocol.MSG_CHAT_MESSAGE;
+    public static final byte SIGNAL_DIFFICULTY_CHANGE = P2PProtocol.MSG_DIFFICULTY_CHANGE;
 
     private static final long HEARTBEAT_INTERVAL = 2000;
     private static final long HEARTBEAT_TIMEOUT = 3500;
 
     private final boolean isServer;
     private final Socket socket;
-    private final BlockingQueue<byte[]> sendQueue;
+    private final ConnectionLoop loop;
     private Runnable onDisconnect;
     private Runnable onGameStart;
     private Consumer<GameMode> onGameModeChange;
@@ -39,12 +34,15 @@ public class WaitingRoomNetworkManager {
     private Consumer<Boolean> onOpponentReadyChanged;
     private Consumer<Integer> onDifficultyChange;
 
-    private Thread sendThread;
-    private Thread receiveThread;
-    private Thread heartbeatThread;
     private volatile boolean clientReady = false;
     private volatile boolean serverReady = false;
-    private volatile long lastHeartbeatTime;
+    private volatile boolean heartbeatStopped = false; // 게임 시작 신호를 보낸 뒤로는 heartbeat 중단
+    private volatile int protocolVersion = -1;         // HELLO를 받기 전에는 -1
+    private volatile int sharedCapabilities = 0;
+    private volatile long matchSeed;                   // 서버가 정하고 START로 클라이언트에 알림 (0이면 아직 없음)
+    // 루프 스레드 전용
+    private long lastHeartbeatTime;
+    private long lastHeartbeatSentTime;
 
     public WaitingRoomNetworkManager(
         Socket socket,
@@ -59,7 +57,7 @@ public class WaitingRoomNetworkManager {
     {
         this.socket = socket;
         this.isServer = isServer;
-        this.sendQueue = new LinkedBlockingQueue<>();
+        this.matchSeed = isServer ? P2PProtocol.newMatchSeed() : 0;
         this.onDisconnect = onDisconnect;
         this.onGameStart = onGameStart;
         this.onGameModeChange = onGameModeChange;
@@ -67,9 +65,27 @@ public class WaitingRoomNetworkManager {
         this.onChatMessageReceived = onChatMessageReceived;
         this.onDifficultyChange = onDifficultyChange;
         this.lastHeartbeatTime = System.currentTimeMillis();
-        receiveThread = Thread.startVirtualThread(this::receiveLoop);
-        sendThread = Thread.startVirtualThread(this::sendLoop);
-        heartbeatThread = Thread.startVirtualThread(this::heartbeatLoop);
+        this.lastHeartbeatSentTime = lastHeartbeatTime;
+        this.loop = new ConnectionLoop(socket, "WaitingRoom", new ConnectionLoop.Handler() {
+            @Override
+            public void onMessage(byte type, byte[] data, int size) {
+                handleMessage(type, data, size);
+            }
+
+            @Override
+            public long onTick(long now) {
+                return tickHeartbeat(now);
+            }
+
+            @Override
+            public void onClosed(boolean connectionLost) {
+                if (connectionLost) {
+                    Platform.runLater(onDisconnect);
+                }
+            }
+        });
+        sendHello(); // 다른 메시지보다 먼저 나감
+        loop.start();
     }
 
     public String getRemoteIPAddress() {
@@ -80,217 +96,178 @@ public class WaitingRoomNetworkManager {
      * 게임 모드 변경을 상대에게 전송
      */
     public void sendGameModeChange(GameMode mode) {
-        byte[] modeData = mode.name().getBytes(StandardCharsets.UTF_8);
-        ByteBuffer buffer = ByteBuffer.allocate(1 + modeData.length);
-        buffer.put(SIGNAL_GAME_MODE_CHANGE); // 게임 모드 변경 메시지 타입
-        buffer.put(modeData);
-        sendQueue.offer(buffer.array());
+        MessageQueue.Slot slot = loop.claim(P2PProtocol.gameModeSize(mode));
+        if (slot != null) {
+            P2PProtocol.encodeGameMode(slot.buffer(), mode);
+            loop.publish(slot);
+        }
     }
 
     /**
      * Ready 상태를 상대에게 전송
      */
     public void sendReadyState(boolean ready) {
-        byte[] message = new byte[2];
-        message[0] = SIGNAL_READY_STATE; // Ready 상태 메시지 타입
-        message[1] = (byte) (ready ? 1 : 0);
-        sendQueue.offer(message);
+        sendSignal(SIGNAL_READY_STATE, (byte) (ready ? 1 : 0)); // Ready 상태 메시지 타입
     }
 
     /**
-     * 게임 시작 신호 전송
+     * 게임 시작 신호 전송 (경기 시드 포함, 클라이언트는 받은 시드를 그대로 돌려보냄)
      */
     public void sendGameStart() {
-        byte[] message = new byte[1];
-        message[0] = SIGNAL_GAME_START; // 게임 시작 메시지 타입
-        sendQueue.offer(message);
+        heartbeatStopped = true;
+        MessageQueue.Slot slot = loop.claim(P2PProtocol.GAME_START_SIZE);
+        if (slot != null) {
+            P2PProtocol.encodeGameStart(slot.buffer(), matchSeed);
+            loop.publishLast(slot); // 이후 메시지는 게임 화면의 매니저가 보냄
+        }
     }
 
     /**
      * 채팅 메시지를 상대에게 전송
      */
     public void sendChatMessage(String chatMessage) {
-        byte[] messageData = chatMessage.getBytes(StandardCharsets.UTF_8);
-        ByteBuffer buffer = ByteBuffer.allocate(1 + messageData.length);
-        buffer.put(SIGNAL_CHAT_MESSAGE); // 채팅 메시지 타입
-        buffer.put(messageData);
-        sendQueue.offer(buffer.array());
+        sendSignal(SIGNAL_CHAT_MESSAGE, P2PProtocol.encodeText(chatMessage)); // 채팅 메시지 타입
     }
 
     /**
      * 난이도 변경을 상대에게 전송
      */
     public void sendDifficultyChange(int difficulty) {
-        byte[] message = new byte[2];
-        message[0] = SIGNAL_DIFFICULTY_CHANGE; // 난이도 변경 메시지 타입
-        message[1] = (byte) difficulty;
-        sendQueue.offer(message);
+        sendSignal(SIGNAL_DIFFICULTY_CHANGE, (byte) difficulty); // 난이도 변경 메시지 타입
     }
 
-    /**
-     * Heartbeat 전송 및 타임아웃 체크
-     */
-    private void heartbeatLoop() {
-        try {
-            while (true) {
-                Thread.sleep(HEARTBEAT_INTERVAL);
+    private void sendHello() {
+        MessageQueue.Slot slot = loop.claim(P2PProtocol.HELLO_SIZE);
+        if (slot != null) {
+            P2PProtocol.encodeHello(slot.buffer());
+            loop.publish(slot);
+        }
+    }
 
-                // 타임아웃 체크
-                if (System.currentTimeMillis() - lastHeartbeatTime > HEARTBEAT_TIMEOUT) {
-                    System.err.println("[Heartbeat timeout - connection lost]");
-                    releaseResources(true);
-                    break;
-                }
+    // 메시지는 송신 큐의 풀 버퍼에 바로 씀
+    private void sendSignal(byte type, byte value) {
+        MessageQueue.Slot slot = loop.claim(2);
+        if (slot != null) {
+            P2PProtocol.encodeByteMessage(slot.buffer(), type, value);
+            loop.publish(slot);
+        }
+    }
 
-                // Heartbeat 전송
-                byte[] message = new byte[1];
-                message[0] = SIGNAL_HEARTBEAT; // Heartbeat 메시지 타입
-                sendQueue.offer(message);
-            }
-        } catch (InterruptedException e) {
-            System.err.println("(WaitingRoom)[Heartbeat thread interrupted - graceful shutdown]");
+    private void sendSignal(byte type, byte[] data) {
+        MessageQueue.Slot slot = loop.claim(1 + data.length);
+        if (slot != null) {
+            slot.buffer().put(type).put(data);
+            loop.publish(slot);
         }
     }
 
     /**
-     * 전송 큐에서 메시지를 가져와 전송하는 루프
+     * Heartbeat 전송 및 타임아웃 체크 (루프 스레드)
+     *
+     * @return 다음 확인까지 남은 시간
      */
-    private void sendLoop() {
-        try {
-            Thread.sleep(100);
-            System.err.println("-----------------Waiting Room Network manager initialized------------------");
-        } catch (InterruptedException e) {
-            System.err.println("(WaitingRoom)[Send thread interrupted - graceful shutdown]");
-            return;
-        }
-        DataOutputStream outputStream;
-        try {
-            outputStream = new DataOutputStream(socket.getOutputStream());
-        } catch (IOException e) {
-            System.err.println("[Failed to initialize output stream]");
-            releaseResources(true);
-            return;
+    private long tickHeartbeat(long now) {
+        if (heartbeatStopped) {
+            return 0;
         }
-        try {
-            while (true) {
-                byte[] message = sendQueue.take(); // blocking - 메시지 올 때까지 대기
-                outputStream.writeInt(message.length);
-                outputStream.write(message);
-                outputStream.flush();
-                if (message[0] == SIGNAL_GAME_START) { // 게임 시작 메시지 전송 후 종료
-                    System.err.println("(WaitingRoom)[Game start message sent - send loop shutdown]");
-                    return;
-                }
+        if (now - lastHeartbeatSentTime >= HEARTBEAT_INTERVAL) {
+            // 타임아웃 체크
+            if (now - lastHeartbeatTime > HEARTBEAT_TIMEOUT) {
+                System.err.println("[Heartbeat timeout - connection lost]");
+                loop.close(true);
+                return 0;
+            }
+
+            // Heartbeat 전송
+            MessageQueue.Slot slot = loop.claim(1);
+            if (slot != null) {
+                slot.buffer().put(SIGNAL_HEARTBEAT); // Heartbeat 메시지 타입
+                loop.publish(slot);
             }
-        } catch (InterruptedException e) {
-            System.err.println("(WaitingRoom)[Send thread interrupted - graceful shutdown]");
-        } catch (IOException e) {
-            System.err.println("[Send failed - connection lost]");
-            releaseResources(true);
+            lastHeartbeatSentTime = now;
         }
+        return HEARTBEAT_INTERVAL - (now - lastHeartbeatSentTime);
     }
 
     /**
-     * 게임 모드 변경 메시지를 수신하는 루프
+     * 받은 메시지 하나를 처리 (루프 스레드)
      */
-    private void receiveLoop() {
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            System.err.println("(WaitingRoom)[Receive thread interrupted - graceful shutdown]");
+    private void handleMessage(byte type, byte[] data, int size) {
+        if (type == P2PProtocol.MSG_HELLO) {
+            handleHello(P2PProtocol.decodeHello(data, size));
             return;
         }
-        DataInputStream inputStream;
-        try {
-            inputStream = new DataInputStream(socket.getInputStream());
-        } catch (IOException e) {
-            System.err.println("[Failed to initialize input stream]");
-            releaseResources(true);
+        if (protocolVersion < 0) { // HELLO보다 먼저 온 메시지: 이 프로토콜을 쓰지 않는 상대
+            System.err.println("(WaitingRoom)[Protocol handshake failed - unexpected message " + type + "]");
+            loop.close(true);
             return;
         }
-        try {
-            while (true) {
-                int length = inputStream.readInt(); // blocking - 데이터 올 때까지 대기
-                byte type = inputStream.readByte();
-                byte[] data = inputStream.readNBytes(length - 1);
-
-                if (type == SIGNAL_GAME_MODE_CHANGE) { // 게임 모드 변경 (클라이언트만 수신)
-                    if (isServer) continue;
-                    GameMode mode = GameMode.valueOf(new String(data));
-                    Platform.runLater(() -> onGameModeChange.accept(mode));
-                } 
-                else if (type == SIGNAL_READY_STATE) { // Ready 상태 변경
-                    boolean ready = data[0] == 1;
-                    Platform.runLater(() -> onOpponentReadyChanged.accept(ready));
-                    if (isServer) {
-                        clientReady = ready;
-                        // 클라이언트와 서버 모두 Ready면 게임 시작
-                        if (clientReady && serverReady) {
-                            heartbeatThread.interrupt();
-                            sendGameStart();
-                        }
-                    }
-                }
-                else if (type == SIGNAL_GAME_START) { // 게임 시작
-                    // 서버는 ready 조건을 파악하고 게임 시작 신호만 보냄
-                    // 신호를 보내는 동시에 heartbeatThread 종료시킴
-                    // 게임 시작 신호가 보내지면 sendThread도 종료됨
-                    // 클라이언트는 시작 신호를 받으면 다시 서버에게 시작 신호를 보내고,
-                    // 본인은 모든 스레드를 자연스럽게 종료시킴
-                    // 이후 클라이언트의 시작 신호를 서버가 다시 받으면,
-                    // 그때 서버의 리시브 스레드가 마지막으로 정지됨
-                    // 이는 리시브 스레드를 정상 정지하기 위한 조치임
-                    if (isServer) {
-                        Platform.runLater(onGameStart);
-                    }
-                    else {
-                        sendGameStart();
-                        heartbeatThread.interrupt();
-                        Platform.runLater(onGameStart);
-                    }
-                    System.err.println("(WaitingRoom)[Game start signal received - receive loop shutdown]");
-                    return;
-                }
-                else if (type == SIGNAL_HEARTBEAT) { // Heartbeat (양방향)
-                    lastHeartbeatTime = System.currentTimeMillis();
-                }
-                else if (type == SIGNAL_CHAT_MESSAGE) { // 채팅 메시지 (양방향)
-                    String chatMessage = new String(data, StandardCharsets.UTF_8);
-                    Platform.runLater(() -> onChatMessageReceived.accept(chatMessage));
-                }
-                else if (type == SIGNAL_DIFFICULTY_CHANGE) { // 난이도 변경 (클라이언트만 수신)
-                    if (isServer) continue;
-                    int difficulty = data[0] & 0xFF; // Convert signed byte to unsigned int
-                    Platform.runLater(() -> onDifficultyChange.accept(difficulty));
+        if (type == SIGNAL_GAME_MODE_CHANGE) { // 게임 모드 변경 (클라이언트만 수신)
+            if (isServer) return;
+            GameMode mode = P2PProtocol.decodeGameMode(data, size);
+            if (mode != null) {
+                Platform.runLater(() -> onGameModeChange.accept(mode));
+            }
+        } 
+        else if (type == SIGNAL_READY_STATE) { // Ready 상태 변경
+            boolean ready = P2PProtocol.decodeReady(data, size);
+            Platform.runLater(() -> onOpponentReadyChanged.accept(ready));
+            if (isServer) {
+                clientReady = ready;
+                // 클라이언트와 서버 모두 Ready면 게임 시작
+                if (clientReady && serverReady) {
+                    sendGameStart();
                 }
             }
         }
-        catch (IOException e) {
-            if (Thread.currentThread().isInterrupted()) {
-                System.err.println("(WaitingRoom)[Receive thread interrupted - graceful shutdown]");
-            } else {
-                System.err.println("[Receive failed - connection lost]");
-                releaseResources(true);
+        else if (type == SIGNAL_GAME_START) { // 게임 시작
+            // 서버는 ready 조건을 파악하고 게임 시작 신호만 보냄 (보내면서 heartbeat 중단)
+            // 클라이언트는 시작 신호를 받으면 다시 서버에게 시작 신호를 보내고 루프를 끝냄
+            // 서버는 클라이언트의 시작 신호를 받은 뒤에 루프를 끝냄
+            // 그래서 양쪽 모두 대기실 메시지를 다 읽은 뒤에 소켓을 게임 화면에 넘김
+            if (isServer) {
+                Platform.runLater(onGameStart);
+            }
+            else {
+                matchSeed = P2PProtocol.decodeGameStartSeed(data, size);
+                sendGameStart();
+                Platform.runLater(onGameStart);
             }
+            loop.finish();
+            System.err.println("(WaitingRoom)[Game start signal received - connection loop shutdown]");
+        }
+        else if (type == SIGNAL_HEARTBEAT) { // Heartbeat (양방향)
+            lastHeartbeatTime = System.currentTimeMillis();
+        }
+        else if (type == SIGNAL_CHAT_MESSAGE) { // 채팅 메시지 (양방향)
+            String chatMessage = P2PProtocol.decodeText(data, size);
+            Platform.runLater(() -> onChatMessageReceived.accept(chatMessage));
+        }
+        else if (type == SIGNAL_DIFFICULTY_CHANGE) { // 난이도 변경 (클라이언트만 수신)
+            if (isServer) return;
+            int difficulty = P2PProtocol.decodeDifficulty(data, size);
+            Platform.runLater(() -> onDifficultyChange.accept(difficulty));
         }
     }
 
-    private void releaseResources(boolean remoteDisconnected) {
-        if (remoteDisconnected) {
-            Platform.runLater(onDisconnect);
-        }
-        sendThread.interrupt();
-        receiveThread.interrupt();
-        heartbeatThread.interrupt();
-        try {
-            socket.close();
-        } catch (IOException e) {
-            System.err.println("[Error while closing socket]");
+    /**
+     * 상대의 HELLO로 버전과 공통 기능을 정함 (호환되지 않으면 연결을 끊음)
+     */
+    private void handleHello(P2PProtocol.Hello hello) {
+        int version = hello == null ? -1 : hello.negotiateVersion();
+        if (version < 0) {
+            String remote = hello == null ? "unknown" : hello.minVersion() + "~" + hello.version();
+            System.err.println("(WaitingRoom)[Protocol version mismatch - local "
+                    + P2PProtocol.MIN_COMPATIBLE_VERSION + "~" + P2PProtocol.VERSION + ", remote " + remote + "]");
+            loop.close(true);
+            return;
         }
+        sharedCapabilities = hello.sharedCapabilities();
+        protocolVersion = version;
     }
 
     public void disconnect() {
-        releaseResources(false);
+        loop.close(false);
     }
 
     /**
@@ -300,7 +277,6 @@ public class WaitingRoomNetworkManager {
         this.serverReady = ready;
         // 클라이언트와 서버 모두 Ready면 게임 시작
         if (clientReady && serverReady) {
-            heartbeatThread.interrupt();
             sendGameStart();
         }
     }
@@ -308,4 +284,25 @@ public class WaitingRoomNetworkManager {
     public Socket getSocket() {
         return socket;
     }
+
+    /**
+     * 상대와 정한 프로토콜 버전 (아직 HELLO를 받지 못했으면 -1)
+     */
+    public int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    /**
+     * 양쪽이 모두 지원하는 기능 비트 (P2PProtocol.CAP_*)
+     */
+    public int getSharedCapabilities() {
+        return sharedCapabilities;
+    }
+
+    /**
+     * 이번 경기의 시드 (클라이언트는 START를 받기 전, 또는 상대가 시드를 보내지 않았으면 0)
+     */
+    public long getMatchSeed() {
+        return matchSeed;
+    }
 }
@@ -1,5 +1,7 @@
 package org.example.view;
 
+import javafx.scene.control.Label;
+
 import org.example.model.SettingData.ScreenSize;
 import org.example.service.ColorManager;
 import org.example.service.DisplayManager;
@@ -68,6 +70,18 @@ public abstract class BaseView {
         onScaleChanged(currentScale);
     }
     
+    /**
+     * 입력 지연 디버그 오버레이용 라벨을 생성합니다. (기본 숨김)
+     * @return 숨겨진 상태의 Label
+     */
+    protected Label createLatencyLabel() {
+        Label label = new Label();
+        label.getStyleClass().addAll("label-secondary", "text-caption");
+        label.setVisible(false);
+        label.setManaged(false);
+        return label;
+    }
+    
     /**
      * 스케일이 변경되었을 때 호출됩니다.
      * 서브클래스에서 오버라이드하여 추가 레이아웃 업데이트를 구현합니다.
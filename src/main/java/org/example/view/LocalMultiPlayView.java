@@ -3,6 +3,7 @@ package org.example.view;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
@@ -26,6 +27,7 @@ public class LocalMultiPlayView extends BaseView {
     private HoldPanel player1HoldPanel;
     private AdderCanvas player1AdderCanvas;
     private ScorePanel player1ScorePanel;
+    private Label player1LatencyLabel;
     
     // Player 2 (우측)
     private TetrisCanvas player2Canvas;
@@ -33,6 +35,7 @@ public class LocalMultiPlayView extends BaseView {
     private HoldPanel player2HoldPanel;
     private AdderCanvas player2AdderCanvas;
     private ScorePanel player2ScorePanel;
+    private Label player2LatencyLabel;
     
     // 위젯 컨테이너
     private VBox player1WidgetContainer;
@@ -98,20 +101,23 @@ public class LocalMultiPlayView extends BaseView {
         AdderCanvas adderCanvas = new AdderCanvas();
         VBox spacer = new VBox(); // 빈 공간을 채우기 위한 스페이서
         ScorePanel scorePanel = new ScorePanel(gameModeName, difficultyName);
+        Label latencyLabel = createLatencyLabel();
         
         if (isPlayer1) {
             player1NextPanel = nextPanel;
             player1HoldPanel = holdPanel;
             player1AdderCanvas = adderCanvas;
             player1ScorePanel = scorePanel;
+            player1LatencyLabel = latencyLabel;
         } else {
             player2NextPanel = nextPanel;
             player2HoldPanel = holdPanel;
             player2AdderCanvas = adderCanvas;
             player2ScorePanel = scorePanel;
+            player2LatencyLabel = latencyLabel;
         }
         
-        widgetContainer.getChildren().addAll(nextPanel, holdPanel, adderCanvas, spacer, scorePanel);
+        widgetContainer.getChildren().addAll(nextPanel, holdPanel, adderCanvas, spacer, latencyLabel, scorePanel);
         VBox.setVgrow(nextPanel, Priority.NEVER);
         VBox.setVgrow(holdPanel, Priority.NEVER);
         VBox.setVgrow(adderCanvas, Priority.NEVER);
@@ -199,7 +205,7 @@ public class LocalMultiPlayView extends BaseView {
         player1HoldPanel.updateHoldPiece(holdPiece);
         player1NextPanel.updateNextPiece(nextPiece);
         if (adderBoard != null) {
-            player1AdderCanvas.updateBoard(adderBoard.getLines());
+            player1AdderCanvas.updateBoard(adderBoard.getHoleMasks(), adderBoard.getLineCount());
         }
         player1ScorePanel.updateStats(score, lines, level);
         
@@ -224,7 +230,7 @@ public class LocalMultiPlayView extends BaseView {
         player2HoldPanel.updateHoldPiece(holdPiece);
         player2NextPanel.updateNextPiece(nextPiece);
         if (adderBoard != null) {
-            player2AdderCanvas.updateBoard(adderBoard.getLines());
+            player2AdderCanvas.updateBoard(adderBoard.getHoleMasks(), adderBoard.getLineCount());
         }
         player2ScorePanel.updateStats(score, lines, level);
         
@@ -238,7 +244,7 @@ public class LocalMultiPlayView extends BaseView {
      */
     public void updatePlayer1AdderBoard(org.example.model.AdderBoard adderBoard) {
         if (adderBoard != null) {
-            player1AdderCanvas.updateBoard(adderBoard.getLines());
+            player1AdderCanvas.updateBoard(adderBoard.getHoleMasks(), adderBoard.getLineCount());
         }
     }
     
@@ -247,7 +253,7 @@ public class LocalMultiPlayView extends BaseView {
      */
     public void updatePlayer2AdderBoard(org.example.model.AdderBoard adderBoard) {
         if (adderBoard != null) {
-            player2AdderCanvas.updateBoard(adderBoard.getLines());
+            player2AdderCanvas.updateBoard(adderBoard.getHoleMasks(), adderBoard.getLineCount());
         }
     }
     
@@ -268,6 +274,24 @@ public class LocalMultiPlayView extends BaseView {
         player2ScorePanel.setShowTimer(show);
     }
 
+    /**
+     * 입력 지연 디버그 오버레이 표시 여부 설정 (양 플레이어 모두)
+     */
+    public void setLatencyOverlayVisible(boolean visible) {
+        player1LatencyLabel.setVisible(visible);
+        player1LatencyLabel.setManaged(visible);
+        player2LatencyLabel.setVisible(visible);
+        player2LatencyLabel.setManaged(visible);
+    }
+
+    /**
+     * 입력 지연 디버그 오버레이 내용 갱신
+     */
+    public void updateLatencyOverlay(String player1Summary, String player2Summary) {
+        player1LatencyLabel.setText(player1Summary);
+        player2LatencyLabel.setText(player2Summary);
+    }
+
     /**
      * Play 재개 시 모든 UI 요소의 크기를 업데이트합니다.
      */
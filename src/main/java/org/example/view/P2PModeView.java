@@ -12,7 +12,7 @@ public class P2PModeView extends BaseView {
         super(true);
     }
 
-    public VBox createView(Runnable onServer, Runnable onClient, Runnable onGoBack) {
+    public VBox createView(Runnable onServer, Runnable onClient, Runnable onSpectate, Runnable onGoBack) {
         VBox root = new VBox(40);
         root.setAlignment(Pos.CENTER);
         root.getStyleClass().add("root-dark");
@@ -21,8 +21,8 @@ public class P2PModeView extends BaseView {
         title.getStyleClass().addAll("text-title-medium", "text-primary");
 
         var created = buttonSystem.createNavigableButtonFromList(
-            List.of("Server", "Client", "Go Back"),
-            List.of(onServer, onClient, onGoBack)
+            List.of("Server", "Client", "Spectate", "Go Back"),
+            List.of(onServer, onClient, onSpectate, onGoBack)
         );
 
         root.getChildren().add(title);
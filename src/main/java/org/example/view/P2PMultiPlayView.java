@@ -32,6 +32,7 @@ public class P2PMultiPlayView extends BaseView{
     private HBox root;
     private VBox widgetsContainer;
     private Label networkDelayLabel;
+    private Label networkDetailLabel;
     private VBox networkDelayContainer;
 
     public P2PMultiPlayView() {
@@ -92,7 +93,10 @@ public class P2PMultiPlayView extends BaseView{
         networkDelayLabel.getStyleClass().addAll("label-primary", "text-body-small");
         networkDelayLabel.setTextFill(Color.LIME);
         
-        networkDelayContainer.getChildren().addAll(titleLabel, networkDelayLabel);
+        networkDetailLabel = new Label("");
+        networkDetailLabel.getStyleClass().addAll("label-secondary", "text-caption");
+
+        networkDelayContainer.getChildren().addAll(titleLabel, networkDelayLabel, networkDetailLabel);
 
         container.getChildren().addAll(nextPanel, holdPanel, adderCanvas, spacer, networkDelayContainer, scorePanel);
         VBox.setVgrow(nextPanel, Priority.NEVER);
@@ -152,10 +156,25 @@ public class P2PMultiPlayView extends BaseView{
                              AdderBoardSync adderBoard,
                              int score, int lines, int level,
                             long remainingMillis) {
+        updateDisplay(board, currentPiece, ghostPiece, holdPiece, nextPiece,
+                adderBoard.getHoleMasks(), adderBoard.getLineCount(), score, lines, level, remainingMillis);
+    }
+
+    /**
+     * 내 게임 화면을 업데이트합니다. (입력 교환 대전: 공격 대기열은 엔진의 AdderBoard)
+     */
+    public void updateDisplay(org.example.model.GameBoard board,
+                             TetrominoPosition currentPiece,
+                             TetrominoPosition ghostPiece,
+                             TetrominoPosition holdPiece,
+                             TetrominoPosition nextPiece,
+                             int[] adderHoleMasks, int adderLines,
+                             int score, int lines, int level,
+                             long remainingMillis) {
         myGameCanvas.updateBoard(board, currentPiece, ghostPiece);
         holdPanel.updateHoldPiece(holdPiece);
         nextPanel.updateNextPiece(nextPiece);
-        adderCanvas.updateBoard(adderBoard.getDrawBuffer());
+        adderCanvas.updateBoard(adderHoleMasks, adderLines);
         scorePanel.updateStats(score, lines, level);
         scorePanel.updateTimer(remainingMillis);
     }
@@ -189,4 +208,39 @@ public class P2PMultiPlayView extends BaseView{
             }
         }
     }
+
+    /**
+     * 연결이 끊겨 재연결을 기다리는 중임을 표시 (다시 붙으면 다음 딜레이 값으로 바뀜)
+     */
+    public void showReconnecting() {
+        if (networkDelayLabel != null) {
+            networkDelayLabel.setText("Reconnecting...");
+            networkDelayLabel.setTextFill(Color.RED);
+        }
+    }
+
+    /**
+     * 네트워크 품질 상세 값 업데이트 (RTT, 지터, 직전 1초 손실률)
+     * 지터나 손실이 나쁘면 딜레이가 낮아도 경고 색으로 표시합니다.
+     *
+     * @param rttMs 왕복 시간 (측정 전이면 -1)
+     * @param jitterMs 단방향 지터 (측정 전이면 -1)
+     * @param lossPercent 손실률 (%)
+     */
+    public void updateNetworkStats(long rttMs, long jitterMs, double lossPercent) {
+        if (networkDetailLabel == null) {
+            return;
+        }
+        String rtt = rttMs < 0 ? "-" : String.valueOf(rttMs);
+        String jitter = jitterMs < 0 ? "-" : String.valueOf(jitterMs);
+        networkDetailLabel.setText(String.format("RTT %s / J %s ms%nLoss %.1f%%", rtt, jitter, lossPercent));
+
+        if (lossPercent >= 5 || jitterMs >= 50) {
+            networkDetailLabel.setTextFill(Color.RED);
+        } else if (lossPercent >= 1 || jitterMs >= 20) {
+            networkDetailLabel.setTextFill(Color.ORANGE);
+        } else {
+            networkDetailLabel.setTextFill(Color.LIGHTGRAY);
+        }
+    }
 }
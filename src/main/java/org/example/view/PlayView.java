@@ -3,6 +3,7 @@ package org.example.view;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
@@ -23,6 +24,7 @@ public class PlayView extends BaseView {
     private NextPiecePanel nextPanel;
     private ScorePanel scorePanel;
     private VBox widgetContainer;
+    private Label latencyLabel; // 입력 지연 디버그 오버레이
     
     public PlayView() {
         super(false); // NavigableButtonSystem 사용하지 않음
@@ -54,8 +56,9 @@ public class PlayView extends BaseView {
         nextPanel.setHorizontalMode(false); // 수직 모드
         VBox spacer = new VBox(); // 빈 공간을 채우기 위한 스페이서
         scorePanel = new ScorePanel(mode, difficulty);
+        latencyLabel = createLatencyLabel();
         
-        widgetContainer.getChildren().addAll(holdPanel, nextPanel, spacer, scorePanel);
+        widgetContainer.getChildren().addAll(holdPanel, nextPanel, spacer, latencyLabel, scorePanel);
         VBox.setVgrow(holdPanel, Priority.NEVER);
         VBox.setVgrow(nextPanel, Priority.NEVER);
         VBox.setVgrow(spacer, Priority.ALWAYS);
@@ -117,6 +120,21 @@ public class PlayView extends BaseView {
         }
     }
 
+    /**
+     * 입력 지연 디버그 오버레이 표시 여부 설정
+     */
+    public void setLatencyOverlayVisible(boolean visible) {
+        latencyLabel.setVisible(visible);
+        latencyLabel.setManaged(visible);
+    }
+
+    /**
+     * 입력 지연 디버그 오버레이 내용 갱신
+     */
+    public void updateLatencyOverlay(String summary) {
+        latencyLabel.setText(summary);
+    }
+
     /**
      * 타이머 표시 활성화
      */
@@ -0,0 +1,175 @@
+package org.example.view;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+import org.example.view.component.play.DummyTetrisCanvas;
+
+/**
+ * 관전 화면의 UI를 담당하는 View 클래스
+ * 찾은 경기마다 두 보드와 점수, 마지막 이벤트를 타일 하나로 보여줍니다. (읽기 전용)
+ */
+public class SpectatorView extends BaseView {
+    private static final String MSG_WAITING = "Looking for matches on the local network...";
+    private static final int PLAYERS = 2;
+
+    private final Map<Integer, MatchTile> tiles = new LinkedHashMap<>();
+    private FlowPane matchPane;
+    private Text titleLabel;
+    private Scene scene;
+
+    /** 경기 하나의 화면 요소 */
+    private static final class MatchTile {
+        final VBox root = new VBox(6);
+        final Label header = new Label();
+        final DummyTetrisCanvas[] canvases = new DummyTetrisCanvas[PLAYERS];
+        final Label[] scoreLabels = new Label[PLAYERS];
+        final Label eventLabel = new Label("");
+    }
+
+    public SpectatorView() {
+        super(true);
+    }
+
+    /**
+     * 관전 화면의 UI를 구성하고 반환합니다.
+     * @param onGoBack Go Back 버튼 클릭 시 실행될 콜백
+     * @return 구성된 BorderPane root
+     */
+    public BorderPane createView(Runnable onGoBack) {
+        BorderPane root = new BorderPane();
+        root.getStyleClass().add("root-dark");
+        root.setPadding(new Insets(20));
+
+        titleLabel = new Text(MSG_WAITING);
+        titleLabel.getStyleClass().addAll("text-title-small", "text-primary");
+        BorderPane.setAlignment(titleLabel, Pos.CENTER);
+        root.setTop(titleLabel);
+
+        matchPane = new FlowPane(20, 20);
+        matchPane.setAlignment(Pos.CENTER);
+        matchPane.setPadding(new Insets(10));
+        root.setCenter(matchPane);
+
+        var goBack = buttonSystem.createNavigableButton("Go Back", onGoBack);
+        BorderPane.setAlignment(goBack, Pos.CENTER);
+        root.setBottom(goBack);
+
+        return root;
+    }
+
+    /**
+     * 새로 찾은 경기 타일을 추가합니다.
+     */
+    public void addMatch(int matchId, String mode) {
+        if (tiles.containsKey(matchId)) {
+            return;
+        }
+        MatchTile tile = new MatchTile();
+        tile.root.setAlignment(Pos.TOP_CENTER);
+        tile.root.setPadding(new Insets(8));
+        tile.root.getStyleClass().add("widget-container");
+        tile.header.setText(mode);
+        tile.header.getStyleClass().addAll("label-primary", "text-body-small");
+        tile.eventLabel.getStyleClass().addAll("label-secondary", "text-caption");
+
+        HBox boards = new HBox(10);
+        boards.setAlignment(Pos.CENTER);
+        String[] names = { "Host", "Guest" };
+        for (int i = 0; i < PLAYERS; i++) {
+            tile.canvases[i] = new DummyTetrisCanvas();
+            tile.scoreLabels[i] = new Label(names[i]);
+            tile.scoreLabels[i].getStyleClass().addAll("label-secondary", "text-caption");
+            VBox player = new VBox(4, tile.canvases[i], tile.scoreLabels[i]);
+            player.setAlignment(Pos.CENTER);
+            boards.getChildren().add(player);
+        }
+        tile.root.getChildren().addAll(tile.header, boards, tile.eventLabel);
+
+        tiles.put(matchId, tile);
+        matchPane.getChildren().add(tile.root);
+        titleLabel.setText("Spectating " + tiles.size() + (tiles.size() == 1 ? " match" : " matches"));
+        updateCanvasSize(scene);
+    }
+
+    /**
+     * 더 이상 프레임이 오지 않는 경기 타일을 뺍니다.
+     */
+    public void removeMatch(int matchId) {
+        MatchTile tile = tiles.remove(matchId);
+        if (tile == null) {
+            return;
+        }
+        matchPane.getChildren().remove(tile.root);
+        titleLabel.setText(tiles.isEmpty() ? MSG_WAITING
+                : "Spectating " + tiles.size() + (tiles.size() == 1 ? " match" : " matches"));
+        updateCanvasSize(scene);
+    }
+
+    /**
+     * 경기 타일을 갱신합니다.
+     * @param boards 플레이어별 압축 보드 (키프레임을 아직 받지 못했으면 null, 그리는 동안 바꾸지 않는 배열)
+     * @param scores 플레이어별 점수 (모르면 음수)
+     * @param playerStatus 플레이어별 이름과 게임 오버 여부
+     * @param status 헤더에 표시할 모드/시간/결과
+     */
+    public void updateMatch(int matchId, int[][][] boards, int[] scores, String[] playerStatus, String status) {
+        MatchTile tile = tiles.get(matchId);
+        if (tile == null) {
+            return;
+        }
+        tile.header.setText(status);
+        for (int i = 0; i < PLAYERS; i++) {
+            if (boards[i] != null) {
+                tile.canvases[i].updateBoard(boards[i]);
+            }
+            String score = scores[i] < 0 ? "-" : String.valueOf(scores[i]);
+            tile.scoreLabels[i].setText(playerStatus[i] + "  " + score);
+        }
+    }
+
+    /**
+     * 경기 타일에 마지막 이벤트를 표시합니다.
+     */
+    public void showEvent(int matchId, String text) {
+        MatchTile tile = tiles.get(matchId);
+        if (tile != null) {
+            tile.eventLabel.setText(text);
+        }
+    }
+
+    public void setTitle(String text) {
+        titleLabel.setText(text);
+    }
+
+    /**
+     * 경기 수에 맞춰 캔버스 크기를 조정합니다. (경기가 많을수록 타일을 작게)
+     */
+    public void updateCanvasSize(Scene scene) {
+        this.scene = scene;
+        if (scene == null || tiles.isEmpty()) {
+            return;
+        }
+        int columns = (int) Math.ceil(Math.sqrt(tiles.size()));
+        int rows = (int) Math.ceil((double) tiles.size() / columns);
+        // 타일 하나에 보드 두 개, 헤더/점수/이벤트 줄과 버튼 영역 여유
+        double tileWidth = (scene.getWidth() - 60) / columns - 40;
+        double tileHeight = (scene.getHeight() - 160) / rows - 90;
+        double canvasHeight = Math.max(80, Math.min(tileHeight, tileWidth)); // 보드 두 개의 폭 = 높이
+        for (MatchTile tile : tiles.values()) {
+            for (DummyTetrisCanvas canvas : tile.canvases) {
+                canvas.setCanvasSize(canvasHeight * 0.5, canvasHeight);
+            }
+        }
+    }
+}
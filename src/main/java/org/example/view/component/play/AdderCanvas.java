@@ -4,14 +4,15 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
+import org.example.model.GarbageLine;
 import org.example.service.ColorManager;
 
 /**
  * AdderBoard의 내용을 표시하는 캔버스 컴포넌트입니다.
  * 10x10 크기의 고정 영역을 표시합니다.
- * getLines()가 아래부터 채워서 반환하므로 그대로 그립니다.
- * - result[0] = 화면 위쪽 (빈 줄일 수 있음)
- * - result[9] = 화면 아래쪽 (가장 최근 라인)
+ * 공격 라인은 구멍 마스크(GarbageLine)로 받아 아래부터 채워서 그립니다.
+ * - 화면 위쪽 = 빈 줄 (라인이 10개 미만일 경우)
+ * - 화면 아래쪽 = 가장 최근 라인
  */
 public class AdderCanvas extends Canvas {
     private double cellSize = 30;
@@ -22,7 +23,8 @@ public class AdderCanvas extends Canvas {
     private static final int HEIGHT = 10;  // 최대 10줄
     private static final double BORDER_PADDING = 4; // 테두리 안쪽 패딩
     
-    private int[][] adderBoardLines;
+    private int[] holeMasks;
+    private int lineCount;
     
     public AdderCanvas() {
         super(WIDTH * 30, HEIGHT * 30);
@@ -53,8 +55,13 @@ public class AdderCanvas extends Canvas {
         draw();
     }
     
-    public void updateBoard(int[][] adderBoardLines) {
-        this.adderBoardLines = adderBoardLines;
+    /**
+     * @param holeMasks 공격 라인의 구멍 마스크 (앞쪽 lineCount개만 사용, 먼저 들어온 줄이 위쪽)
+     * @param lineCount 그릴 줄 수 (최대 10)
+     */
+    public void updateBoard(int[] holeMasks, int lineCount) {
+        this.holeMasks = holeMasks;
+        this.lineCount = holeMasks == null ? 0 : Math.min(lineCount, Math.min(HEIGHT, holeMasks.length));
         draw();
     }
 
@@ -69,7 +76,7 @@ public class AdderCanvas extends Canvas {
         gc.setLineWidth(2);
         gc.strokeRoundRect(1, 1, getWidth() - 2, getHeight() - 2, 5, 5);
 
-        if (adderBoardLines == null) 
+        if (lineCount == 0) 
             return;
                 
         // 테두리 패딩을 고려한 셀 크기 계산
@@ -78,13 +85,12 @@ public class AdderCanvas extends Canvas {
         double drawCellSize = Math.min(usableWidth / WIDTH, usableHeight / HEIGHT);
         
         // Draw AdderBoard blocks
-        // getLines()가 아래부터 채워서 반환하므로 그대로 그림
-        // result[0] = 화면 위쪽, result[9] = 화면 아래쪽 (가장 최근 라인)
-        for (int row = 0; row < HEIGHT; row++) {
+        // holeMasks[0] -> HEIGHT - lineCount 행, holeMasks[lineCount-1] -> 맨 아래 행
+        for (int i = 0; i < lineCount; i++) {
+            int row = HEIGHT - lineCount + i;
             for (int col = 0; col < WIDTH; col++) {
-                int colorIndex = adderBoardLines[row][col];
-                if (colorIndex != 0) {
-                    drawCell(gc, row, col, colorIndex, drawCellSize);
+                if (GarbageLine.isBlock(holeMasks[i], col)) {
+                    drawCell(gc, row, col, GarbageLine.COLOR, drawCellSize);
                 }
             }
         }
@@ -90,7 +90,7 @@ public class HoldPanel extends VBox {
         if (holdPiece == null) return;
 
         int[][] shape = holdPiece.getCurrentShape();
-        Color color = holdPiece.getDisplayColor(org.example.service.ColorManager.getInstance());
+        Color color = org.example.service.ColorManager.getInstance().getDisplayColor(holdPiece);
 
         // 테두리 패딩을 고려한 사용 가능 영역
         double usableSize = holdCanvas.getWidth() - (BORDER_PADDING * 2);
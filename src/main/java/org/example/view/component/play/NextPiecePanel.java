@@ -154,7 +154,7 @@ public class NextPiecePanel extends VBox {
         }
 
         int[][] shape = piece.getCurrentShape();
-        Color color = piece.getDisplayColor(org.example.service.ColorManager.getInstance());
+        Color color = org.example.service.ColorManager.getInstance().getDisplayColor(piece);
 
         // 인덱스에 따라 다른 셀 크기 사용
         double cellSize = (index == 0) ? largeCellSize : smallCellSize;
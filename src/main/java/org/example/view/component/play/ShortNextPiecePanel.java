@@ -115,7 +115,7 @@ public class ShortNextPiecePanel extends VBox {
     
     private void drawTetromino(GraphicsContext gc, TetrominoPosition piece) {
         int[][] shape = piece.getCurrentShape();
-        Color color = piece.getDisplayColor(colorManager);
+        Color color = colorManager.getDisplayColor(piece);
         
         // 피스를 캔버스 중앙에 배치
         double offsetX = (nextCanvas.getWidth() - shape[0].length * cellSize) / 2;
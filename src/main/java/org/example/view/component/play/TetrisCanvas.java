@@ -4,6 +4,8 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
+import java.util.function.LongConsumer;
+
 import org.example.service.ColorManager;
 import org.example.model.GameBoard;
 import org.example.model.TetrominoPosition;
@@ -23,6 +25,7 @@ public class TetrisCanvas extends Canvas {
     private GameBoard board;
     private TetrominoPosition currentPiece;
     private TetrominoPosition ghostPiece;
+    private LongConsumer onDrawn; // 그리기 완료 시각 통지 (입력 지연 측정용)
 
     public TetrisCanvas() {
         super(GameBoard.WIDTH * 30, GameBoard.HEIGHT * 30);
@@ -79,6 +82,13 @@ public class TetrisCanvas extends Canvas {
         draw();
     }
 
+    /**
+     * 보드 그리기가 끝날 때마다 완료 시각(System.nanoTime)을 전달받을 콜백을 설정합니다.
+     */
+    public void setOnDrawn(LongConsumer onDrawn) {
+        this.onDrawn = onDrawn;
+    }
+
     protected void draw() {
         GraphicsContext gc = getGraphicsContext2D();
         gc.clearRect(0, 0, getWidth(), getHeight());
@@ -117,7 +127,7 @@ public class TetrisCanvas extends Canvas {
 
         // Draw current piece
         if (currentPiece != null) {
-            Color pieceColor = currentPiece.getDisplayColor(colorManager);
+            Color pieceColor = colorManager.getDisplayColor(currentPiece);
             drawPiece(gc, currentPiece, pieceColor, false);
         }
 
@@ -125,6 +135,10 @@ public class TetrisCanvas extends Canvas {
 
         // Draw grid
         drawGrid(gc);
+
+        if (onDrawn != null) {
+            onDrawn.accept(System.nanoTime());
+        }
     }
 
     // overlay method removed in marker-based approach
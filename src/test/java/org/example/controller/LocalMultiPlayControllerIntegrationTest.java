@@ -253,6 +253,33 @@ class LocalMultiPlayControllerIntegrationTest {
         }, "Key release handling should not throw exception");
     }
 
+    @Test
+    @DisplayName("LocalMultiPlayController applies a tap released before the next tick")
+    void testShortTapIsApplied() {
+        javafx.application.Platform.runLater(() -> {
+            Scene scene = controller.createScene();
+            testStage.setScene(scene);
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        final int[] xs = new int[4];
+        javafx.application.Platform.runLater(() -> {
+            xs[0] = controller.getPlayer1System().getCurrentPiece().getX();
+            xs[1] = controller.getPlayer2System().getCurrentPiece().getX();
+            controller.handleKeyPressed(KeyCode.LEFT);
+            controller.handleKeyReleased(KeyCode.LEFT);
+            controller.handleKeyPressed(KeyCode.D);
+            controller.handleKeyReleased(KeyCode.D);
+            controller.update(0.016);
+            xs[2] = controller.getPlayer1System().getCurrentPiece().getX();
+            xs[3] = controller.getPlayer2System().getCurrentPiece().getX();
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertEquals(xs[0] - 1, xs[2], "Player 1 tap should move exactly one column");
+        assertEquals(xs[1] + 1, xs[3], "Player 2 tap should move exactly one column");
+    }
+
     @Test
     @DisplayName("LocalMultiPlayController TIME_ATTACK mode shows timer")
     void testTimeAttackModeTimer() {
@@ -6,6 +6,7 @@ import javafx.scene.input.KeyCode;
 import javafx.stage.Stage;
 import org.example.model.GameMode;
 import org.example.service.ColorManager;
+import org.example.service.P2PProtocol;
 import org.example.service.SettingManager;
 import org.example.view.BaseView;
 import org.junit.jupiter.api.AfterEach;
@@ -24,7 +25,10 @@ import org.testfx.util.WaitForAsyncUtils;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.ServerSocket;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.Stack;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -87,7 +91,7 @@ class P2PMultiPlayControllerIntegrationTest {
     }
 
     private void setupSocketConnection() throws IOException, InterruptedException {
-        serverSocket = new ServerSocket(0);
+        serverSocket = ServerSocketChannel.open().bind(new InetSocketAddress(0)).socket(); // 연결 루프용 채널 기반 소켓
         int port = serverSocket.getLocalPort();
 
         CountDownLatch connectionLatch = new CountDownLatch(1);
@@ -100,7 +104,7 @@ class P2PMultiPlayControllerIntegrationTest {
             }
         });
 
-        clientSideSocket = new Socket("localhost", port);
+        clientSideSocket = SocketChannel.open(new InetSocketAddress("localhost", port)).socket();
         assertTrue(connectionLatch.await(5, TimeUnit.SECONDS), "Connection failed");
     }
 
@@ -206,6 +210,25 @@ class P2PMultiPlayControllerIntegrationTest {
         assertNotNull(serverController);
     }
 
+    @Test
+    @DisplayName("Controller initializes in lockstep mode when a match seed is shared")
+    void testLockstepInitialization() throws Exception {
+        setupSocketConnection();
+
+        Platform.runLater(() -> {
+            serverController = new P2PMultiPlayController(
+                serverSideSocket, true, GameMode.NORMAL, 2, P2PProtocol.LOCAL_CAPABILITIES, 42L
+            );
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+        Thread.sleep(500);
+
+        assertNotNull(serverController);
+        Field lockstepField = P2PMultiPlayController.class.getDeclaredField("lockstep");
+        lockstepField.setAccessible(true);
+        assertNotNull(lockstepField.get(serverController));
+    }
+
     // Note: testSimultaneousInitialization is skipped to avoid race conditions
     // with network callbacks being invoked before view initialization
     
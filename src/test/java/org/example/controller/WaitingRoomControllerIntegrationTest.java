@@ -24,7 +24,10 @@ import org.testfx.util.WaitForAsyncUtils;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.ServerSocket;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.Stack;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -51,7 +54,7 @@ class WaitingRoomControllerIntegrationTest {
     }
     
     private void setupSocketConnection() throws IOException, InterruptedException {
-        serverSocket = new ServerSocket(0);
+        serverSocket = ServerSocketChannel.open().bind(new InetSocketAddress(0)).socket(); // 연결 루프용 채널 기반 소켓
         int port = serverSocket.getLocalPort();
         
         CountDownLatch connectionLatch = new CountDownLatch(1);
@@ -65,7 +68,7 @@ class WaitingRoomControllerIntegrationTest {
             }
         });
         
-        clientSideSocket = new Socket("localhost", port);
+        clientSideSocket = SocketChannel.open(new InetSocketAddress("localhost", port)).socket();
         assertTrue(connectionLatch.await(5, TimeUnit.SECONDS));
     }
 
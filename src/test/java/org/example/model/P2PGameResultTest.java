@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.example.service.P2PProtocol;
 import org.mockito.Mockito;
 
 import java.net.Socket;
@@ -285,4 +286,20 @@ class P2PGameResultTest {
         assertTrue(serverResult.isServer);
         assertFalse(clientResult.isServer);
     }
+
+    @Test
+    @DisplayName("P2PGameResult keeps the match seed for a lockstep rematch")
+    void testMatchSeed() {
+        Socket mockSocket = Mockito.mock(Socket.class);
+
+        P2PGameResult lockstep = new P2PGameResult(
+            1000, 800, (byte) 1, mockSocket, true, GameMode.NORMAL, 2, P2PProtocol.LOCAL_CAPABILITIES, 42L
+        );
+        P2PGameResult boardSync = new P2PGameResult(
+            1000, 800, (byte) 1, mockSocket, true, GameMode.NORMAL, 2, P2PProtocol.LOCAL_CAPABILITIES
+        );
+
+        assertEquals(42L, lockstep.seed);
+        assertEquals(0, boardSync.seed, "no seed means no lockstep rematch");
+    }
 }
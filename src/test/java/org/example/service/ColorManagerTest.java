@@ -0,0 +1,51 @@
+package org.example.service;
+
+import javafx.scene.paint.Color;
+import org.example.model.Tetromino;
+import org.example.model.TetrominoPosition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ColorManager Unit Test
+ */
+class ColorManagerTest {
+
+    private ColorManager colorManager;
+
+    @BeforeEach
+    void setUp() {
+        colorManager = ColorManager.getInstance();
+    }
+
+    @Test
+    void testGetColorMatchesColorIndex() {
+        for (Tetromino type : Tetromino.values()) {
+            assertEquals(colorManager.getColorFromIndex(type.getColorIndex()), colorManager.getColor(type));
+        }
+    }
+
+    @Test
+    void testGetDisplayColorUsesTetrominoColor() {
+        TetrominoPosition position = new TetrominoPosition(Tetromino.T, 5, 10, 0);
+        assertEquals(colorManager.getColor(Tetromino.T), colorManager.getDisplayColor(position));
+    }
+
+    @Test
+    void testWeightPieceHasCustomDisplayColor() {
+        TetrominoPosition weight = TetrominoPosition.createWeightPiece(0, 0);
+        Color displayColor = colorManager.getDisplayColor(weight);
+        assertNotNull(displayColor);
+        assertEquals(Color.GOLD, displayColor);
+    }
+
+    @Test
+    void testBombPieceHasCustomDisplayColor() {
+        TetrominoPosition bomb = TetrominoPosition.createBombPiece(0, 0);
+        Color displayColor = colorManager.getDisplayColor(bomb);
+        assertNotNull(displayColor);
+        assertEquals(Color.ORANGERED, displayColor);
+    }
+}
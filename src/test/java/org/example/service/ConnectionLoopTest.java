@@ -0,0 +1,218 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ConnectionLoop 테스트
+ * Verifies framed messaging, socket hand-off between owners and disconnect detection
+ */
+@Timeout(10)
+class ConnectionLoopTest {
+
+    private ServerSocket serverSocket;
+    private Socket serverSide;
+    private Socket clientSide;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverSocket = ServerSocketChannel.open().bind(new InetSocketAddress(0)).socket();
+        clientSide = SocketChannel.open(new InetSocketAddress("localhost", serverSocket.getLocalPort())).socket();
+        serverSide = serverSocket.accept();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        clientSide.close();
+        serverSide.close();
+        serverSocket.close();
+    }
+
+    /** 받은 메시지의 종류를 기록하고, stopType을 받으면 finish() */
+    private static ConnectionLoop.Handler recorder(List<Byte> types, byte stopType, ConnectionLoop[] self,
+                                                   CountDownLatch closed) {
+        return new ConnectionLoop.Handler() {
+            @Override
+            public void onMessage(byte type, byte[] data, int size) {
+                types.add(type);
+                if (type == stopType) {
+                    self[0].finish();
+                }
+            }
+
+            @Override
+            public long onTick(long now) {
+                return 0;
+            }
+
+            @Override
+            public void onClosed(boolean connectionLost) {
+                closed.countDown();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Messages after finish() are left on the socket for the next owner")
+    void testHandOff() throws Exception {
+        List<Byte> types = new CopyOnWriteArrayList<>();
+        CountDownLatch closed = new CountDownLatch(1);
+        ConnectionLoop[] self = new ConnectionLoop[1];
+        self[0] = new ConnectionLoop(serverSide, "First", recorder(types, (byte) 2, self, closed));
+        self[0].start();
+
+        // 한 번에 몰아서 보내도 2번 메시지까지만 첫 소유자가 읽음
+        DataOutputStream out = new DataOutputStream(clientSide.getOutputStream());
+        for (byte type = 1; type <= 4; type++) {
+            out.writeInt(2);
+            out.writeByte(type);
+            out.writeByte(type * 10);
+        }
+        out.flush();
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of((byte) 1, (byte) 2), types);
+
+        // 다음 소유자: 블로킹 스트림으로 나머지를 그대로 읽음
+        assertTrue(ConnectionLoop.awaitRelease(serverSide, 1000));
+        DataInputStream in = new DataInputStream(serverSide.getInputStream());
+        assertEquals(2, in.readInt());
+        assertEquals(3, in.readByte());
+        assertEquals(30, in.readByte());
+    }
+
+    @Test
+    @DisplayName("A new loop waits for the previous owner and finish() flushes queued messages")
+    void testSequentialOwners() throws Exception {
+        List<Byte> firstTypes = new CopyOnWriteArrayList<>();
+        List<Byte> secondTypes = new CopyOnWriteArrayList<>();
+        CountDownLatch firstClosed = new CountDownLatch(1);
+        CountDownLatch secondClosed = new CountDownLatch(1);
+        ConnectionLoop[] first = new ConnectionLoop[1];
+        ConnectionLoop[] second = new ConnectionLoop[1];
+        first[0] = new ConnectionLoop(serverSide, "First", recorder(firstTypes, (byte) 1, first, firstClosed));
+        second[0] = new ConnectionLoop(serverSide, "Second", recorder(secondTypes, (byte) 3, second, secondClosed));
+        second[0].start(); // 먼저 시작해도 첫 소유자가 놓을 때까지 대기
+        first[0].start();
+
+        first[0].sendLast(new byte[] { 7 });
+        first[0].send(new byte[] { 8 }); // 마지막 메시지 뒤라 무시됨
+
+        DataOutputStream out = new DataOutputStream(clientSide.getOutputStream());
+        for (byte type = 1; type <= 3; type++) {
+            out.writeInt(1);
+            out.writeByte(type);
+        }
+        out.flush();
+
+        assertTrue(secondClosed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of((byte) 1), firstTypes);
+        assertEquals(List.of((byte) 2, (byte) 3), secondTypes);
+
+        DataInputStream in = new DataInputStream(clientSide.getInputStream());
+        assertEquals(1, in.readInt());
+        assertEquals(7, in.readByte());
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    @DisplayName("Peer close is reported as a lost connection and plain sockets are rejected")
+    void testDisconnect() throws Exception {
+        AtomicBoolean lost = new AtomicBoolean();
+        CountDownLatch closed = new CountDownLatch(1);
+        ConnectionLoop loop = new ConnectionLoop(serverSide, "Lost", new ConnectionLoop.Handler() {
+            @Override
+            public void onMessage(byte type, byte[] data, int size) {}
+
+            @Override
+            public long onTick(long now) {
+                return 0;
+            }
+
+            @Override
+            public void onClosed(boolean connectionLost) {
+                lost.set(connectionLost);
+                closed.countDown();
+            }
+        });
+        loop.start();
+        clientSide.close();
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertTrue(lost.get());
+        assertTrue(serverSide.isClosed());
+
+        try (Socket plain = new Socket()) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new ConnectionLoop(plain, "Plain", null));
+        }
+    }
+
+    @Test
+    @DisplayName("An exception thrown by the handler is reported as a lost connection")
+    void testHandlerFailure() throws Exception {
+        AtomicBoolean lost = new AtomicBoolean();
+        CountDownLatch closed = new CountDownLatch(1);
+        ConnectionLoop loop = new ConnectionLoop(serverSide, "Failing", new ConnectionLoop.Handler() {
+            @Override
+            public void onMessage(byte type, byte[] data, int size) {
+                throw new IllegalStateException("handler bug");
+            }
+
+            @Override
+            public long onTick(long now) {
+                return 0;
+            }
+
+            @Override
+            public void onClosed(boolean connectionLost) {
+                lost.set(connectionLost);
+                closed.countDown();
+            }
+        });
+        loop.start();
+        DataOutputStream out = new DataOutputStream(clientSide.getOutputStream());
+        out.writeInt(1);
+        out.writeByte(5);
+        out.flush();
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertTrue(lost.get());
+        assertTrue(serverSide.isClosed());
+    }
+
+    @Test
+    @DisplayName("A full send queue drops the message after a bounded wait instead of blocking the caller")
+    void testQueueFullDrop() {
+        ConnectionLoop loop = new ConnectionLoop(serverSide, "Full", recorder(new CopyOnWriteArrayList<>(), (byte) 0,
+                new ConnectionLoop[1], new CountDownLatch(1)));
+        // 루프를 시작하지 않아 아무도 큐를 비우지 않음
+        for (int i = 0; i < MessageQueue.DEFAULT_CAPACITY; i++) {
+            assertNotNull(loop.claim(1));
+        }
+        long start = System.nanoTime();
+        assertNull(loop.claim(1));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, loop.getDroppedMessages());
+        loop.close(false);
+    }
+}
@@ -0,0 +1,272 @@
+package org.example.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 두 InGameNetworkManager 사이에 끼워 TCP와 UDP를 LinkImpairment대로 늦추고 버리는 프로세스 내 프록시
+ *
+ * InGameNetworkManager는 UDP를 TCP 소켓과 같은 주소/포트로 주고받으므로 프록시도 양쪽에서 같은 포트를 씁니다.
+ * - 클라이언트 쪽: 루프백 포트 P에서 TCP 접속 하나를 받고, 같은 포트 P의 UDP 소켓으로 주고받음
+ * - 대상(서버) 쪽: 로컬 포트 Q에서 대상에 TCP로 접속하고, 같은 포트 Q의 UDP 소켓으로 주고받음
+ *
+ * 방향마다 LinkImpairment 하나와 도착 시각 순 대기열(DelayQueue) 하나가 있고, 대기열 스레드가 도착 시각에 내보냅니다.
+ */
+final class ImpairmentProxy implements Closeable {
+
+    enum Direction { UP, DOWN } // UP: 접속한 쪽 → 대상, DOWN: 대상 → 접속한 쪽
+
+    private static final int SEGMENT_SIZE = 1460;   // TCP 조각 크기 (이더넷 MSS)
+    private static final int TCP_OVERHEAD = 40;     // IP + TCP 헤더
+    private static final int UDP_OVERHEAD = 28;     // IP + UDP 헤더
+    private static final int MAX_DATAGRAM = 2048;
+
+    /**
+     * 한 방향의 누적 통계
+     */
+    static final class Stats {
+        final AtomicLong datagrams = new AtomicLong();
+        final AtomicLong lost = new AtomicLong();
+        final AtomicLong queueDropped = new AtomicLong();
+        final AtomicLong duplicated = new AtomicLong();
+        final AtomicLong segments = new AtomicLong();
+        final AtomicLong retransmits = new AtomicLong();
+        final AtomicLong bytes = new AtomicLong();
+
+        @Override
+        public String toString() {
+            return String.format("udp %d (lost %d, queue drop %d, dup %d), tcp %d (retx %d), %d bytes",
+                    datagrams.get(), lost.get(), queueDropped.get(), duplicated.get(),
+                    segments.get(), retransmits.get(), bytes.get());
+        }
+    }
+
+    // 도착 시각이 같으면 넣은 순서대로 (TCP 조각 순서 유지)
+    private record Delivery(long due, long order, byte[] data, boolean fin) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(due - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            Delivery o = (Delivery) other;
+            int byDue = Long.compare(due, o.due);
+            return byDue != 0 ? byDue : Long.compare(order, o.order);
+        }
+    }
+
+    private final InetAddress loopback = InetAddress.getLoopbackAddress();
+    private final InetSocketAddress target;
+    private final ServerSocket listener;
+    private final DatagramSocket clientUdp;  // 포트 P
+    private volatile DatagramSocket targetUdp; // 포트 Q
+    private volatile Socket clientTcp;
+    private volatile Socket targetTcp;
+    private volatile SocketAddress clientAddress;
+    private final LinkImpairment[] links = new LinkImpairment[2];
+    private final Stats[] stats = { new Stats(), new Stats() };
+    @SuppressWarnings("unchecked")
+    private final DelayQueue<Delivery>[] tcpQueues = new DelayQueue[] { new DelayQueue<>(), new DelayQueue<>() };
+    @SuppressWarnings("unchecked")
+    private final DelayQueue<Delivery>[] udpQueues = new DelayQueue[] { new DelayQueue<>(), new DelayQueue<>() };
+    private final AtomicLong order = new AtomicLong();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * @param seed 두 방향의 손실/지연 난수 시드 (같은 시드면 같은 패킷 열에 같은 결과)
+     */
+    ImpairmentProxy(InetSocketAddress target, LinkImpairment.Profile up, LinkImpairment.Profile down, long seed)
+            throws IOException {
+        this.target = target;
+        this.links[Direction.UP.ordinal()] = new LinkImpairment(up, seed);
+        this.links[Direction.DOWN.ordinal()] = new LinkImpairment(down, ~seed);
+        this.listener = new ServerSocket(0, 1, loopback);
+        this.clientUdp = new DatagramSocket(new InetSocketAddress(loopback, listener.getLocalPort()));
+        start("proxy-accept", this::accept);
+    }
+
+    /**
+     * 접속할 루프백 포트 (TCP와 UDP 공통)
+     */
+    int getPort() {
+        return listener.getLocalPort();
+    }
+
+    /**
+     * 시나리오 단계가 바뀔 때 두 방향의 링크 특성을 바꿉니다.
+     */
+    void setProfiles(LinkImpairment.Profile up, LinkImpairment.Profile down) {
+        links[Direction.UP.ordinal()].setProfile(up);
+        links[Direction.DOWN.ordinal()].setProfile(down);
+    }
+
+    Stats getStats(Direction direction) {
+        return stats[direction.ordinal()];
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(listener);
+        closeQuietly(clientUdp);
+        closeQuietly(targetUdp);
+        closeQuietly(clientTcp);
+        closeQuietly(targetTcp);
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+
+    // 접속 하나를 받아 대상에 같은 포트 번호의 UDP 소켓과 함께 이어 붙임
+    private void accept() {
+        try {
+            Socket client = listener.accept();
+            Socket upstream = new Socket();
+            upstream.bind(new InetSocketAddress(loopback, 0));
+            targetUdp = new DatagramSocket(new InetSocketAddress(loopback, upstream.getLocalPort()));
+            upstream.connect(target);
+            client.setTcpNoDelay(true);
+            upstream.setTcpNoDelay(true);
+            clientAddress = client.getRemoteSocketAddress();
+            clientTcp = client;
+            targetTcp = upstream;
+            if (closed) {
+                close();
+                return;
+            }
+            start("proxy-tcp-up", () -> pumpTcp(client.getInputStream(), Direction.UP));
+            start("proxy-tcp-down", () -> pumpTcp(upstream.getInputStream(), Direction.DOWN));
+            start("proxy-udp-up", () -> pumpUdp(clientUdp, Direction.UP));
+            start("proxy-udp-down", () -> pumpUdp(targetUdp, Direction.DOWN));
+            start("proxy-deliver-tcp-up", () -> deliverTcp(upstream, Direction.UP));
+            start("proxy-deliver-tcp-down", () -> deliverTcp(client, Direction.DOWN));
+            start("proxy-deliver-udp-up", () -> deliverUdp(targetUdp, target, Direction.UP));
+            start("proxy-deliver-udp-down", () -> deliverUdp(clientUdp, clientAddress, Direction.DOWN));
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("[Proxy accept failed: " + e.getMessage() + "]");
+                close();
+            }
+        }
+    }
+
+    // 읽은 바이트를 MSS 단위 조각으로 나눠 도착 시각을 정함
+    private void pumpTcp(InputStream in, Direction direction) throws IOException {
+        LinkImpairment link = links[direction.ordinal()];
+        Stats stat = stats[direction.ordinal()];
+        byte[] buffer = new byte[SEGMENT_SIZE];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            long due = link.scheduleSegment(System.nanoTime(), read + TCP_OVERHEAD);
+            stat.segments.incrementAndGet();
+            stat.retransmits.addAndGet(link.getLastRetransmits());
+            stat.bytes.addAndGet(read);
+            tcpQueues[direction.ordinal()].put(
+                    new Delivery(due, order.incrementAndGet(), Arrays.copyOf(buffer, read), false));
+        }
+        // 상대가 닫음 - 앞 데이터가 모두 도착한 뒤 반대쪽 출력도 닫음
+        long due = link.scheduleSegment(System.nanoTime(), TCP_OVERHEAD);
+        tcpQueues[direction.ordinal()].put(new Delivery(due, order.incrementAndGet(), null, true));
+    }
+
+    private void pumpUdp(DatagramSocket socket, Direction direction) throws IOException {
+        LinkImpairment link = links[direction.ordinal()];
+        Stats stat = stats[direction.ordinal()];
+        DatagramPacket packet = new DatagramPacket(new byte[MAX_DATAGRAM], MAX_DATAGRAM);
+        while (!closed) {
+            socket.receive(packet);
+            byte[] data = Arrays.copyOf(packet.getData(), packet.getLength());
+            long now = System.nanoTime();
+            stat.datagrams.incrementAndGet();
+            stat.bytes.addAndGet(data.length);
+            long due = link.scheduleDatagram(now, data.length + UDP_OVERHEAD);
+            if (due < 0) {
+                (link.getLastDrop() == LinkImpairment.Drop.QUEUE ? stat.queueDropped : stat.lost).incrementAndGet();
+                continue;
+            }
+            udpQueues[direction.ordinal()].put(new Delivery(due, order.incrementAndGet(), data, false));
+            if (link.duplicate()) {
+                long copyDue = link.scheduleDatagram(now, data.length + UDP_OVERHEAD);
+                if (copyDue >= 0) {
+                    stat.duplicated.incrementAndGet();
+                    udpQueues[direction.ordinal()].put(new Delivery(copyDue, order.incrementAndGet(), data, false));
+                }
+            }
+        }
+    }
+
+    private void deliverTcp(Socket out, Direction direction) throws IOException, InterruptedException {
+        OutputStream stream = out.getOutputStream();
+        while (!closed) {
+            Delivery delivery = tcpQueues[direction.ordinal()].take();
+            if (delivery.fin()) {
+                out.shutdownOutput();
+                return;
+            }
+            stream.write(delivery.data());
+            stream.flush();
+        }
+    }
+
+    private void deliverUdp(DatagramSocket socket, SocketAddress to, Direction direction)
+            throws IOException, InterruptedException {
+        while (!closed) {
+            Delivery delivery = udpQueues[direction.ordinal()].take();
+            try {
+                socket.send(new DatagramPacket(delivery.data(), delivery.data().length, to));
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+                // 받는 쪽 UDP가 아직/이미 닫힘 (ICMP) - 실제 링크처럼 버림
+            }
+        }
+    }
+
+    private interface Task {
+        void run() throws IOException, InterruptedException;
+    }
+
+    private void start(String name, Task task) {
+        threads.add(Thread.ofVirtual().name(name).start(() -> {
+            try {
+                task.run();
+            } catch (IOException e) {
+                if (!closed) {
+                    // 한쪽 연결이 리셋됨 - 실제 연결처럼 양쪽을 모두 끊음
+                    closeQuietly(clientTcp);
+                    closeQuietly(targetTcp);
+                }
+            } catch (InterruptedException e) {
+                // close()
+            }
+        }));
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignore) {}
+    }
+}
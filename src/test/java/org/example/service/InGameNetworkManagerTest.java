@@ -2,6 +2,7 @@ package org.example.service;
 
 import javafx.application.Platform;
 import org.example.model.GameBoard;
+import org.example.model.GameMode;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -11,7 +12,13 @@ import org.junit.jupiter.api.Timeout;
 
 import java.io.IOException;
 import java.net.ServerSocket;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -53,7 +60,7 @@ class InGameNetworkManagerTest {
     @BeforeEach
     void setUp() throws IOException, InterruptedException {
         // 동적 포트로 서버 소켓 생성
-        serverSocket = new ServerSocket(0);
+        serverSocket = ServerSocketChannel.open().bind(new InetSocketAddress(0)).socket(); // 연결 루프용 채널 기반 소켓
         int port = serverSocket.getLocalPort();
 
         // 클라이언트 연결을 별도 스레드에서 수락
@@ -68,7 +75,7 @@ class InGameNetworkManagerTest {
         });
 
         // 클라이언트 소켓 연결
-        clientSideSocket = new Socket("localhost", port);
+        clientSideSocket = SocketChannel.open(new InetSocketAddress("localhost", port)).socket();
         
         // 연결 완료 대기
         assertTrue(connectionLatch.await(5, TimeUnit.SECONDS), "서버-클라이언트 연결 실패");
@@ -173,7 +180,7 @@ class InGameNetworkManagerTest {
     @Test
     @DisplayName("TCP Line Clear: Adder Board transmission and reception")
     void testAdderBoardTransmission() throws InterruptedException {
-        AtomicReference<int[][]> receivedAdderBoard = new AtomicReference<>();
+        AtomicReference<int[]> receivedAdderBoard = new AtomicReference<>();
         CountDownLatch latch = new CountDownLatch(1);
 
         serverManager = new InGameNetworkManager(
@@ -194,7 +201,7 @@ class InGameNetworkManagerTest {
             () -> {},
             (score, timeover) -> {},
             adderBoard -> {
-                receivedAdderBoard.set(deepCopy(adderBoard));
+                receivedAdderBoard.set(adderBoard.clone());
                 latch.countDown();
             },
             board -> {},
@@ -204,12 +211,7 @@ class InGameNetworkManagerTest {
         );
 
         // Send Adder Board from server to client (added board when line is cleared)
-        int[][] adderBoard = new int[2][GameBoard.WIDTH]; // Add 2 lines
-        for (int i = 0; i < 2; i++) {
-            for (int j = 0; j < GameBoard.WIDTH; j++) {
-                adderBoard[i][j] = (i + 1) * 10 + j; // Test pattern
-            }
-        }
+        int[] adderBoard = {1 << 2, 1 << 7}; // Add 2 lines (hole masks)
 
         serverManager.sendAdderBoard(adderBoard);
 
@@ -220,7 +222,6 @@ class InGameNetworkManagerTest {
         // Verify
         assertNotNull(receivedAdderBoard.get());
         assertEquals(2, receivedAdderBoard.get().length);
-        assertEquals(GameBoard.WIDTH, receivedAdderBoard.get()[0].length);
         assertArrayEquals(adderBoard, receivedAdderBoard.get());
     }
 
@@ -351,14 +352,31 @@ class InGameNetworkManagerTest {
             delay -> {}
         );
 
-        // 1초 동안 대기 (40ms 틱이므로 약 25개의 업데이트 예상)
+        // 변화가 없으면 heartbeat(250ms)만 전송
+        Thread.sleep(300);
+        int idleStart = clientUpdateCount.get();
         Thread.sleep(1000);
+        int idleUpdates = clientUpdateCount.get() - idleStart;
+        assertTrue(idleUpdates <= 1000 / SendScheduler.HEARTBEAT_MS + 2,
+            "변화 없는 동안 클라이언트 업데이트 횟수: " + idleUpdates);
+
+        // 1초 동안 20ms마다 보드를 바꾸고 알림 (약 50개의 업데이트 예상)
+        int clientStart = clientUpdateCount.get();
+        int serverStart = serverUpdateCount.get();
+        for (int i = 0; i < 50; i++) {
+            serverBoardData[0][0] = i % 7 + 1;
+            clientBoardData[0][0] = i % 7 + 1;
+            serverManager.notifyLocalChange();
+            clientManager.notifyLocalChange();
+            Thread.sleep(20);
+        }
+        Thread.sleep(100);
 
         // 보드 업데이트가 여러 번 발생했는지 확인
-        assertTrue(clientUpdateCount.get() >= 10, 
-            "클라이언트 업데이트 횟수: " + clientUpdateCount.get());
-        assertTrue(serverUpdateCount.get() >= 10, 
-            "서버 업데이트 횟수: " + serverUpdateCount.get());
+        assertTrue(clientUpdateCount.get() - clientStart >= 10, 
+            "클라이언트 업데이트 횟수: " + (clientUpdateCount.get() - clientStart));
+        assertTrue(serverUpdateCount.get() - serverStart >= 10, 
+            "서버 업데이트 횟수: " + (serverUpdateCount.get() - serverStart));
 
         System.out.println("서버 업데이트 횟수: " + serverUpdateCount.get());
         System.out.println("클라이언트 업데이트 횟수: " + clientUpdateCount.get());
@@ -426,7 +444,7 @@ class InGameNetworkManagerTest {
     @DisplayName("Complex scenario: Board sync + Adder Board + Game Over")
     void testCompleteGameFlow() throws InterruptedException {
         AtomicReference<int[][]> clientReceivedBoard = new AtomicReference<>();
-        AtomicReference<int[][]> serverReceivedAdderBoard = new AtomicReference<>();
+        AtomicReference<int[]> serverReceivedAdderBoard = new AtomicReference<>();
         AtomicInteger clientReceivedScore = new AtomicInteger(-1);
         AtomicBoolean clientReceivedTimeover = new AtomicBoolean(false);
 
@@ -438,7 +456,7 @@ class InGameNetworkManagerTest {
                 clientReceivedScore.set(score);
                 clientReceivedTimeover.set(timeover);
             },
-            adderBoard -> serverReceivedAdderBoard.set(deepCopy(adderBoard)),
+            adderBoard -> serverReceivedAdderBoard.set(adderBoard.clone()),
             board -> {},
             () -> serverBoardData,
             () -> 5000, // 서버 점수
@@ -466,12 +484,7 @@ class InGameNetworkManagerTest {
         assertNotNull(clientReceivedBoard.get(), "보드 동기화가 되지 않았습니다");
 
         // 2. 클라이언트에서 Adder Board 전송
-        int[][] adderBoard = new int[3][GameBoard.WIDTH];
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < GameBoard.WIDTH; j++) {
-                adderBoard[i][j] = 100 + i;
-            }
-        }
+        int[] adderBoard = {1, 1 << 1, 1 << 2};
         clientManager.sendAdderBoard(adderBoard);
 
         await()
@@ -495,6 +508,200 @@ class InGameNetworkManagerTest {
         System.out.println("복합 시나리오 테스트 성공: 보드 동기화 → Adder Board → 게임 오버");
     }
 
+    @Test
+    @DisplayName("Reconnect: match resumes on a new socket after the connection is killed")
+    void testReconnectAfterSocketKilled() throws IOException, InterruptedException {
+        List<int[]> clientReceivedAttacks = new CopyOnWriteArrayList<>();
+        List<int[]> serverReceivedAttacks = new CopyOnWriteArrayList<>();
+        AtomicReference<int[][]> clientReceivedBoard = new AtomicReference<>();
+        AtomicInteger disconnects = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(2);
+        CountDownLatch resumed = new CountDownLatch(2);
+        AtomicReference<ResumeCodec.State> serverSawClientState = new AtomicReference<>();
+        int[] beforeKill = {1 << 1};
+        int[] lostInOutage = {1 << 5, 1 << 6};
+
+        serverManager = new InGameNetworkManager(
+            serverSideSocket, disconnects::incrementAndGet, () -> {}, (score, timeover) -> {},
+            serverReceivedAttacks::add, board -> {},
+            () -> serverBoardData, () -> serverScore, delay -> {}, Runnable::run
+        );
+        clientManager = new InGameNetworkManager(
+            clientSideSocket, disconnects::incrementAndGet, () -> {}, (score, timeover) -> {},
+            clientReceivedAttacks::add, board -> clientReceivedBoard.set(deepCopy(board)),
+            () -> clientBoardData, () -> clientScore, delay -> {}, Runnable::run
+        );
+
+        // 서버는 처음 연결을 받은 포트에서 다시 기다리므로 테스트의 서버 소켓을 먼저 닫음
+        int port = serverSideSocket.getLocalPort();
+        serverSocket.close();
+        serverManager.enableReconnect(Reconnector.listen(port), () -> 42_000L,
+            () -> {
+                // 끊겨 있는 동안 보낸 공격은 전송되지 못하고, 다시 붙은 뒤 재전송되어야 함
+                serverManager.sendAdderBoard(lostInOutage);
+                interrupted.countDown();
+            },
+            state -> {
+                serverSawClientState.set(state);
+                resumed.countDown();
+            });
+        clientManager.enableReconnect(
+            Reconnector.dial(clientSideSocket.getInetAddress(), clientSideSocket.getPort()), () -> -1L,
+            interrupted::countDown, state -> resumed.countDown());
+        serverManager.startSession();
+        await().atMost(3, TimeUnit.SECONDS)
+            .until(() -> clientManager.getSessionId() == serverManager.getSessionId());
+
+        serverManager.sendAdderBoard(beforeKill);
+        await().atMost(3, TimeUnit.SECONDS).until(() -> clientReceivedAttacks.size() == 1);
+
+        // 클라이언트 소켓을 강제로 닫음 (양쪽 모두 연결이 끊긴 것을 감지)
+        clientSideSocket.close();
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "both sides should enter the reconnect window");
+        assertTrue(resumed.await(10, TimeUnit.SECONDS), "both sides should resume on a new socket");
+
+        assertNotSame(clientSideSocket, clientManager.getSocket());
+        assertNotSame(serverSideSocket, serverManager.getSocket());
+        assertEquals(1, serverSawClientState.get().attacksReceived());
+        assertFalse(serverSawClientState.get().hasTimer());
+
+        // 잃은 공격은 한 번만 다시 도착
+        await().atMost(3, TimeUnit.SECONDS).until(() -> clientReceivedAttacks.size() == 2);
+        assertArrayEquals(lostInOutage, clientReceivedAttacks.get(1));
+
+        // 이어진 연결로 공격과 보드 동기화가 계속됨
+        int[] afterResume = {1 << 9};
+        clientManager.sendAdderBoard(afterResume);
+        await().atMost(3, TimeUnit.SECONDS).until(() -> serverReceivedAttacks.size() == 1);
+        assertArrayEquals(afterResume, serverReceivedAttacks.get(0));
+
+        serverBoardData[0][0] = 7;
+        serverManager.notifyLocalChange();
+        await().atMost(3, TimeUnit.SECONDS)
+            .until(() -> clientReceivedBoard.get() != null && clientReceivedBoard.get()[0][0] == 7);
+
+        Thread.sleep(200);
+        assertEquals(2, clientReceivedAttacks.size(), "resent attack must not be duplicated");
+        assertEquals(0, disconnects.get());
+    }
+
+    @Test
+    @DisplayName("Reconnect: without a session the connection loss still disconnects")
+    void testReconnectNeedsSession() throws IOException, InterruptedException {
+        CountDownLatch disconnected = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        serverManager = new InGameNetworkManager(
+            serverSideSocket, disconnected::countDown, () -> {}, (score, timeover) -> {},
+            adderBoard -> {}, board -> {},
+            () -> serverBoardData, () -> serverScore, delay -> {}, Runnable::run
+        );
+        // 세션을 받기 전(startSession 없음)에는 다시 붙을 상대를 확인할 수 없음
+        serverManager.enableReconnect(Reconnector.listen(0), () -> -1L,
+            () -> interrupted.set(true), state -> {});
+
+        clientSideSocket.close();
+        assertTrue(disconnected.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get());
+    }
+
+    @Test
+    @DisplayName("Reconnect: a deliberate quit disconnects the opponent without a reconnect window")
+    void testQuitSkipsReconnect() throws IOException, InterruptedException {
+        CountDownLatch disconnected = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        serverManager = new InGameNetworkManager(
+            serverSideSocket, disconnected::countDown, () -> {}, (score, timeover) -> {},
+            adderBoard -> {}, board -> {},
+            () -> serverBoardData, () -> serverScore, delay -> {}, Runnable::run
+        );
+        clientManager = new InGameNetworkManager(
+            clientSideSocket, () -> {}, () -> {}, (score, timeover) -> {},
+            adderBoard -> {}, board -> {},
+            () -> clientBoardData, () -> clientScore, delay -> {}, Runnable::run
+        );
+        serverManager.enableReconnect(Reconnector.listen(0), () -> -1L,
+            () -> interrupted.set(true), state -> {});
+        serverManager.startSession();
+        await().atMost(3, TimeUnit.SECONDS)
+            .until(() -> clientManager.getSessionId() == serverManager.getSessionId());
+
+        clientManager.disconnect();
+        assertTrue(disconnected.await(3, TimeUnit.SECONDS));
+        assertFalse(interrupted.get(), "a quit must not open the reconnect window");
+        assertTrue(clientSideSocket.isClosed());
+    }
+
+    @Test
+    @DisplayName("Lockstep: two managers exchanging only inputs end with identical mirrors")
+    void testLockstepMirrorsMatch() throws InterruptedException {
+        long seed = 1234L;
+        LockstepMatch serverMatch = new LockstepMatch(GameMode.NORMAL, 2, seed, 0);
+        LockstepMatch clientMatch = new LockstepMatch(GameMode.NORMAL, 2, seed, 1);
+        AtomicInteger serverBoards = new AtomicInteger();
+        AtomicInteger clientBoards = new AtomicInteger();
+
+        serverManager = new InGameNetworkManager(
+            serverSideSocket, () -> {}, () -> {}, (score, timeover) -> {},
+            adderBoard -> {}, board -> serverBoards.incrementAndGet(),
+            () -> serverBoardData, () -> serverScore, delay -> {}, Runnable::run
+        );
+        clientManager = new InGameNetworkManager(
+            clientSideSocket, () -> {}, () -> {}, (score, timeover) -> {},
+            adderBoard -> {}, board -> clientBoards.incrementAndGet(),
+            () -> clientBoardData, () -> clientScore, delay -> {}, Runnable::run
+        );
+        serverManager.setLockstepMatch(serverMatch);
+        clientManager.setLockstepMatch(clientMatch);
+        serverManager.setReliableUdp(true);
+        clientManager.setReliableUdp(true);
+
+        // 이 스레드가 양쪽의 게임 스레드 역할: 입력 -> 진행 -> 송신 주기마다 입력 묶음 전송
+        Random random = new Random(seed);
+        InputLatencyTracker.Action[] actions = InputLatencyTracker.Action.values();
+        int end = 600;
+        for (int frame = 0; frame <= end; frame++) {
+            if (random.nextInt(6) == 0) {
+                serverMatch.addLocalInput(actions[random.nextInt(actions.length)]);
+            }
+            if (random.nextInt(6) == 0) {
+                clientMatch.addLocalInput(actions[random.nextInt(actions.length)]);
+            }
+            stepLockstep(serverManager, serverMatch, frame);
+            stepLockstep(clientManager, clientMatch, frame);
+            Thread.sleep(1);
+        }
+
+        // 입력 없이 양쪽 확정 프레임이 끝까지 올 때까지 진행
+        long deadline = System.currentTimeMillis() + 5000;
+        while (serverMatch.getRemoteConfirmedFrame() < end || clientMatch.getRemoteConfirmedFrame() < end) {
+            assertTrue(System.currentTimeMillis() < deadline, "remote inputs should be confirmed through the last frame");
+            stepLockstep(serverManager, serverMatch, end);
+            stepLockstep(clientManager, clientMatch, end);
+            Thread.sleep(1);
+        }
+
+        assertEquals(end + 1, serverMatch.getFrame());
+        assertEquals(end + 1, clientMatch.getFrame());
+        for (int player = 0; player < LockstepMatch.PLAYERS; player++) {
+            TetrisSystem a = serverMatch.getEngine().getSession(player).getSystem();
+            TetrisSystem b = clientMatch.getEngine().getSession(player).getSystem();
+            assertEquals(a.getScore(), b.getScore(), "score of player " + player);
+            assertArrayEquals(a.getCompressedBoardData(), b.getCompressedBoardData(), "board of player " + player);
+        }
+        // 설정 전에 루프가 보낸 첫 보드 외에는 보드 동기화가 없음 (heartbeat도 보내지 않음)
+        assertTrue(serverBoards.get() <= 1 && clientBoards.get() <= 1, "lockstep mode should not send board sync packets");
+    }
+
+    private static void stepLockstep(InGameNetworkManager manager, LockstepMatch match, int frame) {
+        match.advanceTo((long) frame * LockstepMatch.FRAME_MS);
+        byte[] message = match.pollOutgoing();
+        if (message != null) {
+            manager.sendLockstepInputs(message);
+        }
+    }
+
     /**
      * 2차원 배열 깊은 복사 (테스트용 헬퍼 메서드)
      */
@@ -0,0 +1,184 @@
+package org.example.service;
+
+import java.util.Random;
+
+/**
+ * 한 방향 링크의 지연, 지터, 손실, 중복, 순서 뒤바뀜, 대역폭을 흉내 내는 모델 (ImpairmentProxy가 사용)
+ * 모든 결정은 시드가 정해진 Random에서 패킷 순서대로 뽑으므로 같은 시드와 같은 패킷 열이면 결과도 같습니다.
+ *
+ * - 지연: delayMs + 분포(UNIFORM/NORMAL/PARETO)에서 뽑은 지터
+ * - 손실: Gilbert-Elliott 모델 (평균 손실률 lossRate, 나쁜 상태가 평균 burstLength개 이어짐)
+ * - 대역폭: 보낸 바이트만큼 링크를 점유하고, UDP는 대기열이 queueLimitBytes를 넘으면 버림 (tail drop)
+ * - TCP: 순서를 지키고, 잃은 조각은 재전송 시간만큼 늦게 도착해 뒤 데이터도 함께 밀림 (head-of-line blocking)
+ *
+ * 시각은 모두 나노초 (System.nanoTime 기준)
+ */
+final class LinkImpairment {
+
+    enum Distribution { UNIFORM, NORMAL, PARETO }
+
+    enum Drop { NONE, LOST, QUEUE } // 손실, 대역폭 대기열 초과
+
+    static final long MIN_RTO_MS = 200;       // TCP 최소 재전송 대기 (리눅스 기본값)
+    static final int MAX_RETRANSMITS = 6;      // 이만큼 잃으면 그다음 재전송은 도착한다고 봄
+    private static final double PARETO_SHAPE = 2.0; // 평균이 jitterMs인 꼬리가 긴 분포
+    private static final long MAX_JITTER_FACTOR = 20; // 지터 상한 (jitterMs 배수)
+
+    /**
+     * 링크 특성
+     *
+     * @param lossRate 평균 손실률 (0~1)
+     * @param burstLength 연속 손실의 평균 길이 (1이면 독립 손실)
+     * @param reorderRate 이 비율의 UDP 패킷을 reorderMs만큼 더 붙잡아 뒤 패킷이 앞지르게 함
+     * @param bandwidthKbps 0이면 제한 없음
+     * @param queueLimitBytes 대역폭 제한 시 UDP 대기열 크기 (0이면 제한 없음)
+     */
+    record Profile(String name, long delayMs, long jitterMs, Distribution distribution,
+                   double lossRate, double burstLength, double duplicateRate,
+                   double reorderRate, long reorderMs, int bandwidthKbps, int queueLimitBytes) {
+
+        static final Profile CLEAN = new Profile("clean", 0, 0, Distribution.UNIFORM, 0, 1, 0, 0, 0, 0, 0);
+        static final Profile LAN = new Profile("lan", 1, 1, Distribution.NORMAL, 0, 1, 0, 0, 0, 0, 0);
+        static final Profile WIFI = new Profile("wifi", 8, 6, Distribution.PARETO, 0.01, 2, 0, 0.01, 15, 20_000, 64_000);
+        static final Profile MOBILE = new Profile("mobile", 45, 20, Distribution.NORMAL, 0.03, 3, 0.01, 0.02, 30, 2_000, 32_000);
+        static final Profile CONGESTED = new Profile("congested", 30, 5, Distribution.NORMAL, 0, 1, 0, 0, 0, 24, 1_500);
+        static final Profile BURST_LOSS = new Profile("burst-loss", 20, 4, Distribution.UNIFORM, 0.08, 8, 0, 0, 0, 0, 0);
+
+        Profile {
+            if (lossRate < 0 || lossRate >= 1 || duplicateRate < 0 || duplicateRate > 1
+                    || reorderRate < 0 || reorderRate > 1 || burstLength < 1
+                    || delayMs < 0 || jitterMs < 0 || reorderMs < 0 || bandwidthKbps < 0 || queueLimitBytes < 0) {
+                throw new IllegalArgumentException("Invalid link profile: " + name);
+            }
+        }
+    }
+
+    private final Random random;
+    private volatile Profile profile;
+    private boolean badState;  // Gilbert-Elliott 나쁜 상태
+    private long linkFreeAt;   // 대역폭 제한: 링크가 다음 바이트를 보낼 수 있는 시각
+    private long lastTcpArrival;
+    private Drop lastDrop = Drop.NONE;
+    private int lastRetransmits;
+
+    LinkImpairment(Profile profile, long seed) {
+        this.profile = profile;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * 시나리오 도중 링크 특성을 바꿉니다. (손실 상태와 대기열은 이어짐)
+     */
+    void setProfile(Profile profile) {
+        this.profile = profile;
+    }
+
+    Profile getProfile() {
+        return profile;
+    }
+
+    /**
+     * UDP 패킷 하나의 도착 시각을 정합니다.
+     *
+     * @return 도착 시각, 버려졌으면 -1 (이유는 getLastDrop())
+     */
+    synchronized long scheduleDatagram(long now, int bytes) {
+        Profile p = profile;
+        lastDrop = Drop.NONE;
+        if (lose(p)) {
+            lastDrop = Drop.LOST;
+            return -1;
+        }
+        if (p.bandwidthKbps() > 0 && p.queueLimitBytes() > 0
+                && backlogBytes(p, now) + bytes > p.queueLimitBytes()) {
+            lastDrop = Drop.QUEUE;
+            return -1;
+        }
+        long arrival = transmit(p, now, bytes) + propagation(p);
+        if (p.reorderRate() > 0 && random.nextDouble() < p.reorderRate()) {
+            arrival += p.reorderMs() * 1_000_000;
+        }
+        return arrival;
+    }
+
+    /**
+     * 마지막 scheduleDatagram()이 버린 이유
+     */
+    synchronized Drop getLastDrop() {
+        return lastDrop;
+    }
+
+    /**
+     * 방금 보낸 UDP 패킷이 한 번 더 도착할지 정합니다.
+     */
+    synchronized boolean duplicate() {
+        double rate = profile.duplicateRate();
+        return rate > 0 && random.nextDouble() < rate;
+    }
+
+    /**
+     * TCP 조각 하나의 도착 시각을 정합니다. 앞 조각보다 먼저 도착하지 않으며, 잃은 조각은 재전송 뒤 도착합니다.
+     *
+     * @return 도착 시각 (재전송 횟수는 getLastRetransmits())
+     */
+    synchronized long scheduleSegment(long now, int bytes) {
+        Profile p = profile;
+        long sent = transmit(p, now, bytes);
+        long rto = Math.max(MIN_RTO_MS, 2 * (p.delayMs() + 2 * p.jitterMs())) * 1_000_000;
+        lastRetransmits = 0;
+        if (lose(p)) {
+            // 재전송은 RTO 뒤라 연속 손실 구간을 벗어났다고 보고 평균 손실률로만 다시 잃음
+            do {
+                sent += rto << lastRetransmits; // 지수 백오프
+                lastRetransmits++;
+            } while (lastRetransmits < MAX_RETRANSMITS && random.nextDouble() < p.lossRate());
+        }
+        long arrival = Math.max(sent + propagation(p), lastTcpArrival);
+        lastTcpArrival = arrival;
+        return arrival;
+    }
+
+    /**
+     * 마지막 scheduleSegment()에서 잃고 다시 보낸 횟수
+     */
+    synchronized int getLastRetransmits() {
+        return lastRetransmits;
+    }
+
+    private boolean lose(Profile p) {
+        if (p.lossRate() <= 0) {
+            badState = false;
+            return false;
+        }
+        // 정상 상태 손실률이 lossRate가 되도록 상태 전이 확률을 정함
+        double toGood = 1.0 / p.burstLength();
+        double toBad = Math.min(1.0, p.lossRate() * toGood / (1 - p.lossRate()));
+        badState = badState ? random.nextDouble() >= toGood : random.nextDouble() < toBad;
+        return badState;
+    }
+
+    // 대역폭 제한이 있으면 링크를 bytes만큼 점유하고 마지막 비트가 나가는 시각을 돌려줌
+    private long transmit(Profile p, long now, int bytes) {
+        if (p.bandwidthKbps() <= 0) {
+            return now;
+        }
+        long start = Math.max(now, linkFreeAt);
+        linkFreeAt = start + bytes * 8L * 1_000_000 / p.bandwidthKbps(); // kbps = 비트/ms
+        return linkFreeAt;
+    }
+
+    private long backlogBytes(Profile p, long now) {
+        return Math.max(0, linkFreeAt - now) * p.bandwidthKbps() / 8 / 1_000_000;
+    }
+
+    private long propagation(Profile p) {
+        double jitter = p.jitterMs();
+        double sample = switch (p.distribution()) {
+            case UNIFORM -> random.nextDouble() * 2 * jitter;
+            case NORMAL -> Math.max(-p.delayMs(), random.nextGaussian() * jitter);
+            case PARETO -> jitter * (PARETO_SHAPE - 1) * (Math.pow(1 - random.nextDouble(), -1 / PARETO_SHAPE) - 1);
+        };
+        sample = Math.min(sample, jitter * MAX_JITTER_FACTOR);
+        return Math.round((p.delayMs() + sample) * 1_000_000);
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MessageQueue 테스트
+ * Verifies framing, ordering, bounded capacity, slot reuse and multi-producer delivery
+ */
+class MessageQueueTest {
+
+    /** 모은 버퍼를 소켓 대신 다 쓴 것으로 처리하고 메시지(길이 머리 제외)를 돌려줌 */
+    private static List<byte[]> drain(MessageQueue queue) {
+        ByteBuffer[] batch = new ByteBuffer[16];
+        List<byte[]> messages = new ArrayList<>();
+        int count;
+        while ((count = queue.gather(batch)) > 0) {
+            for (int i = 0; i < count; i++) {
+                ByteBuffer buffer = batch[i];
+                byte[] message = new byte[buffer.getInt()];
+                buffer.get(message);
+                messages.add(message);
+            }
+            queue.releaseWritten();
+        }
+        return messages;
+    }
+
+    @Test
+    @DisplayName("Messages are framed with a length prefix and gathered in order")
+    void testFramingAndOrder() {
+        MessageQueue queue = new MessageQueue(4);
+        assertTrue(queue.offer(new byte[] { 1, 10 }, false));
+        MessageQueue.Slot slot = queue.claim(3);
+        slot.buffer().put((byte) 2).putShort((short) 300);
+        queue.publish(slot, false);
+
+        ByteBuffer[] batch = new ByteBuffer[4];
+        assertEquals(2, queue.gather(batch));
+        assertEquals(6, batch[0].remaining());
+        assertEquals(2, batch[0].getInt(0));
+        assertEquals(3, batch[1].getInt(0));
+        assertEquals(300, batch[1].getShort(5));
+    }
+
+    @Test
+    @DisplayName("Full queue rejects claims until written slots are released")
+    void testCapacityAndReuse() {
+        MessageQueue queue = new MessageQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(new byte[] { (byte) i }, false));
+        }
+        assertNull(queue.claim(1));
+
+        ByteBuffer[] batch = new ByteBuffer[4];
+        assertEquals(4, queue.gather(batch));
+        batch[0].position(batch[0].limit());
+        batch[1].position(batch[1].limit() - 1); // 일부만 씀
+        queue.releaseWritten();
+        assertNotNull(queue.claim(1)); // 한 슬롯만 돌아옴
+        assertNull(queue.claim(1));
+    }
+
+    @Test
+    @DisplayName("Unpublished claims hold back later messages")
+    void testPublishOrder() {
+        MessageQueue queue = new MessageQueue(8);
+        MessageQueue.Slot first = queue.claim(1);
+        queue.offer(new byte[] { 2 }, false);
+        assertFalse(queue.hasPublished());
+        assertEquals(0, queue.gather(new ByteBuffer[8]));
+
+        first.buffer().put((byte) 1);
+        queue.publish(first, false);
+        List<byte[]> messages = drain(queue);
+        assertEquals(2, messages.size());
+        assertEquals(1, messages.get(0)[0]);
+        assertEquals(2, messages.get(1)[0]);
+    }
+
+    @Test
+    @DisplayName("Gathering stops at the last message and later messages can be discarded")
+    void testLastMessage() {
+        MessageQueue queue = new MessageQueue(8);
+        queue.offer(new byte[] { 1 }, false);
+        queue.offer(new byte[] { 2 }, true);
+        queue.offer(new byte[] { 3 }, false);
+
+        ByteBuffer[] batch = new ByteBuffer[8];
+        assertEquals(2, queue.gather(batch));
+        batch[0].position(batch[0].limit());
+        batch[1].position(batch[1].limit());
+        assertTrue(queue.releaseWritten());
+
+        queue.discardPublished();
+        assertFalse(queue.hasPublished());
+    }
+
+    @Test
+    @DisplayName("Messages larger than a slot grow the slot buffer")
+    void testLargeMessage() {
+        MessageQueue queue = new MessageQueue(2);
+        byte[] chat = new byte[MessageQueue.SLOT_SIZE * 3];
+        chat[chat.length - 1] = 42;
+        assertTrue(queue.offer(chat, false));
+
+        List<byte[]> messages = drain(queue);
+        assertArrayEquals(chat, messages.get(0));
+    }
+
+    @Test
+    @Timeout(10)
+    @DisplayName("Concurrent producers deliver every message in per-producer order")
+    void testMultipleProducers() throws InterruptedException {
+        MessageQueue queue = new MessageQueue(16);
+        int producers = 4;
+        int perProducer = 20_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    MessageQueue.Slot slot;
+                    while ((slot = queue.claim(5)) == null) {
+                        Thread.onSpinWait();
+                    }
+                    slot.buffer().put((byte) id).putInt(i);
+                    queue.publish(slot, false);
+                }
+            });
+            threads[p].start();
+        }
+
+        int[] next = new int[producers];
+        int received = 0;
+        ByteBuffer[] batch = new ByteBuffer[8];
+        while (received < producers * perProducer) {
+            int count = queue.gather(batch);
+            for (int i = 0; i < count; i++) {
+                ByteBuffer buffer = batch[i];
+                assertEquals(5, buffer.getInt());
+                int id = buffer.get();
+                assertEquals(next[id]++, buffer.getInt());
+                received++;
+            }
+            queue.releaseWritten();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int count : next) {
+            assertEquals(perProducer, count);
+        }
+    }
+}
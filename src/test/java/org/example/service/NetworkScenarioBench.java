@@ -0,0 +1,445 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.example.model.GameBoard;
+import org.example.model.GarbageLine;
+
+/**
+ * 나쁜 네트워크에서의 게임 중 동기화 벤치마크
+ *
+ * 두 InGameNetworkManager를 ImpairmentProxy로 잇고, 단계별 링크 특성(Phase)이 정해진 시나리오대로 양쪽이
+ * 16ms마다 화면을 바꾸고 주기적으로 공격을 보냅니다. 방향마다 다음을 잽니다.
+ * - 프레임 지연: 보낸 화면이 상대 화면에 처음 그려질 때까지 (보드 델타 모드, 화면 첫 줄에 프레임 번호를 넣음)
+ * - 화면 나이(staleness): 매 프레임 상대가 보고 있는 내 화면이 얼마나 오래된 것인지
+ * - 되감김: 더 오래된 프레임이 나중에 그려진 횟수
+ * - 공격: 정확히 한 번, 보낸 순서대로 도착했는지와 도착 지연
+ * - 불일치: 보드 해시로 재동기화를 요청한 횟수(포즈 동기화 모드)와 멈춘 뒤 화면이 같아질 때까지 걸린 시간
+ *
+ * 링크 손실/지연은 시드로 재현되지만 스레드 스케줄은 실행마다 조금씩 다르므로 수치는 분포로 비교합니다.
+ *
+ * 실행: gradle netBench --args="--scenario all --seed 1"
+ */
+public final class NetworkScenarioBench {
+
+    public enum Mode { BOARD, POSE } // 보드 델타 / 조각 포즈 + 보드 이벤트 (보드 해시 켬)
+
+    /**
+     * 시나리오의 한 구간
+     */
+    public record Phase(long durationMs, LinkImpairment.Profile up, LinkImpairment.Profile down) {}
+
+    /**
+     * @param reliableUdp 공격과 보드 이벤트를 신뢰성 UDP 통로로 보냄 (끄면 TCP)
+     */
+    public record Scenario(String name, Mode mode, boolean reliableUdp, List<Phase> phases) {
+        long durationMs() {
+            return phases.stream().mapToLong(Phase::durationMs).sum();
+        }
+    }
+
+    /**
+     * 한 방향(보낸 쪽 → 받은 쪽)의 결과
+     *
+     * @param settleMs 보내기를 멈춘 뒤 받은 쪽 화면과 공격이 모두 따라잡을 때까지 (못 따라잡았으면 -1)
+     */
+    public record Result(String scenario, String direction, int frames, Histogram latency, Histogram staleness,
+                         int regressions, int attacksSent, int attacksReceived, int attackDuplicates,
+                         int attacksOutOfOrder, Histogram attackLatency, long desyncs, long settleMs,
+                         boolean disconnected, String link) {
+
+        public boolean attacksExactlyOnce() {
+            return attacksReceived == attacksSent && attackDuplicates == 0 && attacksOutOfOrder == 0;
+        }
+    }
+
+    /**
+     * 밀리초 단위 지연 히스토그램
+     */
+    public static final class Histogram {
+        private static final int MAX_MS = 10_000; // 초과분은 마지막 버킷에 누적
+        private final long[] counts = new long[MAX_MS + 1];
+        private long count;
+        private long max;
+
+        synchronized void add(long nanos) {
+            long ms = Math.max(0, nanos / 1_000_000);
+            counts[(int) Math.min(ms, MAX_MS)]++;
+            count++;
+            max = Math.max(max, ms);
+        }
+
+        public synchronized long count() {
+            return count;
+        }
+
+        public synchronized long max() {
+            return max;
+        }
+
+        /**
+         * @return q(0~1) 분위수 (밀리초, 표본이 없으면 -1)
+         */
+        public synchronized long percentile(double q) {
+            if (count == 0) {
+                return -1;
+            }
+            long rank = Math.max(1, (long) Math.ceil(q * count));
+            long seen = 0;
+            for (int ms = 0; ms <= MAX_MS; ms++) {
+                seen += counts[ms];
+                if (seen >= rank) {
+                    return ms;
+                }
+            }
+            return MAX_MS;
+        }
+
+        @Override
+        public String toString() {
+            return count == 0 ? "-" : percentile(0.5) + "/" + percentile(0.95) + "/" + percentile(0.99) + "/" + max();
+        }
+    }
+
+    public static final long FRAME_MS = 16;
+    private static final int ATTACK_FRAMES = 15;       // 공격 간격 (프레임)
+    private static final int DROP_FRAMES = 30;         // 포즈 모드 하드 드롭 간격 (프레임)
+    private static final long SETTLE_TIMEOUT_MS = 5000;
+    private static final int FRAME_DIGITS = 8;         // 첫 줄 앞 8칸에 8진수로 프레임 번호 (칸 값 1~8)
+
+    public static final List<Scenario> SCENARIOS = List.of(
+            scenario("clean", Mode.BOARD, true, LinkImpairment.Profile.CLEAN),
+            scenario("lan", Mode.BOARD, true, LinkImpairment.Profile.LAN),
+            scenario("wifi", Mode.BOARD, true, LinkImpairment.Profile.WIFI),
+            scenario("mobile", Mode.BOARD, true, LinkImpairment.Profile.MOBILE),
+            scenario("mobile-tcp", Mode.BOARD, false, LinkImpairment.Profile.MOBILE),
+            scenario("congested", Mode.BOARD, true, LinkImpairment.Profile.CONGESTED),
+            scenario("burst-loss-pose", Mode.POSE, true, LinkImpairment.Profile.BURST_LOSS),
+            new Scenario("asymmetric", Mode.BOARD, true,
+                    List.of(new Phase(8000, LinkImpairment.Profile.LAN, LinkImpairment.Profile.MOBILE))),
+            new Scenario("handover", Mode.POSE, true, List.of(
+                    new Phase(3000, LinkImpairment.Profile.WIFI, LinkImpairment.Profile.WIFI),
+                    new Phase(1500, LinkImpairment.Profile.BURST_LOSS, LinkImpairment.Profile.BURST_LOSS),
+                    new Phase(3500, LinkImpairment.Profile.MOBILE, LinkImpairment.Profile.MOBILE))));
+
+    private static Scenario scenario(String name, Mode mode, boolean reliableUdp, LinkImpairment.Profile link) {
+        return new Scenario(name, mode, reliableUdp, List.of(new Phase(8000, link, link)));
+    }
+
+    // 한쪽 플레이어: 내 화면을 바꿔 보내고, 상대가 보낸 화면과 공격을 받아 기록함
+    private static final class Endpoint {
+        final String name;
+        final Mode mode;
+        final Random random;
+        InGameNetworkManager manager;
+        Endpoint peer;
+        volatile boolean disconnected;
+
+        // 보내는 쪽
+        final AtomicLongArray frameSentAt;
+        final AtomicLongArray attackSentAt;
+        final TetrisSystem system; // 포즈 모드
+        final Histogram staleness = new Histogram();
+        volatile int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        volatile int frame = -1;
+        volatile int attacksSent;
+
+        // 받는 쪽 (루프 스레드에서 기록)
+        final Histogram latency = new Histogram();
+        final Histogram attackLatency = new Histogram();
+        final int[][] view = new int[GameBoard.HEIGHT][GameBoard.WIDTH]; // 마지막으로 그린 상대 화면 (view로 동기화)
+        volatile int lastShown = -1;
+        volatile int regressions;
+        volatile int attacksReceived;
+        int lastAttack = -1;
+        int attackDuplicates;
+        int attacksOutOfOrder;
+
+        Endpoint(String name, Mode mode, long seed, int maxFrames) {
+            this.name = name;
+            this.mode = mode;
+            this.random = new Random(seed);
+            this.frameSentAt = new AtomicLongArray(maxFrames);
+            this.attackSentAt = new AtomicLongArray(maxFrames / ATTACK_FRAMES + 1);
+            this.system = mode == Mode.POSE ? new TetrisSystem(new GameContext(seed, System::currentTimeMillis)) : null;
+        }
+
+        void connect(Socket socket, boolean reliableUdp) {
+            manager = new InGameNetworkManager(socket, () -> disconnected = true, () -> {}, (score, timeover) -> {},
+                    this::onAttack, this::onBoard, () -> board, () -> 0, delay -> {}, Runnable::run);
+            manager.setReliableUdp(reliableUdp);
+            if (system != null) {
+                manager.setPoseSource(system);
+                manager.setBoardHashing(true);
+            }
+        }
+
+        // 게임 스레드: 한 프레임 진행
+        void step() {
+            int next = frame + 1;
+            if (next >= frameSentAt.length()) {
+                return;
+            }
+            if (system != null) {
+                playRandomMove(next);
+            } else {
+                board = frameBoard(next);
+            }
+            frameSentAt.set(next, System.nanoTime());
+            frame = next;
+            if (next % ATTACK_FRAMES == 0) {
+                int attack = attacksSent;
+                attackSentAt.set(attack, System.nanoTime());
+                attacksSent = attack + 1;
+                manager.sendAdderBoard(new int[] { attack & GarbageLine.ALL_HOLES, attack >>> GameBoard.WIDTH });
+            }
+            manager.notifyLocalChange();
+            int shown = peer.lastShown;
+            if (system == null && shown >= 0) {
+                staleness.add(System.nanoTime() - frameSentAt.get(shown));
+            }
+        }
+
+        private void playRandomMove(int frame) {
+            if (system.isGameOver()) {
+                system.reset();
+            }
+            if (frame % DROP_FRAMES == DROP_FRAMES - 1) {
+                system.hardDrop();
+            } else {
+                switch (random.nextInt(6)) {
+                    case 0 -> system.moveLeft();
+                    case 1 -> system.moveRight();
+                    case 2 -> system.rotateClockwise();
+                    case 3 -> system.moveDown();
+                    default -> {} // 가만히
+                }
+            }
+            system.getBoard().processPendingClearsIfDue();
+        }
+
+        // 멈춘 뒤 남은 줄 삭제까지 끝내 보드를 고정함 (포즈 모드)
+        void finish() throws InterruptedException {
+            if (system == null) {
+                return;
+            }
+            while (system.getBoard().getPendingClearDueMs() != 0) {
+                Thread.sleep(FRAME_MS);
+                system.getBoard().processPendingClearsIfDue();
+                manager.notifyLocalChange();
+            }
+        }
+
+        // 루프 스레드: 상대 화면을 그림
+        void onBoard(int[][] received) {
+            synchronized (view) {
+                for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                    System.arraycopy(received[row], 0, view[row], 0, GameBoard.WIDTH);
+                }
+            }
+            if (mode != Mode.BOARD) {
+                return;
+            }
+            int shown = decodeFrame(received);
+            if (shown < 0 || shown == lastShown) {
+                return;
+            }
+            if (shown < lastShown) {
+                regressions++;
+                return;
+            }
+            latency.add(System.nanoTime() - peer.frameSentAt.get(shown));
+            lastShown = shown;
+        }
+
+        // 루프 스레드: 상대가 보낸 공격
+        void onAttack(int[] holeMasks) {
+            int attack = holeMasks[0] | holeMasks[1] << GameBoard.WIDTH;
+            if (attack <= lastAttack) {
+                attackDuplicates++;
+                return;
+            }
+            if (attack != lastAttack + 1) {
+                attacksOutOfOrder++;
+            }
+            lastAttack = attack;
+            attackLatency.add(System.nanoTime() - peer.attackSentAt.get(attack));
+            attacksReceived++;
+        }
+
+        // 상대 화면이 내 마지막 화면을 따라잡았는지
+        boolean peerCaughtUp() {
+            if (peer.attacksReceived != attacksSent) {
+                return false;
+            }
+            if (system == null) {
+                return peer.lastShown == frame;
+            }
+            int[][] expected = system.getCompressedBoardData();
+            synchronized (peer.view) {
+                return Arrays.deepEquals(expected, peer.view);
+            }
+        }
+    }
+
+    static int[][] frameBoard(int frame) {
+        int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        for (int digit = 0, value = frame; digit < FRAME_DIGITS; digit++, value >>>= 3) {
+            board[0][digit] = (value & 7) + 1;
+        }
+        // 게임처럼 조각 하나가 내려오고 바닥이 조금씩 쌓이도록 칸을 바꿈
+        int piece = frame / 4 % (GameBoard.HEIGHT - 2) + 1;
+        board[piece][frame / 80 % GameBoard.WIDTH] = frame % 7 + 1;
+        for (int col = 0; col < frame / 40 % GameBoard.WIDTH; col++) {
+            board[GameBoard.HEIGHT - 1][col] = col % 7 + 1;
+        }
+        return board;
+    }
+
+    static int decodeFrame(int[][] board) {
+        int frame = 0;
+        for (int digit = FRAME_DIGITS - 1; digit >= 0; digit--) {
+            int value = board[0][digit];
+            if (value < 1 || value > 8) {
+                return -1; // 아직 프레임을 받지 못한 빈 화면
+            }
+            frame = frame << 3 | (value - 1);
+        }
+        return frame;
+    }
+
+    private NetworkScenarioBench() {}
+
+    /**
+     * 시나리오 하나를 실행합니다. (서버 → 클라이언트가 DOWN, 클라이언트 → 서버가 UP)
+     *
+     * @return [서버가 보낸 방향, 클라이언트가 보낸 방향]
+     */
+    public static List<Result> run(Scenario scenario, long seed) throws IOException, InterruptedException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        int maxFrames = (int) (scenario.durationMs() / FRAME_MS) + 1;
+        Endpoint server = new Endpoint("server", scenario.mode(), seed, maxFrames);
+        Endpoint client = new Endpoint("client", scenario.mode(), seed + 1, maxFrames);
+        server.peer = client;
+        client.peer = server;
+        Phase first = scenario.phases().get(0);
+
+        try (ServerSocketChannel listener = ServerSocketChannel.open().bind(new InetSocketAddress(loopback, 0));
+             ImpairmentProxy proxy = new ImpairmentProxy((InetSocketAddress) listener.getLocalAddress(),
+                     first.up(), first.down(), seed)) {
+            Socket clientSocket = SocketChannel.open(new InetSocketAddress(loopback, proxy.getPort())).socket();
+            Socket serverSocket = listener.accept().socket();
+            server.connect(serverSocket, scenario.reliableUdp());
+            client.connect(clientSocket, scenario.reliableUdp());
+            try {
+                // 게임 스레드 두 개가 프레임마다 한 단계씩 진행
+                Thread[] players = new Thread[2];
+                long end = System.currentTimeMillis() + scenario.durationMs();
+                Endpoint[] endpoints = { server, client };
+                for (int i = 0; i < players.length; i++) {
+                    Endpoint endpoint = endpoints[i];
+                    players[i] = Thread.ofPlatform().daemon().name("bench-" + endpoint.name).start(() -> {
+                        try {
+                            for (long next = System.currentTimeMillis(); next < end; next += FRAME_MS) {
+                                endpoint.step();
+                                Thread.sleep(Math.max(0, next + FRAME_MS - System.currentTimeMillis()));
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                }
+                for (Phase phase : scenario.phases()) {
+                    proxy.setProfiles(phase.up(), phase.down());
+                    Thread.sleep(phase.durationMs());
+                }
+                for (Thread player : players) {
+                    player.join();
+                }
+                server.finish();
+                client.finish();
+
+                long stopped = System.nanoTime();
+                long[] settled = { -1, -1 };
+                while (System.nanoTime() - stopped < SETTLE_TIMEOUT_MS * 1_000_000
+                        && (settled[0] < 0 || settled[1] < 0)) {
+                    for (int i = 0; i < endpoints.length; i++) {
+                        if (settled[i] < 0 && endpoints[i].peerCaughtUp()) {
+                            settled[i] = (System.nanoTime() - stopped) / 1_000_000;
+                        }
+                    }
+                    Thread.sleep(5);
+                }
+                return List.of(
+                        result(scenario, server, settled[0], proxy.getStats(ImpairmentProxy.Direction.DOWN)),
+                        result(scenario, client, settled[1], proxy.getStats(ImpairmentProxy.Direction.UP)));
+            } finally {
+                server.manager.disconnect();
+                client.manager.disconnect();
+                serverSocket.close();
+                clientSocket.close();
+            }
+        }
+    }
+
+    private static Result result(Scenario scenario, Endpoint sender, long settleMs, ImpairmentProxy.Stats link) {
+        Endpoint receiver = sender.peer;
+        return new Result(scenario.name(), sender.name + "->" + receiver.name, sender.frame + 1,
+                receiver.latency, sender.staleness, receiver.regressions, sender.attacksSent,
+                receiver.attacksReceived, receiver.attackDuplicates, receiver.attacksOutOfOrder,
+                receiver.attackLatency, receiver.manager.getDesyncCount(), settleMs,
+                sender.disconnected || receiver.disconnected, link.toString());
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String name = "all";
+        long seed = 1L;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scenario" -> name = args[++i];
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Usage: [--scenario all|" + String.join("|",
+                            SCENARIOS.stream().map(Scenario::name).toList()) + "] [--seed S]");
+                    System.exit(1);
+                }
+            }
+        }
+
+        List<Scenario> selected = new ArrayList<>();
+        for (Scenario scenario : SCENARIOS) {
+            if (name.equals("all") || name.equals(scenario.name())) {
+                selected.add(scenario);
+            }
+        }
+        if (selected.isEmpty()) {
+            System.err.println("Unknown scenario: " + name);
+            System.exit(1);
+        }
+
+        System.out.printf("seed=%d (latency columns: p50/p95/p99/max ms)%n", seed);
+        System.out.printf("%-16s %-15s %-5s %6s %-18s %-18s %7s %-14s %-18s %6s %7s%n",
+                "scenario", "direction", "mode", "frames", "frame latency", "staleness", "regress",
+                "attacks ok/sent", "attack latency", "desync", "settle");
+        for (Scenario scenario : selected) {
+            for (Result r : run(scenario, seed)) {
+                System.out.printf("%-16s %-15s %-5s %6d %-18s %-18s %7d %-14s %-18s %6d %7s%s%n",
+                        r.scenario(), r.direction(), scenario.mode(), r.frames(), r.latency(), r.staleness(),
+                        r.regressions(), (r.attacksExactlyOnce() ? "ok " : "BAD ") + r.attacksReceived() + "/" + r.attacksSent(),
+                        r.attackLatency(), r.desyncs(), r.settleMs() >= 0 ? r.settleMs() + "ms" : "never",
+                        r.disconnected() ? " DISCONNECTED" : "");
+                System.out.printf("%-16s   link: %s%n", "", r.link());
+            }
+        }
+    }
+}
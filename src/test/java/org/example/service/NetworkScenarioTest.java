@@ -0,0 +1,151 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the link impairment model and short runs of NetworkScenarioBench through ImpairmentProxy
+ * Full scenarios and the metrics table: gradle netBench
+ */
+@Timeout(60)
+class NetworkScenarioTest {
+
+    private static final long MS = 1_000_000;
+
+    private static LinkImpairment.Profile lossy(double lossRate, double burstLength) {
+        return new LinkImpairment.Profile("test", 10, 0, LinkImpairment.Distribution.UNIFORM,
+                lossRate, burstLength, 0, 0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Burst loss keeps the configured average rate and burst length")
+    void testBurstLoss() {
+        LinkImpairment link = new LinkImpairment(lossy(0.1, 4), 1L);
+        int packets = 200_000;
+        int lost = 0;
+        int bursts = 0;
+        boolean previousLost = false;
+        for (int i = 0; i < packets; i++) {
+            boolean dropped = link.scheduleDatagram(i * MS, 100) < 0;
+            if (dropped) {
+                lost++;
+                if (!previousLost) {
+                    bursts++;
+                }
+            }
+            previousLost = dropped;
+        }
+        double rate = (double) lost / packets;
+        double burst = (double) lost / bursts;
+        assertEquals(0.1, rate, 0.01, "loss rate");
+        assertEquals(4, burst, 0.3, "mean burst length");
+    }
+
+    @Test
+    @DisplayName("The same seed gives the same impairment for the same packets")
+    void testSeedReproducible() {
+        LinkImpairment a = new LinkImpairment(LinkImpairment.Profile.MOBILE, 7L);
+        LinkImpairment b = new LinkImpairment(LinkImpairment.Profile.MOBILE, 7L);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(a.scheduleDatagram(i * 5 * MS, 200), b.scheduleDatagram(i * 5 * MS, 200));
+            assertEquals(a.duplicate(), b.duplicate());
+            assertEquals(a.scheduleSegment(i * 5 * MS, 80), b.scheduleSegment(i * 5 * MS, 80));
+        }
+    }
+
+    @Test
+    @DisplayName("Bandwidth cap serializes packets and tail-drops past the queue limit")
+    void testBandwidthCap() {
+        // 1Mbps에서 1000바이트는 8ms, 대기열은 3000바이트
+        LinkImpairment link = new LinkImpairment(new LinkImpairment.Profile("cap", 0, 0,
+                LinkImpairment.Distribution.UNIFORM, 0, 1, 0, 0, 0, 1000, 3000), 1L);
+
+        assertEquals(8 * MS, link.scheduleDatagram(0, 1000));
+        assertEquals(16 * MS, link.scheduleDatagram(0, 1000));
+        assertEquals(24 * MS, link.scheduleDatagram(0, 1000));
+        assertEquals(-1, link.scheduleDatagram(0, 1000));
+        assertEquals(LinkImpairment.Drop.QUEUE, link.getLastDrop());
+        // 대기열이 빠지면 다시 받음
+        assertEquals(32 * MS, link.scheduleDatagram(16 * MS, 1000));
+    }
+
+    @Test
+    @DisplayName("TCP segments stay in order and a lost segment holds back the ones after it")
+    void testTcpHeadOfLineBlocking() {
+        LinkImpairment link = new LinkImpairment(new LinkImpairment.Profile("tcp", 10, 10,
+                LinkImpairment.Distribution.NORMAL, 0.2, 2, 0, 0, 0, 0, 0), 3L);
+        long previous = 0;
+        int retransmitted = 0;
+        int blocked = 0;
+        long retransmittedArrival = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long now = i * MS;
+            long arrival = link.scheduleSegment(now, 100);
+            assertTrue(arrival >= previous, "in order");
+            if (link.getLastRetransmits() > 0) {
+                retransmitted++;
+                assertTrue(arrival - now >= LinkImpairment.MIN_RTO_MS * MS);
+                retransmittedArrival = arrival;
+            } else if (arrival == retransmittedArrival) {
+                blocked++; // 재전송을 기다리느라 같이 늦게 도착
+            }
+            previous = arrival;
+        }
+        assertTrue(retransmitted > 100, "retransmitted " + retransmitted);
+        assertTrue(blocked > retransmitted, "blocked " + blocked);
+    }
+
+    @Test
+    @DisplayName("Clean link: frames arrive quickly, attacks exactly once and both views catch up")
+    void testCleanScenario() throws Exception {
+        NetworkScenarioBench.Scenario scenario = new NetworkScenarioBench.Scenario("clean",
+                NetworkScenarioBench.Mode.BOARD, true, List.of(new NetworkScenarioBench.Phase(1500,
+                        LinkImpairment.Profile.CLEAN, LinkImpairment.Profile.CLEAN)));
+
+        for (NetworkScenarioBench.Result result : NetworkScenarioBench.run(scenario, 1L)) {
+            assertFalse(result.disconnected(), result.direction());
+            assertTrue(result.attacksExactlyOnce(), result.direction());
+            assertEquals(0, result.regressions());
+            assertTrue(result.settleMs() >= 0, "settled " + result.direction());
+            assertTrue(result.latency().count() > 10);
+            assertTrue(result.latency().percentile(0.5) < 50, "latency " + result.latency());
+        }
+    }
+
+    @Test
+    @DisplayName("Lossy, jittery, reordering link: delay is applied, no frame goes backwards, attacks exactly once")
+    void testMobileScenario() throws Exception {
+        NetworkScenarioBench.Scenario scenario = new NetworkScenarioBench.Scenario("mobile",
+                NetworkScenarioBench.Mode.BOARD, true, List.of(new NetworkScenarioBench.Phase(2500,
+                        LinkImpairment.Profile.MOBILE, LinkImpairment.Profile.MOBILE)));
+
+        for (NetworkScenarioBench.Result result : NetworkScenarioBench.run(scenario, 2L)) {
+            assertFalse(result.disconnected(), result.direction());
+            assertTrue(result.attacksExactlyOnce(), result.direction() + " attacks "
+                    + result.attacksReceived() + "/" + result.attacksSent());
+            assertEquals(0, result.regressions(), "frames shown out of order");
+            assertTrue(result.settleMs() >= 0, "settled " + result.direction());
+            assertTrue(result.latency().percentile(0.5) >= LinkImpairment.Profile.MOBILE.delayMs() - 5,
+                    "latency " + result.latency());
+        }
+    }
+
+    @Test
+    @DisplayName("Pose sync over TCP with burst loss converges to the sender's board")
+    void testPoseScenarioConverges() throws Exception {
+        NetworkScenarioBench.Scenario scenario = new NetworkScenarioBench.Scenario("burst-loss-pose",
+                NetworkScenarioBench.Mode.POSE, false, List.of(new NetworkScenarioBench.Phase(2500,
+                        LinkImpairment.Profile.BURST_LOSS, LinkImpairment.Profile.BURST_LOSS)));
+
+        for (NetworkScenarioBench.Result result : NetworkScenarioBench.run(scenario, 3L)) {
+            assertFalse(result.disconnected(), result.direction());
+            assertTrue(result.attacksExactlyOnce(), result.direction());
+            assertTrue(result.settleMs() >= 0, "views converged " + result.direction());
+        }
+    }
+}
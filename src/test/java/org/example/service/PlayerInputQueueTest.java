@@ -0,0 +1,129 @@
+package org.example.service;
+
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PlayerInputQueue
+ * Verifies timestamped event ordering, tap preservation and auto-repeat scheduling
+ */
+class PlayerInputQueueTest {
+
+    private PlayerInputQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new PlayerInputQueue();
+    }
+
+    @Test
+    @DisplayName("Events are drained in arrival order")
+    void testFifoOrder() {
+        queue.pushPress(KeyCode.LEFT, 10);
+        queue.pushPress(KeyCode.UP, 20);
+        queue.pushRelease(KeyCode.LEFT, 30);
+
+        assertEquals(10, queue.peekNanos());
+        assertEquals(new PlayerInputQueue.InputEvent(KeyCode.LEFT, true, 10), queue.poll());
+        assertEquals(new PlayerInputQueue.InputEvent(KeyCode.UP, true, 20), queue.poll());
+        assertEquals(new PlayerInputQueue.InputEvent(KeyCode.LEFT, false, 30), queue.poll());
+        assertFalse(queue.hasEvents());
+        assertEquals(Long.MAX_VALUE, queue.peekNanos());
+    }
+
+    @Test
+    @DisplayName("Short taps keep both press and release")
+    void testTapIsNotLost() {
+        queue.pushPress(KeyCode.A, 1);
+        queue.pushRelease(KeyCode.A, 2);
+
+        assertTrue(queue.poll().pressed());
+        assertFalse(queue.poll().pressed());
+    }
+
+    @Test
+    @DisplayName("OS key repeat presses are ignored while the key is held")
+    void testDuplicatePressIgnored() {
+        assertTrue(queue.pushPress(KeyCode.D, 1));
+        assertFalse(queue.pushPress(KeyCode.D, 2));
+        queue.pushRelease(KeyCode.D, 3);
+        assertTrue(queue.pushPress(KeyCode.D, 4));
+
+        int count = 0;
+        while (queue.poll() != null) count++;
+        assertEquals(3, count);
+    }
+
+    @Test
+    @DisplayName("Release without press is ignored")
+    void testReleaseWithoutPress() {
+        queue.pushRelease(KeyCode.S, 1);
+        assertFalse(queue.hasEvents());
+    }
+
+    @Test
+    @DisplayName("earliest picks the queue with the oldest event")
+    void testEarliestAcrossPlayers() {
+        PlayerInputQueue other = new PlayerInputQueue();
+        queue.pushPress(KeyCode.LEFT, 200);
+        other.pushPress(KeyCode.A, 100);
+
+        assertSame(other, PlayerInputQueue.earliest(queue, other));
+        other.poll();
+        assertSame(queue, PlayerInputQueue.earliest(queue, other));
+        queue.poll();
+        assertNull(PlayerInputQueue.earliest(queue, other));
+    }
+
+    @Test
+    @DisplayName("Ties go to the first queue")
+    void testEarliestTie() {
+        PlayerInputQueue other = new PlayerInputQueue();
+        queue.pushPress(KeyCode.LEFT, 100);
+        other.pushPress(KeyCode.A, 100);
+
+        assertSame(queue, PlayerInputQueue.earliest(queue, other));
+    }
+
+    @Test
+    @DisplayName("Repeat fires once per interval without bursting")
+    void testRepeatScheduling() {
+        List<KeyCode> fired = new ArrayList<>();
+        queue.startRepeat(KeyCode.LEFT, 50);
+
+        queue.forEachDueRepeat(40, 50, fired::add);
+        assertTrue(fired.isEmpty());
+
+        queue.forEachDueRepeat(60, 50, fired::add);
+        assertEquals(List.of(KeyCode.LEFT), fired);
+
+        // 틱이 늦어져도 한 번만 실행
+        queue.forEachDueRepeat(500, 50, fired::add);
+        assertEquals(2, fired.size());
+
+        queue.stopRepeat(KeyCode.LEFT);
+        queue.forEachDueRepeat(1_000, 50, fired::add);
+        assertEquals(2, fired.size());
+        assertFalse(queue.isRepeating(KeyCode.LEFT));
+    }
+
+    @Test
+    @DisplayName("clear drops pending events and held state")
+    void testClear() {
+        queue.pushPress(KeyCode.LEFT, 1);
+        queue.startRepeat(KeyCode.LEFT, 2);
+
+        queue.clear();
+
+        assertFalse(queue.hasEvents());
+        assertFalse(queue.isRepeating(KeyCode.LEFT));
+        assertTrue(queue.pushPress(KeyCode.LEFT, 3), "Key must be pressable again after clear");
+    }
+}
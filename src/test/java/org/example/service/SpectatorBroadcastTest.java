@@ -0,0 +1,144 @@
+package org.example.service;
+
+import org.example.model.GameBoard;
+import org.example.model.GameMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SpectatorBroadcaster and SpectatorListener over loopback unicast
+ * (the wire format is the same as the multicast group; only the target address differs)
+ */
+@Timeout(20)
+class SpectatorBroadcastTest {
+
+    private final List<SpectatorCodec.MatchDecoder> found = new CopyOnWriteArrayList<>();
+    private final List<SpectatorCodec.Event> events = new CopyOnWriteArrayList<>();
+    private SpectatorListener listener;
+    private SpectatorBroadcaster broadcaster;
+    private InetSocketAddress target;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        listener = new SpectatorListener(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new SpectatorListener.Callbacks() {
+                    @Override
+                    public void onMatchFound(SpectatorCodec.MatchDecoder match) {
+                        found.add(match);
+                    }
+
+                    @Override
+                    public void onEvent(int matchId, SpectatorCodec.Event event) {
+                        events.add(event);
+                    }
+
+                    @Override
+                    public void onMatchLost(int matchId) {}
+                }, Runnable::run);
+        target = new InetSocketAddress(InetAddress.getLoopbackAddress(), listener.getLocalPort());
+        broadcaster = new SpectatorBroadcaster(target, GameMode.ITEM);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+        listener.close();
+    }
+
+    private static int[][] board(int value) {
+        int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        board[GameBoard.HEIGHT - 1][0] = value;
+        return board;
+    }
+
+    @Test
+    @DisplayName("Spectator sees both boards, scores and events published by the host")
+    void testHostToSpectator() {
+        broadcaster.setGuestBoard(board(5));
+        broadcaster.addEvent(SpectatorCodec.EVENT_ATTACK, 0, 3);
+        long now = 1_000;
+        // 키프레임 간격보다 넉넉히 보내 처음 프레임을 잃어도 보드가 보이게 함
+        for (int i = 0; i < BoardDeltaCodec.DEFAULT_KEYFRAME_INTERVAL * 2; i++) {
+            broadcaster.publish(now, 0, -1, board(2), 1200);
+            now += SpectatorBroadcaster.MIN_FRAME_INTERVAL_MS;
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !found.isEmpty() && !events.isEmpty());
+        SpectatorCodec.MatchDecoder match = found.get(0);
+        assertEquals(1, found.size());
+        assertEquals(broadcaster.getMatchId(), match.getMatchId());
+        assertEquals(GameMode.ITEM, match.getMode());
+        assertEquals(List.of(new SpectatorCodec.Event(0, SpectatorCodec.EVENT_ATTACK, 0, 3)), events);
+
+        int[][] received = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        await().atMost(5, TimeUnit.SECONDS).until(() -> match.copyBoard(1, received));
+        assertArrayEquals(board(5), received);
+        assertTrue(match.copyBoard(0, received));
+        assertArrayEquals(board(2), received);
+        assertEquals(1200, match.getScore(0));
+        assertEquals(-1, match.getScore(1)); // 경기가 끝나기 전 상대 점수는 모름
+        assertEquals(SpectatorCodec.NO_TIMER, match.getRemainingMs());
+    }
+
+    @Test
+    @DisplayName("Final frames mark the match as ended with the result event")
+    void testFinalFrames() {
+        broadcaster.publish(1_000, 0, 30_000, board(1), 0);
+        broadcaster.setGuestScore(800);
+        broadcaster.addEvent(SpectatorCodec.EVENT_TOP_OUT, 1, 800);
+        broadcaster.addEvent(SpectatorCodec.EVENT_MATCH_END, 0, 0);
+        broadcaster.publishFinal(1 << 1, board(1), 900);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !found.isEmpty() && found.get(0).isEnded());
+        SpectatorCodec.MatchDecoder match = found.get(0);
+        assertTrue(match.isToppedOut(1));
+        assertFalse(match.isToppedOut(0));
+        assertEquals(800, match.getScore(1));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> events.size() == 2);
+        assertEquals(SpectatorCodec.EVENT_MATCH_END, events.get(1).kind());
+    }
+
+    @Test
+    @DisplayName("Publishing faster than the frame interval is throttled")
+    void testThrottle() {
+        for (int i = 0; i < 10; i++) {
+            broadcaster.publish(100 + i, 0, -1, board(1), i); // 10ms 동안 10번
+        }
+        broadcaster.publish(100 + SpectatorBroadcaster.MIN_FRAME_INTERVAL_MS, 0, -1, board(1), 99);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !found.isEmpty() && found.get(0).getScore(0) == 99);
+        assertEquals(0, found.get(0).getLostFrames(), "skipped ticks were never sent");
+    }
+
+    @Test
+    @DisplayName("Packets that are not spectator frames are ignored")
+    void testForeignPackets() throws Exception {
+        try (DatagramSocket socket = new DatagramSocket()) {
+            byte[] junk = { 0x10, 1, 2, 3, 4, 5, 6, 7 };
+            socket.send(new DatagramPacket(junk, junk.length, target));
+            byte[] truncated = { SpectatorCodec.PACKET_FRAME, SpectatorCodec.VERSION, 0, 0, 0, 9, 0 };
+            socket.send(new DatagramPacket(truncated, truncated.length, target));
+        }
+        broadcaster.publish(1_000, 0, -1, board(1), 0);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !found.isEmpty());
+        Thread.sleep(100);
+        assertEquals(1, found.size());
+        assertEquals(broadcaster.getMatchId(), found.get(0).getMatchId());
+    }
+}
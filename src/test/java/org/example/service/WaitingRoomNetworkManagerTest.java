@@ -11,7 +11,11 @@ import org.junit.jupiter.api.Timeout;
 
 import java.io.IOException;
 import java.net.ServerSocket;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -47,7 +51,7 @@ class WaitingRoomNetworkManagerTest {
     @BeforeEach
     void setUp() throws IOException, InterruptedException {
         // 동적 포트로 서버 소켓 생성 (포트 충돌 방지)
-        serverSocket = new ServerSocket(0);
+        serverSocket = ServerSocketChannel.open().bind(new InetSocketAddress(0)).socket(); // 연결 루프용 채널 기반 소켓
         int port = serverSocket.getLocalPort();
 
         // 클라이언트 연결을 별도 스레드에서 수락
@@ -62,7 +66,7 @@ class WaitingRoomNetworkManagerTest {
         });
 
         // 클라이언트 소켓 연결
-        clientSideSocket = new Socket("localhost", port);
+        clientSideSocket = SocketChannel.open(new InetSocketAddress("localhost", port)).socket();
         
         // 연결 완료 대기
         assertTrue(connectionLatch.await(5, TimeUnit.SECONDS), "서버-클라이언트 연결 실패");
@@ -232,6 +236,9 @@ class WaitingRoomNetworkManagerTest {
 
         assertTrue(serverGameStarted.get());
         assertTrue(clientGameStarted.get());
+        // 시작 신호로 서버가 정한 경기 시드를 공유
+        assertNotEquals(0, serverManager.getMatchSeed());
+        assertEquals(serverManager.getMatchSeed(), clientManager.getMatchSeed());
     }
 
     @Test
@@ -444,4 +451,43 @@ class WaitingRoomNetworkManagerTest {
         assertTrue(serverGameStarted.get());
         assertTrue(clientGameStarted.get());
     }
+
+    @Test
+    @DisplayName("HELLO 핸드셰이크로 프로토콜 버전과 공통 기능 협상 테스트")
+    void testHandshakeNegotiatesVersion() {
+        serverManager = new WaitingRoomNetworkManager(
+            serverSideSocket, true, () -> {}, () -> {}, mode -> {}, ready -> {}, msg -> {}, diff -> {}
+        );
+        clientManager = new WaitingRoomNetworkManager(
+            clientSideSocket, false, () -> {}, () -> {}, mode -> {}, ready -> {}, msg -> {}, diff -> {}
+        );
+
+        await().atMost(3, TimeUnit.SECONDS)
+            .until(() -> serverManager.getProtocolVersion() > 0 && clientManager.getProtocolVersion() > 0);
+
+        assertEquals(P2PProtocol.VERSION, serverManager.getProtocolVersion());
+        assertEquals(P2PProtocol.VERSION, clientManager.getProtocolVersion());
+        assertEquals(P2PProtocol.LOCAL_CAPABILITIES, clientManager.getSharedCapabilities());
+    }
+
+    @Test
+    @DisplayName("호환되지 않는 프로토콜 버전이면 연결 종료 테스트")
+    void testIncompatibleVersionDisconnects() throws IOException {
+        AtomicBoolean disconnected = new AtomicBoolean(false);
+
+        serverManager = new WaitingRoomNetworkManager(
+            serverSideSocket, true, () -> disconnected.set(true), () -> {}, mode -> {}, ready -> {}, msg -> {}, diff -> {}
+        );
+
+        // 상대가 더 높은 버전만 지원한다고 알림
+        ByteBuffer hello = ByteBuffer.allocate(4 + P2PProtocol.HELLO_SIZE);
+        hello.putInt(P2PProtocol.HELLO_SIZE);
+        P2PProtocol.encodeHello(hello, P2PProtocol.VERSION + 2, P2PProtocol.VERSION + 1, 0);
+        hello.flip();
+        clientSideSocket.getChannel().write(hello);
+
+        await().atMost(3, TimeUnit.SECONDS).until(disconnected::get);
+        assertTrue(serverSideSocket.isClosed());
+        assertEquals(-1, serverManager.getProtocolVersion());
+    }
 }
@@ -2,6 +2,7 @@ package org.example.view.component.play;
 
 import javafx.application.Platform;
 import javafx.stage.Stage;
+import org.example.model.GarbageLine;
 import org.example.service.ColorManager;
 import org.example.view.BaseView;
 import org.junit.jupiter.api.BeforeEach;
@@ -97,7 +98,7 @@ class AdderCanvasIntegrationTest {
         
         Platform.runLater(() -> {
             holder[0] = new AdderCanvas();
-            holder[0].updateBoard(null);
+            holder[0].updateBoard(null, 0);
         });
         WaitForAsyncUtils.waitForFxEvents();
         
@@ -110,8 +111,8 @@ class AdderCanvasIntegrationTest {
         
         Platform.runLater(() -> {
             holder[0] = new AdderCanvas();
-            int[][] emptyLines = new int[10][10];
-            holder[0].updateBoard(emptyLines);
+            int[] emptyLines = new int[10];
+            holder[0].updateBoard(emptyLines, 0);
         });
         WaitForAsyncUtils.waitForFxEvents();
         
@@ -125,13 +126,10 @@ class AdderCanvasIntegrationTest {
         Platform.runLater(() -> {
             holder[0] = new AdderCanvas();
             
-            // 한 줄 추가 (맨 아래줄, 모두 1로 채움)
-            int[][] lines = new int[10][10];
-            for (int i = 0; i < 10; i++) {
-                lines[9][i] = 1; // 색상 인덱스 1
-            }
+            // 한 줄 추가 (맨 아래줄, 구멍 없이 모두 채움)
+            int[] lines = {0};
             
-            holder[0].updateBoard(lines);
+            holder[0].updateBoard(lines, 1);
         });
         WaitForAsyncUtils.waitForFxEvents();
         
@@ -145,15 +143,10 @@ class AdderCanvasIntegrationTest {
         Platform.runLater(() -> {
             holder[0] = new AdderCanvas();
             
-            // 여러 줄 추가 (아래 3줄)
-            int[][] lines = new int[10][10];
-            for (int lineIdx = 7; lineIdx < 10; lineIdx++) {
-                for (int i = 0; i < 10; i++) {
-                    lines[lineIdx][i] = ((lineIdx - 7) % 7) + 1; // 색상 인덱스 1~7 순환
-                }
-            }
+            // 여러 줄 추가 (아래 3줄, 줄마다 다른 구멍)
+            int[] lines = {1, 1 << 4, 1 << 9};
             
-            holder[0].updateBoard(lines);
+            holder[0].updateBoard(lines, 3);
         });
         WaitForAsyncUtils.waitForFxEvents();
         
@@ -167,15 +160,11 @@ class AdderCanvasIntegrationTest {
         Platform.runLater(() -> {
             holder[0] = new AdderCanvas();
             
-            // 부분적으로 채워진 줄 (맨 아래줄)
-            int[][] lines = new int[10][10];
-            lines[9][0] = 1;
-            lines[9][2] = 2;
-            lines[9][4] = 3;
-            lines[9][9] = 7;
-            // 나머지는 0 (빈 칸)
+            // 부분적으로 채워진 줄 (맨 아래줄, 0, 2, 4, 9번 열만 블럭)
+            int filled = (1 << 0) | (1 << 2) | (1 << 4) | (1 << 9);
+            int[] lines = {GarbageLine.ALL_HOLES & ~filled};
             
-            holder[0].updateBoard(lines);
+            holder[0].updateBoard(lines, 1);
         });
         WaitForAsyncUtils.waitForFxEvents();
         
@@ -189,15 +178,13 @@ class AdderCanvasIntegrationTest {
         Platform.runLater(() -> {
             holder[0] = new AdderCanvas();
             
-            // 모든 색상 인덱스 (1~7) 테스트
-            int[][] lines = new int[10][10];
-            for (int colorIdx = 1; colorIdx <= 7; colorIdx++) {
-                for (int i = 0; i < 10; i++) {
-                    lines[colorIdx + 2][i] = colorIdx;
-                }
+            // 7줄, 줄마다 구멍 위치가 다름
+            int[] lines = new int[7];
+            for (int i = 0; i < 7; i++) {
+                lines[i] = 1 << i;
             }
             
-            holder[0].updateBoard(lines);
+            holder[0].updateBoard(lines, 7);
         });
         WaitForAsyncUtils.waitForFxEvents();
         
@@ -228,23 +215,16 @@ class AdderCanvasIntegrationTest {
             holder[0] = new AdderCanvas();
             
             // 첫 번째 업데이트 - 빈 보드
-            int[][] emptyLines = new int[10][10];
-            holder[0].updateBoard(emptyLines);
+            int[] lines = new int[10];
+            holder[0].updateBoard(lines, 0);
             
             // 두 번째 업데이트 - 1줄 추가
-            int[][] lines1 = new int[10][10];
-            for (int i = 0; i < 10; i++) {
-                lines1[9][i] = 1;
-            }
-            holder[0].updateBoard(lines1);
+            lines[0] = 1 << 5;
+            holder[0].updateBoard(lines, 1);
             
             // 세 번째 업데이트 - 2줄
-            int[][] lines2 = new int[10][10];
-            for (int i = 0; i < 10; i++) {
-                lines2[8][i] = 1;
-                lines2[9][i] = 2;
-            }
-            holder[0].updateBoard(lines2);
+            lines[1] = 1 << 6;
+            holder[0].updateBoard(lines, 2);
         });
         WaitForAsyncUtils.waitForFxEvents();
         
@@ -258,15 +238,13 @@ class AdderCanvasIntegrationTest {
         Platform.runLater(() -> {
             holder[0] = new AdderCanvas();
             
-            // 최대 10줄까지 추가 (HEIGHT = 10)
-            int[][] lines = new int[10][10];
+            // 최대 10줄까지 추가 (HEIGHT = 10), 넘치는 lineCount는 잘림
+            int[] lines = new int[10];
             for (int lineIdx = 0; lineIdx < 10; lineIdx++) {
-                for (int i = 0; i < 10; i++) {
-                    lines[lineIdx][i] = (lineIdx % 7) + 1;
-                }
+                lines[lineIdx] = 1 << lineIdx;
             }
             
-            holder[0].updateBoard(lines);
+            holder[0].updateBoard(lines, 12);
         });
         WaitForAsyncUtils.waitForFxEvents();
         
@@ -298,11 +276,11 @@ class AdderCanvasIntegrationTest {
         Platform.runLater(() -> {
             holder[0] = new AdderCanvas();
             
-            // 색상 인덱스 0인 셀들 (빈 칸, 그려지지 않아야 함)
-            int[][] lines = new int[10][10];
-            // 모두 0으로 초기화됨
+            // 전부 구멍인 줄 (빈 칸, 그려지지 않아야 함)
+            int[] lines = new int[10];
+            java.util.Arrays.fill(lines, GarbageLine.ALL_HOLES);
             
-            holder[0].updateBoard(lines);
+            holder[0].updateBoard(lines, 10);
         });
         WaitForAsyncUtils.waitForFxEvents();
         
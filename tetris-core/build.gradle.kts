@@ -0,0 +1,69 @@
+plugins {
+    `java-library`
+    jacoco
+}
+
+group = "org.example"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
+
+val junitVersion = "5.10.0"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(23)
+    }
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+// JavaFX 의존성 없음 - 디스플레이 없이 바로 실행/테스트 가능
+dependencies {
+    testImplementation("org.junit.jupiter:junit-jupiter-api:${junitVersion}")
+    testImplementation("org.junit.jupiter:junit-jupiter-params:${junitVersion}")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:${junitVersion}")
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+    finalizedBy(tasks.jacocoTestReport)
+}
+
+tasks.jacocoTestReport {
+    dependsOn(tasks.test)
+
+    reports {
+        xml.required.set(true)
+        html.required.set(true)
+        csv.required.set(false)
+    }
+}
+
+// 헤드리스 배치 시뮬레이터 실행: gradle :tetris-core:simulate --args="--games 100000 --out results.csv"
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Runs bot games in virtual time and writes per-game results as CSV"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.service.BatchSimulator")
+}
+
+// 아이템 모드 차등 퍼저/벤치마크: gradle :tetris-core:fuzzItems --args="--pieces 2000000 --seed 1 [--no-check]"
+tasks.register<JavaExec>("fuzzItems") {
+    group = "verification"
+    description = "Fuzzes item mode against a reference board and reports pieces/s and bytes/piece"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("org.example.service.ItemModeFuzzer")
+}
+
+// P2P 프로토콜 왕복 퍼저/벤치마크: gradle :tetris-core:fuzzProtocol --args="--messages 5000000 --seed 1 [--no-check]"
+tasks.register<JavaExec>("fuzzProtocol") {
+    group = "verification"
+    description = "Round-trips random P2P protocol messages and reports messages/s and allocated bytes/message"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("org.example.service.ProtocolFuzzer")
+}
@@ -0,0 +1,98 @@
+package org.example.model;
+
+/**
+ * BoardSnapshot에서 받은 공격 라인(구멍 마스크)을 저장하고 GameBoard에 추가하는 클래스.
+ * 최대 10줄까지 저장할 수 있으며, 새로운 줄은 뒤쪽(큰 인덱스)에 추가됩니다.
+ */
+public class AdderBoard {
+    private static final int MAX_LINES = 10;
+
+    private final int[] masks = new int[MAX_LINES]; // 줄마다 구멍 마스크 (GarbageLine)
+    private int lineCount;
+
+    public AdderBoard() {
+        this.lineCount = 0;
+    }
+
+    /**
+     * BoardSnapshot에서 받은 라인들을 AdderBoard에 추가합니다.
+     * 새로운 라인은 오름차순으로 뒤쪽에 추가됩니다 (append).
+     * 예: 20, 22, 23번 라인이 제거됨 -> 현재 인덱스 3, 4, 5에 순서대로 추가
+     * 최대 10줄까지만 저장되며, 초과 시 최신 라인(인덱스 10 이상)을 잘라냅니다.
+     *
+     * @param holeMasks 추가할 라인의 구멍 마스크
+     *                  holeMasks[0] -> 먼저 추가
+     *                  holeMasks[length-1] -> 나중에 추가
+     */
+    public void addLines(int[] holeMasks) {
+        if (holeMasks == null) {
+            return;
+        }
+
+        // 10줄을 초과하는 최신 라인은 잘라냄
+        for (int i = 0; i < holeMasks.length && lineCount < MAX_LINES; i++) {
+            masks[lineCount++] = holeMasks[i] & GarbageLine.ALL_HOLES;
+        }
+    }
+
+    /**
+     * 저장된 모든 라인을 GameBoard의 아래쪽에 추가합니다.
+     * GameBoard의 블럭들을 위로 밀어올리고 AdderBoard의 줄을 아래에서부터 채웁니다.
+     * 오름차순으로 대입: 첫 줄 -> 위쪽, 마지막 줄 -> 23번(맨 아래)
+     *
+     * @param gameBoard 라인을 추가할 GameBoard
+     * @return 추가된 라인 수
+     */
+    public int applyToBoard(GameBoard gameBoard) {
+        if (lineCount == 0) {
+            return 0;
+        }
+
+        int addedCount = lineCount;
+        GarbageLine.insert(gameBoard, masks, addedCount);
+        clear();
+        return addedCount;
+    }
+
+    /**
+     * 저장된 라인의 개수를 반환합니다.
+     *
+     * @return 현재 저장된 라인 개수
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * 저장된 모든 라인을 제거합니다.
+     */
+    public void clear() {
+        lineCount = 0;
+    }
+
+    /**
+     * 다른 AdderBoard의 대기 라인을 그대로 복사합니다. (롤백용)
+     */
+    public void copyFrom(AdderBoard other) {
+        System.arraycopy(other.masks, 0, masks, 0, other.lineCount);
+        lineCount = other.lineCount;
+    }
+
+    /**
+     * 저장된 라인들의 구멍 마스크를 반환합니다. (앞쪽 getLineCount()개만 유효)
+     * 복사하지 않고 내부 배열을 그대로 돌려주므로 읽기 전용으로만 사용해야 합니다.
+     * AdderCanvas는 이 배열을 아래부터 채워서 그립니다.
+     *
+     * @return 길이 10의 구멍 마스크 배열
+     */
+    public int[] getHoleMasks() {
+        return masks;
+    }
+
+    /**
+     * 최대 라인 수를 반환합니다.
+     */
+    public int getMaxLines() {
+        return MAX_LINES;
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 네트워크 대전에서 상대가 보낸 공격 라인을 받아 두었다가 보드에 적용하는 클래스
+ *
+ * 수신 스레드(생산자)와 게임 스레드(소비자) 사이에는 구멍 마스크(GarbageLine)를 담는
+ * 링을 사용합니다. 생산자는 offerLine()으로 줄을 채우고 publish()로 한 번에 공개하며,
+ * 소비자는 consumeIfExists()에서 락과 할당 없이 꺼냅니다.
+ * 생산자 쪽 메서드(offerLine, publish, enqueueLines)는 모두 이 객체로 동기화되므로 생산자가
+ * 여럿이어도 링은 단일 생산자로 동작합니다. (평소 생산자는 루프 스레드 하나라 락 경합이 없음)
+ */
+public class AdderBoardSync {
+    private static final int MAX_LINES = 10;
+    private static final int RING_CAPACITY = 32; // 링에 대기할 수 있는 최대 줄 수 (2의 거듭제곱)
+    private static final int RING_MASK = RING_CAPACITY - 1;
+
+    private final GameBoard gameBoardRef;
+
+    // ----------- 링 (생산자 → 소비자) -----------
+    private final int[] ring = new int[RING_CAPACITY];
+    private final AtomicLong head = new AtomicLong(); // 소비자가 다음에 읽을 위치
+    private final AtomicLong tail = new AtomicLong(); // 생산자가 공개한 끝 위치
+    private long writeIndex;                         // 생산자 락 안에서만: 채웠지만 아직 공개 안 한 끝 위치
+    private volatile long ringDrops;                 // 생산자 락 안에서만 씀: 링이 가득 차 버린 줄 수
+
+    // ----------- 게임 스레드 전용 -----------
+    private final int[] lines = new int[MAX_LINES];
+    private int lineCount;
+    private volatile long capDrops;                  // 10줄 제한을 넘어 버린 줄 수
+
+
+    public AdderBoardSync(GameBoard gameBoardRef) {
+        this.gameBoardRef = gameBoardRef;
+    }
+
+    /**
+     * 생산자: 공격 라인 한 줄을 링에 씁니다. publish()를 호출해야 소비자에게 보입니다.
+     * 공격 한 번을 다른 생산자와 섞이지 않게 넣으려면 synchronized (this) 안에서 offerLine()과 publish()를 호출합니다.
+     *
+     * @return 링이 가득 차 버렸으면 false (버린 줄로 집계)
+     */
+    public synchronized boolean offerLine(int holeMask) {
+        if (writeIndex - head.get() >= RING_CAPACITY) {
+            ringDrops++;
+            return false;
+        }
+        ring[(int) (writeIndex++ & RING_MASK)] = holeMask & GarbageLine.ALL_HOLES;
+        return true;
+    }
+
+    /**
+     * 생산자: 지금까지 offerLine()으로 채운 줄들을 소비자에게 공개합니다. (공격 한 번 단위로 호출)
+     */
+    public synchronized void publish() {
+        tail.lazySet(writeIndex);
+    }
+
+    /**
+     * 이미 디코딩된 공격 라인을 한 번에 링에 넣고 공개합니다.
+     */
+    public synchronized void enqueueLines(int[] holeMasks) {
+        for (int mask : holeMasks) {
+            offerLine(mask);
+        }
+        publish();
+    }
+
+    public boolean isEmpty() {
+        return lineCount == 0;
+    }
+
+    /**
+     * 소비자(게임 스레드): 링에 공개된 줄을 대기 목록으로 옮깁니다. 최대 10줄, 초과분은 버립니다.
+     */
+    public void consumeIfExists() {
+        long end = tail.get();
+        long start = head.get();
+        if (start == end)
+            return ;
+
+        for (long i = start; i < end; i++) {
+            if (lineCount < MAX_LINES) {
+                lines[lineCount++] = ring[(int) (i & RING_MASK)];
+            } else {
+                capDrops++;
+            }
+        }
+        head.lazySet(end);
+    }
+
+    public void applyToBoard() {
+        GarbageLine.insert(gameBoardRef, lines, lineCount);
+        lineCount = 0;
+    }
+
+    /**
+     * 대기 중인 줄의 구멍 마스크 (앞쪽 getLineCount()개만 유효, 게임 스레드에서 읽기 전용)
+     */
+    public int[] getHoleMasks() {
+        return lines;
+    }
+
+    /**
+     * 링에서 아직 소비되지 않은 줄 수
+     */
+    public int getQueueDepth() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * 보드에 적용 대기 중인 줄 수 (최대 10)
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * 링이 가득 찼거나 10줄 제한을 넘어 버려진 줄 수
+     */
+    public long getDroppedLines() {
+        return ringDrops + capDrops;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.model;
+import java.util.List;
+
+
+/**
+ * GameBoard의 상태를 저장하는 스냅샷 클래스.
+ * 버퍼존을 제외한 보이는 영역만 저장합니다.
+ *
+ * 공격 라인을 만드는 데만 쓰이므로 칸의 색상 대신 줄마다 구멍 마스크(GarbageLine)만 저장합니다.
+ */
+public class BoardSnapshot {
+    private final int[] holeMasks;
+    private final int height;
+
+    /**
+     * GameBoard에서 버퍼존을 제외한 영역을 복사하여 스냅샷을 생성합니다.
+     *
+     * @param gameBoard 스냅샷을 생성할 GameBoard
+     */
+    public BoardSnapshot(GameBoard gameBoard) {
+        this.height = GameBoard.HEIGHT;
+        this.holeMasks = new int[height];
+        for (int row = 0; row < height; row++) {
+            int mask = 0;
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                // 0과 -1(삭제 표시)은 구멍으로 처리
+                if (gameBoard.getCellColor(row + GameBoard.BUFFER_ZONE, col) <= 0) {
+                    mask |= 1 << col;
+                }
+            }
+            holeMasks[row] = mask;
+        }
+    }
+
+    /**
+     * 주어진 인덱스 리스트의 라인들을 구멍 마스크로 반환합니다.
+     *
+     * @param lineIndices 가져올 라인의 인덱스 리스트 (0부터 시작)
+     * @return 줄마다 구멍 마스크 (범위 밖 인덱스는 ALL_HOLES)
+     */
+    public int[] getHoleMasks(List<Integer> lineIndices) {
+        int[] result = new int[lineIndices.size()];
+
+        for (int i = 0; i < lineIndices.size(); i++) {
+            int lineIndex = lineIndices.get(i);
+            result[i] = lineIndex >= 0 && lineIndex < height ? holeMasks[lineIndex] : GarbageLine.ALL_HOLES;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,407 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+public class GameBoard {
+    public static final int WIDTH = 10;
+    public static final int HEIGHT = 20;
+    public static final int BUFFER_ZONE = 4; // Extra rows above visible area
+    public static final int CLEAR_MARK = -1; // pending clear mark
+    protected static final int FULL_ROW_BITS = (1 << WIDTH) - 1;
+
+    protected final int[][] board;
+    // 삭제 대기 마스크: clearMask[row]의 bit c = (row, c)가 CLEAR_MARK
+    // 여러 효과가 겹쳐도 OR로 합쳐지고, 대기 시간이 끝나면 한 번의 압축으로 적용됨
+    protected final int[] clearMask;
+    protected long pendingClearDueMs = 0L;
+    protected final LongSupplier clock; // 지연 삭제 시각 계산용 (밀리초)
+    // 보이는 영역의 증분 해시 (Zobrist 방식, 칸을 쓸 때마다 갱신 - 상대 화면과의 불일치 검출용)
+    // rowHashes[row] = 그 줄 칸 키의 XOR, boardHash = 보이는 줄마다 rowKey(줄 번호, rowHashes)의 XOR
+    // 줄 단위로 한 번 더 섞으므로 줄이 내려와도 전체를 다시 훑지 않고 줄 해시만 옮기면 됨
+    private final long[] rowHashes = new long[HEIGHT + BUFFER_ZONE];
+    private long boardHash;
+
+    public GameBoard() {
+        this(System::currentTimeMillis);
+    }
+
+    public GameBoard(LongSupplier clock) {
+        this.board = new int[HEIGHT + BUFFER_ZONE][WIDTH];
+        this.clearMask = new int[HEIGHT + BUFFER_ZONE];
+        this.clock = clock;
+    }
+
+    public boolean isValidPosition(TetrominoPosition position) {
+        int[][] shape = position.getCurrentShape();
+        int startX = position.getX();
+        int startY = position.getY();
+
+        for (int row = 0; row < shape.length; row++) {
+            for (int col = 0; col < shape[row].length; col++) {
+                if (shape[row][col] == 1) {
+                    int boardX = startX + col;
+                    int boardY = startY + row;
+
+                    if (boardX < 0 || boardX >= WIDTH ||
+                        boardY >= HEIGHT + BUFFER_ZONE ||
+                        (boardY >= 0 && board[boardY][boardX] != 0)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    public void placeTetromino(TetrominoPosition position) {
+        int[][] shape = position.getCurrentShape();
+        int startX = position.getX();
+        int startY = position.getY();
+        int color = position.getType().getColorIndex();
+
+        for (int row = 0; row < shape.length; row++) {
+            for (int col = 0; col < shape[row].length; col++) {
+                if (shape[row][col] == 1) {
+                    int boardX = startX + col;
+                    int boardY = startY + row;
+                    if (boardY >= 0 && boardY < HEIGHT + BUFFER_ZONE &&
+                        boardX >= 0 && boardX < WIDTH) {
+                        putCell(boardY, boardX, color);
+                        clearMask[boardY] &= ~(1 << boardX);
+                    }
+                }
+            }
+        }
+    }
+
+    public int clearLines() {
+        int linesCleared = 0;
+        long now = clock.getAsLong();
+        for (int row = HEIGHT + BUFFER_ZONE - 1; row >= 0; row--) {
+            if (isLineFull(row)) {
+                // mark entire row for clear and schedule
+                for (int col = 0; col < WIDTH; col++) {
+                    putCell(row, col, CLEAR_MARK);
+                }
+                clearMask[row] = FULL_ROW_BITS;
+                linesCleared++;
+                schedulePendingClear(now + 500);
+            }
+        }
+        return linesCleared;
+    }
+    
+    public void playClearLineEffect(int min_x, int min_y, int max_x, int max_y) {
+        // Clamp to board bounds and mark cells for white flash
+        int clampedMinX = Math.max(0, Math.min(WIDTH - 1, min_x));
+        int clampedMaxX = Math.max(0, Math.min(WIDTH - 1, max_x));
+        int clampedMinY = Math.max(0, Math.min(HEIGHT + BUFFER_ZONE - 1, min_y));
+        int clampedMaxY = Math.max(0, Math.min(HEIGHT + BUFFER_ZONE - 1, max_y));
+        int columns = ((1 << (clampedMaxX + 1)) - 1) & ~((1 << clampedMinX) - 1);
+        for (int y = clampedMinY; y <= clampedMaxY; y++) {
+            for (int x = clampedMinX; x <= clampedMaxX; x++) {
+                putCell(y, x, CLEAR_MARK);
+            }
+            clearMask[y] |= columns;
+        }
+        schedulePendingClear(clock.getAsLong() + 500);
+    }
+
+    private void schedulePendingClear(long dueMs) {
+        if (pendingClearDueMs == 0L || dueMs < pendingClearDueMs) {
+            pendingClearDueMs = dueMs;
+        }
+    }
+
+    public void processPendingClearsIfDue() {
+        if (pendingClearDueMs == 0L) return;
+        long now = clock.getAsLong();
+        if (now < pendingClearDueMs) return;
+
+        // 한 번의 아래→위 압축: 전부 표시된 줄은 건너뛰고, 일부 표시된 칸은 비운 뒤 내려 씀
+        int removedRows = 0;
+        int write = HEIGHT + BUFFER_ZONE - 1;
+        for (int read = HEIGHT + BUFFER_ZONE - 1; read >= 0; read--) {
+            int marked = clearMask[read];
+            if (marked == FULL_ROW_BITS) {
+                removedRows |= 1 << read;
+                continue;
+            }
+            for (int bits = marked; bits != 0; bits &= bits - 1) {
+                putCell(read, Integer.numberOfTrailingZeros(bits), 0);
+            }
+            if (write != read) {
+                System.arraycopy(board[read], 0, board[write], 0, WIDTH);
+                rowHashes[write] = rowHashes[read];
+            }
+            write--;
+        }
+        for (; write >= 0; write--) {
+            Arrays.fill(board[write], 0);
+            rowHashes[write] = 0L;
+        }
+        Arrays.fill(clearMask, 0);
+        recomputeBoardHash();
+
+        if (removedRows != 0) {
+            onRowsRemoved(removedRows);
+        }
+        pendingClearDueMs = 0L;
+    }
+
+    private boolean isLineFull(int row) {
+        for (int col = 0; col < WIDTH; col++) {
+            if (board[row][col] == 0) {
+                return false;
+            }
+        }
+        return !isRowMarkedForClear(row);
+    }
+
+    /**
+     * 이미 삭제 대기 중(전체 CLEAR_MARK)인 줄인지 확인합니다.
+     * 500ms 대기 중에 다음 블록이 놓여도 같은 줄을 다시 세지 않기 위해 사용합니다.
+     */
+    protected boolean isRowMarkedForClear(int row) {
+        return clearMask[row] == FULL_ROW_BITS;
+    }
+
+    /**
+     * 삭제 대기 중인 전체 줄의 비트마스크 (bit r = 절대 좌표 r행)
+     */
+    public int getPendingFullRowMask() {
+        int mask = 0;
+        for (int row = 0; row < HEIGHT + BUFFER_ZONE; row++) {
+            if (clearMask[row] == FULL_ROW_BITS) mask |= 1 << row;
+        }
+        return mask;
+    }
+
+    /**
+     * 해당 줄의 삭제 대기(CLEAR_MARK) 칸 비트마스크
+     */
+    public int getPendingClearMask(int row) {
+        return clearMask[row];
+    }
+
+    /**
+     * 지연 삭제 예정 시각 (대기 중인 삭제가 없으면 0)
+     */
+    public long getPendingClearDueMs() {
+        return pendingClearDueMs;
+    }
+
+    /**
+     * 지연 삭제로 removedRows의 줄들이 빠지고 그 위 줄들이 내려온 뒤 호출됩니다.
+     * 보드와 함께 움직여야 하는 부가 정보가 있는 하위 클래스에서 재정의합니다.
+     */
+    protected void onRowsRemoved(int removedRows) {
+    }
+
+    /**
+     * 모든 줄을 count줄 위로 올리고 맨 아래 count줄을 비웁니다. (공격 라인 삽입용)
+     * 맨 위 count줄은 밀려 사라지며, 삭제 대기 마스크와 줄 해시도 줄과 함께 옮깁니다.
+     */
+    public void shiftRowsUp(int count) {
+        int rows = HEIGHT + BUFFER_ZONE;
+        count = Math.min(count, rows);
+        if (count <= 0) {
+            return;
+        }
+        for (int row = 0; row < rows - count; row++) {
+            System.arraycopy(board[row + count], 0, board[row], 0, WIDTH);
+        }
+        for (int row = rows - count; row < rows; row++) {
+            Arrays.fill(board[row], 0);
+        }
+        System.arraycopy(clearMask, count, clearMask, 0, rows - count);
+        Arrays.fill(clearMask, rows - count, rows, 0);
+        System.arraycopy(rowHashes, count, rowHashes, 0, rows - count);
+        Arrays.fill(rowHashes, rows - count, rows, 0L);
+        recomputeBoardHash();
+        onRowsShiftedUp(count);
+    }
+
+    /**
+     * shiftRowsUp()으로 비운 줄을 한 번에 채웁니다. 구멍 마스크의 bit c가 1인 칸은 비우고 나머지는 color로 채웁니다.
+     * 빈 줄에만 호출합니다. (color는 아이템이 아닌 일반 색)
+     */
+    public void fillEmptyRow(int row, int holeMask, int color) {
+        long rowHash = 0L;
+        int[] cells = board[row];
+        for (int col = 0; col < WIDTH; col++) {
+            if ((holeMask & (1 << col)) == 0) {
+                cells[col] = color;
+                rowHash ^= cellKey(col, color);
+            }
+        }
+        rowHashes[row] = rowHash;
+        if (row >= BUFFER_ZONE) {
+            boardHash ^= rowKey(row - BUFFER_ZONE, rowHash);
+        }
+    }
+
+    /**
+     * shiftRowsUp()으로 줄들이 count줄 올라간 뒤 호출됩니다.
+     * 보드와 함께 움직여야 하는 부가 정보가 있는 하위 클래스에서 재정의합니다.
+     */
+    protected void onRowsShiftedUp(int count) {
+    }
+
+    /**
+     * 셀에 값을 직접 쓴 뒤 삭제 대기 마스크를 셀 값과 맞춥니다.
+     */
+    protected final void syncClearBit(int row, int col, int value) {
+        if (value == CLEAR_MARK) {
+            clearMask[row] |= 1 << col;
+        } else {
+            clearMask[row] &= ~(1 << col);
+        }
+    }
+
+    public int[][] getCompressedBoard() {
+        int[][] compressed = new int[HEIGHT][WIDTH];
+        for (int i = 0; i < HEIGHT; i++) {
+            compressed[i] = Arrays.copyOf(board[i + BUFFER_ZONE], board[i + BUFFER_ZONE].length);
+        }
+        return compressed;
+    }
+    
+    public int[][] getVisibleBoard() {
+        int[][] visible = new int[HEIGHT][WIDTH];
+        System.arraycopy(board, BUFFER_ZONE, visible, 0, HEIGHT);
+        return visible;
+    }
+
+    public int getCellColor(int row, int col) {
+        if (row >= 0 && row < HEIGHT + BUFFER_ZONE && col >= 0 && col < WIDTH) {
+            return board[row][col];
+        }
+        return 0;
+    }
+    
+    public void setCellColor(int row, int col, int color) {
+        if (row >= 0 && row < HEIGHT + BUFFER_ZONE && col >= 0 && col < WIDTH) {
+            putCell(row, col, color);
+            syncClearBit(row, col, color);
+        }
+    }
+
+    public boolean isGameOver() {
+        // Check if any blocks exist in the buffer zone (invisible top area)
+        for (int row = 0; row < BUFFER_ZONE; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                if (board[row][col] != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        for (int row = 0; row < HEIGHT + BUFFER_ZONE; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                board[row][col] = 0;
+            }
+        }
+        Arrays.fill(clearMask, 0);
+        Arrays.fill(rowHashes, 0L);
+        boardHash = 0L;
+    }
+
+    /**
+     * 다른 보드의 칸과 삭제 대기 상태를 그대로 복사합니다. (롤백용, 할당 없음)
+     */
+    public void copyFrom(GameBoard other) {
+        for (int row = 0; row < HEIGHT + BUFFER_ZONE; row++) {
+            System.arraycopy(other.board[row], 0, board[row], 0, WIDTH);
+        }
+        System.arraycopy(other.clearMask, 0, clearMask, 0, clearMask.length);
+        System.arraycopy(other.rowHashes, 0, rowHashes, 0, rowHashes.length);
+        boardHash = other.boardHash;
+        pendingClearDueMs = other.pendingClearDueMs;
+    }
+
+    // ----------- 보드 해시 -----------
+
+    /**
+     * 보이는 영역(getCompressedBoard())의 해시. 같은 칸 값이면 hashOf()와 같고, 빈 보드는 0입니다.
+     * 다른 스레드에서 읽을 때는 getCompressedBoard() 앞뒤로 읽어 값이 같을 때만 그 보드의 해시로 씁니다.
+     */
+    public long getBoardHash() {
+        return boardHash;
+    }
+
+    /**
+     * 보이는 영역 int[HEIGHT][WIDTH]의 해시를 처음부터 계산합니다. (받은 보드 검증용)
+     */
+    public static long hashOf(int[][] visible) {
+        long hash = 0L;
+        for (int row = 0; row < HEIGHT; row++) {
+            long rowHash = 0L;
+            for (int col = 0; col < WIDTH; col++) {
+                rowHash ^= cellKey(col, visible[row][col]);
+            }
+            hash ^= rowKey(row, rowHash);
+        }
+        return hash;
+    }
+
+    /**
+     * 칸 값을 쓰면서 해시를 갱신합니다. (범위 검사와 삭제 대기 마스크는 호출자 책임)
+     * 하위 클래스도 board를 바꿀 때는 이 메서드로 씁니다.
+     */
+    protected final void putCell(int row, int col, int value) {
+        int old = board[row][col];
+        if (old == value) {
+            return;
+        }
+        board[row][col] = value;
+        long oldRow = rowHashes[row];
+        long newRow = oldRow ^ cellKey(col, old) ^ cellKey(col, value);
+        rowHashes[row] = newRow;
+        if (row >= BUFFER_ZONE) {
+            boardHash ^= rowKey(row - BUFFER_ZONE, oldRow) ^ rowKey(row - BUFFER_ZONE, newRow);
+        }
+    }
+
+    private void recomputeBoardHash() {
+        long hash = 0L;
+        for (int row = BUFFER_ZONE; row < HEIGHT + BUFFER_ZONE; row++) {
+            hash ^= rowKey(row - BUFFER_ZONE, rowHashes[row]);
+        }
+        boardHash = hash;
+    }
+
+    // 빈 칸/빈 줄의 키는 0 (빈 보드 해시 = 0)
+    private static long cellKey(int col, int value) {
+        return value == 0 ? 0L : mix(((long) value << 4) | col);
+    }
+
+    private static long rowKey(int visibleRow, long rowHash) {
+        return rowHash == 0L ? 0L : mix(rowHash + (visibleRow + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    // splitmix64 마무리 함수
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 보드의 특정 위치에 있는 아이템 정보를 반환합니다.
+     *
+     * @param row 행 (절대 좌표)
+     * @param col 열 (절대 좌표)
+     * @return 해당 위치의 아이템 (없으면 ItemBlock.NONE)
+     */
+    public ItemBlock getItemAt(int row, int col) {
+        if (row >= 0 && row < HEIGHT + BUFFER_ZONE && col >= 0 && col < WIDTH) {
+            return ItemBlock.fromSymbol(board[row][col]);
+        }
+        return ItemBlock.NONE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package org.example.model;
+
+/**
+ * 공격(쓰레기) 라인 표현 규칙
+ *
+ * 공격 라인은 회색(8번) 블럭과 구멍으로만 이루어지므로 한 줄을 10비트 구멍 마스크로 다룹니다.
+ * 비트 c가 1이면 c번 열이 구멍(빈 칸), 0이면 회색 블럭입니다.
+ * 생성(BoardSnapshot), 저장(AdderBoard/AdderBoardSync), 전송(BoardSyncCodec),
+ * 보드 삽입, 그리기(AdderCanvas)까지 모두 이 마스크를 그대로 사용합니다.
+ */
+public final class GarbageLine {
+
+    public static final int COLOR = 8;                                // 회색
+    public static final int ALL_HOLES = (1 << GameBoard.WIDTH) - 1;   // 전부 빈 줄
+
+    private GarbageLine() {}
+
+    /**
+     * 색상 줄을 구멍 마스크로 변환합니다. (0 이하의 값은 구멍)
+     */
+    public static int holeMaskOf(int[] row) {
+        int mask = 0;
+        for (int col = 0; col < GameBoard.WIDTH; col++) {
+            if (row[col] <= 0) {
+                mask |= 1 << col;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * col 열이 회색 블럭이면 true
+     */
+    public static boolean isBlock(int holeMask, int col) {
+        return (holeMask & (1 << col)) == 0;
+    }
+
+    /**
+     * 구멍 마스크를 색상 줄로 펼칩니다. (표시/디버그용)
+     */
+    public static int[] toRow(int holeMask) {
+        int[] row = new int[GameBoard.WIDTH];
+        for (int col = 0; col < GameBoard.WIDTH; col++) {
+            row[col] = isBlock(holeMask, col) ? COLOR : 0;
+        }
+        return row;
+    }
+
+    /**
+     * 보드의 블럭을 count줄만큼 위로 올리고 맨 아래부터 공격 라인을 채웁니다.
+     * masks[0]이 위쪽, masks[count-1]이 맨 아래 줄이 됩니다.
+     */
+    public static void insert(GameBoard board, int[] masks, int count) {
+        int totalHeight = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE;
+
+        // 줄 단위 복사로 기존 블럭들을 올리고, 비워진 아래 줄을 마스크로 채움
+        board.shiftRowsUp(count);
+        for (int i = 0; i < count; i++) {
+            int targetRow = totalHeight - count + i;
+            if (targetRow >= GameBoard.BUFFER_ZONE) {
+                board.fillEmptyRow(targetRow, masks[i] & ALL_HOLES, COLOR);
+            }
+        }
+    }
+}
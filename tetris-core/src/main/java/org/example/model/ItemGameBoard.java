@@ -0,0 +1,452 @@
+package org.example.model;
+
+import java.util.function.LongSupplier;
+
+public class ItemGameBoard extends GameBoard {
+
+    private static final int ROWS = HEIGHT + BUFFER_ZONE;
+    private static final int ITEM_KINDS = 5; // L, I, X, W, B (ItemBlock.ordinal 순서)
+
+    // 아이템 칸 위치 인덱스: itemMasks[kind][row]의 bit c = (row, c)에 해당 아이템 존재
+    // 보드를 쓰는 모든 경로에서 함께 갱신되므로 아이템 처리 시 240칸을 훑지 않아도 됨
+    private final int[][] itemMasks = new int[ITEM_KINDS][ROWS];
+    private final int[] itemCounts = new int[ITEM_KINDS];
+    // applyWeightAndBombEffects용 스냅샷 버퍼 (재사용)
+    private final int[] weightSnapshot = new int[ROWS];
+    private final int[] bombSnapshot = new int[ROWS];
+
+    public ItemGameBoard() {
+        super();
+    }
+
+    public ItemGameBoard(LongSupplier clock) {
+        super(clock);
+    }
+
+    @Override
+    public void placeTetromino(TetrominoPosition position) {
+        int[][] shape = position.getCurrentShape();
+        int startX = position.getX();
+        int startY = position.getY();
+        int color = position.getType().getColorIndex();
+
+        for (int row = 0; row < shape.length; row++) {
+            for (int col = 0; col < shape[row].length; col++) {
+                if (shape[row][col] == 1) {
+                    int boardX = startX + col;
+                    int boardY = startY + row;
+                    if (boardY >= 0 && boardY < HEIGHT + BUFFER_ZONE &&
+                            boardX >= 0 && boardX < WIDTH) {
+                        // 아이템이 있으면 아이템 char 값을 저장, 없으면 색상 인덱스 저장
+                        ItemBlock item = position.getItemAt(row, col);
+                        if (item != null && item.isItem()) {
+                            writeCell(boardY, boardX, item.getSymbol());
+                        } else {
+                            writeCell(boardY, boardX, color);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * LINE_CLEAR 아이템이 있는 모든 줄을 찾아서 한 번에 삭제합니다.
+     *
+     * @return int[] [0]=전체 삭제 줄 수, [1]=아이템으로 인한 삭제 줄 수
+     */
+    public int[] clearLinesWithItems() {
+        int itemRows = getItemRowMask(ItemBlock.LINE_CLEAR);
+        int rowsToClear = itemRows | getFullRowMask();
+        clearRows(rowsToClear);
+        return new int[]{Integer.bitCount(rowsToClear), Integer.bitCount(itemRows)};
+    }
+
+    /**
+     * rowMask의 bit가 켜진 줄을 모두 삭제 대기 상태로 표시합니다.
+     *
+     * @return 표시한 줄 수
+     */
+    public int clearRows(int rowMask) {
+        for (int bits = rowMask; bits != 0; bits &= bits - 1) {
+            clearLineWithItems(Integer.numberOfTrailingZeros(bits));
+        }
+        return Integer.bitCount(rowMask);
+    }
+
+    /**
+     * COLUMN_CLEAR 아이템이 있는 모든 열을 찾아서 한 번에 삭제합니다.
+     */
+    public int clearColumnsWithItems() {
+        int columnsToClear = getItemColumnMask(ItemBlock.COLUMN_CLEAR);
+        for (int bits = columnsToClear; bits != 0; bits &= bits - 1) {
+            clearColumnWithItems(Integer.numberOfTrailingZeros(bits));
+        }
+        return Integer.bitCount(columnsToClear);
+    }
+
+    /**
+     * CROSS_CLEAR 아이템이 있는 위치의 가로줄과 세로줄을 모두 삭제합니다.
+     */
+    public int clearCrossesWithItems() {
+        int rowsToClear = getItemRowMask(ItemBlock.CROSS_CLEAR);
+        int columnsToClear = getItemColumnMask(ItemBlock.CROSS_CLEAR);
+
+        int crossesCleared = Integer.bitCount(rowsToClear) + Integer.bitCount(columnsToClear);
+
+        // 열 삭제 먼저
+        for (int bits = columnsToClear; bits != 0; bits &= bits - 1) {
+            clearColumnWithItems(Integer.numberOfTrailingZeros(bits));
+        }
+
+        // 줄 삭제 (아래에서 위로)
+        for (int bits = rowsToClear; bits != 0; bits &= ~Integer.highestOneBit(bits)) {
+            clearLineWithItems(31 - Integer.numberOfLeadingZeros(bits));
+        }
+
+        return crossesCleared;
+    }
+
+    /**
+     * WEIGHT, BOMB와 같은 특수 아이템의 효과를 즉시 적용합니다.
+     */
+    public void applyWeightAndBombEffects() {
+        int weight = ItemBlock.WEIGHT.ordinal();
+        int bomb = ItemBlock.BOMB.ordinal();
+        if (itemCounts[weight] == 0 && itemCounts[bomb] == 0) {
+            return;
+        }
+
+        // 현재 아이템 위치를 스냅샷으로 복사해 순회 중 변경으로부터 보호
+        System.arraycopy(itemMasks[weight], 0, weightSnapshot, 0, ROWS);
+        System.arraycopy(itemMasks[bomb], 0, bombSnapshot, 0, ROWS);
+
+        for (int row = 0; row < ROWS; row++) {
+            for (int bits = weightSnapshot[row] | bombSnapshot[row]; bits != 0; bits &= bits - 1) {
+                int col = Integer.numberOfTrailingZeros(bits);
+                if ((weightSnapshot[row] & (1 << col)) != 0) {
+                    applyWeightEffect(row, col);
+                } else {
+                    applyBombEffect(row, col);
+                }
+                writeCell(row, col, 0); // 일회성 처리 후 제거
+            }
+        }
+    }
+
+    /**
+     * 해당 아이템이 있는 줄의 비트마스크 (bit r = 절대 좌표 r행)
+     */
+    public int getItemRowMask(ItemBlock item) {
+        int kind = item.ordinal();
+        if (kind >= ITEM_KINDS || itemCounts[kind] == 0) return 0;
+        int mask = 0;
+        int[] rows = itemMasks[kind];
+        for (int row = 0; row < ROWS; row++) {
+            if (rows[row] != 0) mask |= 1 << row;
+        }
+        return mask;
+    }
+
+    /**
+     * 해당 아이템이 있는 열의 비트마스크 (bit c = c열)
+     */
+    public int getItemColumnMask(ItemBlock item) {
+        int kind = item.ordinal();
+        if (kind >= ITEM_KINDS || itemCounts[kind] == 0) return 0;
+        int mask = 0;
+        int[] rows = itemMasks[kind];
+        for (int row = 0; row < ROWS; row++) {
+            mask |= rows[row];
+        }
+        return mask;
+    }
+
+    /**
+     * 가득 찬 줄(이미 삭제 대기 중인 줄 제외)의 비트마스크
+     */
+    public int getFullRowMask() {
+        int mask = 0;
+        for (int row = 0; row < ROWS; row++) {
+            if (isLineFull(row)) mask |= 1 << row;
+        }
+        return mask;
+    }
+
+    /**
+     * 보드에 남아있는 해당 아이템 칸 수
+     */
+    public int getItemCount(ItemBlock item) {
+        int kind = item.ordinal();
+        return kind < ITEM_KINDS ? itemCounts[kind] : 0;
+    }
+
+    private void applyWeightEffect(int startRow, int startCol) {
+        int endRow = HEIGHT + BUFFER_ZONE - 1;
+        int left = Math.max(0, startCol);
+        int right = Math.min(WIDTH - 1, startCol + 3);
+
+        clearRange(Math.max(0, startRow), endRow, left, right);
+    }
+
+    private void applyBombEffect(int topLeftRow, int topLeftCol) {
+        int rStart = Math.max(0, topLeftRow - 2);
+        int rEnd = Math.min(HEIGHT + BUFFER_ZONE - 1, topLeftRow + 3);
+        int cStart = Math.max(0, topLeftCol - 2);
+        int cEnd = Math.min(WIDTH - 1, topLeftCol + 3);
+
+        playClearLineEffect(cStart, rStart, cEnd, rEnd);
+    }
+
+    public void triggerBombAt(int topLeftRowOf2x2, int topLeftColOf2x2) {
+        applyBombEffect(topLeftRowOf2x2, topLeftColOf2x2);
+    }
+
+    public void triggerWeightEffect(int weightTopRow, int weightStartCol, int[][] weightShape) {
+        int weightHeight = weightShape.length;
+        int weightWidth = weightShape[0].length;
+
+        int left = Math.max(0, weightStartCol);
+        int right = Math.min(WIDTH - 1, weightStartCol + weightWidth - 1);
+
+        // 무게추 아래의 모든 블록을 제거
+        clearRange(Math.max(0, weightTopRow), HEIGHT + BUFFER_ZONE - 1, left, right);
+
+        // 무게추를 바닥에 배치 + WEIGHT 아이템 정보 저장
+        int bottomRow = HEIGHT + BUFFER_ZONE - 1;
+
+        for (int r = 0; r < weightHeight; r++) {
+            int targetRow = bottomRow - (weightHeight - 1 - r);
+            if (targetRow >= 0 && targetRow < HEIGHT + BUFFER_ZONE) {
+                for (int c = 0; c < weightWidth; c++) {
+                    int targetCol = weightStartCol + c;
+                    if (targetCol >= 0 && targetCol < WIDTH && weightShape[r][c] != 0) {
+                        writeCell(targetRow, targetCol, 'W'); // WEIGHT char 값 저장
+                    }
+                }
+            }
+        }
+    }
+
+    public void clearWeight(int weightStartCol, int[][] weightShape) {
+        int weightHeight = weightShape.length;
+        int weightWidth = weightShape[0].length;
+        int bottomRow = HEIGHT + BUFFER_ZONE - 1;
+
+        for (int r = 0; r < weightHeight; r++) {
+            int targetRow = bottomRow - (weightHeight - 1 - r);
+            if (targetRow >= 0 && targetRow < HEIGHT + BUFFER_ZONE) {
+                for (int c = 0; c < weightWidth; c++) {
+                    int targetCol = weightStartCol + c;
+                    if (targetCol >= 0 && targetCol < WIDTH && weightShape[r][c] != 0) {
+                        writeCell(targetRow, targetCol, 0);
+                    }
+                }
+            }
+        }
+    }
+
+    public void clearWeightStep(int currentRow, int startCol, int width) {
+        if (currentRow < 0 || currentRow >= HEIGHT + BUFFER_ZONE) return;
+
+        int left = Math.max(0, startCol);
+        int right = Math.min(WIDTH - 1, startCol + width - 1);
+        if (left > right) return;
+
+        clearRange(currentRow, currentRow, left, right);
+    }
+
+    private boolean isLineFull(int row) {
+        for (int col = 0; col < WIDTH; col++) {
+            if (board[row][col] == 0) {
+                return false;
+            }
+        }
+        return !isRowMarkedForClear(row);
+    }
+
+    private void clearLineWithItems(int lineIndex) {
+        playClearLineEffect(0, lineIndex, WIDTH - 1, lineIndex);
+    }
+
+    private void clearColumnWithItems(int colIndex) {
+        playClearLineEffect(colIndex, BUFFER_ZONE, colIndex, HEIGHT + BUFFER_ZONE - 1);
+    }
+
+    @Override
+    protected void onRowsRemoved(int removedRows) {
+        // 아이템 인덱스도 보드와 같은 방식으로 압축 (삭제된 줄은 전부 CLEAR_MARK라 아이템 없음)
+        for (int[] rows : itemMasks) {
+            int write = ROWS - 1;
+            for (int read = ROWS - 1; read >= 0; read--) {
+                if ((removedRows & (1 << read)) == 0) {
+                    rows[write--] = rows[read];
+                }
+            }
+            for (; write >= 0; write--) {
+                rows[write] = 0;
+            }
+        }
+    }
+
+    @Override
+    protected void onRowsShiftedUp(int count) {
+        // 맨 위로 밀려난 줄의 아이템은 사라지고, 나머지 인덱스는 보드와 함께 올라감
+        for (int kind = 0; kind < ITEM_KINDS; kind++) {
+            int[] rows = itemMasks[kind];
+            for (int row = 0; row < count; row++) {
+                itemCounts[kind] -= Integer.bitCount(rows[row]);
+            }
+            System.arraycopy(rows, count, rows, 0, ROWS - count);
+            java.util.Arrays.fill(rows, ROWS - count, ROWS, 0);
+        }
+    }
+
+    public void setItemBlock(int row, int col, ItemBlock item) {
+        if (row >= 0 && row < HEIGHT + BUFFER_ZONE && col >= 0 && col < WIDTH) {
+            if (item == ItemBlock.NONE) {
+                writeCell(row, col, 0);
+            } else {
+                writeCell(row, col, item.getSymbol());
+            }
+        }
+    }
+
+    public ItemBlock getItemBlock(int row, int col) {
+        if (row >= 0 && row < HEIGHT + BUFFER_ZONE && col >= 0 && col < WIDTH) {
+            return ItemBlock.fromSymbol(board[row][col]);
+        }
+        return ItemBlock.NONE;
+    }
+
+    public void clearItemBlock(int row, int col) {
+        if (row >= 0 && row < HEIGHT + BUFFER_ZONE && col >= 0 && col < WIDTH) {
+            writeCell(row, col, 0);
+        }
+    }
+
+    @Override
+    public ItemBlock getItemAt(int row, int col) {
+        if (row >= 0 && row < HEIGHT + BUFFER_ZONE && col >= 0 && col < WIDTH) {
+            return ItemBlock.fromSymbol(board[row][col]);
+        }
+        return ItemBlock.NONE;
+    }
+
+    // ----------- 아이템 인덱스 유지 -----------
+
+    @Override
+    public void setCellColor(int row, int col, int color) {
+        if (row >= 0 && row < HEIGHT + BUFFER_ZONE && col >= 0 && col < WIDTH) {
+            writeCell(row, col, color);
+        }
+    }
+
+    @Override
+    public void playClearLineEffect(int min_x, int min_y, int max_x, int max_y) {
+        super.playClearLineEffect(min_x, min_y, max_x, max_y);
+        // CLEAR_MARK로 덮인 칸의 아이템은 사라짐
+        int minX = Math.max(0, Math.min(WIDTH - 1, min_x));
+        int maxX = Math.max(0, Math.min(WIDTH - 1, max_x));
+        int minY = Math.max(0, Math.min(ROWS - 1, min_y));
+        int maxY = Math.max(0, Math.min(ROWS - 1, max_y));
+        dropItemBits(minY, maxY, columnRange(minX, maxX));
+    }
+
+    @Override
+    public int clearLines() {
+        int cleared = super.clearLines();
+        if (cleared > 0) {
+            for (int row = 0; row < ROWS; row++) {
+                if (isRowMarkedForClear(row)) {
+                    dropItemBits(row, row, (1 << WIDTH) - 1);
+                }
+            }
+        }
+        return cleared;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        for (int[] rows : itemMasks) {
+            java.util.Arrays.fill(rows, 0);
+        }
+        java.util.Arrays.fill(itemCounts, 0);
+    }
+
+    /**
+     * 칸과 함께 아이템 인덱스도 복사합니다. (other도 ItemGameBoard여야 함)
+     */
+    @Override
+    public void copyFrom(GameBoard other) {
+        super.copyFrom(other);
+        ItemGameBoard source = (ItemGameBoard) other;
+        for (int kind = 0; kind < ITEM_KINDS; kind++) {
+            System.arraycopy(source.itemMasks[kind], 0, itemMasks[kind], 0, ROWS);
+        }
+        System.arraycopy(source.itemCounts, 0, itemCounts, 0, ITEM_KINDS);
+    }
+
+    /**
+     * 셀 값을 쓰면서 아이템 인덱스를 함께 갱신합니다. (범위 검사는 호출자 책임)
+     */
+    private void writeCell(int row, int col, int value) {
+        int oldKind = kindOf(board[row][col]);
+        if (oldKind >= 0) {
+            itemMasks[oldKind][row] &= ~(1 << col);
+            itemCounts[oldKind]--;
+        }
+        putCell(row, col, value);
+        syncClearBit(row, col, value);
+        int newKind = kindOf(value);
+        if (newKind >= 0) {
+            itemMasks[newKind][row] |= 1 << col;
+            itemCounts[newKind]++;
+        }
+    }
+
+    /**
+     * [top, bottom] x [left, right] 영역을 빈 칸으로 만듭니다.
+     */
+    private void clearRange(int top, int bottom, int left, int right) {
+        if (left > right) return;
+        int columns = columnRange(left, right);
+        for (int row = top; row <= bottom; row++) {
+            for (int col = left; col <= right; col++) {
+                putCell(row, col, 0);
+            }
+            clearMask[row] &= ~columns;
+        }
+        dropItemBits(top, bottom, columns);
+    }
+
+    private void dropItemBits(int top, int bottom, int columnMask) {
+        for (int kind = 0; kind < ITEM_KINDS; kind++) {
+            if (itemCounts[kind] == 0) continue;
+            int[] rows = itemMasks[kind];
+            for (int row = top; row <= bottom; row++) {
+                int removed = rows[row] & columnMask;
+                if (removed != 0) {
+                    rows[row] &= ~removed;
+                    itemCounts[kind] -= Integer.bitCount(removed);
+                }
+            }
+        }
+    }
+
+    private static int columnRange(int left, int right) {
+        return ((1 << (right + 1)) - 1) & ~((1 << left) - 1);
+    }
+
+    private static int kindOf(int value) {
+        return switch (value) {
+            case 'L' -> 0;
+            case 'I' -> 1;
+            case 'X' -> 2;
+            case 'W' -> 3;
+            case 'B' -> 4;
+            default -> -1;
+        };
+    }
+}
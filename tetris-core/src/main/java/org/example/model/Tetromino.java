@@ -1,7 +1,5 @@
 package org.example.model;
 
-import javafx.scene.paint.Color;
-
 public enum Tetromino {
     I(new int[][][]{
         {{0,0,0,0}, {1,1,1,1}, {0,0,0,0}, {0,0,0,0}},
@@ -62,10 +60,6 @@ public enum Tetromino {
         return rotations[idx];
     }
 
-    public Color getColor() {
-        return org.example.service.ColorManager.getInstance().getColorFromIndex(ordinal() + 1);
-    }
-
     public int getColorIndex() {
         return ordinal() + 1;
     }
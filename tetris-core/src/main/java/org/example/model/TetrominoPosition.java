@@ -9,8 +9,7 @@ public class TetrominoPosition {
     // 커스텀(아이템 전용) 테트로미노 지원
     private int[][] customShape;     // 회전 무시, 현재 회전에 관계없이 이 shape 사용
     private boolean rotationLocked;  // 회전 금지 여부
-    private javafx.scene.paint.Color customColor; // 표시용 색상 (null이면 기본 Tetromino 색)
-    private SpecialKind specialKind = SpecialKind.NONE; // 특수 동작 구분
+    private SpecialKind specialKind = SpecialKind.NONE; // 특수 동작 구분 (표시 색상도 이 값으로 결정)
 
     public TetrominoPosition(Tetromino type, int x, int y, int rotation) {
         this.type = type;
@@ -21,7 +20,6 @@ public class TetrominoPosition {
         this.itemType = ItemBlock.NONE;
         this.customShape = null;
         this.rotationLocked = false;
-        this.customColor = null;
     }
     
     private TetrominoPosition(Tetromino type, int x, int y, int rotation, Integer itemBlockIndex, ItemBlock itemType) {
@@ -57,7 +55,6 @@ public class TetrominoPosition {
         TetrominoPosition cp = new TetrominoPosition(type, x, y, rotation, itemBlockIndex, itemType);
         cp.customShape = this.customShape;
         cp.rotationLocked = this.rotationLocked;
-        cp.customColor = this.customColor;
         cp.specialKind = this.specialKind;
         return cp;
     }
@@ -157,6 +154,13 @@ public class TetrominoPosition {
         return itemBlockIndex;
     }
 
+    /**
+     * 부착된 아이템 타입을 반환 (아이템이 없으면 NONE)
+     */
+    public ItemBlock getItemType() {
+        return itemType;
+    }
+
     // ====== 아이템 테트로미노 생성기 ======
     public static TetrominoPosition createWeightPiece(int x, int y) {
         TetrominoPosition p = new TetrominoPosition(Tetromino.O, x, y, 0);
@@ -168,7 +172,6 @@ public class TetrominoPosition {
             {1,1,1,1}
         };
         p.rotationLocked = true;
-        p.customColor = javafx.scene.paint.Color.GOLD;
         p.specialKind = SpecialKind.WEIGHT;
         return p;
     }
@@ -181,7 +184,6 @@ public class TetrominoPosition {
             {1,1}
         };
         p.rotationLocked = true;
-        p.customColor = javafx.scene.paint.Color.ORANGERED;
         p.specialKind = SpecialKind.BOMB;
         return p;
     }
@@ -190,10 +192,5 @@ public class TetrominoPosition {
     public boolean hasCustomShape() { return customShape != null; }
     public SpecialKind getSpecialKind() { return specialKind; }
 
-    public javafx.scene.paint.Color getDisplayColor(org.example.service.ColorManager cm) {
-        if (customColor != null) return customColor;
-        return type.getColor();
-    }
-
     public enum SpecialKind { NONE, WEIGHT, BOMB }
 }
\ No newline at end of file
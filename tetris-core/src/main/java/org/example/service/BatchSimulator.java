@@ -0,0 +1,170 @@
+package org.example.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.example.model.GameMode;
+
+/**
+ * 화면 없이 PlacementBot으로 게임을 대량으로 돌리는 배치 시뮬레이터 (밸런스 조정, 회귀 확인용)
+ *
+ * - 각 게임은 가상 시계를 쓰는 GameContext로 실행되어 실제 시간을 기다리지 않음
+ * - 게임 i의 시드는 기준 시드에서 파생되므로 스레드 수와 관계없이 결과가 재현됨
+ * - ForkJoinPool에서 병렬 실행, 끝난 게임부터 CSV 한 줄씩 출력
+ *
+ * 사용법: gradle :tetris-core:simulate --args="--games 100000 --mode ALL --out results.csv"
+ */
+public final class BatchSimulator {
+
+    /** 블록 하나를 놓는 데 걸리는 가상 시간 (밀리초) */
+    static final long PIECE_INTERVAL_MS = 250;
+    static final String CSV_HEADER = "game,mode,seed,score,lines,level,pieces,duration_ms";
+
+    private BatchSimulator() {}
+
+    /**
+     * 게임 한 판의 결과
+     */
+    public record GameResult(int game, GameMode mode, long seed,
+                             int score, int lines, int level, int pieces, long durationMs) {
+        public String toCsv() {
+            return game + "," + mode.name() + "," + seed + "," + score + "," + lines + ","
+                    + level + "," + pieces + "," + durationMs;
+        }
+    }
+
+    /**
+     * 게임 한 판을 가상 시간으로 끝까지 실행합니다.
+     * 실제 게임과 같이 MatchEngine.tick으로 중력/지연 삭제/무게추 처리를 진행합니다.
+     *
+     * @param maxPieces 봇이 죽지 않는 경우를 대비한 최대 블록 수
+     */
+    public static GameResult runGame(int game, GameMode mode, long seed, int difficulty, int maxPieces) {
+        AtomicLong now = new AtomicLong();
+        MatchEngine engine = new MatchEngine(mode, difficulty, 1, new GameContext(seed, now::get));
+        TetrisSystem system = engine.getSession(0).getSystem();
+        PlacementBot bot = new PlacementBot();
+
+        int pieces = 0;
+        while (!engine.isMatchOver() && !engine.isTimeUp() && pieces < maxPieces) {
+            // 무게추 처리 중에는 현재 블록이 없으므로 tick만 진행
+            if (bot.playPiece(system)) {
+                pieces++;
+            }
+            now.addAndGet(PIECE_INTERVAL_MS);
+            engine.tick();
+        }
+        return new GameResult(game, mode, seed, system.getScore(), system.getLines(),
+                system.getLevel(), pieces, now.get());
+    }
+
+    /**
+     * 시뮬레이션 설정
+     *
+     * @param mode null이면 NORMAL, ITEM, TIME_ATTACK을 번갈아 실행
+     */
+    public record Config(int games, GameMode mode, long seed, int difficulty, int maxPieces, int threads) {
+        public Config {
+            if (games < 0 || maxPieces < 1 || threads < 1) {
+                throw new IllegalArgumentException("Invalid simulation config");
+            }
+        }
+
+        GameMode modeOf(int game) {
+            return mode != null ? mode : GameMode.values()[game % GameMode.values().length];
+        }
+    }
+
+    /**
+     * 설정대로 게임을 병렬 실행하고 결과를 out에 CSV로 씁니다. (게임 순서는 완료 순)
+     *
+     * @return 실행한 게임의 점수 합계
+     */
+    public static long run(Config config, Writer out) throws IOException {
+        GameContext root = GameContext.of(config.seed());
+        AtomicLong totalScore = new AtomicLong();
+        out.write(CSV_HEADER);
+        out.write('\n');
+
+        ForkJoinPool pool = new ForkJoinPool(config.threads());
+        try {
+            pool.submit(() -> IntStream.range(0, config.games()).parallel().forEach(i -> {
+                GameResult result = runGame(i, config.modeOf(i), root.derive(i).getSeed(),
+                        config.difficulty(), config.maxPieces());
+                totalScore.addAndGet(result.score());
+                String line = result.toCsv();
+                synchronized (out) {
+                    try {
+                        out.write(line);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        out.flush();
+        return totalScore.get();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int games = 1000;
+        GameMode mode = null;
+        long seed = 1L;
+        int difficulty = 2;
+        int maxPieces = 10_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String outPath = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--games" -> { games = Integer.parseInt(value); i++; }
+                case "--mode" -> { mode = "ALL".equalsIgnoreCase(value) ? null : GameMode.valueOf(value.toUpperCase()); i++; }
+                case "--seed" -> { seed = Long.parseLong(value); i++; }
+                case "--difficulty" -> { difficulty = Integer.parseInt(value); i++; }
+                case "--max-pieces" -> { maxPieces = Integer.parseInt(value); i++; }
+                case "--threads" -> { threads = Integer.parseInt(value); i++; }
+                case "--out" -> { outPath = value; i++; }
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Usage: [--games N] [--mode NORMAL|ITEM|TIME_ATTACK|ALL] [--seed S]"
+                            + " [--difficulty 1-3] [--max-pieces N] [--threads N] [--out file.csv]");
+                    System.exit(1);
+                }
+            }
+        }
+
+        Config config = new Config(games, mode, seed, difficulty, maxPieces, threads);
+        long start = System.nanoTime();
+        long totalScore;
+        try (Writer out = outPath != null
+                ? Files.newBufferedWriter(Path.of(outPath), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            totalScore = run(config, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("%d games in %.2fs (%.0f games/min, avg score %.1f)%n",
+                games, seconds, games / seconds * 60, games > 0 ? (double) totalScore / games : 0.0);
+    }
+}
@@ -0,0 +1,297 @@
+package org.example.service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import org.example.model.GameBoard;
+
+/**
+ * UDP 보드 동기화 패킷 코덱 (키프레임 + XOR 델타)
+ *
+ * 칸 값은 4비트 코드로 바꿔 다룹니다. (0: 빈 칸, 1~8: 색상, 9: 삭제 표시, 10: 고스트,
+ * 11~14: L/I/X/W 아이템, 15: 그 밖의 값 - 패킷 끝에 원래 값을 따로 실음)
+ *
+ * - 키프레임: [0x10][seq(int)][200칸 코드, 한 바이트에 2칸][escape 목록]
+ * - 델타:     [0x11][seq(int)][키프레임과의 seq 차이(byte)][바뀐 칸 수 n(byte)]
+ *             [바뀐 칸 인덱스 n바이트][키프레임 코드와의 XOR 값, 한 바이트에 2칸][escape 목록]
+ * - 키프레임 요청: [0x12]
+ * - escape 목록: [개수(byte)][코드 15인 칸의 원래 값(int) x 개수] (행 우선 순서)
+ *
+ * 델타는 항상 마지막 키프레임 기준이므로 델타 하나가 유실되어도 다음 델타는 그대로 적용됩니다.
+ * 키프레임을 놓쳐 델타를 풀 수 없으면 수신 측이 키프레임을 요청합니다.
+ */
+public final class BoardDeltaCodec {
+
+    public static final byte PACKET_KEYFRAME = 0x10;
+    public static final byte PACKET_DELTA = 0x11;
+    public static final byte PACKET_KEYFRAME_REQUEST = 0x12;
+
+    /** 기본 키프레임 간격 (40ms 송신 주기 기준 1초) */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 25;
+    /** 패킷 최대 크기 (모든 칸이 escape인 키프레임) */
+    public static final int MAX_PACKET_SIZE = 1 + 4 + GameBoard.HEIGHT * GameBoard.WIDTH / 2 + 1
+            + GameBoard.HEIGHT * GameBoard.WIDTH * 4;
+
+    static final int CELLS = GameBoard.HEIGHT * GameBoard.WIDTH;
+    static final int KEYFRAME_SIZE = 1 + 4 + CELLS / 2;  // escape 목록 제외
+    private static final int MAX_KEY_AGE = 255;          // 델타의 키프레임 seq 차이는 1바이트
+    private static final int ESCAPE = 15;
+    private static final int GHOST_MARK = -2;
+
+    // 코드 -> 칸 값 (ESCAPE 제외)
+    private static final int[] VALUES = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, GameBoard.CLEAR_MARK, GHOST_MARK, 'L', 'I', 'X', 'W'
+    };
+
+    public enum Result {
+        DECODED,        // out에 새 보드를 썼음
+        IGNORED,        // 오래된/중복/손상된 패킷
+        NEED_KEYFRAME   // 기준 키프레임이 없어 풀 수 없음
+    }
+
+    private BoardDeltaCodec() {}
+
+    static int toCode(int value) {
+        if (value >= 0 && value <= 8) {
+            return value;
+        }
+        return switch (value) {
+            case GameBoard.CLEAR_MARK -> 9;
+            case GHOST_MARK -> 10;
+            case 'L' -> 11;
+            case 'I' -> 12;
+            case 'X' -> 13;
+            case 'W' -> 14;
+            default -> ESCAPE;
+        };
+    }
+
+    /**
+     * 키프레임 요청 패킷을 씁니다. (호출 후 flip 필요)
+     */
+    public static void encodeKeyframeRequest(ByteBuffer out) {
+        out.put(PACKET_KEYFRAME_REQUEST);
+    }
+
+    /**
+     * 패킷 종류를 위치 이동 없이 확인합니다. (빈 버퍼면 0)
+     */
+    public static byte peekType(ByteBuffer in) {
+        return in.hasRemaining() ? in.get(in.position()) : 0;
+    }
+
+    /**
+     * 송신 측 상태: 마지막 키프레임과 순번
+     * 한 송신 스레드에서만 사용하고, requestKeyframe()만 다른 스레드에서 호출할 수 있습니다.
+     */
+    public static final class Encoder {
+        private final int keyframeInterval;
+        private final byte[] keyCodes = new byte[CELLS];
+        private final byte[] codes = new byte[CELLS];
+        private final int[] escapes = new int[CELLS];
+        private int escapeCount;
+        private int seq;
+        private int keyframeSeq;
+        private boolean hasKeyframe;
+        private volatile boolean keyframeRequested;
+
+        /**
+         * @param keyframeInterval 키프레임 사이의 최대 패킷 수 (1~255)
+         */
+        public Encoder(int keyframeInterval) {
+            if (keyframeInterval < 1 || keyframeInterval > MAX_KEY_AGE) {
+                throw new IllegalArgumentException("Keyframe interval must be 1~" + MAX_KEY_AGE + ": " + keyframeInterval);
+            }
+            this.keyframeInterval = keyframeInterval;
+        }
+
+        /**
+         * 다음 패킷을 키프레임으로 보내도록 합니다. (상대의 요청을 받았을 때)
+         */
+        public void requestKeyframe() {
+            keyframeRequested = true;
+        }
+
+        /**
+         * 보드를 다음 패킷으로 인코딩합니다. (호출 후 flip 필요)
+         * 간격이 찼거나 요청이 있었거나 델타가 키프레임보다 커지면 키프레임을 보냅니다.
+         *
+         * @param board HEIGHT x WIDTH 압축 보드 데이터
+         * @return 키프레임을 썼으면 true
+         */
+        public boolean encode(ByteBuffer out, int[][] board) {
+            escapeCount = 0;
+            for (int row = 0, i = 0; row < GameBoard.HEIGHT; row++) {
+                for (int col = 0; col < GameBoard.WIDTH; col++, i++) {
+                    int value = board[row][col];
+                    int code = toCode(value);
+                    if (code == ESCAPE) {
+                        escapes[escapeCount++] = value;
+                    }
+                    codes[i] = (byte) code;
+                }
+            }
+
+            int current = seq++;
+            int changed = 0;
+            if (hasKeyframe) {
+                for (int i = 0; i < CELLS; i++) {
+                    if (codes[i] != keyCodes[i]) changed++;
+                }
+            }
+            boolean keyframe = !hasKeyframe || keyframeRequested
+                    || current - keyframeSeq >= keyframeInterval
+                    || 1 + 4 + 1 + 1 + changed + (changed + 1) / 2 >= KEYFRAME_SIZE;
+
+            if (keyframe) {
+                keyframeRequested = false;
+                System.arraycopy(codes, 0, keyCodes, 0, CELLS);
+                keyframeSeq = current;
+                hasKeyframe = true;
+                out.put(PACKET_KEYFRAME);
+                out.putInt(current);
+                for (int i = 0; i < CELLS; i += 2) {
+                    out.put((byte) ((codes[i] << 4) | codes[i + 1]));
+                }
+            } else {
+                out.put(PACKET_DELTA);
+                out.putInt(current);
+                out.put((byte) (current - keyframeSeq));
+                out.put((byte) changed);
+                for (int i = 0; i < CELLS; i++) {
+                    if (codes[i] != keyCodes[i]) out.put((byte) i);
+                }
+                int pending = -1;
+                for (int i = 0; i < CELLS; i++) {
+                    if (codes[i] == keyCodes[i]) continue;
+                    int xor = codes[i] ^ keyCodes[i];
+                    if (pending < 0) {
+                        pending = xor;
+                    } else {
+                        out.put((byte) ((pending << 4) | xor));
+                        pending = -1;
+                    }
+                }
+                if (pending >= 0) {
+                    out.put((byte) (pending << 4));
+                }
+            }
+
+            out.put((byte) escapeCount);
+            for (int k = 0; k < escapeCount; k++) {
+                out.putInt(escapes[k]);
+            }
+            return keyframe;
+        }
+    }
+
+    /**
+     * 수신 측 상태: 마지막 키프레임, 마지막 순번, 유실 집계
+     * 한 수신 스레드에서만 사용합니다.
+     */
+    public static final class Decoder {
+        private final byte[] keyCodes = new byte[CELLS];
+        private final byte[] codes = new byte[CELLS];
+        private final int[] indices = new int[CELLS];
+        private int keyframeSeq;
+        private boolean hasKeyframe;
+        private int lastSeq;
+        private boolean hasSeq;
+        private boolean keyframeNeeded;
+        private long lostPackets;
+
+        /**
+         * 패킷 하나를 풀어 out에 보드를 씁니다.
+         * DECODED가 아니면 out은 바뀌지 않습니다.
+         *
+         * @param out HEIGHT x WIDTH 재사용 버퍼
+         */
+        public Result decode(ByteBuffer in, int[][] out) {
+            try {
+                byte type = in.get();
+                if (type != PACKET_KEYFRAME && type != PACKET_DELTA) {
+                    return Result.IGNORED;
+                }
+                int seq = in.getInt();
+                if (hasSeq && seq <= lastSeq) {
+                    return Result.IGNORED; // 순서가 뒤바뀌었거나 중복된 패킷
+                }
+
+                if (type == PACKET_KEYFRAME) {
+                    for (int i = 0; i < CELLS; i += 2) {
+                        int packed = in.get() & 0xFF;
+                        codes[i] = (byte) (packed >>> 4);
+                        codes[i + 1] = (byte) (packed & 0x0F);
+                    }
+                } else {
+                    int age = in.get() & 0xFF;
+                    int changed = in.get() & 0xFF;
+                    if (!hasKeyframe || seq - age != keyframeSeq) {
+                        keyframeNeeded = true;
+                        track(seq);
+                        return Result.NEED_KEYFRAME;
+                    }
+                    for (int k = 0; k < changed; k++) {
+                        indices[k] = in.get() & 0xFF;
+                        if (indices[k] >= CELLS) return Result.IGNORED;
+                    }
+                    System.arraycopy(keyCodes, 0, codes, 0, CELLS);
+                    for (int k = 0; k < changed; k += 2) {
+                        int packed = in.get() & 0xFF;
+                        codes[indices[k]] ^= (byte) (packed >>> 4);
+                        if (k + 1 < changed) {
+                            codes[indices[k + 1]] ^= (byte) (packed & 0x0F);
+                        }
+                    }
+                }
+
+                int escapeCount = in.get() & 0xFF;
+                int expected = 0;
+                for (int i = 0; i < CELLS; i++) {
+                    if (codes[i] == ESCAPE) expected++;
+                }
+                if (escapeCount != expected || in.remaining() < escapeCount * 4) {
+                    return Result.IGNORED;
+                }
+
+                for (int row = 0, i = 0; row < GameBoard.HEIGHT; row++) {
+                    for (int col = 0; col < GameBoard.WIDTH; col++, i++) {
+                        out[row][col] = codes[i] == ESCAPE ? in.getInt() : VALUES[codes[i]];
+                    }
+                }
+                if (type == PACKET_KEYFRAME) {
+                    System.arraycopy(codes, 0, keyCodes, 0, CELLS);
+                    keyframeSeq = seq;
+                    hasKeyframe = true;
+                    keyframeNeeded = false;
+                }
+                track(seq);
+                return Result.DECODED;
+            } catch (BufferUnderflowException e) {
+                return Result.IGNORED; // 잘린 패킷
+            }
+        }
+
+        private void track(int seq) {
+            if (hasSeq && seq > lastSeq + 1) {
+                lostPackets += seq - lastSeq - 1;
+            }
+            lastSeq = seq;
+            hasSeq = true;
+        }
+
+        /**
+         * 풀 수 없는 델타를 받아 키프레임이 필요한 상태인지
+         */
+        public boolean needsKeyframe() {
+            return keyframeNeeded;
+        }
+
+        /**
+         * 순번 간격으로 추정한 유실 패킷 수
+         */
+        public long getLostPackets() {
+            return lostPackets;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.service;
+
+import java.nio.ByteBuffer;
+
+import org.example.model.AdderBoardSync;
+import org.example.model.GarbageLine;
+
+/**
+ * 게임 중 TCP 네트워크 메시지의 바이트 형식을 정의하는 코덱
+ * - TCP 게임 데이터 메시지: [signal(byte)][payload] (프레임과 핸드셰이크는 P2PProtocol)
+ *   공격 라인 payload는 줄마다 2바이트 구멍 마스크 (GarbageLine)
+ *
+ * UDP 보드 동기화 패킷은 BoardDeltaCodec(보드 델타) 또는 PoseSyncCodec(조각 포즈 + 보드 이벤트)이 담당합니다.
+ *
+ * 소켓/스레드와 분리되어 있어 JavaFX나 네트워크 없이도 테스트할 수 있습니다.
+ */
+public final class BoardSyncCodec {
+
+    public static final byte SIGNAL_ADDER_BOARD = 0x01;
+    public static final byte SIGNAL_GO_WAITING_ROOM = 0x02;
+    public static final byte SIGNAL_GAME_OVER = 0x03;
+    public static final byte SIGNAL_ENDING = 0x04;
+    public static final byte SIGNAL_BOARD_EVENT = 0x05; // 포즈 동기화용 보드 이벤트 (PoseSyncCodec)
+    public static final byte SIGNAL_LOCKSTEP_INPUTS = 0x06; // 입력 교환 대전의 입력 묶음 (LockstepMatch)
+
+    /** 공격 라인 한 줄의 바이트 수 (10비트 구멍 마스크) */
+    public static final int ADDER_LINE_BYTES = 2;
+    public static final int GO_WAITING_ROOM_SIZE = 1;
+    public static final int GAME_OVER_SIZE = 1 + 4 + 1;
+    public static final int ENDING_SIZE = 1 + 4;
+
+    private BoardSyncCodec() {}
+
+    // ----------- TCP 게임 데이터 -----------
+
+    /**
+     * 공격 라인을 줄마다 2바이트 구멍 마스크로 인코딩합니다. (GarbageLine)
+     */
+    public static byte[] encodeAdderBoard(int[] holeMasks) {
+        ByteBuffer buffer = ByteBuffer.allocate(adderBoardSize(holeMasks.length));
+        encodeAdderBoard(buffer, holeMasks);
+        return buffer.array();
+    }
+
+    /**
+     * 공격 라인 메시지를 out에 바로 씁니다. (송신 큐의 풀 버퍼용)
+     */
+    public static void encodeAdderBoard(ByteBuffer out, int[] holeMasks) {
+        out.put(SIGNAL_ADDER_BOARD);
+        for (int mask : holeMasks) {
+            out.putShort((short) (mask & GarbageLine.ALL_HOLES));
+        }
+    }
+
+    public static int adderBoardSize(int lines) {
+        return 1 + lines * ADDER_LINE_BYTES;
+    }
+
+    /**
+     * @param payload signal 바이트를 제외한 데이터
+     */
+    public static int[] decodeAdderBoard(byte[] payload) {
+        int height = payload.length / ADDER_LINE_BYTES;
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        int[] holeMasks = new int[height];
+        for (int i = 0; i < height; i++) {
+            holeMasks[i] = buffer.getShort() & GarbageLine.ALL_HOLES;
+        }
+        return holeMasks;
+    }
+
+    /**
+     * 공격 라인 payload를 AdderBoardSync의 링에 바로 디코딩합니다. (중간 배열 할당 없음)
+     * 링이 가득 차면 남은 줄은 버려지고 AdderBoardSync의 버린 줄 수에 집계됩니다.
+     *
+     * @param payload signal 바이트를 제외한 데이터 (재사용 버퍼 가능)
+     * @param length payload 중 유효한 길이
+     * @return payload에 들어있던 줄 수
+     */
+    public static int decodeAdderBoardInto(byte[] payload, int length, AdderBoardSync target) {
+        int height = length / ADDER_LINE_BYTES;
+        synchronized (target) { // 공격 한 번의 줄이 다른 생산자의 줄과 섞이지 않도록
+            for (int i = 0, offset = 0; i < height; i++, offset += ADDER_LINE_BYTES) {
+                // ByteBuffer.getShort와 같은 빅엔디안
+                target.offerLine(((payload[offset] & 0xFF) << 8) | (payload[offset + 1] & 0xFF));
+            }
+            target.publish();
+        }
+        return height;
+    }
+
+    public static byte[] encodeGoWaitingRoom() {
+        return new byte[] { SIGNAL_GO_WAITING_ROOM };
+    }
+
+    public static byte[] encodeGameOver(int score, boolean timeover) {
+        ByteBuffer buffer = ByteBuffer.allocate(GAME_OVER_SIZE);
+        encodeGameOver(buffer, score, timeover);
+        return buffer.array();
+    }
+
+    public static void encodeGameOver(ByteBuffer out, int score, boolean timeover) {
+        out.put(SIGNAL_GAME_OVER);
+        out.putInt(score);
+        out.put((byte) (timeover ? 1 : 0));
+    }
+
+    /**
+     * @param score 내 점수, 대기실로 돌아가는 경우 -1
+     */
+    public static byte[] encodeEnding(int score) {
+        ByteBuffer buffer = ByteBuffer.allocate(ENDING_SIZE);
+        encodeEnding(buffer, score);
+        return buffer.array();
+    }
+
+    public static void encodeEnding(ByteBuffer out, int score) {
+        out.put(SIGNAL_ENDING);
+        out.putInt(score);
+    }
+
+    /**
+     * GAME_OVER / ENDING 메시지 payload의 점수를 읽습니다.
+     */
+    public static int decodeScore(byte[] payload) {
+        return decodeScore(payload, payload.length);
+    }
+
+    /**
+     * 재사용 수신 버퍼에서 점수를 읽습니다. (payload 중 앞의 size 바이트만 유효)
+     */
+    public static int decodeScore(byte[] payload, int size) {
+        return size >= 4 ? P2PProtocol.readInt(payload, 0) : -1;
+    }
+
+    /**
+     * GAME_OVER 메시지 payload의 시간 종료 여부를 읽습니다.
+     */
+    public static boolean decodeTimeover(byte[] payload) {
+        return decodeTimeover(payload, payload.length);
+    }
+
+    public static boolean decodeTimeover(byte[] payload, int size) {
+        return size > 4 && payload[4] == 1;
+    }
+
+    /**
+     * 이 메시지를 보낸 뒤로는 게임 데이터를 더 보내지 않아야 하는지 확인합니다.
+     */
+    public static boolean isTerminal(byte signal) {
+        return SIGNAL_GO_WAITING_ROOM <= signal && signal <= SIGNAL_ENDING;
+    }
+}
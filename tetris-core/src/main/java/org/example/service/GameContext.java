@@ -0,0 +1,65 @@
+package org.example.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * 게임 한 판(세션)이 사용하는 시계와 난수 시드
+ * 전역 상태 대신 이 객체를 TetrisSystem / GameBoard에 넘겨주므로
+ * 한 JVM에서 여러 세션을 동시에 돌려도 서로 간섭하지 않습니다.
+ *
+ * 같은 시드와 같은 시계를 쓰면 블록 순서와 라인 삭제 타이밍이 그대로 재현됩니다.
+ */
+public final class GameContext {
+
+    private final long seed;
+    private final LongSupplier clock; // 밀리초 단위 현재 시각
+
+    public GameContext(long seed, LongSupplier clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("clock must not be null");
+        }
+        this.seed = seed;
+        this.clock = clock;
+    }
+
+    /**
+     * 임의의 시드와 시스템 시계를 사용하는 기본 컨텍스트
+     */
+    public static GameContext create() {
+        return new GameContext(ThreadLocalRandom.current().nextLong(), System::currentTimeMillis);
+    }
+
+    /**
+     * 고정 시드와 시스템 시계를 사용하는 컨텍스트
+     */
+    public static GameContext of(long seed) {
+        return new GameContext(seed, System::currentTimeMillis);
+    }
+
+    /**
+     * 같은 시계를 공유하고 index별로 다른 시드를 갖는 하위 컨텍스트 (플레이어별 시드)
+     */
+    public GameContext derive(int index) {
+        return new GameContext(mix(seed + 0x9E3779B97F4A7C15L * (index + 1)), clock);
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public LongSupplier getClock() {
+        return clock;
+    }
+
+    // SplitMix64 finalizer: 인접한 시드끼리도 난수열이 겹치지 않도록 섞음
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
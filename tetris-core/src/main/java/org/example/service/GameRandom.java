@@ -0,0 +1,37 @@
+package org.example.service;
+
+import java.util.Random;
+
+/**
+ * 상태를 복사할 수 있는 java.util.Random
+ * next(bits)를 Random과 같은 48비트 선형 합동 생성기로 구현하므로
+ * 같은 시드면 Random과 완전히 같은 수열이 나옵니다. (기존 시드의 블록 순서 유지)
+ */
+final class GameRandom extends Random {
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // 초기화식 없음: 상위 생성자가 setSeed로 먼저 채움
+
+    GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    void copyFrom(GameRandom other) {
+        this.state = other.state;
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.service;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * 키 입력부터 화면 반영까지의 지연 시간을 측정하는 클래스
+ * - Scene.setOnKeyPressed에서 입력 시각을 기록
+ * - TetrisSystem 상태가 실제로 바뀐 입력만 대기 목록에 추가
+ * - 다음 TetrisCanvas.draw 완료 시점에 지연 시간을 액션별 히스토그램(1ms 단위)에 누적
+ *
+ * -Dtetris.debug.latency=true 로 실행하면 디버그 오버레이에 p50/p99가 표시되고,
+ * 게임 종료 시 CSV로 내보냅니다.
+ */
+public class InputLatencyTracker {
+
+    public static final String DEBUG_PROPERTY = "tetris.debug.latency";
+
+    public enum Action {
+        MOVE_LEFT, MOVE_RIGHT, SOFT_DROP, HARD_DROP, ROTATE_CW, ROTATE_CCW, HOLD
+    }
+
+    private static final int MAX_LATENCY_MS = 500; // 초과분은 마지막 버킷에 누적
+    private static final int MAX_PENDING = 64;     // 한 프레임 안에 처리되는 입력 수 상한
+
+    private final long[][] histograms = new long[Action.values().length][MAX_LATENCY_MS + 1];
+    private final long[] counts = new long[Action.values().length];
+    private final long[] maxNanos = new long[Action.values().length];
+
+    // 아직 화면에 그려지지 않은 입력 (할당 없이 재사용)
+    private final Action[] pendingActions = new Action[MAX_PENDING];
+    private final long[] pendingReceivedNanos = new long[MAX_PENDING];
+    private int pendingCount = 0;
+
+    public static boolean isDebugEnabled() {
+        return Boolean.getBoolean(DEBUG_PROPERTY);
+    }
+
+    /**
+     * 입력으로 인해 게임 상태가 바뀌었음을 기록합니다.
+     *
+     * @param action 실행된 액션
+     * @param receivedNanos 키 이벤트를 받은 시각 (System.nanoTime), 0 이하면 무시
+     */
+    public void recordStateChange(Action action, long receivedNanos) {
+        if (receivedNanos <= 0 || pendingCount == MAX_PENDING) {
+            return;
+        }
+        pendingActions[pendingCount] = action;
+        pendingReceivedNanos[pendingCount] = receivedNanos;
+        pendingCount++;
+    }
+
+    /**
+     * 캔버스 그리기가 끝났을 때 호출되어 대기 중인 입력의 지연 시간을 확정합니다.
+     *
+     * @param drawnNanos 그리기 완료 시각 (System.nanoTime)
+     */
+    public void onFrameDrawn(long drawnNanos) {
+        for (int i = 0; i < pendingCount; i++) {
+            record(pendingActions[i], drawnNanos - pendingReceivedNanos[i]);
+            pendingActions[i] = null;
+        }
+        pendingCount = 0;
+    }
+
+    private void record(Action action, long latencyNanos) {
+        int idx = action.ordinal();
+        long latency = Math.max(0, latencyNanos);
+        int bucket = (int) Math.min(MAX_LATENCY_MS, latency / 1_000_000);
+        histograms[idx][bucket]++;
+        counts[idx]++;
+        if (latency > maxNanos[idx]) {
+            maxNanos[idx] = latency;
+        }
+    }
+
+    public long getCount(Action action) {
+        return counts[action.ordinal()];
+    }
+
+    /**
+     * 액션별 지연 시간의 백분위 값을 반환합니다.
+     *
+     * @param percentile 0.0 ~ 1.0 (예: 0.5 = p50, 0.99 = p99)
+     * @return 밀리초 단위 지연 시간, 기록이 없으면 -1
+     */
+    public long getPercentileMillis(Action action, double percentile) {
+        int idx = action.ordinal();
+        long count = counts[idx];
+        if (count == 0) {
+            return -1;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile));
+        long cumulative = 0;
+        for (int ms = 0; ms <= MAX_LATENCY_MS; ms++) {
+            cumulative += histograms[idx][ms];
+            if (cumulative >= target) {
+                return ms;
+            }
+        }
+        return MAX_LATENCY_MS;
+    }
+
+    public long getMaxMillis(Action action) {
+        return maxNanos[action.ordinal()] / 1_000_000;
+    }
+
+    /**
+     * 오버레이 표시용 요약 문자열 (기록이 있는 액션만)
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder("Input latency (p50/p99)");
+        for (Action action : Action.values()) {
+            if (getCount(action) == 0) continue;
+            sb.append('\n')
+              .append(action.name()).append(": ")
+              .append(getPercentileMillis(action, 0.5)).append(" / ")
+              .append(getPercentileMillis(action, 0.99)).append(" ms");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 액션별 통계를 CSV 파일로 내보냅니다.
+     *
+     * @param path 저장할 파일 경로
+     */
+    public void exportCsv(String path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(path))) {
+            writer.println("action,count,p50_ms,p99_ms,max_ms");
+            for (Action action : Action.values()) {
+                writer.println(action.name() + "," + getCount(action) + ","
+                        + getPercentileMillis(action, 0.5) + ","
+                        + getPercentileMillis(action, 0.99) + ","
+                        + getMaxMillis(action));
+            }
+        }
+    }
+
+    public void reset() {
+        for (long[] histogram : histograms) {
+            java.util.Arrays.fill(histogram, 0);
+        }
+        java.util.Arrays.fill(counts, 0);
+        java.util.Arrays.fill(maxNanos, 0);
+        java.util.Arrays.fill(pendingActions, null);
+        pendingCount = 0;
+    }
+}
@@ -18,7 +18,11 @@ public class ItemTetrisSystem extends TetrisSystem {
     private int linesSinceLastItem;  // 마지막 아이템 생성 이후 삭제된 줄 수
     
     public ItemTetrisSystem() {
-        super(new ItemGameBoard());
+        this(GameContext.create());
+    }
+
+    public ItemTetrisSystem(GameContext context) {
+        super(new ItemGameBoard(context.getClock()), context);
         this.linesSinceLastItem = 0;
     }
     
@@ -132,6 +136,17 @@ public class ItemTetrisSystem extends TetrisSystem {
     private boolean weightShowingAtBottom = false;  // 무게추가 바닥에 표시 중인지
     private int weightStartCol;
     private int[][] weightShape;  // 무게추 모양 저장
+
+    @Override
+    public void copyStateFrom(TetrisSystem other) {
+        super.copyStateFrom(other);
+        ItemTetrisSystem source = (ItemTetrisSystem) other;
+        linesSinceLastItem = source.linesSinceLastItem;
+        weightActive = source.weightActive;
+        weightShowingAtBottom = source.weightShowingAtBottom;
+        weightStartCol = source.weightStartCol;
+        weightShape = source.weightShape; // 조각의 모양 배열 (수정되지 않음)
+    }
     
     @Override
     protected void lockPiece() {
@@ -171,10 +186,11 @@ public class ItemTetrisSystem extends TetrisSystem {
         // (줄 삭제가 좌표를 변경하므로 가장 마지막에 실행)
         int clearedColumns = itemBoard.clearColumnsWithItems();
         int clearedCrosses = itemBoard.clearCrossesWithItems();
-        int[] lineResults = itemBoard.clearLinesWithItems();  // [전체, 아이템으로 인한]
+        int itemRows = itemBoard.getItemRowMask(ItemBlock.LINE_CLEAR);
+        int clearedLines = itemBoard.clearRows(itemRows | itemBoard.getFullRowMask());
         
-        int totalCleared = lineResults[0] + clearedColumns + clearedCrosses;
-        int normalCleared = lineResults[0] - lineResults[1];  // 일반 삭제 = 전체 - 아이템
+        int totalCleared = clearedLines + clearedColumns + clearedCrosses;
+        int normalCleared = clearedLines - Integer.bitCount(itemRows);  // 일반 삭제 = 전체 - 아이템
         
         if (totalCleared > 0) {
             lines += totalCleared;
@@ -0,0 +1,167 @@
+package org.example.service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * UDP 보드 동기화 채널의 왕복 시간(RTT)과 손실률 측정
+ *
+ * - 핑(UDP): [0x30][보낸 시각(long, ms)][지금까지 보낸 패킷 수(int)]
+ * - 퐁(UDP): [0x31][핑의 보낸 시각(long)][핑의 보낸 패킷 수(int)][지금까지 받은 패킷 수(int)]
+ *
+ * 받는 쪽은 핑을 받은 패킷 수와 함께 그대로 되돌려 주고,
+ * 보낸 쪽이 퐁으로 RTT와 "직전 퐁 이후 보낸 수 대비 받은 수"로 손실률을 계산합니다.
+ * 패킷 수는 송신 스레드가 보내는 패킷(보드/포즈/핑)만 셉니다.
+ *
+ * 송신 스레드: countSent, isPingDue, encodePing / 수신 스레드: countReceived, answerPing, onPong
+ * NetworkStats를 넘기면 RTT와 핑 전송 시간(지터) 표본을 함께 기록합니다.
+ */
+public final class LinkProbe {
+
+    public static final byte PACKET_PING = 0x30;
+    public static final byte PACKET_PONG = 0x31;
+    public static final int PING_SIZE = 1 + 8 + 4;
+    public static final int PONG_SIZE = 1 + 8 + 4 + 4;
+    public static final long PING_INTERVAL_MS = 500;
+
+    private static final double RTT_WEIGHT = 0.125; // TCP SRTT와 같은 가중치
+    private static final double LOSS_WEIGHT = 0.25;
+
+    private final NetworkStats stats; // null이면 기록하지 않음
+
+    // 송신 스레드
+    private int sentPackets;
+    private long lastPingMs = Long.MIN_VALUE / 2;
+
+    // 수신 스레드 (결과는 송신 스레드/UI가 읽음)
+    private int receivedPackets;
+    private int lastEchoSent = -1;
+    private int lastEchoReceived;
+    private volatile double smoothedRttMs = -1;
+    private volatile double lossRate;
+    private volatile int samples;
+
+    public LinkProbe() {
+        this(null);
+    }
+
+    public LinkProbe(NetworkStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * 송신 스레드: 핑 외의 패킷을 하나 보냈을 때
+     */
+    public void countSent() {
+        sentPackets++;
+    }
+
+    public boolean isPingDue(long now) {
+        return now - lastPingMs >= PING_INTERVAL_MS;
+    }
+
+    public long delayUntilPing(long now) {
+        return Math.max(0, PING_INTERVAL_MS - (now - lastPingMs));
+    }
+
+    /**
+     * 핑 패킷을 씁니다. 핑 자신도 보낸 패킷으로 셉니다. (호출 후 flip 필요)
+     */
+    public void encodePing(ByteBuffer out, long now) {
+        sentPackets++;
+        lastPingMs = now;
+        out.put(PACKET_PING);
+        out.putLong(now);
+        out.putInt(sentPackets);
+    }
+
+    /**
+     * 수신 스레드: 퐁 외의 패킷(보드/포즈/핑)을 하나 받았을 때
+     */
+    public void countReceived() {
+        receivedPackets++;
+    }
+
+    /**
+     * 받은 핑에 대한 퐁을 씁니다. (호출 후 flip 필요)
+     *
+     * @param now 핑을 받은 시각 (지터 계산용)
+     * @return 핑 형식이 잘못되었으면 false (아무것도 쓰지 않음)
+     */
+    public boolean answerPing(ByteBuffer in, ByteBuffer out, long now) {
+        try {
+            if (in.get() != PACKET_PING) {
+                return false;
+            }
+            long sentAt = in.getLong();
+            int sentCount = in.getInt();
+            out.put(PACKET_PONG);
+            out.putLong(sentAt);
+            out.putInt(sentCount);
+            out.putInt(receivedPackets);
+            if (stats != null) {
+                stats.recordTransit(sentAt, now);
+            }
+            return true;
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 받은 퐁으로 RTT와 손실률을 갱신합니다.
+     *
+     * @return 유효한 측정값이면 true
+     */
+    public boolean onPong(ByteBuffer in, long now) {
+        long sentAt;
+        int echoSent;
+        int echoReceived;
+        try {
+            if (in.get() != PACKET_PONG) {
+                return false;
+            }
+            sentAt = in.getLong();
+            echoSent = in.getInt();
+            echoReceived = in.getInt();
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+        long rtt = now - sentAt;
+        if (rtt < 0 || echoSent <= lastEchoSent) {
+            return false; // 순서가 뒤바뀐 퐁이나 잘못된 시각
+        }
+        if (stats != null) {
+            stats.recordRtt(rtt);
+        }
+        smoothedRttMs = smoothedRttMs < 0 ? rtt : smoothedRttMs + RTT_WEIGHT * (rtt - smoothedRttMs);
+        if (lastEchoSent >= 0) {
+            int sent = echoSent - lastEchoSent;
+            int received = echoReceived - lastEchoReceived;
+            double sample = Math.max(0.0, Math.min(1.0, 1.0 - (double) received / sent));
+            lossRate += LOSS_WEIGHT * (sample - lossRate);
+        }
+        lastEchoSent = echoSent;
+        lastEchoReceived = echoReceived;
+        samples++;
+        return true;
+    }
+
+    /**
+     * 평활 RTT (아직 측정 전이면 -1)
+     */
+    public double getRttMs() {
+        return smoothedRttMs;
+    }
+
+    public double getLossRate() {
+        return lossRate;
+    }
+
+    /**
+     * 지금까지 받은 유효한 퐁 수 (측정값이 바뀌었는지 확인용)
+     */
+    public int getSampleCount() {
+        return samples;
+    }
+}
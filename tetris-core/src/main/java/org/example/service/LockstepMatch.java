@@ -0,0 +1,304 @@
+package org.example.service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.example.model.GameMode;
+import org.example.service.InputLatencyTracker.Action;
+
+/**
+ * 입력 교환(lockstep) + 롤백 방식의 2인 네트워크 대전
+ *
+ * 두 피어는 같은 시드와 고정 프레임 시계(frame * FRAME_MS)로 같은 2인 MatchEngine을 돌리고,
+ * 보드 대신 "몇 번 프레임에 어떤 입력을 했는지"만 주고받습니다.
+ * 엔진은 시드와 시계, 입력이 같으면 같은 결과를 내므로 상대의 보드/next/hold/점수와
+ * 공격 라인 도착 시점까지 양쪽에서 똑같이 계산됩니다.
+ *
+ * 엔진은 두 벌을 둡니다.
+ * - confirmed: 양쪽 입력이 모두 확정된 프레임까지만 진행 (되돌릴 일이 없음)
+ * - engine: 화면에 보이는 예측 엔진. 상대 입력이 아직 오지 않은 프레임은 "입력 없음"으로 예측해 먼저 진행
+ * 이미 지나간 프레임의 상대 입력이 도착하면 engine을 confirmed 상태로 복사(copyStateFrom)한 뒤
+ * 확정 이후 프레임만 다시 시뮬레이션합니다. 예측은 MAX_PREDICTION_FRAMES를 넘지 않으므로
+ * 롤백 한 번의 재시뮬레이션도 그 이하입니다.
+ *
+ * 입력 메시지(신뢰성 UDP 통로, 없으면 TCP): [SIGNAL_LOCKSTEP_INPUTS][확정 프레임(int)][입력 수(short)][(프레임(int), Action 순번(byte)) x 수]
+ * 확정 프레임까지의 입력은 모두 들어 있다는 뜻이며, 입력이 없어도 매 송신 주기마다 보냅니다.
+ *
+ * addLocalInput/advanceTo/엔진 조회는 게임 스레드에서만 호출하고,
+ * 네트워크 스레드는 receiveRemoteInputs()로 메시지를 넘기기만 합니다.
+ * P2P 대전은 양쪽이 CAP_LOCKSTEP을 지원하고 대기실 START로 시드를 받았을 때 이 방식으로 진행합니다.
+ */
+public class LockstepMatch {
+
+    public static final int PLAYERS = 2;
+    public static final int FRAME_MS = 16;
+    public static final int MAX_PREDICTION_FRAMES = 30; // 약 0.5초
+    public static final byte SIGNAL_LOCKSTEP_INPUTS = BoardSyncCodec.SIGNAL_LOCKSTEP_INPUTS;
+
+    private static final Action[] ACTIONS = Action.values();
+
+    private final int localIndex;
+    private final InputLog[] logs = { new InputLog(), new InputLog() };
+    private final Queue<byte[]> incoming = new ConcurrentLinkedQueue<>();
+
+    private final MatchEngine engine;     // 예측 엔진 (화면 표시용)
+    private final MatchEngine confirmed;  // 확정 엔진
+    private final int[] cursors = new int[PLAYERS];          // engine이 다음에 적용할 입력 위치
+    private final int[] confirmedCursors = new int[PLAYERS]; // confirmed가 다음에 적용할 입력 위치
+    private long clockMs;             // 엔진이 보는 시각 (프레임 시계, 두 엔진이 번갈아 사용)
+    private int frame;                // engine이 다음에 시뮬레이션할 프레임
+    private int confirmedFrame;       // confirmed가 다음에 시뮬레이션할 프레임
+    private int remoteConfirmed = -1; // 상대 입력이 확정된 마지막 프레임
+    private int sentConfirmed = -1;   // 마지막으로 보낸 확정 프레임
+    private int sentInputs;           // 보낸 내 입력 수
+
+    private long rollbacks;
+    private long resimulatedFrames;
+
+    /**
+     * @param seed 두 피어가 공유하는 시드
+     * @param localIndex 내 플레이어 인덱스 (호스트 0, 클라이언트 1)
+     */
+    public LockstepMatch(GameMode gameMode, int difficulty, long seed, int localIndex) {
+        if (localIndex < 0 || localIndex >= PLAYERS) {
+            throw new IllegalArgumentException("Local index must be 0 or 1: " + localIndex);
+        }
+        this.localIndex = localIndex;
+        GameContext context = new GameContext(seed, () -> clockMs);
+        this.engine = new MatchEngine(gameMode, difficulty, PLAYERS, context);
+        this.confirmed = new MatchEngine(gameMode, difficulty, PLAYERS, context);
+    }
+
+    /**
+     * 내 입력을 다음 프레임에 기록합니다. (다음 advanceTo에서 적용)
+     */
+    public void addLocalInput(Action action) {
+        logs[localIndex].add(frame, action);
+    }
+
+    /**
+     * 네트워크 스레드: 상대 입력 메시지(signal 바이트 제외)를 넘깁니다. 게임 스레드의 advanceTo에서 적용됩니다.
+     */
+    public void receiveRemoteInputs(byte[] payload) {
+        incoming.offer(payload);
+    }
+
+    /**
+     * 경기 시작 후 elapsedMs까지의 프레임을 진행합니다.
+     * 받은 상대 입력을 먼저 반영하고(필요하면 롤백), 예측 한도에 걸리면 멈춥니다.
+     *
+     * @return 예측 한도 때문에 목표 프레임까지 진행하지 못했으면 false (상대 입력 대기 중)
+     */
+    public boolean advanceTo(long elapsedMs) {
+        applyIncoming();
+        int target = (int) (elapsedMs / FRAME_MS);
+        while (frame <= target) {
+            if (frame - remoteConfirmed > MAX_PREDICTION_FRAMES) {
+                return false;
+            }
+            simulateFrame(engine, frame++, cursors);
+        }
+        return true;
+    }
+
+    private void simulateFrame(MatchEngine target, int simFrame, int[] inputCursors) {
+        clockMs = (long) simFrame * FRAME_MS;
+        for (int player = 0; player < PLAYERS; player++) {
+            InputLog log = logs[player];
+            PlayerSession session = target.getSession(player);
+            int cursor = inputCursors[player];
+            while (cursor < log.count && log.frames[cursor] == simFrame) {
+                session.execute(ACTIONS[log.actions[cursor]]);
+                cursor++;
+            }
+            inputCursors[player] = cursor;
+        }
+        target.tick(clockMs);
+    }
+
+    private void applyIncoming() {
+        int earliest = Integer.MAX_VALUE;
+        byte[] payload;
+        while ((payload = incoming.poll()) != null) {
+            earliest = Math.min(earliest, decodeRemote(payload));
+        }
+        // 두 입력이 모두 확정된 프레임까지 확정 엔진을 진행 (이미 시뮬레이션한 프레임까지만)
+        int confirmedTarget = Math.min(remoteConfirmed, frame - 1);
+        while (confirmedFrame <= confirmedTarget) {
+            simulateFrame(confirmed, confirmedFrame++, confirmedCursors);
+        }
+        if (earliest < frame) {
+            rollback();
+        }
+        compactLogs();
+    }
+
+    // 두 엔진이 모두 지나간(내 입력은 보내기까지 한) 입력을 버리고 위치를 당김
+    private void compactLogs() {
+        for (int player = 0; player < PLAYERS; player++) {
+            int done = confirmedCursors[player];
+            if (player == localIndex) {
+                done = Math.min(done, sentInputs);
+            }
+            if (done == 0) {
+                continue;
+            }
+            logs[player].discard(done);
+            cursors[player] -= done;
+            confirmedCursors[player] -= done;
+            if (player == localIndex) {
+                sentInputs -= done;
+            }
+        }
+    }
+
+    /**
+     * @return 새로 받은 입력 중 가장 이른 프레임 (없으면 Integer.MAX_VALUE)
+     */
+    private int decodeRemote(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        InputLog log = logs[1 - localIndex];
+        int earliest = Integer.MAX_VALUE;
+        try {
+            int confirmedThrough = in.getInt();
+            int count = in.getShort() & 0xFFFF;
+            for (int i = 0; i < count; i++) {
+                int inputFrame = in.getInt();
+                int action = in.get() & 0xFF;
+                // 이미 확정된 프레임의 입력(중복)과 잘못된 값은 무시
+                if (inputFrame <= remoteConfirmed || inputFrame > confirmedThrough || action >= ACTIONS.length) {
+                    continue;
+                }
+                log.add(inputFrame, ACTIONS[action]);
+                earliest = Math.min(earliest, inputFrame);
+            }
+            remoteConfirmed = Math.max(remoteConfirmed, confirmedThrough);
+        } catch (BufferUnderflowException e) {
+            System.err.println("[Truncated lockstep input message ignored]");
+        }
+        return earliest;
+    }
+
+    // 예측 엔진을 확정 상태로 되돌리고 확정 이후 프레임을 다시 시뮬레이션
+    private void rollback() {
+        engine.copyStateFrom(confirmed);
+        System.arraycopy(confirmedCursors, 0, cursors, 0, PLAYERS);
+        for (int f = confirmedFrame; f < frame; f++) {
+            simulateFrame(engine, f, cursors);
+        }
+        rollbacks++;
+        resimulatedFrames += frame - confirmedFrame;
+    }
+
+    /**
+     * 마지막 전송 이후의 내 입력과 확정 프레임을 메시지로 만듭니다. (송신 주기마다 호출)
+     * 지금까지 시뮬레이션한 프레임은 더 이상 내 입력이 추가되지 않으므로 확정입니다.
+     *
+     * @return 보낼 것이 없으면 null
+     */
+    public byte[] pollOutgoing() {
+        InputLog log = logs[localIndex];
+        int finalFrame = frame - 1;
+        // 아직 시뮬레이션하지 않은 프레임(frame)에 기록된 입력은 다음 번에 보냄
+        int end = sentInputs;
+        while (end < log.count && log.frames[end] <= finalFrame) {
+            end++;
+        }
+        if (finalFrame == sentConfirmed && end == sentInputs) {
+            return null;
+        }
+        int count = end - sentInputs;
+        ByteBuffer out = ByteBuffer.allocate(1 + 4 + 2 + count * 5);
+        out.put(SIGNAL_LOCKSTEP_INPUTS);
+        out.putInt(finalFrame);
+        out.putShort((short) count);
+        for (int i = sentInputs; i < end; i++) {
+            out.putInt(log.frames[i]);
+            out.put(log.actions[i]);
+        }
+        sentConfirmed = finalFrame;
+        sentInputs = end;
+        return out.array();
+    }
+
+    public MatchEngine getEngine() {
+        return engine;
+    }
+
+    public PlayerSession getLocalSession() {
+        return engine.getSession(localIndex);
+    }
+
+    public PlayerSession getRemoteSession() {
+        return engine.getSession(1 - localIndex);
+    }
+
+    /**
+     * 확정 엔진 기준으로 내가 게임 오버인지 (예측 엔진의 게임 오버는 롤백으로 취소될 수 있음)
+     */
+    public boolean isLocalGameOverConfirmed() {
+        return confirmed.getSession(localIndex).isGameOver();
+    }
+
+    /**
+     * 다음에 시뮬레이션할 프레임
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * 상대 입력이 확정된 마지막 프레임 (-1이면 아직 없음)
+     */
+    public int getRemoteConfirmedFrame() {
+        return remoteConfirmed;
+    }
+
+    public long getRollbackCount() {
+        return rollbacks;
+    }
+
+    public long getResimulatedFrames() {
+        return resimulatedFrames;
+    }
+
+    /**
+     * 남아 있는 입력 기록 수 (확정되지 않았거나 아직 보내지 않은 입력)
+     */
+    int getLogSize(int player) {
+        return logs[player].count;
+    }
+
+    /**
+     * 플레이어 한 명의 입력 기록 (프레임 오름차순)
+     * 확정된 입력은 compactLogs()에서 버리므로 보통 예측 구간만큼만 남습니다.
+     */
+    private static final class InputLog {
+        static final int CAPACITY = 256;
+
+        int[] frames = new int[CAPACITY];
+        byte[] actions = new byte[CAPACITY];
+        int count;
+
+        void add(int inputFrame, Action action) {
+            if (count == frames.length) {
+                // 예측 구간 안에 입력이 몰린 경우에만 늘어남
+                frames = Arrays.copyOf(frames, count * 2);
+                actions = Arrays.copyOf(actions, count * 2);
+            }
+            frames[count] = inputFrame;
+            actions[count] = (byte) action.ordinal();
+            count++;
+        }
+
+        // 앞의 n개를 버리고 나머지를 앞으로 당김
+        void discard(int n) {
+            System.arraycopy(frames, n, frames, 0, count - n);
+            System.arraycopy(actions, n, actions, 0, count - n);
+            count -= n;
+        }
+    }
+}
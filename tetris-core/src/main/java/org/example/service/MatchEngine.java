@@ -0,0 +1,253 @@
+package org.example.service;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.example.model.GameMode;
+
+/**
+ * 한 판의 대전을 관리하는 엔진
+ * - 1~4명의 PlayerSession을 생성하고 한 번의 tick으로 모두 진행
+ * - 2줄 이상 완성 시 공격 라인을 다음 생존 상대에게 전달 (또는 네트워크로 전송)
+ * - 게임 오버/시간 종료/승자 판정
+ *
+ * 싱글 플레이(PlayController), 로컬 멀티(LocalMultiPlayController),
+ * 네트워크 대전(P2PMultiPlayController)이 모두 이 엔진을 사용합니다.
+ */
+public class MatchEngine {
+
+    public static final int MAX_PLAYERS = 4;
+    private static final int ATTACK_MIN_LINES = 2; // 공격 라인을 보내기 위한 최소 완성 줄 수
+
+    private final GameMode gameMode;
+    private final GameContext context;
+    private final PlayerSession[] sessions;
+    // 외부로 공격 라인을 보내는 경로 (null이면 로컬 상대에게 전달)
+    private BiConsumer<Integer, int[]> garbageSink;
+
+    public MatchEngine(GameMode gameMode, int difficulty, int playerCount) {
+        this(gameMode, difficulty, playerCount, GameContext.create());
+    }
+
+    /**
+     * @param context 대전 전체의 시계와 시드, 플레이어 i는 context.derive(i)를 사용
+     */
+    public MatchEngine(GameMode gameMode, int difficulty, int playerCount, GameContext context) {
+        if (playerCount < 1 || playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Player count must be 1~" + MAX_PLAYERS + ": " + playerCount);
+        }
+        this.gameMode = gameMode;
+        this.context = context;
+        this.sessions = new PlayerSession[playerCount];
+
+        long now = context.now();
+        for (int i = 0; i < playerCount; i++) {
+            TetrisSystem system = createSystem(gameMode, context.derive(i));
+            system.setDifficulty(difficulty);
+            PlayerSession session = new PlayerSession(i, system, now);
+            system.setOnPieceLocked(() -> onPieceLocked(session));
+            sessions[i] = session;
+        }
+    }
+
+    /**
+     * 게임 모드에 맞는 TetrisSystem을 생성합니다.
+     */
+    public static TetrisSystem createSystem(GameMode gameMode) {
+        return createSystem(gameMode, GameContext.create());
+    }
+
+    public static TetrisSystem createSystem(GameMode gameMode, GameContext context) {
+        if (gameMode == GameMode.ITEM) {
+            return new ItemTetrisSystem(context);
+        } else if (gameMode == GameMode.TIME_ATTACK) {
+            return new TimeTetrisSystem(TimeTetrisSystem.DEFAULT_DURATION, context);
+        }
+        return new TetrisSystem(context);
+    }
+
+    /**
+     * 컨텍스트 시계 기준으로 tick(long)을 호출합니다.
+     */
+    public void tick() {
+        tick(context.now());
+    }
+
+    /**
+     * 모든 플레이어의 중력 낙하와 지연된 라인 삭제를 한 번에 처리합니다.
+     *
+     * @param now 현재 시각 (밀리초)
+     */
+    public void tick(long now) {
+        for (PlayerSession session : sessions) {
+            session.tick(now);
+        }
+    }
+
+    /**
+     * lockPiece 후 호출: 공격 라인 전송 후 받은 공격 라인을 보드에 적용
+     */
+    private void onPieceLocked(PlayerSession session) {
+        TetrisSystem system = session.getSystem();
+        if (sessions.length > 1 || garbageSink != null) {
+            // previousSnapshot 사용 (이전 턴의 보드 상태, 빈 칸 있는 상태)
+            List<Integer> completedLines = system.getCompletedLineIndices();
+            if (completedLines.size() >= ATTACK_MIN_LINES && system.getPreviousSnapshot() != null) {
+                sendGarbage(session.getIndex(), system.getPreviousSnapshot().getHoleMasks(completedLines));
+            }
+        }
+        session.applyIncomingGarbage();
+    }
+
+    /**
+     * 공격 라인을 보냅니다.
+     * garbageSink가 설정되어 있으면 그쪽으로, 아니면 다음 생존 상대의 AdderBoard에 추가합니다.
+     *
+     * @param from 공격한 플레이어 인덱스
+     * @param holeMasks 줄마다 구멍 마스크 (GarbageLine)
+     */
+    public void sendGarbage(int from, int[] holeMasks) {
+        if (garbageSink != null) {
+            garbageSink.accept(from, holeMasks);
+            return;
+        }
+        PlayerSession target = findGarbageTarget(from);
+        if (target != null) {
+            target.getAdderBoard().addLines(holeMasks);
+        }
+    }
+
+    /**
+     * from 다음 순서의 살아있는 상대를 찾습니다. (순환)
+     *
+     * @return 상대가 없으면 null
+     */
+    PlayerSession findGarbageTarget(int from) {
+        for (int k = 1; k < sessions.length; k++) {
+            PlayerSession candidate = sessions[(from + k) % sessions.length];
+            if (!candidate.isGameOver()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 같은 모드/인원으로 만든 다른 엔진의 상태를 그대로 복사합니다.
+     * 롤백 시 확정된 엔진 상태로 되돌릴 때 사용하며, 공격 라인 경로는 복사하지 않습니다.
+     */
+    public void copyStateFrom(MatchEngine other) {
+        if (other.gameMode != gameMode || other.sessions.length != sessions.length) {
+            throw new IllegalArgumentException("Engine shape mismatch: " + other.gameMode + "/" + other.sessions.length);
+        }
+        for (int i = 0; i < sessions.length; i++) {
+            sessions[i].copyStateFrom(other.sessions[i]);
+        }
+    }
+
+    public void setGarbageSink(BiConsumer<Integer, int[]> garbageSink) {
+        this.garbageSink = garbageSink;
+    }
+
+    /**
+     * 대전 종료 여부
+     * 싱글 플레이는 게임 오버 시, 멀티 플레이는 생존자가 1명 이하일 때 종료됩니다.
+     */
+    public boolean isMatchOver() {
+        if (sessions.length == 1) {
+            return sessions[0].isGameOver();
+        }
+        return getAliveCount() <= 1;
+    }
+
+    public int getAliveCount() {
+        int alive = 0;
+        for (PlayerSession session : sessions) {
+            if (!session.isGameOver()) alive++;
+        }
+        return alive;
+    }
+
+    /**
+     * 마지막 생존자의 인덱스를 반환합니다.
+     *
+     * @return 생존자가 정확히 1명이 아니면 -1 (무승부)
+     */
+    public int getSurvivorIndex() {
+        int survivor = -1;
+        for (PlayerSession session : sessions) {
+            if (!session.isGameOver()) {
+                if (survivor != -1) return -1;
+                survivor = session.getIndex();
+            }
+        }
+        return survivor;
+    }
+
+    /**
+     * 최고 점수 플레이어의 인덱스를 반환합니다. (TIME_ATTACK 종료 시 승자 판정)
+     *
+     * @return 최고 점수가 동점이면 -1 (무승부)
+     */
+    public int getLeaderIndex() {
+        int leader = -1;
+        int best = Integer.MIN_VALUE;
+        boolean tie = false;
+        for (PlayerSession session : sessions) {
+            int score = session.getSystem().getScore();
+            if (score > best) {
+                best = score;
+                leader = session.getIndex();
+                tie = false;
+            } else if (score == best) {
+                tie = true;
+            }
+        }
+        return tie ? -1 : leader;
+    }
+
+    /**
+     * TIME_ATTACK 모드의 제한 시간 종료 여부 (모든 플레이어의 타이머는 함께 동작)
+     */
+    public boolean isTimeUp() {
+        return sessions[0].getSystem() instanceof TimeTetrisSystem timeSystem && timeSystem.isTimeUp();
+    }
+
+    public void pauseTimers() {
+        for (PlayerSession session : sessions) {
+            if (session.getSystem() instanceof TimeTetrisSystem timeSystem) {
+                timeSystem.pauseTimer();
+            }
+        }
+    }
+
+    public void resumeTimers() {
+        for (PlayerSession session : sessions) {
+            if (session.getSystem() instanceof TimeTetrisSystem timeSystem) {
+                timeSystem.resumeTimer();
+            }
+        }
+    }
+
+    public void resetDropTimers(long now) {
+        for (PlayerSession session : sessions) {
+            session.resetDropTime(now);
+        }
+    }
+
+    public PlayerSession getSession(int index) {
+        return sessions[index];
+    }
+
+    public int getPlayerCount() {
+        return sessions.length;
+    }
+
+    public GameContext getContext() {
+        return context;
+    }
+
+    public GameMode getGameMode() {
+        return gameMode;
+    }
+}
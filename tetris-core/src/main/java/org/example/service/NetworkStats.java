@@ -0,0 +1,283 @@
+package org.example.service;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * P2P 대전 한 판의 네트워크 품질 통계
+ * - RTT: 핑/퐁 왕복 시간 (1ms 단위 히스토그램)
+ * - 단방향 지터: 핑에 실린 송신 시각으로 구한 전송 시간 변화량 |D| (RFC 3550 방식, 1ms 단위 히스토그램)
+ *   두 피어의 시계 차이는 D를 구할 때 상쇄됩니다.
+ * - 손실: 보드/포즈 패킷 순번의 빈 곳으로 계산 (늦게 도착하면 손실에서 빼고 재정렬로 셈)
+ *   1초 구간마다 손실률을 1% 단위 히스토그램에 누적
+ * - 공격 라인 대기열: 게임 틱마다 본 최대 대기 줄 수와 링/10줄 제한으로 버린 줄 수
+ *
+ * 기록은 연결 루프 스레드에서, 조회와 내보내기는 다른 스레드에서 하므로 메서드는 동기화되어 있습니다.
+ * -Dtetris.debug.network=true 로 실행하면 경기 종료 시 CSV로 내보냅니다.
+ */
+public class NetworkStats {
+
+    public static final String DEBUG_PROPERTY = "tetris.debug.network";
+    public static final long WINDOW_MS = 1000;
+
+    private static final int MAX_RTT_MS = 1000;   // 초과분은 마지막 버킷에 누적
+    private static final int MAX_JITTER_MS = 500;
+    private static final int REORDER_WINDOW = 64; // 늦게 온 패킷을 구분할 수 있는 순번 범위
+
+    /**
+     * 표시용 현재 값
+     *
+     * @param rttMs 최근 RTT (측정 전이면 -1)
+     * @param jitterMs 평활 단방향 지터 (측정 전이면 -1)
+     * @param lossPercent 직전 1초 구간의 손실률
+     */
+    public record Snapshot(long rttMs, long jitterMs, double lossPercent) {}
+
+    private final long[] rttHistogram = new long[MAX_RTT_MS + 1];
+    private final long[] jitterHistogram = new long[MAX_JITTER_MS + 1];
+    private final long[] lossHistogram = new long[101];
+    private long rttCount;
+    private long jitterCount;
+    private long lossWindows;
+    private long maxRttMs;
+    private long lastRttMs = -1;
+
+    // 지터 (RFC 3550: J += (|D| - J) / 16)
+    private boolean hasTransit;
+    private long lastTransitMs;
+    private double smoothedJitterMs = -1;
+
+    // 순번 기반 손실
+    private boolean hasSeq;
+    private int firstSeq;
+    private int highestSeq;
+    private long receivedMask;  // bit i = highestSeq - i 를 받았는지
+    private long received;
+    private long lost;          // 빈 순번 수 (늦게 도착하면 줄어듦)
+    private long reordered;
+    private long duplicates;
+
+    // 현재 1초 구간
+    private long windowStartMs = -1;
+    private long windowReceived;
+    private long windowLost;
+    private double lastWindowLossPercent;
+
+    // 받은 공격 라인 대기열 (AdderBoardSync)
+    private int maxAttackQueueDepth;
+    private long droppedAttackLines;
+
+    public static boolean isDebugEnabled() {
+        return Boolean.getBoolean(DEBUG_PROPERTY);
+    }
+
+    public synchronized void recordRtt(long rttMs) {
+        long rtt = Math.max(0, rttMs);
+        rttHistogram[(int) Math.min(MAX_RTT_MS, rtt)]++;
+        rttCount++;
+        maxRttMs = Math.max(maxRttMs, rtt);
+        lastRttMs = rtt;
+    }
+
+    /**
+     * 상대가 보낸 시각이 실린 패킷(핑)을 받았을 때 지터를 갱신합니다.
+     *
+     * @param sentAtMs 상대 시계 기준 송신 시각
+     * @param arrivalMs 내 시계 기준 도착 시각
+     */
+    public synchronized void recordTransit(long sentAtMs, long arrivalMs) {
+        long transit = arrivalMs - sentAtMs;
+        if (hasTransit) {
+            long d = Math.abs(transit - lastTransitMs);
+            jitterHistogram[(int) Math.min(MAX_JITTER_MS, d)]++;
+            jitterCount++;
+            smoothedJitterMs = smoothedJitterMs < 0 ? d : smoothedJitterMs + (d - smoothedJitterMs) / 16.0;
+        }
+        lastTransitMs = transit;
+        hasTransit = true;
+    }
+
+    /**
+     * 순번이 붙은 데이터 패킷(보드/포즈)을 받았을 때 손실/재정렬/중복을 셉니다.
+     */
+    public synchronized void onSequence(int seq, long now) {
+        rollWindow(now);
+        if (!hasSeq) {
+            hasSeq = true;
+            firstSeq = seq;
+            highestSeq = seq;
+            receivedMask = 1;
+            received++;
+            windowReceived++;
+            return;
+        }
+        int ahead = seq - highestSeq;
+        if (ahead > 0) {
+            int gap = ahead - 1;
+            lost += gap;
+            windowLost += gap;
+            receivedMask = ahead >= REORDER_WINDOW ? 1 : (receivedMask << ahead) | 1;
+            highestSeq = seq;
+        } else {
+            int behind = -ahead;
+            if (behind >= REORDER_WINDOW || seq - firstSeq < 0) {
+                return; // 너무 오래되었거나 측정 시작 전 순번 (구분할 수 없음)
+            }
+            long bit = 1L << behind;
+            if ((receivedMask & bit) != 0) {
+                duplicates++;
+                return;
+            }
+            receivedMask |= bit;
+            lost--;
+            windowLost--;
+            reordered++;
+        }
+        received++;
+        windowReceived++;
+    }
+
+    /**
+     * 1초 구간이 끝났으면 손실률을 히스토그램에 넣고 새 구간을 시작합니다. (패킷이 없어도 주기적으로 호출)
+     */
+    public synchronized void rollWindow(long now) {
+        if (windowStartMs < 0) {
+            windowStartMs = now;
+            return;
+        }
+        if (now - windowStartMs < WINDOW_MS) {
+            return;
+        }
+        long expected = windowReceived + Math.max(0, windowLost);
+        if (expected > 0) {
+            lastWindowLossPercent = 100.0 * Math.max(0, windowLost) / expected;
+            lossHistogram[(int) Math.round(lastWindowLossPercent)]++;
+            lossWindows++;
+        }
+        windowStartMs = now - (now - windowStartMs) % WINDOW_MS; // 구간 경계를 1초 단위로 유지
+        windowReceived = 0;
+        windowLost = 0;
+    }
+
+    /**
+     * 게임 틱마다 받은 공격 라인 대기열 상태를 기록합니다.
+     *
+     * @param queueDepth 아직 보드 쪽으로 옮기지 않은 줄 수
+     * @param droppedLines 지금까지 버린 줄 수 (누적값)
+     */
+    public synchronized void recordAttackQueue(int queueDepth, long droppedLines) {
+        maxAttackQueueDepth = Math.max(maxAttackQueueDepth, queueDepth);
+        droppedAttackLines = droppedLines;
+    }
+
+    public synchronized int getMaxAttackQueueDepth() {
+        return maxAttackQueueDepth;
+    }
+
+    public synchronized long getDroppedAttackLines() {
+        return droppedAttackLines;
+    }
+
+    public synchronized Snapshot snapshot() {
+        long jitter = smoothedJitterMs < 0 ? -1 : Math.round(smoothedJitterMs);
+        return new Snapshot(lastRttMs, jitter, lastWindowLossPercent);
+    }
+
+    /**
+     * RTT 백분위 값
+     *
+     * @param percentile 0.0 ~ 1.0
+     * @return 밀리초, 기록이 없으면 -1
+     */
+    public synchronized long getRttPercentile(double percentile) {
+        return percentile(rttHistogram, rttCount, percentile);
+    }
+
+    public synchronized long getJitterPercentile(double percentile) {
+        return percentile(jitterHistogram, jitterCount, percentile);
+    }
+
+    /**
+     * 1초 구간 손실률(%)의 백분위 값 (구간이 없으면 -1)
+     */
+    public synchronized long getLossPercentile(double percentile) {
+        return percentile(lossHistogram, lossWindows, percentile);
+    }
+
+    private static long percentile(long[] histogram, long count, double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile));
+        long cumulative = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            cumulative += histogram[i];
+            if (cumulative >= target) {
+                return i;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    public synchronized long getReceived() {
+        return received;
+    }
+
+    public synchronized long getLost() {
+        return Math.max(0, lost);
+    }
+
+    public synchronized long getReordered() {
+        return reordered;
+    }
+
+    public synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * 경기 전체 손실률 (%)
+     */
+    public synchronized double getLossPercent() {
+        long lostPackets = Math.max(0, lost);
+        long expected = received + lostPackets;
+        return expected > 0 ? 100.0 * lostPackets / expected : 0;
+    }
+
+    /**
+     * 경기 요약 문자열
+     */
+    public synchronized String getSummary() {
+        return "Network (p50/p95/p99)"
+                + "\nRTT: " + getRttPercentile(0.5) + " / " + getRttPercentile(0.95) + " / " + getRttPercentile(0.99)
+                + " ms (max " + maxRttMs + ")"
+                + "\nJitter: " + getJitterPercentile(0.5) + " / " + getJitterPercentile(0.95) + " / "
+                + getJitterPercentile(0.99) + " ms"
+                + "\nLoss: " + String.format(Locale.ROOT, "%.2f", getLossPercent()) + "% (" + getLost() + "/" + (received + getLost())
+                + ", reordered " + reordered + ", duplicates " + duplicates + ")"
+                + "\nAttack queue: max " + maxAttackQueueDepth + " lines, dropped " + droppedAttackLines;
+    }
+
+    /**
+     * 경기 통계를 CSV 파일로 내보냅니다.
+     *
+     * @param path 저장할 파일 경로
+     */
+    public synchronized void exportCsv(String path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(path))) {
+            writer.println("metric,count,p50,p95,p99,max");
+            writer.println("rtt_ms," + rttCount + "," + getRttPercentile(0.5) + "," + getRttPercentile(0.95) + ","
+                    + getRttPercentile(0.99) + "," + maxRttMs);
+            writer.println("jitter_ms," + jitterCount + "," + getJitterPercentile(0.5) + ","
+                    + getJitterPercentile(0.95) + "," + getJitterPercentile(0.99) + "," + getJitterPercentile(1.0));
+            writer.println("loss_percent_per_second," + lossWindows + "," + getLossPercentile(0.5) + ","
+                    + getLossPercentile(0.95) + "," + getLossPercentile(0.99) + "," + getLossPercentile(1.0));
+            writer.println();
+            writer.println("received,lost,reordered,duplicates,loss_percent");
+            writer.println(received + "," + getLost() + "," + reordered + "," + duplicates + ","
+                    + String.format(Locale.ROOT, "%.3f", getLossPercent()));
+        }
+    }
+}
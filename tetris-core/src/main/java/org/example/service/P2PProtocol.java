@@ -0,0 +1,275 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+import org.example.model.GameMode;
+
+/**
+ * P2P TCP 제어 채널의 공통 프로토콜 (대기실, 게임 중 모두)
+ *
+ * - 프레임: [길이(int, 종류 바이트 포함)][종류(byte)][데이터]
+ * - 핸드셰이크: 대기실에 들어올 때마다 양쪽이 가장 먼저 HELLO를 보냅니다.
+ *   HELLO: [MAGIC(int)][버전(short)][최소 호환 버전(short)][기능 비트(int)]
+ *   서로의 호환 범위가 겹치지 않으면 연결을 끊고, 겹치면 둘 다 지원하는 가장 높은 버전과 공통 기능을 씁니다.
+ * - 게임 시작: START: [경기 시드(long)] - 서버가 정해 보내고 클라이언트가 같은 값을 돌려보냅니다.
+ *   CAP_LOCKSTEP을 함께 쓰면 두 피어가 이 시드로 같은 경기를 진행합니다. (다시 하기는 nextMatchSeed)
+ * - 메시지 종류는 화면과 관계없이 한 번호 공간을 씁니다.
+ *   0x01~0x06 게임 중 (BoardSyncCodec), 0x07~0x0A 재연결 (ResumeCodec), 0x11~0x16 대기실, 0x7F HELLO
+ *
+ * 인코더는 ByteBuffer(송신 큐의 풀 버퍼)에 바로 쓰고, 디코더는 재사용 수신 버퍼(data, size)에서 바로 읽어
+ * 메시지마다 할당하지 않습니다. (문자열을 만드는 채팅 제외)
+ */
+public final class P2PProtocol {
+
+    public static final int MAGIC = 0x54545032; // "TTP2"
+    public static final int VERSION = 1;
+    public static final int MIN_COMPATIBLE_VERSION = 1;
+
+    // ----------- 기능 비트 -----------
+    public static final int CAP_POSE_SYNC = 1;      // 보드 대신 조각 포즈 + 보드 이벤트로 동기화 (PoseSyncCodec)
+    public static final int CAP_LOCKSTEP = 1 << 1;  // 입력 교환 + 롤백 대전 (LockstepMatch, 시드는 START로 받음)
+    public static final int CAP_RELIABLE_UDP = 1 << 2; // 게임 중 제어 메시지를 UDP 신뢰성 통로로 (ReliableLane)
+    public static final int CAP_BOARD_HASH = 1 << 3;   // 포즈 동기화 보드 해시 비교 + 재동기화 (PoseSyncCodec.PACKET_BOARD_HASH)
+    public static final int CAP_RECONNECT = 1 << 4;    // 게임 중 끊기면 새 소켓으로 다시 붙어 이어서 진행 (ResumeCodec)
+    public static final int LOCAL_CAPABILITIES = CAP_POSE_SYNC | CAP_LOCKSTEP | CAP_RELIABLE_UDP | CAP_BOARD_HASH | CAP_RECONNECT;
+
+    // ----------- 프레임 -----------
+    public static final int FRAME_HEADER_SIZE = 4 + 1;
+    public static final int MAX_MESSAGE_SIZE = 64 * 1024;
+
+    // ----------- 메시지 종류 -----------
+    public static final byte MSG_HELLO = 0x7F;
+    public static final byte MSG_GAME_MODE_CHANGE = 0x11;
+    public static final byte MSG_READY_STATE = 0x12;
+    public static final byte MSG_GAME_START = 0x13;
+    public static final byte MSG_HEARTBEAT = 0x14;
+    public static final byte MSG_CHAT_MESSAGE = 0x15;
+    public static final byte MSG_DIFFICULTY_CHANGE = 0x16;
+
+    public static final int HELLO_SIZE = 1 + 4 + 2 + 2 + 4;
+    public static final int GAME_START_SIZE = 1 + 8;
+
+    private static final SecureRandom SEED_RANDOM = new SecureRandom();
+
+    private static final GameMode[] MODES = GameMode.values(); // values()는 호출마다 배열을 복사
+    private static final byte[][] MODE_NAMES = new byte[MODES.length][];
+    static {
+        for (GameMode mode : MODES) {
+            MODE_NAMES[mode.ordinal()] = mode.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private P2PProtocol() {}
+
+    /**
+     * 상대가 보낸 HELLO
+     *
+     * @param version 상대가 지원하는 가장 높은 버전
+     * @param minVersion 상대가 지원하는 가장 낮은 버전
+     * @param capabilities 상대의 기능 비트
+     */
+    public record Hello(int version, int minVersion, int capabilities) {
+        /**
+         * 양쪽이 함께 쓸 버전 (호환 범위가 겹치지 않으면 -1)
+         */
+        public int negotiateVersion() {
+            int version = Math.min(VERSION, this.version);
+            return version >= Math.max(MIN_COMPATIBLE_VERSION, minVersion) ? version : -1;
+        }
+
+        /**
+         * 양쪽이 모두 지원하는 기능 비트
+         */
+        public int sharedCapabilities() {
+            return LOCAL_CAPABILITIES & capabilities;
+        }
+    }
+
+    // ----------- 핸드셰이크 -----------
+
+    public static void encodeHello(ByteBuffer out) {
+        encodeHello(out, VERSION, MIN_COMPATIBLE_VERSION, LOCAL_CAPABILITIES);
+    }
+
+    public static void encodeHello(ByteBuffer out, int version, int minVersion, int capabilities) {
+        out.put(MSG_HELLO);
+        out.putInt(MAGIC);
+        out.putShort((short) version);
+        out.putShort((short) minVersion);
+        out.putInt(capabilities);
+    }
+
+    /**
+     * @return 형식이 잘못되었거나 이 게임의 HELLO가 아니면 null
+     */
+    public static Hello decodeHello(byte[] data, int size) {
+        if (size < HELLO_SIZE - 1 || readInt(data, 0) != MAGIC) {
+            return null;
+        }
+        return new Hello(readShort(data, 4), readShort(data, 6), readInt(data, 8));
+    }
+
+    // ----------- 대기실 -----------
+
+    /**
+     * 값 하나짜리 메시지 (Ready, 난이도)
+     */
+    public static void encodeByteMessage(ByteBuffer out, byte type, int value) {
+        out.put(type);
+        out.put((byte) value);
+    }
+
+    public static boolean decodeReady(byte[] data, int size) {
+        return size > 0 && data[0] == 1;
+    }
+
+    public static int decodeDifficulty(byte[] data, int size) {
+        return size > 0 ? data[0] & 0xFF : 0;
+    }
+
+    public static int gameModeSize(GameMode mode) {
+        return 1 + MODE_NAMES[mode.ordinal()].length;
+    }
+
+    public static void encodeGameMode(ByteBuffer out, GameMode mode) {
+        out.put(MSG_GAME_MODE_CHANGE);
+        out.put(MODE_NAMES[mode.ordinal()]);
+    }
+
+    /**
+     * 이름 바이트를 그대로 비교합니다. (문자열을 만들지 않음)
+     *
+     * @return 알 수 없는 모드면 null
+     */
+    public static GameMode decodeGameMode(byte[] data, int size) {
+        for (int i = 0; i < MODE_NAMES.length; i++) {
+            byte[] name = MODE_NAMES[i];
+            if (name.length == size && Arrays.equals(name, 0, size, data, 0, size)) {
+                return MODES[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 새 경기 시드 (0은 "시드 없음"이라 쓰지 않음)
+     */
+    public static long newMatchSeed() {
+        long seed;
+        do {
+            seed = SEED_RANDOM.nextLong();
+        } while (seed == 0);
+        return seed;
+    }
+
+    /**
+     * 다시 하기 경기의 시드: 핸드셰이크 없이 양쪽이 같은 값을 계산합니다.
+     */
+    public static long nextMatchSeed(long seed) {
+        long next = seed + 0x9E3779B97F4A7C15L;
+        return next != 0 ? next : 1;
+    }
+
+    public static void encodeGameStart(ByteBuffer out, long seed) {
+        out.put(MSG_GAME_START);
+        out.putLong(seed);
+    }
+
+    /**
+     * @return 시드가 없는 START(이전 버전)면 0
+     */
+    public static long decodeGameStartSeed(byte[] data, int size) {
+        if (size < GAME_START_SIZE - 1) {
+            return 0;
+        }
+        return ((long) readInt(data, 0) << 32) | (readInt(data, 4) & 0xFFFFFFFFL);
+    }
+
+    public static byte[] encodeText(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String decodeText(byte[] data, int size) {
+        return new String(data, 0, size, StandardCharsets.UTF_8);
+    }
+
+    // ----------- 공통 읽기 (빅엔디안, ByteBuffer와 같은 순서) -----------
+
+    public static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    public static short readShort(byte[] data, int offset) {
+        return (short) (((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF));
+    }
+
+    /**
+     * 받은 프레임 하나 (data는 재사용 버퍼이므로 보관하려면 복사)
+     */
+    @FunctionalInterface
+    public interface FrameHandler {
+        void onFrame(byte type, byte[] data, int size);
+    }
+
+    /**
+     * 채널에서 프레임을 읽는 상태 기계 (논블로킹 채널에서 조각난 데이터를 이어 붙임)
+     *
+     * 프레임 경계를 넘어서 읽지 않으므로, 읽기를 멈춘 뒤 남은 바이트는 다음에 소켓을 쓰는 쪽이 그대로 읽을 수 있습니다.
+     * 본문 버퍼는 가장 긴 프레임 크기까지 늘어난 뒤 계속 재사용합니다.
+     */
+    public static final class FrameReader {
+        private final ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        private ByteBuffer body = ByteBuffer.allocate(256);
+        private boolean readingBody;
+        private byte type;
+
+        /**
+         * 읽을 수 있는 만큼 프레임을 읽어 handler로 넘깁니다.
+         *
+         * @param stop 프레임마다 확인: true면 다음 프레임은 읽지 않음
+         * @return 채널이 끝났으면(EOF) false
+         * @throws IOException 읽기 실패 또는 잘못된 프레임 길이
+         */
+        public boolean readFrom(ReadableByteChannel channel, FrameHandler handler, BooleanSupplier stop)
+                throws IOException {
+            while (!stop.getAsBoolean()) {
+                if (!readingBody) {
+                    if (channel.read(header) < 0) {
+                        return false;
+                    }
+                    if (header.hasRemaining()) {
+                        return true;
+                    }
+                    header.flip();
+                    int length = header.getInt();
+                    type = header.get();
+                    header.clear();
+                    if (length < 1 || length > MAX_MESSAGE_SIZE) {
+                        throw new IOException("invalid message length " + length);
+                    }
+                    if (body.capacity() < length - 1) {
+                        body = ByteBuffer.allocate(Math.max(length - 1, body.capacity() * 2));
+                    }
+                    body.clear().limit(length - 1);
+                    readingBody = true;
+                }
+                if (body.hasRemaining() && channel.read(body) < 0) {
+                    return false;
+                }
+                if (body.hasRemaining()) {
+                    return true;
+                }
+                readingBody = false;
+                handler.onFrame(type, body.array(), body.limit());
+            }
+            return true;
+        }
+    }
+}
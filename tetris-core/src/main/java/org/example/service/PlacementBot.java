@@ -0,0 +1,155 @@
+package org.example.service;
+
+import org.example.model.GameBoard;
+import org.example.model.TetrominoPosition;
+
+/**
+ * 시뮬레이션용 간단한 AI 플레이어
+ * 현재 블록의 모든 회전/가로 위치를 하드 드롭해 보고
+ * 높이, 구멍, 울퉁불퉁함, 완성 줄 수로 점수를 매겨 가장 좋은 자리에 놓습니다.
+ *
+ * 보드를 행 단위 비트마스크로 들고 평가하므로 후보마다 보드를 복사하지 않습니다.
+ * 스레드마다(게임마다) 별도 인스턴스를 사용해야 합니다.
+ */
+public class PlacementBot {
+
+    private static final int ROWS = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE;
+    private static final int FULL_ROW = (1 << GameBoard.WIDTH) - 1;
+
+    // 평가 가중치 (El-Tetris 계열 휴리스틱)
+    private static final double HEIGHT_WEIGHT = -0.51;
+    private static final double LINES_WEIGHT = 0.76;
+    private static final double HOLES_WEIGHT = -0.36;
+    private static final double BUMPINESS_WEIGHT = -0.18;
+
+    private final int[] rows = new int[ROWS];
+    private final int[] scratch = new int[ROWS];
+    private final int[] heights = new int[GameBoard.WIDTH];
+
+    /**
+     * 현재 블록을 가장 좋은 자리로 옮긴 뒤 하드 드롭합니다.
+     *
+     * @return 블록을 놓았으면 true
+     */
+    public boolean playPiece(TetrisSystem system) {
+        if (!moveToBest(system)) {
+            return false;
+        }
+        system.hardDrop();
+        return true;
+    }
+
+    /**
+     * 현재 블록을 가장 좋은 자리로 회전/이동만 합니다. (드롭은 호출자가 결정)
+     *
+     * @return 옮길 블록이 있었으면 true
+     */
+    public boolean moveToBest(TetrisSystem system) {
+        TetrominoPosition current = system.getCurrentPiece();
+        if (system.isGameOver() || current == null) {
+            return false;
+        }
+        GameBoard board = system.getBoard();
+        loadRows(board);
+
+        int rotations = current.isRotationLocked() ? 1 : 4;
+        int bestRotation = 0;
+        int bestX = current.getX();
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        for (int r = 0; r < rotations; r++) {
+            TetrominoPosition probe = current.copy();
+            probe.setRotation(current.getRotation() + r);
+            int width = probe.getCurrentShape()[0].length;
+            for (int x = -width + 1; x < GameBoard.WIDTH; x++) {
+                probe.setX(x);
+                if (!board.isValidPosition(probe)) {
+                    continue;
+                }
+                double score = evaluate(SuperRotationSystem.hardDrop(probe, board));
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestRotation = r;
+                    bestX = x;
+                }
+            }
+        }
+
+        for (int r = 0; r < bestRotation; r++) {
+            system.rotateClockwise();
+        }
+        // 회전 킥으로 x가 밀렸을 수 있으므로 실제 위치 기준으로 이동
+        while (system.getCurrentPiece().getX() < bestX && system.moveRight()) { }
+        while (system.getCurrentPiece().getX() > bestX && system.moveLeft()) { }
+        return true;
+    }
+
+    private void loadRows(GameBoard board) {
+        for (int row = 0; row < ROWS; row++) {
+            int mask = 0;
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                if (board.getCellColor(row, col) != 0) {
+                    mask |= 1 << col;
+                }
+            }
+            rows[row] = mask;
+        }
+    }
+
+    /**
+     * 블록을 landing 위치에 놓은 결과를 평가합니다. (높을수록 좋음)
+     */
+    private double evaluate(TetrominoPosition landing) {
+        System.arraycopy(rows, 0, scratch, 0, ROWS);
+        int[][] shape = landing.getCurrentShape();
+        for (int r = 0; r < shape.length; r++) {
+            int y = landing.getY() + r;
+            if (y < 0 || y >= ROWS) continue;
+            for (int c = 0; c < shape[r].length; c++) {
+                int x = landing.getX() + c;
+                if (shape[r][c] == 1 && x >= 0 && x < GameBoard.WIDTH) {
+                    scratch[y] |= 1 << x;
+                }
+            }
+        }
+
+        // 완성 줄을 제거하며 아래로 압축
+        int cleared = 0;
+        int write = ROWS - 1;
+        for (int read = ROWS - 1; read >= 0; read--) {
+            if (scratch[read] == FULL_ROW) {
+                cleared++;
+            } else {
+                scratch[write--] = scratch[read];
+            }
+        }
+        while (write >= 0) {
+            scratch[write--] = 0;
+        }
+
+        int aggregateHeight = 0;
+        int holes = 0;
+        for (int col = 0; col < GameBoard.WIDTH; col++) {
+            int bit = 1 << col;
+            int top = ROWS;
+            for (int row = 0; row < ROWS; row++) {
+                if ((scratch[row] & bit) != 0) {
+                    if (top == ROWS) top = row;
+                } else if (top != ROWS) {
+                    holes++;
+                }
+            }
+            heights[col] = ROWS - top;
+            aggregateHeight += heights[col];
+        }
+        int bumpiness = 0;
+        for (int col = 0; col < GameBoard.WIDTH - 1; col++) {
+            bumpiness += Math.abs(heights[col] - heights[col + 1]);
+        }
+
+        return HEIGHT_WEIGHT * aggregateHeight
+                + LINES_WEIGHT * cleared
+                + HOLES_WEIGHT * holes
+                + BUMPINESS_WEIGHT * bumpiness;
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.service;
+
+import java.util.List;
+
+import org.example.model.AdderBoard;
+import org.example.model.TetrominoPosition;
+import org.example.service.InputLatencyTracker.Action;
+
+/**
+ * MatchEngine이 관리하는 플레이어 한 명의 게임 상태
+ * - TetrisSystem과 공격 라인 대기열(AdderBoard)
+ * - 중력(자동 낙하) 타이밍
+ * - 입력 액션 실행, 고스트 블록 계산
+ */
+public class PlayerSession {
+
+    private final int index;
+    private final TetrisSystem system;
+    private final AdderBoard adderBoard;
+    private long lastDropTime;
+    // lockPiece 후 받은 공격 라인을 보드에 적용하는 동작 (기본: 자신의 AdderBoard 적용)
+    private Runnable incomingGarbageApplier;
+    // 입력/중력/지연 삭제로 상태가 바뀌었을 때 (네트워크 송신 트리거 등)
+    private Runnable onStateChanged = () -> {};
+
+    PlayerSession(int index, TetrisSystem system, long now) {
+        this.index = index;
+        this.system = system;
+        this.adderBoard = new AdderBoard();
+        this.lastDropTime = now;
+        this.incomingGarbageApplier = () -> {
+            if (adderBoard.getLineCount() > 0) {
+                adderBoard.applyToBoard(system.getBoard());
+            }
+        };
+    }
+
+    /**
+     * 중력 낙하와 지연된 라인 삭제를 처리합니다.
+     *
+     * @param now 현재 시각 (밀리초)
+     */
+    void tick(long now) {
+        boolean changed = false;
+        if (now - lastDropTime >= system.getDropInterval()) {
+            system.update();
+            lastDropTime = now;
+            changed = true;
+        }
+        long pendingClear = system.getBoard().getPendingClearDueMs();
+        system.getBoard().processPendingClearsIfDue();
+        if (pendingClear != 0L && system.getBoard().getPendingClearDueMs() != pendingClear) {
+            changed = true;
+        }
+        if (changed) {
+            onStateChanged.run();
+        }
+    }
+
+    void applyIncomingGarbage() {
+        incomingGarbageApplier.run();
+    }
+
+    /**
+     * 입력 액션을 실행합니다.
+     *
+     * @return 게임 상태가 바뀌었으면 true
+     */
+    public boolean execute(Action action) {
+        if (system.isGameOver()) {
+            return false;
+        }
+        boolean changed = switch (action) {
+            case MOVE_LEFT -> system.moveLeft();
+            case MOVE_RIGHT -> system.moveRight();
+            case SOFT_DROP -> system.moveDown();
+            case ROTATE_CW -> system.rotateClockwise();
+            case ROTATE_CCW -> system.rotateCounterClockwise();
+            case HOLD -> system.hold();
+            case HARD_DROP -> {
+                system.hardDrop();
+                yield true;
+            }
+        };
+        if (changed) {
+            onStateChanged.run();
+        }
+        return changed;
+    }
+
+    /**
+     * 현재 블록을 하드 드롭했을 때의 위치 (없으면 null)
+     */
+    public TetrominoPosition getGhostPiece() {
+        return system.getCurrentPiece() != null
+                ? SuperRotationSystem.hardDrop(system.getCurrentPiece(), system.getBoard())
+                : null;
+    }
+
+    /**
+     * 다음 블록 (없으면 null)
+     */
+    public TetrominoPosition getNextPiece() {
+        List<TetrominoPosition> nextQueue = system.getNextQueue();
+        return !nextQueue.isEmpty() ? nextQueue.get(0) : null;
+    }
+
+    /**
+     * 받은 공격 라인을 보드에 적용하는 방식을 바꿉니다. (네트워크 대전 등)
+     */
+    public void setIncomingGarbageApplier(Runnable applier) {
+        this.incomingGarbageApplier = applier;
+    }
+
+    /**
+     * 입력, 중력 낙하, 지연 삭제로 상태가 바뀔 때마다 호출할 동작을 설정합니다. (게임 스레드에서 호출됨)
+     */
+    public void setOnStateChanged(Runnable onStateChanged) {
+        this.onStateChanged = onStateChanged;
+    }
+
+    /**
+     * 같은 모드의 다른 세션 상태를 그대로 복사합니다. (LockstepMatch 롤백용)
+     */
+    void copyStateFrom(PlayerSession other) {
+        system.copyStateFrom(other.system);
+        adderBoard.copyFrom(other.adderBoard);
+        lastDropTime = other.lastDropTime;
+    }
+
+    public void resetDropTime(long now) {
+        this.lastDropTime = now;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public TetrisSystem getSystem() {
+        return system;
+    }
+
+    public AdderBoard getAdderBoard() {
+        return adderBoard;
+    }
+
+    public boolean isGameOver() {
+        return system.isGameOver();
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.service;
+
+import org.example.model.TetrominoPosition;
+
+/**
+ * 상대 포즈용 적응형 지터 버퍼
+ *
+ * 받은 포즈를 보낸 쪽 틱(PoseSyncCodec.Pose.tick) 순서로 모아 두었다가,
+ * (보낸 틱 + 기준 전송 지연 + 버퍼 깊이) 시각에 하나씩 재생합니다.
+ * 네트워크 지터가 있어도 상대 조각은 보낸 쪽과 같은 간격으로 움직입니다.
+ *
+ * - 기준 전송 지연: 최근 TRANSIT_WINDOW개 패킷의 (도착 시각 - 보낸 틱) 최솟값 (두 시계의 차이도 여기에 포함)
+ * - 지터: RFC 3550 방식의 전송 지연 변화량 평균, 버퍼 깊이 = DEPTH_PER_JITTER x 지터 (MIN_DEPTH_MS ~ MAX_DEPTH_MS)
+ * - 깊이는 재생 시각이 튀지 않도록 poll()마다 1ms씩만 목표에 다가감
+ *
+ * 다음 포즈가 늦으면 마지막으로 잰 낙하 속도로 조각을 최대 MAX_EXTRAPOLATION_MS(MAX_EXTRAPOLATED_ROWS줄)만큼 더 떨어뜨려 보여줍니다.
+ * (실제 위치 확인은 PoseSyncCodec.Mirror.compose(out, fallRows)가 바닥/블록에서 멈춤)
+ *
+ * 한 스레드(연결 루프)에서만 호출합니다.
+ */
+public final class PoseJitterBuffer {
+
+    public static final int CAPACITY = 32;              // 재생을 기다리는 최대 포즈 수
+    public static final int TRANSIT_WINDOW = 64;        // 기준 전송 지연을 구할 최근 패킷 수
+    public static final long MIN_DEPTH_MS = 10;
+    public static final long MAX_DEPTH_MS = 150;        // 더해지는 지연의 상한
+    public static final double DEPTH_PER_JITTER = 3.0;
+    public static final long MAX_EXTRAPOLATION_MS = 250;
+    public static final int MAX_EXTRAPOLATED_ROWS = 2;  // 소프트 드롭을 멈춘 경우 등 추정이 틀려도 크게 어긋나지 않도록
+    public static final long FRAME_MS = 16;             // 추정 중 화면 갱신 간격
+
+    private final PoseSyncCodec.Pose[] pending = new PoseSyncCodec.Pose[CAPACITY]; // 틱 오름차순
+    private int pendingCount;
+
+    private final long[] transits = new long[TRANSIT_WINDOW];
+    private int transitCount;
+    private int transitNext;
+    private long baseTransit;
+    private long lastTransit;
+    private double jitterMs;
+    private long depthMs = MIN_DEPTH_MS;
+
+    // 재생한 마지막 포즈와 조각 낙하 속도 (같은 조각에서 y가 바뀐 두 시점)
+    private int lastPlayedTick = -1;
+    private int lastPlayedSeq;
+    private PoseSyncCodec.Pose lastPlayed;
+    private int fallFromTick = -1;
+    private int fallFromY;
+    private double rowsPerMs;
+    private int lastFallRows;
+    private long dropped;
+
+    /**
+     * 받은 포즈를 버퍼에 넣습니다.
+     *
+     * @param pose 송신 틱이 있는 포즈 (pose.hasTick())
+     * @param arrivalMs 받은 시각
+     * @return 이미 재생한 시점보다 오래되었거나 중복이면 false
+     */
+    public boolean offer(PoseSyncCodec.Pose pose, long arrivalMs) {
+        if (pose == null || !pose.hasTick()) {
+            return false;
+        }
+        updateTransit(arrivalMs - pose.tick());
+        if (pose.tick() <= lastPlayedTick || (lastPlayed != null && pose.poseSeq() - lastPlayedSeq <= 0)) {
+            dropped++;
+            return false;
+        }
+        int insert = pendingCount;
+        while (insert > 0 && pending[insert - 1].tick() >= pose.tick()) {
+            if (pending[insert - 1].poseSeq() == pose.poseSeq()) {
+                return false; // 중복
+            }
+            insert--;
+        }
+        if (pendingCount == CAPACITY) {
+            if (insert == 0) {
+                dropped++;
+                return false;
+            }
+            // 가장 오래된 포즈를 버리고 자리를 만듦
+            System.arraycopy(pending, 1, pending, 0, CAPACITY - 1);
+            pendingCount--;
+            insert--;
+            dropped++;
+        }
+        System.arraycopy(pending, insert, pending, insert + 1, pendingCount - insert);
+        pending[insert] = pose;
+        pendingCount++;
+        return true;
+    }
+
+    private void updateTransit(long transit) {
+        if (transitCount > 0) {
+            jitterMs += (Math.abs(transit - lastTransit) - jitterMs) / 16.0;
+        }
+        lastTransit = transit;
+        transits[transitNext] = transit;
+        transitNext = (transitNext + 1) % TRANSIT_WINDOW;
+        if (transitCount < TRANSIT_WINDOW) {
+            transitCount++;
+        }
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < transitCount; i++) {
+            min = Math.min(min, transits[i]);
+        }
+        baseTransit = min;
+    }
+
+    /**
+     * 재생 시각이 된 포즈를 꺼냅니다. 여러 개가 밀려 있으면 가장 최근 것만 돌려줍니다.
+     *
+     * @return 새로 보여줄 포즈 (없으면 null)
+     */
+    public PoseSyncCodec.Pose poll(long now) {
+        long targetDepth = Math.clamp(Math.round(DEPTH_PER_JITTER * jitterMs), MIN_DEPTH_MS, MAX_DEPTH_MS);
+        if (depthMs < targetDepth) {
+            depthMs++;
+        } else if (depthMs > targetDepth) {
+            depthMs--;
+        }
+        long renderTick = renderTick(now);
+        PoseSyncCodec.Pose played = null;
+        int count = 0;
+        while (count < pendingCount && pending[count].tick() <= renderTick) {
+            played = pending[count];
+            trackFall(played);
+            count++;
+        }
+        if (count > 0) {
+            System.arraycopy(pending, count, pending, 0, pendingCount - count);
+            for (int i = pendingCount - count; i < pendingCount; i++) {
+                pending[i] = null;
+            }
+            pendingCount -= count;
+            lastPlayed = played;
+            lastPlayedTick = played.tick();
+            lastPlayedSeq = played.poseSeq();
+            lastFallRows = 0;
+        }
+        return played;
+    }
+
+    // 같은 조각이 아래로 움직인 간격으로 낙하 속도를 잼 (새 조각이면 초기화)
+    private void trackFall(PoseSyncCodec.Pose pose) {
+        TetrominoPosition piece = pose.current();
+        TetrominoPosition previous = lastPlayed != null ? lastPlayed.current() : null;
+        if (piece == null || previous == null || piece.getType() != previous.getType()
+                || piece.getY() < previous.getY()) {
+            fallFromTick = piece != null ? pose.tick() : -1;
+            fallFromY = piece != null ? piece.getY() : 0;
+            rowsPerMs = 0;
+        } else if (piece.getY() > fallFromY && fallFromTick >= 0) {
+            int elapsed = pose.tick() - fallFromTick;
+            if (elapsed > 0) {
+                rowsPerMs = (double) (piece.getY() - fallFromY) / elapsed;
+            }
+            fallFromTick = pose.tick();
+            fallFromY = piece.getY();
+        }
+        lastPlayed = pose;
+    }
+
+    /**
+     * 다음 포즈가 늦을 때 현재 조각을 더 떨어뜨려 보여줄 줄 수 (버퍼에 기다리는 포즈가 있으면 0)
+     */
+    public int extrapolatedRows(long now) {
+        if (lastPlayed == null || pendingCount > 0 || rowsPerMs <= 0 || fallFromTick < 0) {
+            return 0;
+        }
+        long ahead = Math.min(renderTick(now) - fallFromTick, MAX_EXTRAPOLATION_MS + (lastPlayedTick - fallFromTick));
+        int rows = (int) Math.floor(ahead * rowsPerMs) - (lastPlayed.current().getY() - fallFromY);
+        return Math.clamp(rows, 0, MAX_EXTRAPOLATED_ROWS);
+    }
+
+    /**
+     * extrapolatedRows()가 지난번 호출과 달라졌는지 확인하고 기억합니다. (화면 다시 그리기 판단)
+     */
+    public boolean updateFallRows(int rows) {
+        if (rows == lastFallRows) {
+            return false;
+        }
+        lastFallRows = rows;
+        return true;
+    }
+
+    /**
+     * 다음에 poll()을 호출해야 할 때까지의 시간
+     *
+     * @return ms (기다리는 포즈도 추정할 움직임도 없으면 Long.MAX_VALUE)
+     */
+    public long delayUntilNext(long now) {
+        if (pendingCount > 0) {
+            return Math.max(0, pending[0].tick() - renderTick(now));
+        }
+        if (lastPlayed != null && rowsPerMs > 0 && renderTick(now) - lastPlayedTick < MAX_EXTRAPOLATION_MS) {
+            return FRAME_MS;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private long renderTick(long now) {
+        return now - baseTransit - depthMs;
+    }
+
+    /**
+     * 현재 버퍼 깊이 (상대 화면에 더해지는 지연, ms)
+     */
+    public long getDepthMs() {
+        return depthMs;
+    }
+
+    public double getJitterMs() {
+        return jitterMs;
+    }
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * 너무 늦게 도착했거나 버퍼가 넘쳐 재생하지 못한 포즈 수
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
@@ -0,0 +1,605 @@
+package org.example.service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.example.model.GameBoard;
+import org.example.model.GarbageLine;
+import org.example.model.ItemBlock;
+import org.example.model.Tetromino;
+import org.example.model.TetrominoPosition;
+import org.example.model.TetrominoPosition.SpecialKind;
+
+/**
+ * 조각 위치(포즈) + 보드 이벤트 기반 상대 화면 동기화 코덱
+ *
+ * 고정(lock) 사이에 상대 화면에서 바뀌는 것은 떨어지는 조각과 고스트뿐이므로
+ * 매 틱에는 현재 조각의 (종류, x, y, 회전, 아이템)과 next/hold만 UDP로 보내고,
+ * 고정된 칸의 변화는 순번이 붙은 보드 이벤트로 TCP(SIGNAL_BOARD_EVENT)에 실어 보냅니다.
+ * 받는 쪽은 이벤트로 보드를 직접 재구성하고 조각과 고스트를 그 위에 그립니다.
+ *
+ * - 포즈 패킷(UDP): [0x20][poseSeq(int)][boardSeq(int)][현재 조각 5바이트][next 2바이트][hold 2바이트]
+ *   조각: [종류][x][y][회전][아이템], next/hold: [종류][아이템]
+ *   종류 = 0(없음) 또는 (Tetromino 순번 + 1) | (SpecialKind 순번 << 4)
+ *   아이템 = 0xFF(없음) 또는 (ItemBlock 순번 << 2) | 블록 인덱스
+ *   뒤에 [송신 틱(int)]이 붙을 수 있음 - 보낸 쪽 경기 시작 후 ms, 받는 쪽 지터 버퍼(PoseJitterBuffer)가 사용
+ *   (틱이 없는 이전 버전 패킷은 바로 적용하고, 이전 버전 수신 측은 뒤의 4바이트를 읽지 않음)
+ * - 보드 이벤트(TCP): [SIGNAL_BOARD_EVENT][seq(int)][op 수(byte)][op...]
+ *   OP_CLEAR:   [1][삭제할 행 마스크(int)] - 행을 지우고 위쪽을 내림
+ *   OP_GARBAGE: [2][줄 수 n(byte)][구멍 마스크(short) x n] - 보드를 올리고 아래에 공격 라인 삽입
+ *   OP_CELLS:   [3][칸 수 n(byte)][칸 인덱스(byte), 값(int)] x n
+ *   OP_RESET:   [4] - 보드를 비움 (재동기화 요청을 받은 뒤 첫 이벤트의 맨 앞, 뒤의 op가 보드 전체를 다시 채움)
+ *   OP_RESET으로 시작하는 이벤트는 순번이 건너뛰어도 적용되고, 받는 쪽 순번을 그 이벤트 순번으로 맞춥니다.
+ *   그 밖의 이벤트가 순번을 건너뛰면(TCP 대체 경로가 재전송 중인 이벤트를 앞지름 등) 받는 쪽이 재동기화를 요청합니다.
+ * - 보드 해시(UDP): [0x21][boardSeq(int)][해시(long)] - 그 이벤트까지 적용한 보드의 GameBoard 해시
+ *   받는 쪽은 같은 순번의 자기 보드 해시와 다르면 재동기화(키프레임)를 요청합니다.
+ *
+ * 이벤트는 송신 측이 들고 있는 상대 보드 사본(미러)과 실제 보드의 차이로 만들기 때문에,
+ * 줄 삭제/공격 라인 추정이 틀려도 OP_CELLS가 나머지를 맞춰 두 보드는 항상 같아집니다.
+ */
+public final class PoseSyncCodec {
+
+    public static final byte PACKET_POSE = 0x20;
+    public static final byte PACKET_BOARD_HASH = 0x21;
+    public static final int BOARD_HASH_SIZE = 1 + 4 + 8;
+    public static final byte SIGNAL_BOARD_EVENT = BoardSyncCodec.SIGNAL_BOARD_EVENT;
+    public static final int POSE_PACKET_SIZE = 1 + 4 + 4 + 5 + 2 + 2;
+    public static final int TIMED_POSE_PACKET_SIZE = POSE_PACKET_SIZE + 4;
+    public static final int NO_TICK = -1;
+
+    static final byte OP_CLEAR = 1;
+    static final byte OP_GARBAGE = 2;
+    static final byte OP_CELLS = 3;
+    static final byte OP_RESET = 4;
+
+    private static final int CELLS = GameBoard.HEIGHT * GameBoard.WIDTH;
+    private static final int MAX_GARBAGE_LINES = 10;
+    private static final int NO_ITEM = 0xFF;
+    private static final Tetromino[] TYPES = Tetromino.values();
+    private static final SpecialKind[] SPECIAL_KINDS = SpecialKind.values();
+    private static final ItemBlock[] ITEMS = ItemBlock.values();
+
+    private PoseSyncCodec() {}
+
+    // ----------- 포즈 -----------
+
+    /**
+     * 포즈 패킷을 씁니다. (호출 후 flip 필요)
+     *
+     * @param boardSeq 이 포즈가 기준으로 하는 마지막 보드 이벤트 순번
+     */
+    public static void encodePose(ByteBuffer out, int poseSeq, int boardSeq, TetrominoPosition current,
+                                  TetrominoPosition next, TetrominoPosition hold) {
+        encodePoseBody(out, poseSeq, boardSeq, current, next, hold);
+    }
+
+    /**
+     * 송신 틱이 붙은 포즈 패킷을 씁니다. (호출 후 flip 필요)
+     *
+     * @param tick 보낸 쪽 경기 시작 후 ms (0 이상)
+     */
+    public static void encodePose(ByteBuffer out, int poseSeq, int boardSeq, int tick, TetrominoPosition current,
+                                  TetrominoPosition next, TetrominoPosition hold) {
+        encodePoseBody(out, poseSeq, boardSeq, current, next, hold);
+        out.putInt(tick & Integer.MAX_VALUE);
+    }
+
+    private static void encodePoseBody(ByteBuffer out, int poseSeq, int boardSeq, TetrominoPosition current,
+                                       TetrominoPosition next, TetrominoPosition hold) {
+        out.put(PACKET_POSE);
+        out.putInt(poseSeq);
+        out.putInt(boardSeq);
+        out.put(kindOf(current));
+        out.put((byte) (current != null ? current.getX() : 0));
+        out.put((byte) (current != null ? current.getY() : 0));
+        out.put((byte) (current != null ? current.getRotation() : 0));
+        out.put(itemOf(current));
+        out.put(kindOf(next));
+        out.put(itemOf(next));
+        out.put(kindOf(hold));
+        out.put(itemOf(hold));
+    }
+
+    private static byte kindOf(TetrominoPosition piece) {
+        if (piece == null) {
+            return 0;
+        }
+        return (byte) ((piece.getType().ordinal() + 1) | (piece.getSpecialKind().ordinal() << 4));
+    }
+
+    private static byte itemOf(TetrominoPosition piece) {
+        if (piece == null || !piece.hasItems()) {
+            return (byte) NO_ITEM;
+        }
+        return (byte) ((piece.getItemType().ordinal() << 2) | piece.getItemBlockIndex());
+    }
+
+    /**
+     * 종류/아이템 바이트로 조각을 다시 만듭니다. (손상된 값이면 null)
+     */
+    static TetrominoPosition pieceOf(int kind, int x, int y, int rotation, int item) {
+        int type = (kind & 0x0F) - 1;
+        int special = kind >>> 4;
+        if (type < 0 || type >= TYPES.length || special >= SPECIAL_KINDS.length) {
+            return null;
+        }
+        TetrominoPosition piece = switch (SPECIAL_KINDS[special]) {
+            case WEIGHT -> TetrominoPosition.createWeightPiece(x, y);
+            case BOMB -> TetrominoPosition.createBombPiece(x, y);
+            default -> new TetrominoPosition(TYPES[type], x, y, rotation & 3);
+        };
+        if (item != NO_ITEM && (item >>> 2) < ITEMS.length) {
+            piece.setItemAtBlockIndex(item & 3, ITEMS[item >>> 2]);
+        }
+        return piece;
+    }
+
+    /**
+     * 받은 포즈 (PoseSyncCodec.Mirror가 보관)
+     *
+     * @param tick 보낸 쪽 송신 틱 (없으면 NO_TICK)
+     */
+    public record Pose(int poseSeq, int boardSeq, int tick, TetrominoPosition current,
+                       TetrominoPosition next, TetrominoPosition hold) {
+
+        public Pose(int poseSeq, int boardSeq, TetrominoPosition current,
+                    TetrominoPosition next, TetrominoPosition hold) {
+            this(poseSeq, boardSeq, NO_TICK, current, next, hold);
+        }
+
+        public boolean hasTick() {
+            return tick != NO_TICK;
+        }
+    }
+
+    /**
+     * 포즈 패킷을 풉니다.
+     *
+     * @return 잘렸거나 종류가 다른 패킷이면 null
+     */
+    public static Pose decodePose(ByteBuffer in) {
+        try {
+            if (in.get() != PACKET_POSE) {
+                return null;
+            }
+            int poseSeq = in.getInt();
+            int boardSeq = in.getInt();
+            int kind = in.get() & 0xFF;
+            int x = in.get();
+            int y = in.get();
+            int rotation = in.get();
+            int item = in.get() & 0xFF;
+            int nextKind = in.get() & 0xFF;
+            int nextItem = in.get() & 0xFF;
+            int holdKind = in.get() & 0xFF;
+            int holdItem = in.get() & 0xFF;
+            int tick = in.remaining() >= 4 ? in.getInt() & Integer.MAX_VALUE : NO_TICK;
+            return new Pose(poseSeq, boardSeq, tick,
+                    pieceOf(kind, x, y, rotation, item),
+                    pieceOf(nextKind, 0, 0, 0, nextItem),
+                    pieceOf(holdKind, 0, 0, 0, holdItem));
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    // ----------- 보드 해시 -----------
+
+    /**
+     * 보드 해시 패킷을 씁니다. (호출 후 flip 필요)
+     *
+     * @param boardSeq 해시가 가리키는 마지막 보드 이벤트 순번
+     * @param hash 그 이벤트까지 적용한 보드의 GameBoard.getBoardHash()
+     */
+    public static void encodeBoardHash(ByteBuffer out, int boardSeq, long hash) {
+        out.put(PACKET_BOARD_HASH);
+        out.putInt(boardSeq);
+        out.putLong(hash);
+    }
+
+    // ----------- 보드 이벤트 -----------
+
+    /**
+     * 송신 측: 상대가 들고 있을 보드 사본과 실제 고정 보드를 비교해 보드 이벤트를 만듭니다.
+     * 한 송신 스레드에서만 사용합니다.
+     */
+    public static final class EventEncoder {
+        private final int[][] mirror = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        private final int[][] candidate = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        private final int[][] best = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        private final ByteBuffer buffer = ByteBuffer.allocate(maxEventSize());
+        private int seq;
+        private boolean resetRequested;
+
+        /**
+         * 다음 이벤트를 OP_RESET으로 시작해 보드 전체를 다시 보내도록 합니다. (상대가 재동기화를 요청했을 때)
+         */
+        public void requestReset() {
+            resetRequested = true;
+        }
+
+        /**
+         * 고정 보드가 마지막 이벤트 이후 바뀌었으면 이벤트 메시지를 만듭니다.
+         *
+         * @param board 조각을 뺀 보이는 영역 int[20][10] (GameBoard.getCompressedBoard())
+         * @return TCP로 보낼 메시지, 바뀐 것이 없으면 null
+         */
+        public byte[] poll(int[][] board) {
+            boolean reset = resetRequested;
+            resetRequested = false;
+            if (reset) {
+                for (int[] row : mirror) {
+                    Arrays.fill(row, 0);
+                }
+            } else if (countDiff(mirror, board) == 0) {
+                return null;
+            }
+
+            // 1. 칸 변경만으로 표현 (기본)
+            int bestCost = cellsCost(mirror, board);
+            int bestClear = 0;
+            int bestGarbage = 0;
+
+            // 2. 꽉 찬(삭제 대기) 줄 삭제 후 칸 변경, 3. 공격 라인 삽입, 4. 둘 다
+            int clearMask = fullRowMask(mirror);
+            int garbageMax = garbageRowsAtBottom(board);
+            for (int withClear = 0; withClear <= (clearMask != 0 ? 1 : 0); withClear++) {
+                for (int garbage = 0; garbage <= garbageMax; garbage++) {
+                    if (withClear == 0 && garbage == 0) continue;
+                    copy(mirror, candidate);
+                    if (withClear == 1) applyClear(candidate, clearMask);
+                    if (garbage > 0) applyGarbage(candidate, board, garbage);
+                    int cost = (withClear == 1 ? 5 : 0) + (garbage > 0 ? 2 + garbage * 2 : 0)
+                            + cellsCost(candidate, board);
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestClear = withClear == 1 ? clearMask : 0;
+                        bestGarbage = garbage;
+                    }
+                }
+            }
+
+            buffer.clear();
+            buffer.put(SIGNAL_BOARD_EVENT);
+            buffer.putInt(++seq);
+            int opCountPos = buffer.position();
+            buffer.put((byte) 0);
+            int ops = 0;
+            if (reset) {
+                buffer.put(OP_RESET);
+                ops++;
+            }
+
+            copy(mirror, best);
+            if (bestClear != 0) {
+                applyClear(best, bestClear);
+                buffer.put(OP_CLEAR);
+                buffer.putInt(bestClear);
+                ops++;
+            }
+            if (bestGarbage > 0) {
+                applyGarbage(best, board, bestGarbage);
+                buffer.put(OP_GARBAGE);
+                buffer.put((byte) bestGarbage);
+                for (int i = 0; i < bestGarbage; i++) {
+                    buffer.putShort((short) GarbageLine.holeMaskOf(board[GameBoard.HEIGHT - bestGarbage + i]));
+                }
+                ops++;
+            }
+            int changed = countDiff(best, board);
+            if (changed > 0) {
+                buffer.put(OP_CELLS);
+                buffer.put((byte) changed);
+                for (int row = 0, i = 0; row < GameBoard.HEIGHT; row++) {
+                    for (int col = 0; col < GameBoard.WIDTH; col++, i++) {
+                        if (best[row][col] != board[row][col]) {
+                            buffer.put((byte) i);
+                            buffer.putInt(board[row][col]);
+                        }
+                    }
+                }
+                ops++;
+            }
+            buffer.put(opCountPos, (byte) ops);
+            copy(board, mirror);
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+
+        /**
+         * 마지막으로 만든 이벤트 순번 (포즈 패킷의 boardSeq)
+         */
+        public int getSeq() {
+            return seq;
+        }
+
+        /**
+         * 마지막 이벤트까지 적용한 상대 쪽 보드를 out에 복사합니다. (다시 붙을 때 상태 키프레임용, ResumeCodec)
+         */
+        public void copySentBoard(int[][] out) {
+            copy(mirror, out);
+        }
+
+        private static int cellsCost(int[][] from, int[][] to) {
+            int changed = countDiff(from, to);
+            return changed == 0 ? 0 : 2 + changed * 5;
+        }
+
+        // 맨 아래부터 회색/빈 칸으로만 이루어지고 구멍이 있는 줄 수 (공격 라인 후보)
+        private static int garbageRowsAtBottom(int[][] board) {
+            int count = 0;
+            for (int row = GameBoard.HEIGHT - 1; row >= 0 && count < MAX_GARBAGE_LINES; row--, count++) {
+                boolean hasHole = false;
+                for (int col = 0; col < GameBoard.WIDTH; col++) {
+                    int value = board[row][col];
+                    if (value == 0) {
+                        hasHole = true;
+                    } else if (value != GarbageLine.COLOR) {
+                        return count;
+                    }
+                }
+                if (!hasHole) {
+                    return count;
+                }
+            }
+            return count;
+        }
+
+        private static int fullRowMask(int[][] board) {
+            int mask = 0;
+            for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                boolean full = true;
+                for (int col = 0; col < GameBoard.WIDTH && full; col++) {
+                    full = board[row][col] != 0;
+                }
+                if (full) mask |= 1 << row;
+            }
+            return mask;
+        }
+    }
+
+    private static int maxEventSize() {
+        return 1 + 4 + 1 + 1 + 5 + 2 + MAX_GARBAGE_LINES * 2 + 2 + CELLS * 5;
+    }
+
+    private static int countDiff(int[][] a, int[][] b) {
+        int changed = 0;
+        for (int row = 0; row < GameBoard.HEIGHT; row++) {
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                if (a[row][col] != b[row][col]) changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static void copy(int[][] from, int[][] to) {
+        for (int row = 0; row < GameBoard.HEIGHT; row++) {
+            System.arraycopy(from[row], 0, to[row], 0, GameBoard.WIDTH);
+        }
+    }
+
+    // rowMask의 행을 지우고 위쪽 행을 아래로 내림 (위는 빈 줄)
+    private static void applyClear(int[][] board, int rowMask) {
+        int write = GameBoard.HEIGHT - 1;
+        for (int row = GameBoard.HEIGHT - 1; row >= 0; row--) {
+            if ((rowMask & (1 << row)) == 0) {
+                if (write != row) {
+                    System.arraycopy(board[row], 0, board[write], 0, GameBoard.WIDTH);
+                }
+                write--;
+            }
+        }
+        for (; write >= 0; write--) {
+            Arrays.fill(board[write], 0);
+        }
+    }
+
+    // 보드를 count줄 올리고 source의 맨 아래 count줄을 공격 라인으로 복사
+    private static void applyGarbage(int[][] board, int[][] source, int count) {
+        for (int row = 0; row < GameBoard.HEIGHT - count; row++) {
+            System.arraycopy(board[row + count], 0, board[row], 0, GameBoard.WIDTH);
+        }
+        for (int row = GameBoard.HEIGHT - count; row < GameBoard.HEIGHT; row++) {
+            System.arraycopy(source[row], 0, board[row], 0, GameBoard.WIDTH);
+        }
+    }
+
+    // 받는 쪽: 구멍 마스크로 공격 라인을 삽입
+    private static void applyGarbageMasks(int[][] board, int[] masks, int count) {
+        for (int row = 0; row < GameBoard.HEIGHT - count; row++) {
+            System.arraycopy(board[row + count], 0, board[row], 0, GameBoard.WIDTH);
+        }
+        for (int i = 0; i < count; i++) {
+            int[] line = board[GameBoard.HEIGHT - count + i];
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                line[col] = GarbageLine.isBlock(masks[i], col) ? GarbageLine.COLOR : 0;
+            }
+        }
+    }
+
+    /**
+     * 수신 측: 보드 이벤트로 상대 보드를 재구성하고, 최신 포즈를 덧그려 화면용 보드를 만듭니다.
+     * 이벤트는 TCP 수신 스레드, 포즈는 UDP 수신 스레드에서 들어오므로 메서드는 동기화되어 있습니다.
+     */
+    public static final class Mirror {
+        private final int[][] cells = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        private final GameBoard board = new GameBoard(() -> 0L); // 고스트 계산용 (보이는 영역만 채움)
+        private final int[] garbageMasks = new int[MAX_GARBAGE_LINES];
+        private int boardSeq;
+        private int skippedSeq; // 순번을 건너뛰어 버린 이벤트 중 가장 큰 순번 (boardSeq가 이보다 작으면 빠진 이벤트가 있음)
+        private Pose pose;
+
+        /**
+         * 보드 이벤트 메시지(SIGNAL_BOARD_EVENT 다음 바이트부터)를 적용합니다.
+         *
+         * 순번이 건너뛰었으면 버리고 isMissingEvents()가 true가 됩니다. (OP_RESET 이벤트가 올 때까지)
+         *
+         * @return 적용했으면 true, 손상되었거나 순번이 어긋나면 false
+         */
+        public boolean applyEvent(byte[] payload) {
+            return applyEvent(payload, payload.length);
+        }
+
+        /**
+         * 재사용 수신 버퍼의 앞 length 바이트를 보드 이벤트로 적용합니다.
+         */
+        public synchronized boolean applyEvent(byte[] payload, int length) {
+            ByteBuffer in = ByteBuffer.wrap(payload, 0, length);
+            int seq;
+            try {
+                seq = in.getInt();
+                int ops = in.get() & 0xFF;
+                boolean reset = ops > 0 && in.get(in.position()) == OP_RESET; // 보드 전체를 다시 보내므로 순번과 무관
+                if (seq <= boardSeq || (seq != boardSeq + 1 && !reset)) {
+                    System.err.println("[Board event out of order: expected " + (boardSeq + 1) + ", got " + seq + "]");
+                    skippedSeq = Math.max(skippedSeq, seq);
+                    return false;
+                }
+                for (int k = 0; k < ops; k++) {
+                    byte op = in.get();
+                    if (op == OP_CLEAR) {
+                        applyClear(cells, in.getInt());
+                    } else if (op == OP_GARBAGE) {
+                        int count = Math.min(in.get() & 0xFF, MAX_GARBAGE_LINES);
+                        for (int i = 0; i < count; i++) {
+                            garbageMasks[i] = in.getShort() & GarbageLine.ALL_HOLES;
+                        }
+                        applyGarbageMasks(cells, garbageMasks, count);
+                    } else if (op == OP_RESET) {
+                        for (int[] row : cells) {
+                            Arrays.fill(row, 0);
+                        }
+                    } else if (op == OP_CELLS) {
+                        int count = in.get() & 0xFF;
+                        for (int i = 0; i < count; i++) {
+                            int index = in.get() & 0xFF;
+                            int value = in.getInt();
+                            if (index < CELLS) {
+                                cells[index / GameBoard.WIDTH][index % GameBoard.WIDTH] = value;
+                            }
+                        }
+                    } else {
+                        return false;
+                    }
+                }
+            } catch (BufferUnderflowException e) {
+                return false;
+            }
+            boardSeq = seq;
+            syncGhostBoard();
+            return true;
+        }
+
+        // 고스트 계산용 보드를 재구성한 칸과 맞춤
+        private void syncGhostBoard() {
+            for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                for (int col = 0; col < GameBoard.WIDTH; col++) {
+                    board.setCellColor(row + GameBoard.BUFFER_ZONE, col, cells[row][col]);
+                }
+            }
+        }
+
+        /**
+         * 다시 붙은 상대가 보낸 상태 키프레임으로 보드와 포즈를 통째로 바꿉니다. (ResumeCodec)
+         * 이후 이벤트는 pose.boardSeq() 다음 순번부터 이어집니다.
+         */
+        public synchronized void load(Pose current, int[][] sentBoard) {
+            copy(sentBoard, cells);
+            boardSeq = current.boardSeq();
+            skippedSeq = 0;
+            pose = current;
+            syncGhostBoard();
+        }
+
+        /**
+         * 더 최신 포즈면 보관합니다.
+         *
+         * @return 보관했으면 true (오래된/중복 포즈는 false)
+         */
+        public synchronized boolean applyPose(Pose next) {
+            if (next == null || (pose != null && next.poseSeq() <= pose.poseSeq())) {
+                return false;
+            }
+            pose = next;
+            return true;
+        }
+
+        /**
+         * 재구성한 보드에 현재 조각과 고스트를 덧그려 out에 씁니다.
+         * 포즈가 아직 받지 못한 보드 이벤트를 기준으로 하면(새 조각인데 이전 조각의 고정이 안 보임) 그리지 않습니다.
+         *
+         * @param out HEIGHT x WIDTH 재사용 버퍼
+         * @return out을 채웠으면 true
+         */
+        public boolean compose(int[][] out) {
+            return compose(out, 0);
+        }
+
+        /**
+         * 현재 조각을 fallRows줄 더 떨어뜨려(바닥이나 블록에 닿으면 멈춤) 그립니다. (늦은 포즈를 기다리는 동안의 추정)
+         */
+        public synchronized boolean compose(int[][] out, int fallRows) {
+            if (pose != null && pose.boardSeq() > boardSeq) {
+                return false;
+            }
+            copy(cells, out);
+            TetrominoPosition piece = pose != null ? pose.current() : null;
+            if (piece != null && fallRows > 0) {
+                piece = piece.copy();
+                for (int i = 0; i < fallRows; i++) {
+                    piece.setY(piece.getY() + 1);
+                    if (!board.isValidPosition(piece)) {
+                        piece.setY(piece.getY() - 1);
+                        break;
+                    }
+                }
+            }
+            TetrisSystem.overlayPiece(out, piece, board);
+            return true;
+        }
+
+        public synchronized TetrominoPosition getNextPiece() {
+            return pose != null ? pose.next() : null;
+        }
+
+        public synchronized TetrominoPosition getHoldPiece() {
+            return pose != null ? pose.hold() : null;
+        }
+
+        public synchronized int getBoardSeq() {
+            return boardSeq;
+        }
+
+        /**
+         * 순번을 건너뛴 이벤트를 버려서 재동기화(OP_RESET 이벤트) 없이는 따라잡을 수 없으면 true
+         */
+        public synchronized boolean isMissingEvents() {
+            return boardSeq < skippedSeq;
+        }
+
+        /**
+         * 상대가 보낸 보드 해시와 재구성한 보드를 비교합니다.
+         *
+         * @return 같은 순번까지 적용했는데 해시가 다르거나, 빠진 이벤트 때문에 뒤처져 있으면 true
+         *         (그 밖에 순번이 다르면 아직 판단할 수 없으므로 false)
+         */
+        public synchronized boolean isDesynced(int seq, long hash) {
+            if (seq != boardSeq) {
+                return seq > boardSeq && boardSeq < skippedSeq;
+            }
+            return hash != board.getBoardHash();
+        }
+    }
+
+    /**
+     * 보드 해시 패킷을 풀어 미러와 비교합니다.
+     *
+     * @return 재동기화가 필요하면 true (손상된 패킷이나 다른 순번은 false)
+     */
+    public static boolean checkBoardHash(ByteBuffer in, Mirror mirror) {
+        if (in.remaining() < BOARD_HASH_SIZE || in.get() != PACKET_BOARD_HASH) {
+            return false;
+        }
+        return mirror.isDesynced(in.getInt(), in.getLong());
+    }
+}
@@ -0,0 +1,282 @@
+package org.example.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * UDP 위의 신뢰성 + 순서 보장 메시지 통로 (게임 중 제어 메시지용)
+ *
+ * TCP는 세그먼트 하나만 잃어도 뒤의 메시지가 모두 재전송을 기다리므로(head-of-line blocking),
+ * 공격 라인처럼 지연에 민감한 메시지를 보드 동기화와 같은 UDP 채널에 실어 보냅니다.
+ *
+ * - 데이터(UDP): [0x40][seq(int)][누적 ACK(int)][선택 ACK 비트(int)][길이(short)][종류(byte)][데이터]
+ * - ACK(UDP):   [0x41][누적 ACK(int)][선택 ACK 비트(int)]
+ *
+ * 누적 ACK는 순서대로 다 받은 마지막 seq이고, 선택 ACK 비트 i는 (누적 ACK + 2 + i)를 받았다는 뜻입니다.
+ * 데이터 패킷마다 ACK를 함께 실어 보내고, 보낼 데이터가 없으면 받은 즉시 ACK만 보냅니다.
+ * 보낸 쪽은 RTT로 정한 재전송 시간(RTO, 시간 초과마다 두 배)이 지나거나, 뒤의 메시지가
+ * FAST_RETRANSMIT_THRESHOLD개 이상 먼저 확인되면(빠른 재전송) 다시 보냅니다.
+ * 받는 쪽은 창(WINDOW) 안의 메시지를 모아 두었다가 seq 순서대로 넘깁니다.
+ *
+ * 소켓/스레드와 분리되어 있으며 한 스레드(연결 루프)에서만 호출합니다.
+ * 모든 버퍼는 미리 할당해 재사용합니다.
+ */
+public final class ReliableLane {
+
+    public static final byte PACKET_DATA = 0x40;
+    public static final byte PACKET_ACK = 0x41;
+    public static final int WINDOW = 64;                    // 확인받지 않은 최대 메시지 수 (2의 거듭제곱)
+    public static final int MAX_PACKET_SIZE = 1280;         // IPv6 최소 MTU (조각나지 않도록)
+    public static final int DATA_HEADER_SIZE = 1 + 4 + 4 + 4 + 2;
+    public static final int ACK_SIZE = 1 + 4 + 4;
+    public static final int MAX_MESSAGE_SIZE = MAX_PACKET_SIZE - DATA_HEADER_SIZE; // [종류][데이터]
+    public static final int FAST_RETRANSMIT_THRESHOLD = 3;
+    public static final long INITIAL_RTO_MS = 200;
+    public static final long MIN_RTO_MS = 20;
+    public static final long MAX_RTO_MS = 1000;
+
+    private static final int MASK = WINDOW - 1;
+    private static final double RTT_WEIGHT = 0.125;   // RFC 6298
+    private static final double RTTVAR_WEIGHT = 0.25;
+
+    private final P2PProtocol.FrameHandler deliver;
+
+    // 송신: seq sendBase ~ nextSeq - 1 이 창 안에 있음
+    private final byte[][] sendData = new byte[WINDOW][MAX_MESSAGE_SIZE];
+    private final int[] sendLength = new int[WINDOW];
+    private final boolean[] acked = new boolean[WINDOW];
+    private final long[] dueAt = new long[WINDOW];       // 다음에 (다시) 보낼 시각, 0이면 아직 안 보냄
+    private final long[] sentAt = new long[WINDOW];
+    private final int[] transmissions = new int[WINDOW];
+    private final boolean[] fastRetransmitted = new boolean[WINDOW];
+    private int sendBase = 1;
+    private int nextSeq = 1;
+    private int highestAcked;
+    private double srttMs = -1;
+    private double rttVarMs;
+    private long rtoMs = INITIAL_RTO_MS;
+    private long retransmits;
+
+    // 수신: seq recvBase가 다음에 넘길 메시지
+    private final byte[][] recvData = new byte[WINDOW][MAX_MESSAGE_SIZE - 1];
+    private final byte[] recvType = new byte[WINDOW];
+    private final int[] recvLength = new int[WINDOW];
+    private final boolean[] received = new boolean[WINDOW];
+    private int recvBase = 1;
+    private boolean ackPending;
+
+    /**
+     * @param deliver 순서대로 받은 메시지를 넘길 곳 (data는 재사용 버퍼)
+     */
+    public ReliableLane(P2PProtocol.FrameHandler deliver) {
+        this.deliver = deliver;
+    }
+
+    /**
+     * 보낼 메시지를 창에 넣습니다. 실제 전송은 pollPacket()에서 합니다.
+     *
+     * @param message position부터 limit까지의 [종류][데이터] (다 읽은 상태가 됨)
+     * @return 창이 가득 찼거나 너무 크면 false (다른 통로로 보내야 함)
+     */
+    public boolean offer(ByteBuffer message) {
+        int length = message.remaining();
+        if (length < 1 || length > MAX_MESSAGE_SIZE || nextSeq - sendBase >= WINDOW) {
+            return false;
+        }
+        int index = nextSeq & MASK;
+        message.get(sendData[index], 0, length);
+        sendLength[index] = length;
+        acked[index] = false;
+        dueAt[index] = 0;
+        transmissions[index] = 0;
+        fastRetransmitted[index] = false;
+        nextSeq++;
+        return true;
+    }
+
+    public boolean offer(byte[] message) {
+        return offer(ByteBuffer.wrap(message));
+    }
+
+    /**
+     * 지금 보낼 패킷 하나를 out에 씁니다. (재전송할 것, 새 메시지, ACK 순)
+     * 보낼 것이 없을 때까지 반복해서 호출합니다.
+     *
+     * @return 쓴 패킷이 없으면 false
+     */
+    public boolean pollPacket(ByteBuffer out, long now) {
+        for (int seq = sendBase; seq != nextSeq; seq++) {
+            int index = seq & MASK;
+            if (acked[index] || dueAt[index] > now) {
+                continue;
+            }
+            if (transmissions[index] > 0) {
+                retransmits++;
+            }
+            transmissions[index]++;
+            sentAt[index] = now;
+            // 시간 초과마다 두 배 (MAX_RTO_MS까지)
+            dueAt[index] = now + Math.min(MAX_RTO_MS, rtoMs << Math.min(transmissions[index] - 1, 5));
+            out.put(PACKET_DATA);
+            out.putInt(seq);
+            putAck(out);
+            out.putShort((short) sendLength[index]);
+            out.put(sendData[index], 0, sendLength[index]);
+            return true;
+        }
+        if (ackPending) {
+            out.put(PACKET_ACK);
+            putAck(out);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 받은 데이터/ACK 패킷을 처리합니다. 순서가 맞은 메시지는 바로 넘깁니다.
+     *
+     * @param in 종류 바이트부터 시작하는 패킷
+     * @return 형식이 잘못되었으면 false
+     */
+    public boolean onPacket(ByteBuffer in, long now) {
+        if (in.remaining() < ACK_SIZE) {
+            return false;
+        }
+        byte type = in.get();
+        if (type == PACKET_ACK) {
+            onAck(in.getInt(), in.getInt(), now);
+            return true;
+        }
+        if (type != PACKET_DATA || in.remaining() < DATA_HEADER_SIZE - 1) {
+            return false;
+        }
+        int seq = in.getInt();
+        onAck(in.getInt(), in.getInt(), now);
+        int length = in.getShort() & 0xFFFF;
+        if (length < 1 || length > MAX_MESSAGE_SIZE || length > in.remaining()) {
+            return false;
+        }
+        ackPending = true; // 중복이어도 ACK를 다시 보내 상대가 재전송을 멈추게 함
+        if (seq - recvBase < 0 || seq - recvBase >= WINDOW) {
+            return true; // 이미 넘김 or 창 밖
+        }
+        int index = seq & MASK;
+        if (!received[index]) {
+            recvType[index] = in.get();
+            in.get(recvData[index], 0, length - 1);
+            recvLength[index] = length - 1;
+            received[index] = true;
+        }
+        while (received[recvBase & MASK]) {
+            int next = recvBase & MASK;
+            received[next] = false;
+            recvBase++;
+            deliver.onFrame(recvType[next], recvData[next], recvLength[next]);
+        }
+        return true;
+    }
+
+    /**
+     * 다음에 pollPacket()을 호출해야 할 때까지의 시간
+     *
+     * @return ms (보낼 것이 없으면 Long.MAX_VALUE)
+     */
+    public long delayUntilNext(long now) {
+        if (ackPending) {
+            return 0;
+        }
+        long delay = Long.MAX_VALUE;
+        for (int seq = sendBase; seq != nextSeq; seq++) {
+            int index = seq & MASK;
+            if (!acked[index]) {
+                delay = Math.min(delay, Math.max(0, dueAt[index] - now));
+            }
+        }
+        return delay;
+    }
+
+    /**
+     * 외부에서 잰 RTT 표본 (UDP 핑/퐁 등)으로 재전송 시간을 갱신합니다.
+     */
+    public void onRttSample(double rttMs) {
+        if (rttMs < 0) {
+            return;
+        }
+        if (srttMs < 0) {
+            srttMs = rttMs;
+            rttVarMs = rttMs / 2;
+        } else {
+            rttVarMs += RTTVAR_WEIGHT * (Math.abs(srttMs - rttMs) - rttVarMs);
+            srttMs += RTT_WEIGHT * (rttMs - srttMs);
+        }
+        rtoMs = Math.clamp(Math.round(srttMs + 4 * rttVarMs), MIN_RTO_MS, MAX_RTO_MS);
+    }
+
+    private void putAck(ByteBuffer out) {
+        int bits = 0;
+        for (int i = 0; i < 32; i++) {
+            if (received[(recvBase + 1 + i) & MASK]) {
+                bits |= 1 << i;
+            }
+        }
+        out.putInt(recvBase - 1);
+        out.putInt(bits);
+        ackPending = false;
+    }
+
+    private void onAck(int cumulative, int bits, long now) {
+        for (int seq = sendBase; seq != nextSeq && seq - cumulative <= 0; seq++) {
+            markAcked(seq, now);
+        }
+        for (int i = 0; i < 32 && bits >>> i != 0; i++) {
+            if ((bits & (1 << i)) != 0) {
+                int seq = cumulative + 2 + i;
+                if (seq - sendBase >= 0 && seq - nextSeq < 0) {
+                    markAcked(seq, now);
+                }
+            }
+        }
+        while (sendBase != nextSeq && acked[sendBase & MASK]) {
+            sendBase++;
+        }
+        // 뒤의 메시지가 충분히 먼저 도착했으면 앞의 빈 메시지는 RTO를 기다리지 않고 한 번 바로 재전송
+        for (int seq = sendBase; seq != nextSeq && highestAcked - seq >= FAST_RETRANSMIT_THRESHOLD; seq++) {
+            int index = seq & MASK;
+            if (!acked[index] && transmissions[index] > 0 && !fastRetransmitted[index]) {
+                fastRetransmitted[index] = true;
+                dueAt[index] = now;
+            }
+        }
+    }
+
+    private void markAcked(int seq, long now) {
+        int index = seq & MASK;
+        if (acked[index]) {
+            return;
+        }
+        acked[index] = true;
+        if (seq - highestAcked > 0) {
+            highestAcked = seq;
+        }
+        if (transmissions[index] == 1) { // 재전송한 메시지는 어느 전송의 ACK인지 모르므로 제외 (Karn)
+            onRttSample(now - sentAt[index]);
+        }
+    }
+
+    /**
+     * 보냈지만 아직 확인받지 못한 메시지 수
+     */
+    public int getInFlight() {
+        return nextSeq - sendBase;
+    }
+
+    public long getRetransmitCount() {
+        return retransmits;
+    }
+
+    /**
+     * 현재 재전송 시간 (ms)
+     */
+    public long getRtoMs() {
+        return rtoMs;
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import org.example.model.GameBoard;
+
+/**
+ * 게임 중 연결이 끊겼다가 새 소켓으로 다시 붙을 때 쓰는 TCP 메시지 코덱
+ *
+ * - 세션(0x07): [SIGNAL_SESSION][세션 ID(long)] - 경기 시작 때 서버가 보냄
+ * - 상태 키프레임(0x08): 다시 붙은 직후 양쪽이 가장 먼저 보냄
+ *   [SIGNAL_STATE][세션 ID(long)][받은 공격 수(int)][점수(int)][남은 시간(long, 타임 어택이 아니면 -1)]
+ *   [포즈 유무(byte)][포즈 패킷(PoseSyncCodec, 틱 없음) - 유무가 1일 때만][칸 수 n(byte)][칸 인덱스(byte), 값(int)] x n
+ *   칸은 상대가 재구성할 보드(포즈 동기화는 마지막 보드 이벤트까지, 보드 델타는 조각 포함 화면)의 빈 칸이 아닌 칸만 담음
+ * - 재개(0x09): [SIGNAL_RESUMED] - 상대의 상태 키프레임을 적용했음을 알림 (이후 UDP 신뢰성 통로를 다시 씀)
+ * - 나감(0x0A): [SIGNAL_LEAVE] - 경기를 그만두고 소켓을 닫음 (받은 쪽은 재연결을 기다리지 않고 바로 끊김으로 처리)
+ *
+ * 받은 공격 수는 상대가 지금까지 보낸 공격 중 끊기기 전에 도착한 개수로, 상대는 그 뒤의 공격을 다시 보냅니다.
+ */
+public final class ResumeCodec {
+
+    public static final byte SIGNAL_SESSION = 0x07;
+    public static final byte SIGNAL_STATE = 0x08;
+    public static final byte SIGNAL_RESUMED = 0x09;
+    public static final byte SIGNAL_LEAVE = 0x0A;
+
+    public static final int SESSION_SIZE = 1 + 8;
+    public static final int RESUMED_SIZE = 1;
+    public static final int LEAVE_SIZE = 1;
+    public static final int NO_TIMER = -1;
+
+    private static final int CELLS = GameBoard.HEIGHT * GameBoard.WIDTH;
+    private static final int STATE_HEADER_SIZE = 1 + 8 + 4 + 4 + 8 + 1;
+    public static final int MAX_STATE_SIZE = STATE_HEADER_SIZE + PoseSyncCodec.POSE_PACKET_SIZE + 1 + CELLS * 5;
+
+    private ResumeCodec() {}
+
+    // ----------- 세션 -----------
+
+    public static void encodeSession(ByteBuffer out, long sessionId) {
+        out.put(SIGNAL_SESSION);
+        out.putLong(sessionId);
+    }
+
+    /**
+     * @return 세션 ID (잘린 메시지면 0)
+     */
+    public static long decodeSession(byte[] data, int size) {
+        if (size < SESSION_SIZE - 1) {
+            return 0;
+        }
+        return ByteBuffer.wrap(data, 0, size).getLong();
+    }
+
+    // ----------- 상태 키프레임 -----------
+
+    /**
+     * 다시 붙을 때 주고받는 한쪽의 경기 상태
+     *
+     * @param attacksReceived 보낸 쪽이 지금까지 받은 공격 메시지 수
+     * @param remainingMs 타임 어택 남은 시간 (아니면 NO_TIMER)
+     * @param pose 포즈 동기화면 현재 조각/next/hold와 보드 이벤트 순번 (보드 델타면 null)
+     * @param cells 보이는 영역 HEIGHT x WIDTH
+     */
+    public record State(long sessionId, int attacksReceived, int score, long remainingMs,
+                        PoseSyncCodec.Pose pose, int[][] cells) {
+
+        public boolean hasTimer() {
+            return remainingMs != NO_TIMER;
+        }
+    }
+
+    /**
+     * @return 상태 키프레임 메시지의 바이트 수 (종류 바이트 포함)
+     */
+    public static int stateSize(State state) {
+        return STATE_HEADER_SIZE + (state.pose() != null ? PoseSyncCodec.POSE_PACKET_SIZE : 0)
+                + 1 + filledCells(state.cells()) * 5;
+    }
+
+    public static void encodeState(ByteBuffer out, State state) {
+        out.put(SIGNAL_STATE);
+        out.putLong(state.sessionId());
+        out.putInt(state.attacksReceived());
+        out.putInt(state.score());
+        out.putLong(state.remainingMs());
+        PoseSyncCodec.Pose pose = state.pose();
+        out.put((byte) (pose != null ? 1 : 0));
+        if (pose != null) {
+            PoseSyncCodec.encodePose(out, pose.poseSeq(), pose.boardSeq(), pose.current(), pose.next(), pose.hold());
+        }
+        int[][] cells = state.cells();
+        out.put((byte) filledCells(cells));
+        for (int row = 0, i = 0; row < GameBoard.HEIGHT; row++) {
+            for (int col = 0; col < GameBoard.WIDTH; col++, i++) {
+                if (cells[row][col] != 0) {
+                    out.put((byte) i);
+                    out.putInt(cells[row][col]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 상태 키프레임(SIGNAL_STATE 다음 바이트부터)을 풉니다.
+     *
+     * @return 잘렸거나 손상된 메시지면 null
+     */
+    public static State decodeState(byte[] data, int size) {
+        ByteBuffer in = ByteBuffer.wrap(data, 0, size);
+        try {
+            long sessionId = in.getLong();
+            int attacksReceived = in.getInt();
+            int score = in.getInt();
+            long remainingMs = in.getLong();
+            PoseSyncCodec.Pose pose = null;
+            if (in.get() != 0) {
+                // 포즈 패킷은 뒤에 남은 바이트를 송신 틱으로 읽으므로 정확한 길이로 잘라서 풂
+                ByteBuffer poseBytes = in.slice(in.position(), PoseSyncCodec.POSE_PACKET_SIZE);
+                pose = PoseSyncCodec.decodePose(poseBytes);
+                if (pose == null) {
+                    return null;
+                }
+                in.position(in.position() + PoseSyncCodec.POSE_PACKET_SIZE);
+            }
+            int[][] cells = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+            int count = in.get() & 0xFF;
+            for (int i = 0; i < count; i++) {
+                int index = in.get() & 0xFF;
+                int value = in.getInt();
+                if (index >= CELLS) {
+                    return null;
+                }
+                cells[index / GameBoard.WIDTH][index % GameBoard.WIDTH] = value;
+            }
+            return new State(sessionId, attacksReceived, score, remainingMs, pose, cells);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    private static int filledCells(int[][] cells) {
+        int count = 0;
+        for (int[] row : cells) {
+            for (int value : row) {
+                if (value != 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
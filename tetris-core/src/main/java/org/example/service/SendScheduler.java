@@ -0,0 +1,85 @@
+package org.example.service;
+
+/**
+ * 상태 변화 기반 보드 동기화 송신 스케줄러
+ *
+ * 게임 스레드가 markChanged()로 변화를 알리면 송신 스레드가 바로 보내고,
+ * 변화가 몰릴 때는 최소 간격(burst 상한)마다 최신 상태 하나로 묶어 보냅니다.
+ * 변화가 없으면 HEARTBEAT_MS마다 한 번만 보내 연결이 살아 있음을 알립니다.
+ *
+ * 최소 간격은 측정한 RTT와 손실률로 조절합니다.
+ * - 손실률이 LOSS_THRESHOLD를 넘으면 간격을 1.5배로 늘리고(MAX_INTERVAL_MS까지),
+ *   괜찮으면 한 번에 2ms씩 되돌립니다.
+ * - RTT가 길면 너무 자주 보내도 상대 화면이 빨라지지 않으므로 RTT/8 아래로는 줄이지 않습니다.
+ *
+ * markChanged()만 다른 스레드에서 호출할 수 있고, 나머지는 송신 스레드 전용입니다.
+ */
+public final class SendScheduler {
+
+    public static final long BASE_INTERVAL_MS = 16;  // 변화가 계속될 때 최대 약 60회/초
+    public static final long MAX_INTERVAL_MS = 100;
+    public static final long HEARTBEAT_MS = 250;
+    static final double LOSS_THRESHOLD = 0.05;
+    private static final long RECOVERY_STEP_MS = 2;
+
+    private volatile boolean changed = true; // 시작하자마자 한 번 보냄
+    private long lastSentMs = Long.MIN_VALUE / 2;
+    private long minIntervalMs = BASE_INTERVAL_MS;
+
+    /**
+     * 게임 스레드: 보낼 상태가 바뀌었음을 알립니다.
+     */
+    public void markChanged() {
+        changed = true;
+    }
+
+    /**
+     * @return 지금 보내야 하면 0, 아니면 다음에 확인할 때까지 기다릴 시간(ms)
+     */
+    public long delayUntilSend(long now) {
+        long elapsed = now - lastSentMs;
+        long interval = changed ? minIntervalMs : HEARTBEAT_MS;
+        return Math.max(0, interval - elapsed);
+    }
+
+    /**
+     * 변화가 없어도 보내야 할 때인지 (heartbeat)
+     */
+    public boolean isHeartbeatDue(long now) {
+        return now - lastSentMs >= HEARTBEAT_MS;
+    }
+
+    /**
+     * 보낼 상태를 읽기 직전에 호출합니다.
+     * 읽는 도중에 생긴 변화는 플래그가 다시 켜져 다음 송신에 반영됩니다.
+     */
+    public void clearChanged() {
+        changed = false;
+    }
+
+    public void onSent(long now) {
+        lastSentMs = now;
+    }
+
+    /**
+     * 새 링크 측정값으로 최소 송신 간격을 조절합니다.
+     *
+     * @param rttMs 평활 RTT (아직 없으면 음수)
+     * @param lossRate 0~1 손실률
+     */
+    public void updateLink(double rttMs, double lossRate) {
+        long floor = rttMs > 0
+                ? Math.min(MAX_INTERVAL_MS, Math.max(BASE_INTERVAL_MS, (long) (rttMs / 8)))
+                : BASE_INTERVAL_MS;
+        if (lossRate > LOSS_THRESHOLD) {
+            minIntervalMs = Math.min(MAX_INTERVAL_MS, minIntervalMs * 3 / 2);
+        } else {
+            minIntervalMs -= RECOVERY_STEP_MS;
+        }
+        minIntervalMs = Math.max(floor, minIntervalMs);
+    }
+
+    public long getMinIntervalMs() {
+        return minIntervalMs;
+    }
+}
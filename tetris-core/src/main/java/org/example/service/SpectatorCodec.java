@@ -0,0 +1,298 @@
+package org.example.service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import org.example.model.GameBoard;
+import org.example.model.GameMode;
+
+/**
+ * 관전자용 UDP 멀티캐스트 패킷 코덱
+ * 호스트가 틱마다 두 보드와 경기 이벤트를 패킷 하나로 그룹에 보내고, 관전자는 몇 명이든 받기만 합니다.
+ *
+ * - 프레임(0x50): [0x50][VERSION][경기 ID(int)][프레임 순번(int)][모드(byte)][상태 비트(byte)][남은 시간(int, 없으면 -1)]
+ *   플레이어 0(호스트), 1 순서로 [점수(int, 모르면 -1)][보드 패킷 길이(short)][BoardDeltaCodec 패킷]
+ *   [이벤트 수(byte)][이벤트 순번(int)][종류(byte)][플레이어(byte)][값(int)] x 이벤트 수
+ * - 상태 비트: bit0/bit1 플레이어 0/1 게임 오버, bit2 경기 끝
+ *
+ * 되돌려 보낼 길이 없으므로 보드는 BoardDeltaCodec 간격마다 키프레임을 보내 중간에 들어온 관전자가 따라잡고,
+ * 이벤트는 EVENT_REPEATS 프레임에 거듭 실어 패킷 몇 개를 잃어도 전해지게 합니다. (관전자는 순번으로 중복 제거)
+ */
+public final class SpectatorCodec {
+
+    public static final byte PACKET_FRAME = 0x50;
+    public static final byte VERSION = 1;
+
+    public static final byte EVENT_ATTACK = 1;    // 값: 보낸 줄 수
+    public static final byte EVENT_TOP_OUT = 2;   // 값: 최종 점수
+    public static final byte EVENT_MATCH_END = 3; // 플레이어: 이긴 쪽 (비기면 -1)
+
+    public static final int PLAYERS = 2;
+    public static final int NO_TIMER = -1;
+    public static final int EVENT_REPEATS = 4;  // 이벤트 하나를 실어 보낼 프레임 수
+    static final int MAX_EVENTS = 8;            // 프레임 하나에 싣는 이벤트 수 상한
+    public static final int STATE_ENDED = 1 << 2; // bit0/bit1은 플레이어 0/1 게임 오버 (1 << player)
+
+    private static final int HEADER_SIZE = 1 + 1 + 4 + 4 + 1 + 1 + 4;
+    private static final int EVENT_SIZE = 4 + 1 + 1 + 4;
+    public static final int MAX_FRAME_SIZE = HEADER_SIZE + PLAYERS * (4 + 2 + BoardDeltaCodec.MAX_PACKET_SIZE)
+            + 1 + MAX_EVENTS * EVENT_SIZE;
+    private static final GameMode[] MODES = GameMode.values();
+
+    private SpectatorCodec() {}
+
+    /**
+     * 경기 이벤트
+     *
+     * @param player 이벤트를 일으킨 플레이어 (0: 호스트, 1: 상대, 경기 끝이면 이긴 쪽 또는 -1)
+     */
+    public record Event(int seq, byte kind, int player, int value) {}
+
+    /**
+     * @return 프레임 패킷이면 경기 ID, 아니면 0 (위치는 그대로)
+     */
+    public static int peekMatchId(ByteBuffer in) {
+        int start = in.position();
+        if (in.remaining() < 6 || in.get(start) != PACKET_FRAME || in.get(start + 1) != VERSION) {
+            return 0;
+        }
+        return in.getInt(start + 2);
+    }
+
+    /**
+     * 호스트 측: 경기 하나의 프레임을 만듭니다.
+     * encode()는 한 스레드(게임 스레드)에서만, addEvent()는 아무 스레드에서나 호출할 수 있습니다.
+     */
+    public static final class FrameEncoder {
+        private final int matchId;
+        private final GameMode mode;
+        private final BoardDeltaCodec.Encoder[] boardEncoders = new BoardDeltaCodec.Encoder[PLAYERS];
+        private int frameSeq;
+        // 아직 EVENT_REPEATS번 싣지 않은 최근 이벤트 (events로 동기화)
+        private final Event[] events = new Event[MAX_EVENTS];
+        private final int[] repeatsLeft = new int[MAX_EVENTS];
+        private int eventCount;
+        private int nextEventSeq;
+
+        /**
+         * @param matchId 0이 아닌 경기 ID (관전자가 경기를 구분)
+         * @param keyframeInterval 보드 키프레임 사이의 최대 프레임 수 (늦게 들어온 관전자가 기다리는 최대 프레임)
+         */
+        public FrameEncoder(int matchId, GameMode mode, int keyframeInterval) {
+            if (matchId == 0) {
+                throw new IllegalArgumentException("Match ID must not be 0");
+            }
+            this.matchId = matchId;
+            this.mode = mode;
+            for (int i = 0; i < PLAYERS; i++) {
+                boardEncoders[i] = new BoardDeltaCodec.Encoder(keyframeInterval);
+            }
+        }
+
+        public int getMatchId() {
+            return matchId;
+        }
+
+        /**
+         * 다음 EVENT_REPEATS 프레임에 실을 이벤트를 추가합니다. 밀려 있으면 가장 오래된 이벤트를 버립니다.
+         */
+        public void addEvent(byte kind, int player, int value) {
+            synchronized (events) {
+                if (eventCount == MAX_EVENTS) {
+                    removeEvent(0);
+                }
+                events[eventCount] = new Event(nextEventSeq++, kind, player, value);
+                repeatsLeft[eventCount] = EVENT_REPEATS;
+                eventCount++;
+            }
+        }
+
+        /**
+         * 프레임 하나를 씁니다. (호출 후 flip 필요)
+         *
+         * @param state 상태 비트 (플레이어 게임 오버, 경기 끝)
+         * @param remainingMs 타임 어택 남은 시간 (아니면 NO_TIMER)
+         * @param boards 플레이어 0, 1의 HEIGHT x WIDTH 압축 보드
+         */
+        public void encode(ByteBuffer out, int state, long remainingMs, int[][][] boards, int[] scores) {
+            out.put(PACKET_FRAME);
+            out.put(VERSION);
+            out.putInt(matchId);
+            out.putInt(frameSeq++);
+            out.put((byte) mode.ordinal());
+            out.put((byte) state);
+            out.putInt(remainingMs < 0 ? NO_TIMER : (int) Math.min(remainingMs, Integer.MAX_VALUE));
+            for (int i = 0; i < PLAYERS; i++) {
+                out.putInt(scores[i]);
+                int lengthAt = out.position();
+                out.putShort((short) 0);
+                boardEncoders[i].encode(out, boards[i]);
+                out.putShort(lengthAt, (short) (out.position() - lengthAt - 2));
+            }
+            synchronized (events) {
+                out.put((byte) eventCount);
+                for (int i = 0; i < eventCount; i++) {
+                    Event event = events[i];
+                    out.putInt(event.seq());
+                    out.put(event.kind());
+                    out.put((byte) event.player());
+                    out.putInt(event.value());
+                }
+                for (int i = eventCount - 1; i >= 0; i--) {
+                    if (--repeatsLeft[i] == 0) {
+                        removeEvent(i);
+                    }
+                }
+            }
+        }
+
+        private void removeEvent(int index) {
+            System.arraycopy(events, index + 1, events, index, eventCount - index - 1);
+            System.arraycopy(repeatsLeft, index + 1, repeatsLeft, index, eventCount - index - 1);
+            events[--eventCount] = null;
+        }
+    }
+
+    /**
+     * 관전자 측: 경기 하나의 마지막 상태
+     * 한 수신 스레드에서만 apply()를 호출하고, 읽는 쪽은 copyBoard()로 복사해 갑니다.
+     */
+    public static final class MatchDecoder {
+        private final int matchId;
+        private final BoardDeltaCodec.Decoder[] boardDecoders = new BoardDeltaCodec.Decoder[PLAYERS];
+        private final int[][][] boards = new int[PLAYERS][GameBoard.HEIGHT][GameBoard.WIDTH];
+        private final int[][] decodeBuffer = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        private final boolean[] hasBoard = new boolean[PLAYERS];
+        private final int[] scores = new int[PLAYERS];
+        private volatile GameMode mode = GameMode.NORMAL;
+        private volatile int state;
+        private volatile int remainingMs = NO_TIMER;
+        private int lastFrameSeq;
+        private boolean hasFrame;
+        private int lastEventSeq = -1;
+        private long lostFrames;
+
+        public MatchDecoder(int matchId) {
+            this.matchId = matchId;
+            for (int i = 0; i < PLAYERS; i++) {
+                boardDecoders[i] = new BoardDeltaCodec.Decoder();
+            }
+        }
+
+        public int getMatchId() {
+            return matchId;
+        }
+
+        /**
+         * 프레임 하나를 적용합니다. 새 이벤트는 순번 순서로 onEvent에 넘깁니다.
+         *
+         * @return 보드나 상태가 바뀌었으면 true (다른 경기, 오래되었거나 손상된 프레임이면 false)
+         */
+        public boolean apply(ByteBuffer in, Consumer<Event> onEvent) {
+            try {
+                if (in.get() != PACKET_FRAME || in.get() != VERSION || in.getInt() != matchId) {
+                    return false;
+                }
+                int seq = in.getInt();
+                if (hasFrame && seq - lastFrameSeq <= 0) {
+                    return false; // 순서가 뒤바뀌었거나 중복된 프레임
+                }
+                int modeIndex = in.get() & 0xFF;
+                int nextState = in.get() & 0xFF;
+                int remaining = in.getInt();
+                if (modeIndex >= MODES.length) {
+                    return false;
+                }
+                for (int i = 0; i < PLAYERS; i++) {
+                    int score = in.getInt();
+                    int length = in.getShort() & 0xFFFF;
+                    if (length > in.remaining()) {
+                        return false;
+                    }
+                    ByteBuffer packet = in.slice(in.position(), length);
+                    in.position(in.position() + length);
+                    // 키프레임을 받기 전(늦게 들어옴)이나 잃은 뒤의 델타는 건너뛰고 다음 키프레임을 기다림
+                    boolean decoded = boardDecoders[i].decode(packet, decodeBuffer) == BoardDeltaCodec.Result.DECODED;
+                    synchronized (boards[i]) {
+                        if (decoded) {
+                            for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                                System.arraycopy(decodeBuffer[row], 0, boards[i][row], 0, GameBoard.WIDTH);
+                            }
+                            hasBoard[i] = true;
+                        }
+                        scores[i] = score;
+                    }
+                }
+                int count = in.get() & 0xFF;
+                for (int i = 0; i < count; i++) {
+                    Event event = new Event(in.getInt(), in.get(), in.get(), in.getInt());
+                    if (event.seq() > lastEventSeq) {
+                        lastEventSeq = event.seq();
+                        onEvent.accept(event);
+                    }
+                }
+                if (hasFrame && seq - lastFrameSeq > 1) {
+                    lostFrames += seq - lastFrameSeq - 1;
+                }
+                lastFrameSeq = seq;
+                hasFrame = true;
+                mode = MODES[modeIndex];
+                state = nextState;
+                remainingMs = remaining;
+                return true;
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                return false; // 잘린 프레임
+            }
+        }
+
+        /**
+         * 플레이어 보드를 out에 복사합니다.
+         *
+         * @return 아직 키프레임을 받지 못해 보드가 없으면 false
+         */
+        public boolean copyBoard(int player, int[][] out) {
+            synchronized (boards[player]) {
+                if (!hasBoard[player]) {
+                    return false;
+                }
+                for (int row = 0; row < GameBoard.HEIGHT; row++) {
+                    System.arraycopy(boards[player][row], 0, out[row], 0, GameBoard.WIDTH);
+                }
+                return true;
+            }
+        }
+
+        public int getScore(int player) {
+            synchronized (boards[player]) {
+                return scores[player];
+            }
+        }
+
+        public GameMode getMode() {
+            return mode;
+        }
+
+        public boolean isToppedOut(int player) {
+            return (state & (1 << player)) != 0;
+        }
+
+        public boolean isEnded() {
+            return (state & STATE_ENDED) != 0;
+        }
+
+        /**
+         * 타임 어택 남은 시간 (아니면 NO_TIMER)
+         */
+        public int getRemainingMs() {
+            return remainingMs;
+        }
+
+        /**
+         * 프레임 순번 간격으로 추정한 잃은 프레임 수
+         */
+        public long getLostFrames() {
+            return lostFrames;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import org.example.model.TetrominoPosition;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.Deque;
 import java.util.ArrayDeque;
 
@@ -16,7 +15,8 @@ public class TetrisSystem {
     protected TetrominoPosition currentPiece;
     protected TetrominoPosition holdPiece;
     protected final Deque<TetrominoPosition> nextQueue;
-    protected final Random random;
+    protected final GameRandom random;
+    protected final GameContext context;
     private final List<Double> cumulativeWeights;
     protected BoardSnapshot previousSnapshot;
     protected Runnable onPieceLocked;
@@ -37,13 +37,21 @@ public class TetrisSystem {
     protected static final int QUEUEING_SIZE = 7;
 
     public TetrisSystem() {
-        this(new GameBoard());
+        this(GameContext.create());
     }
 
-    protected TetrisSystem(GameBoard board) {
+    /**
+     * 세션 전용 시드와 시계로 생성합니다. 같은 시드면 같은 블록 순서가 나옵니다.
+     */
+    public TetrisSystem(GameContext context) {
+        this(new GameBoard(context.getClock()), context);
+    }
+
+    protected TetrisSystem(GameBoard board, GameContext context) {
         this.board = board;
+        this.context = context;
         this.nextQueue = new ArrayDeque<>();
-        this.random = new Random();
+        this.random = new GameRandom(context.getSeed());
         this.cumulativeWeights = new ArrayList<>();
         this.score = 0;
         this.lines = 0;
@@ -248,19 +256,11 @@ public class TetrisSystem {
      */
     public java.util.List<Integer> getCompletedLineIndices() {
         java.util.List<Integer> completed = new java.util.ArrayList<>();
+        int fullRows = board.getPendingFullRowMask() >>> GameBoard.BUFFER_ZONE;
         
-        for (int row = GameBoard.BUFFER_ZONE; row < GameBoard.HEIGHT + GameBoard.BUFFER_ZONE; row++) {
-            boolean isFullyMarked = true;
-            for (int col = 0; col < GameBoard.WIDTH; col++) {
-                if (board.getCellColor(row, col) != GameBoard.CLEAR_MARK) {
-                    isFullyMarked = false;
-                    break;
-                }
-            }
-            if (isFullyMarked) {
-                // 보이는 영역 기준으로 인덱스 변환
-                completed.add(row - GameBoard.BUFFER_ZONE);
-            }
+        for (int bits = fullRows; bits != 0; bits &= bits - 1) {
+            // 보이는 영역 기준 인덱스 (오름차순)
+            completed.add(Integer.numberOfTrailingZeros(bits));
         }
         
         return completed;
@@ -319,6 +319,31 @@ public class TetrisSystem {
         spawnNewPiece();
     }
 
+    /**
+     * 같은 종류의 다른 시스템 상태(보드, 조각, 큐, 난수, 점수)를 그대로 복사합니다.
+     * 시계와 콜백은 복사하지 않습니다. (LockstepMatch 롤백용)
+     */
+    public void copyStateFrom(TetrisSystem other) {
+        board.copyFrom(other.board);
+        currentPiece = other.currentPiece != null ? other.currentPiece.copy() : null;
+        holdPiece = other.holdPiece != null ? other.holdPiece.copy() : null;
+        nextQueue.clear();
+        for (TetrominoPosition piece : other.nextQueue) {
+            nextQueue.addLast(piece.copy());
+        }
+        random.copyFrom(other.random);
+        cumulativeWeights.clear();
+        cumulativeWeights.addAll(other.cumulativeWeights);
+        previousSnapshot = other.previousSnapshot; // 만든 뒤 바뀌지 않으므로 공유
+        score = other.score;
+        lines = other.lines;
+        level = other.level;
+        difficulty = other.difficulty;
+        levelFactor = other.levelFactor;
+        canHold = other.canHold;
+        gameOver = other.gameOver;
+    }
+
     public long getDropInterval() {
         return Math.max(50, 1000 - (level - 1) * 50);
     }
@@ -352,6 +377,20 @@ public class TetrisSystem {
      * @return 압축된 int[20][10] 보드
      */
     public int[][] getCompressedBoardData() {
+        int[][] compressed = board.getCompressedBoard();
+        overlayPiece(compressed, currentPiece, board);
+        return compressed;
+    }
+
+    /**
+     * 압축 보드 위에 고스트와 현재 조각을 덮어씁니다.
+     * 상대 화면을 조각 위치만으로 다시 그릴 때도(PoseSyncCodec) 같은 규칙을 사용합니다.
+     *
+     * @param compressed 보이는 영역 int[20][10] (덮어씀)
+     * @param piece 현재 조각 (null이면 아무것도 하지 않음)
+     * @param board 고스트 위치 계산에 쓸 보드
+     */
+    public static void overlayPiece(int[][] compressed, TetrominoPosition piece, GameBoard board) {
         // Magic Number
         final int WEIGHT_MARK = 'W';
         final int BOMB_MARK = 'B';
@@ -360,14 +399,12 @@ public class TetrisSystem {
         // 비트마스킹: 상위 16비트(symbol), 하위 8비트(color)
         // 아이템 블록: (symbol << 16) | colorIndex
 
-        int[][] compressed = board.getCompressedBoard();
-
-        if (currentPiece == null) {
-            return compressed;
+        if (piece == null) {
+            return;
         }
 
         // 고스트 조각 덮어쓰기 (테두리만 표시하고 싶으면 GHOST_MARK 사용)
-        var ghostPiece = SuperRotationSystem.hardDrop(currentPiece, board);
+        var ghostPiece = SuperRotationSystem.hardDrop(piece, board);
         int[][] shape = ghostPiece.getCurrentShape();
         int startX = ghostPiece.getX();
         int startY = ghostPiece.getY() - GameBoard.BUFFER_ZONE;
@@ -384,10 +421,10 @@ public class TetrisSystem {
         }
         
         // 현재 조각 덮어쓰기 (특수/아이템/일반)
-        var special = currentPiece.getSpecialKind();
-        shape = currentPiece.getCurrentShape();
-        startX = currentPiece.getX();
-        startY = currentPiece.getY() - GameBoard.BUFFER_ZONE;
+        var special = piece.getSpecialKind();
+        shape = piece.getCurrentShape();
+        startX = piece.getX();
+        startY = piece.getY() - GameBoard.BUFFER_ZONE;
         for (int r = 0; r < shape.length; r++) {
             for (int c = 0; c < shape[r].length; c++) {
                 if (shape[r][c] == 1) {
@@ -399,20 +436,18 @@ public class TetrisSystem {
                         } else if (special == TetrominoPosition.SpecialKind.BOMB) {
                             compressed[y][x] = BOMB_MARK;
                         } else {
-                            var item = currentPiece.getItemAt(r, c);
+                            var item = piece.getItemAt(r, c);
                             if (item != null && item.isItem()) {
                                 int symbol = item.getSymbol();
-                                int color = currentPiece.getType().getColorIndex();
+                                int color = piece.getType().getColorIndex();
                                 compressed[y][x] = (symbol << 16) | (color & 0xFF);
                             } else {
-                                compressed[y][x] = currentPiece.getType().getColorIndex();
+                                compressed[y][x] = piece.getType().getColorIndex();
                             }
                         }
                     }
                 }
             }
         }
-        
-        return compressed;
     }
 }
\ No newline at end of file
@@ -9,7 +9,7 @@ package org.example.service;
  */
 public class TimeTetrisSystem extends TetrisSystem {
     
-    private static final long DEFAULT_DURATION = 2 * 60 * 1000; // 2분 (밀리초)
+    static final long DEFAULT_DURATION = 2 * 60 * 1000; // 2분 (밀리초)
     
     private final long duration;
     private long startTime;
@@ -22,9 +22,13 @@ public class TimeTetrisSystem extends TetrisSystem {
     }
     
     public TimeTetrisSystem(long durationMillis) {
-        super();
+        this(durationMillis, GameContext.create());
+    }
+
+    public TimeTetrisSystem(long durationMillis, GameContext context) {
+        super(context);
         this.duration = durationMillis;
-        this.startTime = System.currentTimeMillis();
+        this.startTime = context.now();
         this.pausedRemainingTime = durationMillis;
         this.isPaused = false;
         this.timeUp = false;
@@ -45,7 +49,7 @@ public class TimeTetrisSystem extends TetrisSystem {
      */
     public void resumeTimer() {
         if (isPaused) {
-            startTime = System.currentTimeMillis() - (duration - pausedRemainingTime);
+            startTime = context.now() - (duration - pausedRemainingTime);
             isPaused = false;
         }
     }
@@ -59,11 +63,23 @@ public class TimeTetrisSystem extends TetrisSystem {
             return pausedRemainingTime;
         }
         
-        long elapsed = System.currentTimeMillis() - startTime;
+        long elapsed = context.now() - startTime;
         long remaining = duration - elapsed;
         return Math.max(0, remaining);
     }
     
+    /**
+     * 남은 시간을 맞춤 (네트워크 대전에서 다시 연결된 뒤 서버 타이머에 맞출 때)
+     */
+    public void setRemainingTime(long remainingMillis) {
+        long remaining = Math.clamp(remainingMillis, 0, duration);
+        if (isPaused) {
+            pausedRemainingTime = remaining;
+        } else {
+            startTime = context.now() - (duration - remaining);
+        }
+    }
+
     /**
      * 시간이 종료되었는지 확인
      */
@@ -86,12 +102,22 @@ public class TimeTetrisSystem extends TetrisSystem {
     @Override
     public void reset() {
         super.reset();
-        startTime = System.currentTimeMillis();
+        startTime = context.now();
         pausedRemainingTime = duration;
         isPaused = false;
         timeUp = false;
     }
     
+    @Override
+    public void copyStateFrom(TetrisSystem other) {
+        super.copyStateFrom(other);
+        TimeTetrisSystem source = (TimeTetrisSystem) other;
+        startTime = source.startTime;
+        pausedRemainingTime = source.pausedRemainingTime;
+        isPaused = source.isPaused;
+        timeUp = source.timeUp;
+    }
+
     /**
      * 제한 시간 반환 (밀리초)
      */
@@ -38,7 +38,7 @@ class AdderBoardSyncTest {
     @Test
     @DisplayName("enqueueLines adds lines to queue")
     void testEnqueueLines() {
-        int[][] newLines = createTestLines(2);
+        int[] newLines = createTestLines(2);
         
         adderBoardSync.enqueueLines(newLines);
         
@@ -50,8 +50,8 @@ class AdderBoardSyncTest {
     @Test
     @DisplayName("enqueueLines with multiple batches")
     void testEnqueueMultipleBatches() {
-        int[][] firstBatch = createTestLines(2);
-        int[][] secondBatch = createTestLines(3);
+        int[] firstBatch = createTestLines(2);
+        int[] secondBatch = createTestLines(3);
         
         adderBoardSync.enqueueLines(firstBatch);
         adderBoardSync.enqueueLines(secondBatch);
@@ -71,7 +71,7 @@ class AdderBoardSyncTest {
     @Test
     @DisplayName("consumeIfExists transfers lines from queue to internal list")
     void testConsumeIfExistsTransfersLines() {
-        int[][] newLines = createTestLines(3);
+        int[] newLines = createTestLines(3);
         
         adderBoardSync.enqueueLines(newLines);
         assertTrue(adderBoardSync.isEmpty(), "Should be empty before consume");
@@ -84,17 +84,16 @@ class AdderBoardSyncTest {
     @DisplayName("consumeIfExists respects MAX_LINES limit (10 lines)")
     void testConsumeIfExistsRespectsMaxLines() {
         // Enqueue more than MAX_LINES (10)
-        int[][] batch1 = createTestLines(8);
-        int[][] batch2 = createTestLines(5); // Total would be 13
+        int[] batch1 = createTestLines(8);
+        int[] batch2 = createTestLines(5); // Total would be 13
         
         adderBoardSync.enqueueLines(batch1);
         adderBoardSync.enqueueLines(batch2);
         adderBoardSync.consumeIfExists();
         
         // Should only consume up to MAX_LINES
-        int[][] drawBuffer = adderBoardSync.getDrawBuffer();
-        assertNotNull(drawBuffer);
-        assertEquals(10, drawBuffer.length, "Draw buffer should have MAX_LINES (10) rows");
+        assertEquals(10, adderBoardSync.getLineCount(), "Should keep at most MAX_LINES (10) lines");
+        assertEquals(10, adderBoardSync.getHoleMasks().length);
     }
 
     @Test
@@ -106,7 +105,7 @@ class AdderBoardSyncTest {
         }
         
         // Add 2 lines
-        int[][] newLines = createTestLines(2);
+        int[] newLines = createTestLines(2);
         adderBoardSync.enqueueLines(newLines);
         adderBoardSync.consumeIfExists();
         adderBoardSync.applyToBoard();
@@ -121,13 +120,7 @@ class AdderBoardSyncTest {
     @Test
     @DisplayName("applyToBoard adds new lines at the bottom")
     void testApplyToBoardAddsLinesAtBottom() {
-        int[][] newLines = new int[2][GameBoard.WIDTH];
-        // Fill with pattern
-        for (int i = 0; i < 2; i++) {
-            for (int j = 0; j < GameBoard.WIDTH; j++) {
-                newLines[i][j] = (i + 1) * 10 + j;
-            }
-        }
+        int[] newLines = {1 << 1, 1 << 2}; // 줄 i는 i+1번 열이 구멍
         
         adderBoardSync.enqueueLines(newLines);
         adderBoardSync.consumeIfExists();
@@ -139,7 +132,7 @@ class AdderBoardSyncTest {
             int targetRow = totalHeight - 2 + i;
             if (targetRow >= GameBoard.BUFFER_ZONE) {
                 for (int col = 0; col < GameBoard.WIDTH; col++) {
-                    assertEquals((i + 1) * 10 + col, 
+                    assertEquals(col == i + 1 ? 0 : GarbageLine.COLOR,
                         gameBoard.getCellColor(targetRow, col),
                         "Added line should be at bottom of board");
                 }
@@ -150,7 +143,7 @@ class AdderBoardSyncTest {
     @Test
     @DisplayName("applyToBoard clears internal lines list")
     void testApplyToBoardClearsLines() {
-        int[][] newLines = createTestLines(2);
+        int[] newLines = createTestLines(2);
         
         adderBoardSync.enqueueLines(newLines);
         adderBoardSync.consumeIfExists();
@@ -164,7 +157,7 @@ class AdderBoardSyncTest {
     @ValueSource(ints = {1, 2, 3, 5, 8, 10})
     @DisplayName("applyToBoard works with different line counts")
     void testApplyToBoardWithVariousLineCounts(int lineCount) {
-        int[][] newLines = createTestLines(lineCount);
+        int[] newLines = createTestLines(lineCount);
         
         adderBoardSync.enqueueLines(newLines);
         adderBoardSync.consumeIfExists();
@@ -174,91 +167,24 @@ class AdderBoardSyncTest {
     }
 
     @Test
-    @DisplayName("getDrawBuffer returns empty buffer initially")
-    void testGetDrawBufferInitially() {
-        int[][] drawBuffer = adderBoardSync.getDrawBuffer();
-        
-        assertNotNull(drawBuffer);
-        assertEquals(10, drawBuffer.length);
-        assertEquals(GameBoard.WIDTH, drawBuffer[0].length);
-        
-        // All should be zero
-        for (int i = 0; i < 10; i++) {
-            for (int j = 0; j < GameBoard.WIDTH; j++) {
-                assertEquals(0, drawBuffer[i][j], "Initial buffer should be all zeros");
-            }
-        }
-    }
-
-    @Test
-    @DisplayName("getDrawBuffer reflects enqueued lines after consume")
-    void testGetDrawBufferAfterConsume() {
-        int[][] newLines = new int[3][GameBoard.WIDTH];
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < GameBoard.WIDTH; j++) {
-                newLines[i][j] = i * 10 + j;
-            }
-        }
-        
-        adderBoardSync.enqueueLines(newLines);
+    @DisplayName("getHoleMasks holds consumed lines in arrival order")
+    void testGetHoleMasksAfterConsume() {
+        adderBoardSync.enqueueLines(new int[] {1, 2});
+        adderBoardSync.enqueueLines(new int[] {4});
         adderBoardSync.consumeIfExists();
-        int[][] drawBuffer = adderBoardSync.getDrawBuffer();
-        
-        // First 7 rows should be empty (10 - 3 = 7)
-        for (int i = 0; i < 7; i++) {
-            for (int j = 0; j < GameBoard.WIDTH; j++) {
-                assertEquals(0, drawBuffer[i][j], "Top rows should be empty");
-            }
-        }
-        
-        // Last 3 rows should have the pattern
-        for (int i = 7, lineIdx = 0; i < 10; i++, lineIdx++) {
-            for (int j = 0; j < GameBoard.WIDTH; j++) {
-                assertEquals(lineIdx * 10 + j, drawBuffer[i][j],
-                    "Bottom rows should contain enqueued lines");
-            }
-        }
-    }
 
-    @Test
-    @DisplayName("getDrawBuffer resets updated flag on first call")
-    void testGetDrawBufferResetsUpdatedFlag() {
-        int[][] newLines = createTestLines(2);
-        
-        adderBoardSync.enqueueLines(newLines);
-        adderBoardSync.consumeIfExists();
-        
-        // First call should return updated buffer
-        int[][] firstCall = adderBoardSync.getDrawBuffer();
-        
-        // Second call without changes should return same buffer (cached)
-        int[][] secondCall = adderBoardSync.getDrawBuffer();
-        
-        assertSame(firstCall, secondCall, "Should return same buffer instance when not updated");
-    }
-
-    @Test
-    @DisplayName("getDrawBuffer updates when new lines are consumed")
-    void testGetDrawBufferUpdatesOnNewConsume() {
-        int[][] firstBatch = createTestLines(2);
-        adderBoardSync.enqueueLines(firstBatch);
-        adderBoardSync.consumeIfExists();
-        int[][] firstBuffer = adderBoardSync.getDrawBuffer();
-        
-        int[][] secondBatch = createTestLines(1);
-        adderBoardSync.enqueueLines(secondBatch);
-        adderBoardSync.consumeIfExists();
-        int[][] secondBuffer = adderBoardSync.getDrawBuffer();
-        
-        assertSame(firstBuffer, secondBuffer, "Should return same buffer instance");
-        // Content should be different though (not testing exact content here)
+        assertEquals(3, adderBoardSync.getLineCount());
+        int[] masks = adderBoardSync.getHoleMasks();
+        assertEquals(1, masks[0]);
+        assertEquals(2, masks[1]);
+        assertEquals(4, masks[2]);
     }
 
     @Test
     @DisplayName("Full workflow: enqueue -> consume -> apply -> isEmpty")
     void testFullWorkflow() {
         // Enqueue lines
-        int[][] lines = createTestLines(3);
+        int[] lines = createTestLines(3);
         adderBoardSync.enqueueLines(lines);
         assertTrue(adderBoardSync.isEmpty(), "Should be empty before consume");
         
@@ -266,9 +192,7 @@ class AdderBoardSyncTest {
         adderBoardSync.consumeIfExists();
         assertFalse(adderBoardSync.isEmpty(), "Should have lines after consume");
         
-        // Get draw buffer
-        int[][] buffer = adderBoardSync.getDrawBuffer();
-        assertNotNull(buffer);
+        assertEquals(3, adderBoardSync.getLineCount());
         
         // Apply to board
         adderBoardSync.applyToBoard();
@@ -299,12 +223,10 @@ class AdderBoardSyncTest {
     @Test
     @DisplayName("Thread-safe queue operations")
     void testConcurrentEnqueue() throws InterruptedException {
-        // Test that ConcurrentLinkedQueue works correctly
         Thread[] threads = new Thread[5];
         for (int i = 0; i < 5; i++) {
-            final int threadId = i;
             threads[i] = new Thread(() -> {
-                int[][] lines = createTestLines(1);
+                int[] lines = createTestLines(1);
                 adderBoardSync.enqueueLines(lines);
             });
             threads[i].start();
@@ -315,17 +237,90 @@ class AdderBoardSyncTest {
         }
         
         adderBoardSync.consumeIfExists();
-        assertFalse(adderBoardSync.isEmpty(), "Should have lines from all threads");
+        assertEquals(5, adderBoardSync.getLineCount(), "Should have lines from all threads");
+    }
+
+    @Test
+    @DisplayName("offerLine and publish hand lines to the consumer")
+    void testOfferAndPublish() {
+        assertTrue(adderBoardSync.offerLine(1 << 3));
+        assertEquals(0, adderBoardSync.getQueueDepth(), "Unpublished rows are not visible");
+
+        adderBoardSync.publish();
+        assertEquals(1, adderBoardSync.getQueueDepth());
+
+        adderBoardSync.consumeIfExists();
+        assertEquals(0, adderBoardSync.getQueueDepth());
+        assertEquals(1, adderBoardSync.getLineCount());
+        assertEquals(1 << 3, adderBoardSync.getHoleMasks()[0]);
+    }
+
+    @Test
+    @DisplayName("Lines beyond the 10 line cap are counted as dropped")
+    void testCapDrops() {
+        adderBoardSync.enqueueLines(createTestLines(8));
+        adderBoardSync.enqueueLines(createTestLines(5));
+        adderBoardSync.consumeIfExists();
+
+        assertEquals(10, adderBoardSync.getLineCount());
+        assertEquals(3, adderBoardSync.getDroppedLines());
     }
 
-    // Helper method to create test lines
-    private int[][] createTestLines(int count) {
-        int[][] lines = new int[count][GameBoard.WIDTH];
-        for (int i = 0; i < count; i++) {
-            for (int j = 0; j < GameBoard.WIDTH; j++) {
-                lines[i][j] = 1; // Fill with 1s for simplicity
+    @Test
+    @DisplayName("Full ring rejects new rows and counts them as dropped")
+    void testRingOverflow() {
+        int claimed = 0;
+        while (adderBoardSync.offerLine(0)) {
+            claimed++;
+        }
+        adderBoardSync.publish();
+
+        assertEquals(claimed, adderBoardSync.getQueueDepth());
+        assertEquals(1, adderBoardSync.getDroppedLines());
+
+        adderBoardSync.consumeIfExists();
+        assertTrue(adderBoardSync.offerLine(0), "Ring has room again after consuming");
+    }
+
+    @Test
+    @DisplayName("Single producer and consumer threads keep order and lose no count")
+    void testSingleProducerSingleConsumer() throws InterruptedException {
+        final int total = 20_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= total; i++) {
+                while (adderBoardSync.getQueueDepth() >= 32) {
+                    Thread.onSpinWait(); // 링이 빌 때까지 대기 (링 드롭 없이 상한 드롭만 검증)
+                }
+                adderBoardSync.offerLine(i & GarbageLine.ALL_HOLES);
+                adderBoardSync.publish();
+            }
+        });
+        producer.start();
+
+        int received = 0;
+        int expected = 1;
+        while (producer.isAlive() || adderBoardSync.getQueueDepth() > 0) {
+            adderBoardSync.consumeIfExists();
+            int count = adderBoardSync.getLineCount();
+            int[] masks = adderBoardSync.getHoleMasks();
+            for (int i = 0; i < count; i++) {
+                // 상한을 넘어 버려진 줄만큼 건너뛸 수는 있지만 순서가 바뀌면 안 됨
+                while (expected <= total && (expected & GarbageLine.ALL_HOLES) != masks[i]) {
+                    expected++;
+                }
+                assertTrue(expected <= total, "Lines arrive in order");
+                expected++;
             }
+            received += count;
+            adderBoardSync.applyToBoard();
         }
-        return lines;
+        producer.join();
+
+        assertEquals(total, received + adderBoardSync.getDroppedLines());
+    }
+
+    // Helper method to create test lines (구멍 없는 회색 줄)
+    private int[] createTestLines(int count) {
+        return new int[count];
     }
 }
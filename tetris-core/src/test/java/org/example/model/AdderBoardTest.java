@@ -0,0 +1,172 @@
+package org.example.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AdderBoard unit tests
+ * Tests the line storage and transfer mechanism for multiplayer
+ */
+class AdderBoardTest {
+
+    private AdderBoard adderBoard;
+
+    @BeforeEach
+    void setUp() {
+        adderBoard = new AdderBoard();
+    }
+
+    @Test
+    @DisplayName("AdderBoard initializes with zero lines")
+    void testInitialState() {
+        assertEquals(0, adderBoard.getLineCount(), "Initial line count should be 0");
+    }
+
+    @Test
+    @DisplayName("AdderBoard adds single line correctly")
+    void testAddSingleLine() {
+        adderBoard.addLines(new int[] {0}); // 구멍 없는 회색 줄
+
+        assertEquals(1, adderBoard.getLineCount(), "Should have 1 line after adding");
+    }
+
+    @Test
+    @DisplayName("AdderBoard adds multiple lines correctly")
+    void testAddMultipleLines() {
+        adderBoard.addLines(new int[] {1, 2, 4});
+
+        assertEquals(3, adderBoard.getLineCount(), "Should have 3 lines after adding");
+    }
+
+    @Test
+    @DisplayName("AdderBoard limits to maximum 10 lines")
+    void testMaximumLineLimit() {
+        adderBoard.addLines(new int[15]);
+
+        assertEquals(10, adderBoard.getLineCount(), "Should limit to 10 lines maximum");
+    }
+    
+    @Test
+    @DisplayName("이미 10줄이 차 있으면 새 줄 추가 무시")
+    void testIgnoreNewLinesWhenFull() {
+        // 먼저 10줄을 채움 (0번 열이 구멍)
+        int[] initialLines = new int[10];
+        java.util.Arrays.fill(initialLines, 1);
+        adderBoard.addLines(initialLines);
+        assertEquals(10, adderBoard.getLineCount(), "초기에 10줄이어야 함");
+        
+        // 3줄 더 추가 시도 (1번 열이 구멍) - 이미 최대치이므로 무시되어야 함
+        adderBoard.addLines(new int[] {2, 2, 2});
+        
+        // 여전히 10줄이어야 함
+        assertEquals(10, adderBoard.getLineCount(), 
+            "가득 찬 상태에서 새 줄은 무시되어야 하므로 여전히 10줄이어야 함");
+        
+        // 원래 줄들이 보존되었는지 확인
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, adderBoard.getHoleMasks()[i], i + "번 줄은 원래 구멍 위치여야 함");
+        }
+    }
+    
+    @Test
+    @DisplayName("줄 추가 시 오버플로우가 발생하면 초과분을 잘라냄")
+    void testTrimExcessLinesOnOverflow() {
+        // 초기에 8줄 추가 (줄 i는 i번 열이 구멍)
+        int[] initialLines = new int[8];
+        for (int row = 0; row < 8; row++) {
+            initialLines[row] = 1 << row;
+        }
+        adderBoard.addLines(initialLines);
+        assertEquals(8, adderBoard.getLineCount(), "초기에 8줄이어야 함");
+        
+        // 4줄 더 추가 (8 + 4 = 12, 10줄로 잘려야 함)
+        adderBoard.addLines(new int[] {0x100, 0x200, 0x3, 0x5});
+        
+        // 정확히 10줄이어야 함 (12에서 잘림)
+        assertEquals(10, adderBoard.getLineCount(), 
+            "8줄에 4줄 추가 후 10줄이어야 함 (12에서 잘림)");
+        
+        // 끝(최신)의 초과 줄이 제거됨
+        int[] result = adderBoard.getHoleMasks();
+        for (int i = 0; i < 8; i++) {
+            assertEquals(1 << i, result[i], i + "번 줄은 원래 값이어야 함");
+        }
+        assertEquals(0x100, result[8], "8번 줄은 첫 번째 새 줄이어야 함");
+        assertEquals(0x200, result[9], "9번 줄은 두 번째 새 줄이어야 함");
+    }
+
+    @Test
+    @DisplayName("AdderBoard ignores null lines")
+    void testAddNullLines() {
+        adderBoard.addLines(null);
+
+        assertEquals(0, adderBoard.getLineCount(), "Should remain 0 after adding null");
+    }
+
+    @Test
+    @DisplayName("AdderBoard ignores empty array")
+    void testAddEmptyArray() {
+        adderBoard.addLines(new int[0]);
+
+        assertEquals(0, adderBoard.getLineCount(), "Should remain 0 after adding empty array");
+    }
+
+    @Test
+    @DisplayName("AdderBoard clears lines after clear()")
+    void testClear() {
+        adderBoard.addLines(new int[3]);
+        assertEquals(3, adderBoard.getLineCount(), "Should have 3 lines before clear");
+
+        adderBoard.clear();
+        assertEquals(0, adderBoard.getLineCount(), "Should have 0 lines after clear");
+    }
+
+    @Test
+    @DisplayName("AdderBoard applies lines to GameBoard")
+    void testApplyToBoard() {
+        GameBoard gameBoard = new GameBoard();
+        int bottom = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE - 1;
+        gameBoard.setCellColor(bottom, 4, 3);
+
+        adderBoard.addLines(new int[] {1 << 2, 1 << 7});
+        int appliedCount = adderBoard.applyToBoard(gameBoard);
+
+        assertEquals(2, appliedCount, "Should apply 2 lines");
+        assertEquals(0, adderBoard.getLineCount(), "AdderBoard should be cleared after apply");
+        assertEquals(3, gameBoard.getCellColor(bottom - 2, 4), "Existing blocks move up");
+        for (int col = 0; col < GameBoard.WIDTH; col++) {
+            assertEquals(col == 2 ? 0 : GarbageLine.COLOR, gameBoard.getCellColor(bottom - 1, col));
+            assertEquals(col == 7 ? 0 : GarbageLine.COLOR, gameBoard.getCellColor(bottom, col));
+        }
+    }
+
+    @Test
+    @DisplayName("AdderBoard returns 0 when applying empty board")
+    void testApplyEmptyBoard() {
+        GameBoard gameBoard = new GameBoard();
+
+        int appliedCount = adderBoard.applyToBoard(gameBoard);
+
+        assertEquals(0, appliedCount, "Should apply 0 lines when empty");
+    }
+
+    @Test
+    @DisplayName("AdderBoard returns max lines constant")
+    void testGetMaxLines() {
+        assertEquals(10, adderBoard.getMaxLines(), "Max lines should be 10");
+    }
+
+    @Test
+    @DisplayName("AdderBoard keeps out-of-range mask bits out of stored lines")
+    void testGetHoleMasks() {
+        adderBoard.addLines(new int[] {0xFFFF});
+
+        int[] result = adderBoard.getHoleMasks();
+
+        assertEquals(10, result.length, "Should expose 10 slots");
+        assertEquals(GarbageLine.ALL_HOLES, result[0], "Only WIDTH bits are kept");
+    }
+}
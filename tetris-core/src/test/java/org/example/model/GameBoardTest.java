@@ -122,6 +122,18 @@ class GameBoardTest {
         int cleared = board.clearLines();
         assertEquals(0, cleared);
     }
+
+    @Test
+    void testPendingLineIsNotCountedTwice() {
+        int lineIndex = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE - 1;
+        for (int col = 0; col < GameBoard.WIDTH; col++) {
+            board.setCellColor(lineIndex, col, 1);
+        }
+
+        assertEquals(1, board.clearLines());
+        // 삭제 대기(500ms) 중에 다시 호출해도 같은 줄을 또 세지 않음
+        assertEquals(0, board.clearLines());
+    }
     
     @Test
     void testGetCellColor() {
@@ -246,4 +258,140 @@ class GameBoardTest {
         }
         assertTrue(lineCleared);
     }
+
+    @Test
+    void testOverlappingClearEffectsCompactOnce() {
+        java.util.concurrent.atomic.AtomicLong now = new java.util.concurrent.atomic.AtomicLong();
+        GameBoard timed = new GameBoard(now::get);
+        int bottom = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE - 1;
+        // 아래 3줄을 채우고 맨 아래 줄만 가득 채움
+        for (int col = 0; col < GameBoard.WIDTH; col++) {
+            timed.setCellColor(bottom, col, 1);
+            timed.setCellColor(bottom - 1, col, 2);
+            timed.setCellColor(bottom - 2, col, 3);
+        }
+        timed.setCellColor(bottom - 1, 0, 0);
+        timed.setCellColor(bottom - 2, 0, 0);
+
+        timed.clearLines();                               // bottom 전체
+        timed.playClearLineEffect(8, bottom - 2, 9, bottom); // 겹치는 사각형
+        timed.playClearLineEffect(0, bottom, 9, bottom);     // 같은 줄 다시 표시
+
+        assertEquals(1 << bottom, timed.getPendingFullRowMask());
+
+        now.addAndGet(500);
+        timed.processPendingClearsIfDue();
+
+        // bottom이 빠지고 위 두 줄이 내려옴, 사각형 영역(8~9열)은 비워짐
+        assertEquals(0, timed.getCellColor(bottom, 0));
+        assertEquals(2, timed.getCellColor(bottom, 7));
+        assertEquals(0, timed.getCellColor(bottom, 8));
+        assertEquals(3, timed.getCellColor(bottom - 1, 7));
+        assertEquals(0, timed.getCellColor(bottom - 1, 9));
+        assertEquals(0, timed.getCellColor(bottom - 2, 5));
+        assertEquals(0, timed.getPendingFullRowMask());
+    }
+
+    @Test
+    void testOverwrittenMarkIsNotCleared() {
+        java.util.concurrent.atomic.AtomicLong now = new java.util.concurrent.atomic.AtomicLong();
+        GameBoard timed = new GameBoard(now::get);
+        int row = GameBoard.BUFFER_ZONE + 5;
+
+        timed.playClearLineEffect(3, row, 3, row);
+        timed.setCellColor(row, 3, 4);
+
+        now.addAndGet(500);
+        timed.processPendingClearsIfDue();
+
+        assertEquals(4, timed.getCellColor(row, 3));
+    }
+
+    @Test
+    void testBoardHashFollowsMutations() {
+        java.util.concurrent.atomic.AtomicLong now = new java.util.concurrent.atomic.AtomicLong();
+        GameBoard timed = new GameBoard(now::get);
+        assertEquals(0L, timed.getBoardHash());
+
+        int bottom = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE - 1;
+        for (int col = 0; col < GameBoard.WIDTH; col++) {
+            timed.setCellColor(bottom, col, 1);
+        }
+        timed.placeTetromino(new TetrominoPosition(Tetromino.T, 3, bottom - 2, 0));
+        assertEquals(GameBoard.hashOf(timed.getCompressedBoard()), timed.getBoardHash());
+        long beforeClear = timed.getBoardHash();
+
+        timed.clearLines();
+        assertNotEquals(beforeClear, timed.getBoardHash());
+        assertEquals(GameBoard.hashOf(timed.getCompressedBoard()), timed.getBoardHash());
+
+        now.addAndGet(500);
+        timed.processPendingClearsIfDue();
+        assertEquals(GameBoard.hashOf(timed.getCompressedBoard()), timed.getBoardHash());
+
+        // 버퍼 영역은 보이지 않으므로 해시에 포함되지 않음
+        long visible = timed.getBoardHash();
+        timed.setCellColor(0, 0, 5);
+        assertEquals(visible, timed.getBoardHash());
+
+        timed.clear();
+        assertEquals(0L, timed.getBoardHash());
+    }
+
+    @Test
+    void testBoardHashDependsOnPosition() {
+        int row = GameBoard.BUFFER_ZONE + 10;
+        board.setCellColor(row, 2, 3);
+        GameBoard shifted = new GameBoard();
+        shifted.setCellColor(row + 1, 2, 3);
+        GameBoard swapped = new GameBoard();
+        swapped.setCellColor(row, 3, 3);
+        assertNotEquals(board.getBoardHash(), shifted.getBoardHash());
+        assertNotEquals(board.getBoardHash(), swapped.getBoardHash());
+
+        GameBoard copy = new GameBoard();
+        copy.copyFrom(board);
+        assertEquals(board.getBoardHash(), copy.getBoardHash());
+    }
+
+    @Test
+    void testGarbageInsertShiftsRowsMasksAndHash() {
+        int rows = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE;
+        java.util.Random random = new java.util.Random(5);
+        for (int row = 2; row < rows; row++) {
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                if (random.nextInt(3) == 0) {
+                    board.setCellColor(row, col, 1 + random.nextInt(7));
+                }
+            }
+        }
+        int markedRow = rows - 3;
+        board.playClearLineEffect(2, markedRow, 4, markedRow);
+        int[][] before = new int[rows][GameBoard.WIDTH];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                before[row][col] = board.getCellColor(row, col);
+            }
+        }
+
+        int[] masks = {1 << 0, 1 << 9};
+        GarbageLine.insert(board, masks, masks.length);
+
+        for (int row = 0; row < rows - 2; row++) {
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                assertEquals(before[row + 2][col], board.getCellColor(row, col), "row " + row + " col " + col);
+            }
+        }
+        for (int i = 0; i < masks.length; i++) {
+            int row = rows - 2 + i;
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                int expected = GarbageLine.isBlock(masks[i], col) ? GarbageLine.COLOR : 0;
+                assertEquals(expected, board.getCellColor(row, col));
+            }
+            assertEquals(0, board.getPendingClearMask(row));
+        }
+        // 삭제 대기 칸도 줄과 함께 올라감
+        assertEquals(0b11100, board.getPendingClearMask(markedRow - 2));
+        assertEquals(GameBoard.hashOf(board.getCompressedBoard()), board.getBoardHash());
+    }
 }
@@ -4,17 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
-import org.example.service.ColorManager;
-
 class ItemGameBoardTest {
 
     private ItemGameBoard board;
-    private ColorManager colorManager;
 
     @BeforeEach
     void setUp() {
         board = new ItemGameBoard();
-        colorManager = ColorManager.getInstance();
     }
 
     // Constructor and Initialization Tests
@@ -485,4 +481,102 @@ class ItemGameBoardTest {
         // Cross clear should handle both
         assertTrue(crossClears >= 0);
     }
+
+    // Item Index Tests
+    @Test
+    void testItemMasksTrackPlacedItems() {
+        int row = GameBoard.BUFFER_ZONE + 10;
+        board.setItemBlock(row, 2, ItemBlock.COLUMN_CLEAR);
+        board.setItemBlock(row + 2, 7, ItemBlock.COLUMN_CLEAR);
+
+        assertEquals((1 << 2) | (1 << 7), board.getItemColumnMask(ItemBlock.COLUMN_CLEAR));
+        assertEquals((1 << row) | (1 << (row + 2)), board.getItemRowMask(ItemBlock.COLUMN_CLEAR));
+        assertEquals(2, board.getItemCount(ItemBlock.COLUMN_CLEAR));
+
+        // 일반 블록으로 덮어쓰면 인덱스에서 빠져야 함
+        board.setCellColor(row, 2, 3);
+        assertEquals(1 << 7, board.getItemColumnMask(ItemBlock.COLUMN_CLEAR));
+        assertEquals(1, board.getItemCount(ItemBlock.COLUMN_CLEAR));
+    }
+
+    @Test
+    void testItemIndexFollowsRowShift() {
+        int bottom = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE - 1;
+        java.util.concurrent.atomic.AtomicLong now = new java.util.concurrent.atomic.AtomicLong();
+        ItemGameBoard timed = new ItemGameBoard(now::get);
+        for (int c = 0; c < GameBoard.WIDTH; c++) {
+            timed.setCellColor(bottom, c, 1);
+        }
+        timed.setItemBlock(bottom - 1, 4, ItemBlock.LINE_CLEAR);
+
+        timed.clearRows(1 << bottom);
+        now.addAndGet(500);
+        timed.processPendingClearsIfDue();
+
+        assertEquals(ItemBlock.LINE_CLEAR, timed.getItemAt(bottom, 4));
+        assertEquals(1 << bottom, timed.getItemRowMask(ItemBlock.LINE_CLEAR));
+    }
+
+    @Test
+    void testClearEffectRemovesItemsFromIndex() {
+        int row = GameBoard.BUFFER_ZONE + 10;
+        board.setItemBlock(row, 5, ItemBlock.CROSS_CLEAR);
+        board.setItemBlock(row, 0, ItemBlock.LINE_CLEAR);
+
+        board.playClearLineEffect(4, row, 6, row);
+
+        assertEquals(0, board.getItemCount(ItemBlock.CROSS_CLEAR));
+        assertEquals(1, board.getItemCount(ItemBlock.LINE_CLEAR));
+
+        board.clear();
+        assertEquals(0, board.getItemRowMask(ItemBlock.LINE_CLEAR));
+    }
+
+    @Test
+    void testItemIndexMatchesBoardAfterRandomEdits() {
+        java.util.Random random = new java.util.Random(12);
+        int rows = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE;
+        int[] values = {0, 1, 2, 'L', 'I', 'X', 'W', 'B'};
+        for (int step = 0; step < 2000; step++) {
+            int row = random.nextInt(rows);
+            int col = random.nextInt(GameBoard.WIDTH);
+            switch (random.nextInt(4)) {
+                case 0 -> board.playClearLineEffect(col, row, col + 2, row + 1);
+                case 1 -> board.applyWeightAndBombEffects();
+                default -> board.setCellColor(row, col, values[random.nextInt(values.length)]);
+            }
+        }
+
+        for (ItemBlock item : new ItemBlock[]{ItemBlock.LINE_CLEAR, ItemBlock.COLUMN_CLEAR,
+                ItemBlock.CROSS_CLEAR, ItemBlock.WEIGHT, ItemBlock.BOMB}) {
+            int rowMask = 0;
+            int count = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < GameBoard.WIDTH; c++) {
+                    if (board.getItemAt(r, c) == item) {
+                        rowMask |= 1 << r;
+                        count++;
+                    }
+                }
+            }
+            assertEquals(rowMask, board.getItemRowMask(item), item.name());
+            assertEquals(count, board.getItemCount(item), item.name());
+        }
+    }
+
+    @Test
+    void testGarbageInsertShiftsItemIndex() {
+        int bottom = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE - 1;
+        board.setItemBlock(1, 3, ItemBlock.WEIGHT);       // 위로 밀려 사라짐
+        board.setItemBlock(bottom, 6, ItemBlock.LINE_CLEAR);
+
+        GarbageLine.insert(board, new int[] {1, 2}, 2);
+
+        assertEquals(0, board.getItemCount(ItemBlock.WEIGHT));
+        assertEquals(0, board.getItemRowMask(ItemBlock.WEIGHT));
+        assertEquals(ItemBlock.LINE_CLEAR, board.getItemAt(bottom - 2, 6));
+        assertEquals(1 << (bottom - 2), board.getItemRowMask(ItemBlock.LINE_CLEAR));
+        assertEquals(1, board.getItemCount(ItemBlock.LINE_CLEAR));
+        assertEquals(GameBoard.hashOf(board.getCompressedBoard()), board.getBoardHash());
+    }
 }
@@ -4,18 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
-import javafx.scene.paint.Color;
-import org.example.service.ColorManager;
-
 class TetrominoPositionTest {
 
     private TetrominoPosition position;
-    private ColorManager colorManager;
 
     @BeforeEach
     void setUp() {
         position = new TetrominoPosition(Tetromino.T, 5, 10, 0);
-        colorManager = ColorManager.getInstance();
     }
 
     // Constructor and Getters Tests
@@ -36,11 +31,6 @@ class TetrominoPositionTest {
         assertArrayEquals(Tetromino.T.getShape(0), shape);
     }
 
-    @Test
-    void testGetDisplayColorUsesTetrominoColor() {
-        assertEquals(Tetromino.T.getColor(), position.getDisplayColor(colorManager));
-    }
-
     // Rotation Tests
     @Test
     void testSetRotation() {
@@ -238,22 +228,6 @@ class TetrominoPositionTest {
         assertEquals(4, blockCount);
     }
 
-    @Test
-    void testWeightPieceHasCustomDisplayColor() {
-        TetrominoPosition weight = TetrominoPosition.createWeightPiece(0, 0);
-        Color displayColor = weight.getDisplayColor(colorManager);
-        assertNotNull(displayColor);
-        assertEquals(Color.GOLD, displayColor);
-    }
-
-    @Test
-    void testBombPieceHasCustomDisplayColor() {
-        TetrominoPosition bomb = TetrominoPosition.createBombPiece(0, 0);
-        Color displayColor = bomb.getDisplayColor(colorManager);
-        assertNotNull(displayColor);
-        assertEquals(Color.ORANGERED, displayColor);
-    }
-
     @Test
     void testWeightPieceRotationIsLocked() {
         TetrominoPosition weight = TetrominoPosition.createWeightPiece(0, 0);
@@ -1,6 +1,5 @@
 package org.example.model;
 
-import javafx.scene.paint.Color;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
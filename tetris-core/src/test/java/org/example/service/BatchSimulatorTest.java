@@ -0,0 +1,61 @@
+package org.example.service;
+
+import org.example.model.GameMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchSimulator
+ * Runs a few short bot games in virtual time
+ */
+class BatchSimulatorTest {
+
+    @Test
+    @DisplayName("Same seed replays the same game")
+    void testRunGameIsDeterministic() {
+        BatchSimulator.GameResult first = BatchSimulator.runGame(0, GameMode.ITEM, 42L, 2, 300);
+        BatchSimulator.GameResult second = BatchSimulator.runGame(0, GameMode.ITEM, 42L, 2, 300);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Bot clears lines in normal mode")
+    void testBotClearsLines() {
+        BatchSimulator.GameResult result = BatchSimulator.runGame(0, GameMode.NORMAL, 7L, 2, 200);
+
+        assertTrue(result.lines() > 0);
+        assertTrue(result.pieces() > 0);
+        assertEquals(result.pieces() * BatchSimulator.PIECE_INTERVAL_MS, result.durationMs());
+    }
+
+    @Test
+    @DisplayName("Time attack game stops when the virtual timer runs out")
+    void testTimeAttackEndsInVirtualTime() {
+        BatchSimulator.GameResult result = BatchSimulator.runGame(0, GameMode.TIME_ATTACK, 3L, 2, 10_000);
+
+        assertTrue(result.pieces() < 10_000);
+        assertTrue(result.durationMs() <= 2 * 60 * 1000 + BatchSimulator.PIECE_INTERVAL_MS);
+    }
+
+    @Test
+    @DisplayName("Batch run writes a header and one CSV row per game")
+    void testRunWritesCsv() throws IOException {
+        StringWriter out = new StringWriter();
+        BatchSimulator.Config config = new BatchSimulator.Config(6, null, 1L, 2, 50, 2);
+
+        BatchSimulator.run(config, out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(BatchSimulator.CSV_HEADER, lines[0]);
+        assertEquals(7, lines.length);
+        for (int i = 1; i < lines.length; i++) {
+            assertEquals(8, lines[i].split(",").length);
+        }
+    }
+}
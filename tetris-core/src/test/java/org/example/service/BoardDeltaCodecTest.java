@@ -0,0 +1,164 @@
+package org.example.service;
+
+import org.example.model.GameBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BoardDeltaCodec
+ * Verifies keyframe/delta round-trips, loss handling and packet sizes without sockets
+ */
+class BoardDeltaCodecTest {
+
+    private BoardDeltaCodec.Encoder encoder;
+    private BoardDeltaCodec.Decoder decoder;
+    private int[][] board;
+    private int[][] decoded;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new BoardDeltaCodec.Encoder(10);
+        decoder = new BoardDeltaCodec.Decoder();
+        board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        decoded = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        for (int col = 0; col < GameBoard.WIDTH - 1; col++) {
+            board[GameBoard.HEIGHT - 1][col] = (col % 5) + 1;
+            board[GameBoard.HEIGHT - 2][col] = 8;
+        }
+    }
+
+    private ByteBuffer encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(BoardDeltaCodec.MAX_PACKET_SIZE);
+        encoder.encode(buffer, board);
+        buffer.flip();
+        return buffer;
+    }
+
+    /** 떨어지는 T 블록과 고스트를 y 위치에 그림 */
+    private void drawPiece(int y) {
+        for (int[] row : board) {
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                if (row[col] == 6 || row[col] == -2) row[col] = 0;
+            }
+        }
+        board[y][4] = 6;
+        board[y + 1][3] = board[y + 1][4] = board[y + 1][5] = 6;
+        board[16][4] = -2;
+        board[17][3] = board[17][4] = board[17][5] = -2;
+    }
+
+    @Test
+    @DisplayName("First packet is a keyframe and later packets are small deltas")
+    void testKeyframeThenDelta() {
+        ByteBuffer keyframe = encode();
+        assertEquals(BoardDeltaCodec.PACKET_KEYFRAME, BoardDeltaCodec.peekType(keyframe));
+        assertEquals(BoardDeltaCodec.Result.DECODED, decoder.decode(keyframe, decoded));
+        assertArrayEquals(board, decoded);
+
+        for (int y = 0; y < 8; y++) {
+            drawPiece(y);
+            ByteBuffer delta = encode();
+            assertEquals(BoardDeltaCodec.PACKET_DELTA, BoardDeltaCodec.peekType(delta));
+            assertTrue(delta.remaining() < 40, "Delta too large: " + delta.remaining());
+            assertEquals(BoardDeltaCodec.Result.DECODED, decoder.decode(delta, decoded));
+            assertArrayEquals(board, decoded);
+        }
+    }
+
+    @Test
+    @DisplayName("Keyframes are sent at the configured interval")
+    void testKeyframeInterval() {
+        int keyframes = 0;
+        for (int i = 0; i < 30; i++) {
+            if (encoder.encode(ByteBuffer.allocate(BoardDeltaCodec.MAX_PACKET_SIZE), board)) {
+                keyframes++;
+            }
+        }
+        assertEquals(3, keyframes);
+        assertThrows(IllegalArgumentException.class, () -> new BoardDeltaCodec.Encoder(0));
+        assertThrows(IllegalArgumentException.class, () -> new BoardDeltaCodec.Encoder(256));
+    }
+
+    @Test
+    @DisplayName("Lost deltas are counted and the next delta still applies")
+    void testLostDelta() {
+        decoder.decode(encode(), decoded);
+        drawPiece(0);
+        encode(); // 유실
+        drawPiece(1);
+        encode(); // 유실
+        drawPiece(2);
+
+        assertEquals(BoardDeltaCodec.Result.DECODED, decoder.decode(encode(), decoded));
+        assertArrayEquals(board, decoded);
+        assertEquals(2, decoder.getLostPackets());
+    }
+
+    @Test
+    @DisplayName("Missing keyframe triggers a request and recovers on the next keyframe")
+    void testKeyframeRequest() {
+        encode(); // 키프레임 유실
+        drawPiece(0);
+        assertEquals(BoardDeltaCodec.Result.NEED_KEYFRAME, decoder.decode(encode(), decoded));
+        assertTrue(decoder.needsKeyframe());
+
+        encoder.requestKeyframe();
+        drawPiece(1);
+        ByteBuffer keyframe = encode();
+        assertEquals(BoardDeltaCodec.PACKET_KEYFRAME, BoardDeltaCodec.peekType(keyframe));
+        assertEquals(BoardDeltaCodec.Result.DECODED, decoder.decode(keyframe, decoded));
+        assertFalse(decoder.needsKeyframe());
+        assertArrayEquals(board, decoded);
+    }
+
+    @Test
+    @DisplayName("Values outside the nibble table travel as escapes")
+    void testEscapedValues() {
+        board[5][5] = ('L' << 16) | 3;
+        board[5][6] = 'B';
+        decoder.decode(encode(), decoded);
+        assertArrayEquals(board, decoded);
+
+        // 같은 escape 칸에서 값만 바뀌어도 반영됨
+        board[5][5] = ('X' << 16) | 4;
+        board[0][0] = ('I' << 16) | 1;
+        board[10][2] = GameBoard.CLEAR_MARK;
+        ByteBuffer delta = encode();
+        assertEquals(BoardDeltaCodec.PACKET_DELTA, BoardDeltaCodec.peekType(delta));
+        assertEquals(BoardDeltaCodec.Result.DECODED, decoder.decode(delta, decoded));
+        assertArrayEquals(board, decoded);
+    }
+
+    @Test
+    @DisplayName("Large changes fall back to a keyframe")
+    void testLargeChangeSendsKeyframe() {
+        encode();
+        for (int[] row : board) {
+            java.util.Arrays.fill(row, 3);
+        }
+        assertEquals(BoardDeltaCodec.PACKET_KEYFRAME, BoardDeltaCodec.peekType(encode()));
+    }
+
+    @Test
+    @DisplayName("Stale, duplicate and truncated packets are ignored")
+    void testIgnoredPackets() {
+        ByteBuffer first = encode();
+        ByteBuffer copy = first.duplicate();
+        drawPiece(0);
+        ByteBuffer second = encode();
+        ByteBuffer truncated = second.duplicate();
+        truncated.limit(truncated.limit() - 1);
+
+        assertEquals(BoardDeltaCodec.Result.DECODED, decoder.decode(first, decoded));
+        assertEquals(BoardDeltaCodec.Result.IGNORED, decoder.decode(copy, decoded));
+        assertEquals(BoardDeltaCodec.Result.IGNORED, decoder.decode(truncated, decoded));
+        assertEquals(BoardDeltaCodec.Result.DECODED, decoder.decode(second, decoded));
+        assertEquals(BoardDeltaCodec.Result.IGNORED, decoder.decode(ByteBuffer.allocate(0), decoded));
+        assertArrayEquals(board, decoded);
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.service;
+
+import org.example.model.AdderBoardSync;
+import org.example.model.GameBoard;
+import org.example.model.GarbageLine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BoardSyncCodec
+ * Verifies round-trip encoding of in-game TCP messages without sockets
+ */
+class BoardSyncCodecTest {
+
+    @Test
+    @DisplayName("Adder board message round-trips")
+    void testAdderBoardRoundTrip() {
+        int[] lines = {1 << 3, 1 << 8};
+
+        byte[] message = BoardSyncCodec.encodeAdderBoard(lines);
+
+        assertEquals(BoardSyncCodec.SIGNAL_ADDER_BOARD, message[0]);
+        assertEquals(1 + 2 * BoardSyncCodec.ADDER_LINE_BYTES, message.length);
+        byte[] payload = java.util.Arrays.copyOfRange(message, 1, message.length);
+        assertArrayEquals(lines, BoardSyncCodec.decodeAdderBoard(payload));
+    }
+
+    @Test
+    @DisplayName("Adder board payload decodes straight into AdderBoardSync rows")
+    void testAdderBoardDecodeInto() {
+        int[] lines = {GarbageLine.ALL_HOLES, (1 << 9) | 1};
+        byte[] message = BoardSyncCodec.encodeAdderBoard(lines);
+        byte[] buffer = new byte[512];
+        System.arraycopy(message, 1, buffer, 0, message.length - 1);
+        AdderBoardSync sync = new AdderBoardSync(new GameBoard());
+
+        assertEquals(2, BoardSyncCodec.decodeAdderBoardInto(buffer, message.length - 1, sync));
+        assertEquals(2, sync.getQueueDepth());
+
+        sync.consumeIfExists();
+        assertEquals(lines[0], sync.getHoleMasks()[0]);
+        assertEquals(lines[1], sync.getHoleMasks()[1]);
+    }
+
+    @Test
+    @DisplayName("Game over message carries score and timeover flag")
+    void testGameOverMessage() {
+        byte[] message = BoardSyncCodec.encodeGameOver(12345, true);
+        byte[] payload = java.util.Arrays.copyOfRange(message, 1, message.length);
+
+        assertEquals(BoardSyncCodec.SIGNAL_GAME_OVER, message[0]);
+        assertEquals(12345, BoardSyncCodec.decodeScore(payload));
+        assertTrue(BoardSyncCodec.decodeTimeover(payload));
+    }
+
+    @Test
+    @DisplayName("Ending and waiting room messages are terminal")
+    void testTerminalSignals() {
+        byte[] ending = BoardSyncCodec.encodeEnding(-1);
+
+        assertEquals(-1, BoardSyncCodec.decodeScore(java.util.Arrays.copyOfRange(ending, 1, ending.length)));
+        assertTrue(BoardSyncCodec.isTerminal(ending[0]));
+        assertTrue(BoardSyncCodec.isTerminal(BoardSyncCodec.encodeGoWaitingRoom()[0]));
+        assertTrue(BoardSyncCodec.isTerminal(BoardSyncCodec.SIGNAL_GAME_OVER));
+        assertFalse(BoardSyncCodec.isTerminal(BoardSyncCodec.SIGNAL_ADDER_BOARD));
+    }
+
+    @Test
+    @DisplayName("Buffer encoders write the same bytes as the array encoders")
+    void testBufferEncoders() {
+        int[] lines = { 0b0000000001, 0b1000000000 };
+        java.nio.ByteBuffer out = java.nio.ByteBuffer.allocate(64);
+
+        BoardSyncCodec.encodeAdderBoard(out, lines);
+        assertEquals(BoardSyncCodec.adderBoardSize(lines.length), out.position());
+        BoardSyncCodec.encodeGameOver(out, 777, false);
+        BoardSyncCodec.encodeEnding(out, -1);
+
+        java.io.ByteArrayOutputStream expected = new java.io.ByteArrayOutputStream();
+        expected.writeBytes(BoardSyncCodec.encodeAdderBoard(lines));
+        expected.writeBytes(BoardSyncCodec.encodeGameOver(777, false));
+        expected.writeBytes(BoardSyncCodec.encodeEnding(-1));
+        assertArrayEquals(expected.toByteArray(), java.util.Arrays.copyOf(out.array(), out.position()));
+        assertEquals(BoardSyncCodec.adderBoardSize(2) + BoardSyncCodec.GAME_OVER_SIZE + BoardSyncCodec.ENDING_SIZE,
+                out.position());
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.service;
+
+import org.example.model.GameBoard;
+import org.example.model.GameMode;
+import org.example.model.TetrominoPosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GameContext
+ * Sessions built from a context must not share hidden global state
+ */
+class GameContextTest {
+
+    private static String pieceSequence(TetrisSystem system, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(system.getCurrentPiece().getType());
+            system.hardDrop();
+            system.getBoard().clear();
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("Same seed produces the same piece sequence")
+    void testSameSeedSameSequence() {
+        TetrisSystem a = new TetrisSystem(GameContext.of(1234L));
+        TetrisSystem b = new TetrisSystem(GameContext.of(1234L));
+
+        assertEquals(pieceSequence(a, 30), pieceSequence(b, 30));
+    }
+
+    @Test
+    @DisplayName("Derived contexts give each player a different seed")
+    void testDeriveDiffersPerIndex() {
+        GameContext root = GameContext.of(7L);
+
+        assertNotEquals(root.derive(0).getSeed(), root.derive(1).getSeed());
+        assertEquals(root.derive(1).getSeed(), GameContext.of(7L).derive(1).getSeed());
+        assertSame(root.getClock(), root.derive(3).getClock());
+    }
+
+    @Test
+    @DisplayName("Pending line clear follows the injected clock")
+    void testPendingClearUsesInjectedClock() {
+        AtomicLong now = new AtomicLong(1_000L);
+        GameBoard board = new GameBoard(now::get);
+        int bottom = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE - 1;
+        for (int col = 0; col < GameBoard.WIDTH; col++) {
+            board.setCellColor(bottom, col, 1);
+        }
+
+        assertEquals(1, board.clearLines());
+        board.processPendingClearsIfDue();
+        assertEquals(GameBoard.CLEAR_MARK, board.getCellColor(bottom, 0));
+
+        now.addAndGet(500);
+        board.processPendingClearsIfDue();
+        assertEquals(0, board.getCellColor(bottom, 0));
+    }
+
+    @Test
+    @DisplayName("Two engines with the same context seed stay in step independently")
+    void testEnginesAreIndependent() {
+        AtomicLong now = new AtomicLong(0L);
+        MatchEngine first = new MatchEngine(GameMode.ITEM, 2, 2, new GameContext(99L, now::get));
+        MatchEngine second = new MatchEngine(GameMode.ITEM, 2, 2, new GameContext(99L, now::get));
+
+        // 첫 번째 엔진만 진행해도 두 번째 엔진의 난수열에는 영향이 없어야 함
+        for (int i = 0; i < 5; i++) {
+            first.getSession(0).execute(InputLatencyTracker.Action.HARD_DROP);
+        }
+        List<TetrominoPosition> queue = second.getSession(0).getSystem().getNextQueue();
+        MatchEngine fresh = new MatchEngine(GameMode.ITEM, 2, 2, new GameContext(99L, now::get));
+        List<TetrominoPosition> expected = fresh.getSession(0).getSystem().getNextQueue();
+
+        assertEquals(expected.size(), queue.size());
+        for (int i = 0; i < queue.size(); i++) {
+            assertEquals(expected.get(i).getType(), queue.get(i).getType());
+        }
+    }
+
+    @Test
+    @DisplayName("Time attack timer reads the context clock")
+    void testTimeAttackUsesContextClock() {
+        AtomicLong now = new AtomicLong(10_000L);
+        TimeTetrisSystem system = new TimeTetrisSystem(60_000L, new GameContext(1L, now::get));
+
+        now.addAndGet(15_000L);
+        assertEquals(45_000L, system.getRemainingTime());
+
+        now.addAndGet(45_000L);
+        assertTrue(system.isTimeUp());
+    }
+
+    @Test
+    @DisplayName("Time attack remaining time can be set while running or paused")
+    void testSetRemainingTime() {
+        AtomicLong now = new AtomicLong(0L);
+        TimeTetrisSystem system = new TimeTetrisSystem(60_000L, new GameContext(1L, now::get));
+
+        now.addAndGet(10_000L);
+        system.setRemainingTime(30_000L);
+        assertEquals(30_000L, system.getRemainingTime());
+        now.addAndGet(5_000L);
+        assertEquals(25_000L, system.getRemainingTime());
+
+        // 멈춘 동안 맞춘 값에서 다시 흐름
+        system.pauseTimer();
+        now.addAndGet(8_000L);
+        system.setRemainingTime(20_000L);
+        assertEquals(20_000L, system.getRemainingTime());
+        system.resumeTimer();
+        now.addAndGet(1_000L);
+        assertEquals(19_000L, system.getRemainingTime());
+
+        system.setRemainingTime(90_000L);
+        assertEquals(60_000L, system.getRemainingTime());
+    }
+}
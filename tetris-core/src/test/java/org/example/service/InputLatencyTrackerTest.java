@@ -0,0 +1,134 @@
+package org.example.service;
+
+import org.example.service.InputLatencyTracker.Action;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InputLatencyTracker
+ * Verifies key-press to draw latency accounting and percentile reporting
+ */
+class InputLatencyTrackerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private InputLatencyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new InputLatencyTracker();
+    }
+
+    @Test
+    @DisplayName("No samples reports -1 percentile")
+    void testEmptyTracker() {
+        assertEquals(0, tracker.getCount(Action.HARD_DROP));
+        assertEquals(-1, tracker.getPercentileMillis(Action.HARD_DROP, 0.5));
+    }
+
+    @Test
+    @DisplayName("Latency is recorded only when a frame is drawn")
+    void testLatencyRecordedOnFrameDrawn() {
+        tracker.recordStateChange(Action.MOVE_LEFT, 100 * MS);
+        assertEquals(0, tracker.getCount(Action.MOVE_LEFT), "Pending input must wait for a frame");
+
+        tracker.onFrameDrawn(112 * MS);
+
+        assertEquals(1, tracker.getCount(Action.MOVE_LEFT));
+        assertEquals(12, tracker.getPercentileMillis(Action.MOVE_LEFT, 0.5));
+        assertEquals(12, tracker.getMaxMillis(Action.MOVE_LEFT));
+    }
+
+    @Test
+    @DisplayName("Pending inputs are resolved only once")
+    void testPendingClearedAfterFrame() {
+        tracker.recordStateChange(Action.ROTATE_CW, 10 * MS);
+        tracker.onFrameDrawn(15 * MS);
+        tracker.onFrameDrawn(50 * MS);
+
+        assertEquals(1, tracker.getCount(Action.ROTATE_CW));
+        assertEquals(5, tracker.getPercentileMillis(Action.ROTATE_CW, 0.99));
+    }
+
+    @Test
+    @DisplayName("Inputs without a timestamp are ignored")
+    void testZeroTimestampIgnored() {
+        tracker.recordStateChange(Action.HOLD, 0);
+        tracker.onFrameDrawn(10 * MS);
+
+        assertEquals(0, tracker.getCount(Action.HOLD));
+    }
+
+    @Test
+    @DisplayName("p50 and p99 are computed per action")
+    void testPercentiles() {
+        // 1~100ms 지연 100개
+        for (int i = 1; i <= 100; i++) {
+            tracker.recordStateChange(Action.HARD_DROP, 1_000 * MS);
+            tracker.onFrameDrawn((1_000 + i) * MS);
+        }
+
+        assertEquals(100, tracker.getCount(Action.HARD_DROP));
+        assertEquals(50, tracker.getPercentileMillis(Action.HARD_DROP, 0.5));
+        assertEquals(99, tracker.getPercentileMillis(Action.HARD_DROP, 0.99));
+        assertEquals(0, tracker.getCount(Action.SOFT_DROP), "Other actions must be unaffected");
+    }
+
+    @Test
+    @DisplayName("Latencies beyond the histogram range are clamped")
+    void testOverflowBucket() {
+        tracker.recordStateChange(Action.SOFT_DROP, 1 * MS);
+        tracker.onFrameDrawn(2_000 * MS);
+
+        assertEquals(500, tracker.getPercentileMillis(Action.SOFT_DROP, 0.5));
+        assertEquals(1_999, tracker.getMaxMillis(Action.SOFT_DROP));
+    }
+
+    @Test
+    @DisplayName("Summary lists only actions with samples")
+    void testSummary() {
+        tracker.recordStateChange(Action.MOVE_RIGHT, 1 * MS);
+        tracker.onFrameDrawn(4 * MS);
+
+        String summary = tracker.getSummary();
+        assertTrue(summary.contains("MOVE_RIGHT: 3 / 3 ms"));
+        assertFalse(summary.contains("HOLD"));
+    }
+
+    @Test
+    @DisplayName("exportCsv writes one row per action")
+    void testExportCsv(@TempDir Path tempDir) throws IOException {
+        tracker.recordStateChange(Action.HOLD, 1 * MS);
+        tracker.onFrameDrawn(9 * MS);
+
+        Path file = tempDir.resolve("latency.csv");
+        tracker.exportCsv(file.toString());
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(Action.values().length + 1, lines.size());
+        assertEquals("action,count,p50_ms,p99_ms,max_ms", lines.get(0));
+        assertTrue(lines.contains("HOLD,1,8,8,8"));
+    }
+
+    @Test
+    @DisplayName("reset clears samples and pending inputs")
+    void testReset() {
+        tracker.recordStateChange(Action.MOVE_LEFT, 1 * MS);
+        tracker.onFrameDrawn(2 * MS);
+        tracker.recordStateChange(Action.MOVE_LEFT, 3 * MS);
+
+        tracker.reset();
+        tracker.onFrameDrawn(10 * MS);
+
+        assertEquals(0, tracker.getCount(Action.MOVE_LEFT));
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Short seeded runs of ItemModeFuzzer
+ * Long runs and throughput numbers: gradle :tetris-core:fuzzItems
+ */
+class ItemModeFuzzTest {
+
+    @Test
+    @DisplayName("Optimized item board matches the reference implementation")
+    void testItemModeMatchesReference() {
+        for (long seed = 1; seed <= 3; seed++) {
+            ItemModeFuzzer.Report report = new ItemModeFuzzer(seed, true).run(5_000);
+            assertEquals(5_000, report.pieces());
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark mode runs without reference checks")
+    void testBenchmarkMode() {
+        ItemModeFuzzer.Report report = new ItemModeFuzzer(9L, false).run(1_000);
+
+        assertEquals(1_000, report.pieces());
+        assertTrue(report.piecesPerSecond() > 0);
+    }
+}
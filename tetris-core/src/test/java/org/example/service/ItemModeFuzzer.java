@@ -0,0 +1,382 @@
+package org.example.service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.example.model.GameBoard;
+import org.example.model.ItemBlock;
+import org.example.model.ItemGameBoard;
+import org.example.model.TetrominoPosition;
+import org.example.model.TetrominoPosition.SpecialKind;
+
+/**
+ * 아이템 모드 차등(differential) 퍼저 겸 처리량 벤치마크
+ *
+ * 시드 고정 랜덤 플레이(봇 + 무작위 이동/드롭 방식)로 ItemTetrisSystem을 진행하면서
+ * 블록이 고정될 때마다 최적화된 보드 연산(아이템 인덱스, 삭제 마스크, 한 번의 압축)을
+ * 셀 단위로 그대로 구현한 참조 구현과 비교합니다.
+ *
+ * 실행: gradle :tetris-core:fuzzItems --args="--pieces 2000000 --seed 1"
+ *       --no-check 를 주면 비교 없이 처리량/할당량만 측정합니다.
+ */
+public final class ItemModeFuzzer {
+
+    private static final int ROWS = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE;
+    private static final int COLS = GameBoard.WIDTH;
+    private static final long PIECE_INTERVAL_MS = 250;
+    private static final ItemBlock[] ITEM_KINDS = {
+        ItemBlock.LINE_CLEAR, ItemBlock.COLUMN_CLEAR, ItemBlock.CROSS_CLEAR, ItemBlock.WEIGHT, ItemBlock.BOMB
+    };
+
+    private final Random random;
+    private final boolean check;
+    private final AtomicLong now = new AtomicLong();
+    private final ItemTetrisSystem system;
+    private final ItemGameBoard board;
+    private final PlacementBot bot = new PlacementBot();
+
+    // 참조 구현용 보드 (재사용)
+    private final int[][] expected = new int[ROWS][COLS];
+
+    private long pieces;
+    private long games = 1;
+    private long engineBytes;
+
+    /**
+     * 한 번의 실행 결과
+     */
+    public record Report(long pieces, long games, long nanos, long engineBytes, long totalBytes) {
+        public double piecesPerSecond() {
+            return nanos > 0 ? pieces * 1e9 / nanos : 0;
+        }
+
+        public double engineBytesPerPiece() {
+            return pieces > 0 ? (double) engineBytes / pieces : 0;
+        }
+
+        public double totalBytesPerPiece() {
+            return pieces > 0 ? (double) totalBytes / pieces : 0;
+        }
+    }
+
+    public ItemModeFuzzer(long seed, boolean check) {
+        this.random = new Random(seed);
+        this.check = check;
+        this.system = new ItemTetrisSystem(new GameContext(seed, now::get));
+        this.board = (ItemGameBoard) system.getBoard();
+    }
+
+    /**
+     * pieceCount개의 블록을 놓을 때까지 실행합니다.
+     *
+     * @throws AssertionError 참조 구현과 결과가 다르면 (시드, 블록 번호 포함)
+     */
+    public Report run(long pieceCount) {
+        long start = System.nanoTime();
+        long startBytes = allocatedBytes();
+        while (pieces < pieceCount) {
+            step();
+        }
+        return new Report(pieces, games, System.nanoTime() - start, engineBytes, allocatedBytes() - startBytes);
+    }
+
+    private void step() {
+        TetrominoPosition current = system.getCurrentPiece();
+        if (current == null) {
+            // 무게추가 바닥에 표시된 상태: 다음 틱에 제거되고 새 블록 생성
+            long before = allocatedBytes();
+            system.update();
+            engineBytes += allocatedBytes() - before;
+            verifyInvariants();
+            return;
+        }
+
+        if (random.nextInt(10) < 8) {
+            bot.moveToBest(system);
+        } else {
+            randomMoves();
+        }
+        current = system.getCurrentPiece();
+        boolean hardDrop = random.nextInt(10) != 0;
+
+        if (check) {
+            prepareExpectedLock(current, hardDrop);
+        }
+
+        long before = allocatedBytes();
+        if (hardDrop) {
+            system.hardDrop();
+        } else {
+            while (system.moveDown()) { }
+        }
+        engineBytes += allocatedBytes() - before;
+        pieces++;
+
+        if (check) {
+            compareBoard("lock");
+            verifyInvariants();
+        }
+
+        now.addAndGet(PIECE_INTERVAL_MS);
+        boolean compactDue = board.getPendingClearDueMs() != 0L && now.get() >= board.getPendingClearDueMs();
+        if (check && compactDue) {
+            copyBoard(expected);
+            referenceCompact(expected);
+        }
+        before = allocatedBytes();
+        board.processPendingClearsIfDue();
+        engineBytes += allocatedBytes() - before;
+        if (check) {
+            if (compactDue) {
+                compareBoard("compact");
+            }
+            verifyInvariants();
+        }
+
+        if (system.isGameOver()) {
+            system.reset();
+            games++;
+        }
+    }
+
+    private void randomMoves() {
+        int moves = random.nextInt(8);
+        for (int i = 0; i < moves && system.getCurrentPiece() != null; i++) {
+            switch (random.nextInt(5)) {
+                case 0 -> system.moveLeft();
+                case 1 -> system.moveRight();
+                case 2 -> system.rotateClockwise();
+                case 3 -> system.rotateCounterClockwise();
+                default -> system.hold();
+            }
+        }
+    }
+
+    // ----------- 참조 구현 (셀 단위, 최적화 없음) -----------
+
+    /**
+     * 드롭 전에 보드를 복사하고, 고정 후 보드가 어떻게 되어야 하는지 계산해 둡니다.
+     */
+    private void prepareExpectedLock(TetrominoPosition current, boolean hardDrop) {
+        copyBoard(expected);
+        TetrominoPosition landing = SuperRotationSystem.hardDrop(current, board);
+        SpecialKind special = current.getSpecialKind();
+
+        if (special == SpecialKind.BOMB) {
+            int row = Math.max(0, landing.getY());
+            int col = Math.max(0, landing.getX());
+            mark(expected, col - 2, row - 2, col + 3, row + 3);
+        } else if (special == SpecialKind.WEIGHT) {
+            // 하드 드롭은 현재 위치부터, 소프트 드롭은 착지 위치부터 아래를 지움
+            int top = hardDrop ? current.getY() : landing.getY();
+            int[][] shape = current.getCurrentShape();
+            int left = Math.max(0, current.getX());
+            int right = Math.min(COLS - 1, left + shape[0].length - 1);
+            for (int r = Math.max(0, top); r < ROWS; r++) {
+                for (int c = left; c <= right; c++) {
+                    expected[r][c] = 0;
+                }
+            }
+            for (int r = 0; r < shape.length; r++) {
+                int targetRow = ROWS - 1 - (shape.length - 1 - r);
+                for (int c = 0; c < shape[0].length; c++) {
+                    int targetCol = left + c;
+                    if (targetRow >= 0 && targetCol < COLS && shape[r][c] != 0) {
+                        expected[targetRow][targetCol] = 'W';
+                    }
+                }
+            }
+        } else {
+            referencePlace(expected, landing);
+            referenceResolveItems(expected);
+        }
+    }
+
+    private static void referencePlace(int[][] cells, TetrominoPosition piece) {
+        int[][] shape = piece.getCurrentShape();
+        for (int r = 0; r < shape.length; r++) {
+            for (int c = 0; c < shape[r].length; c++) {
+                int y = piece.getY() + r;
+                int x = piece.getX() + c;
+                if (shape[r][c] == 1 && y >= 0 && y < ROWS && x >= 0 && x < COLS) {
+                    ItemBlock item = piece.getItemAt(r, c);
+                    cells[y][x] = item != null && item.isItem() ? item.getSymbol() : piece.getType().getColorIndex();
+                }
+            }
+        }
+    }
+
+    /**
+     * 열 삭제 → 십자 삭제 → 줄 삭제 순서로 아이템을 처리합니다. (각 단계마다 전체 보드를 훑음)
+     */
+    private static void referenceResolveItems(int[][] cells) {
+        boolean[] columns = new boolean[COLS];
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                if (cells[r][c] == 'I') columns[c] = true;
+            }
+        }
+        for (int c = 0; c < COLS; c++) {
+            if (columns[c]) mark(cells, c, GameBoard.BUFFER_ZONE, c, ROWS - 1);
+        }
+
+        boolean[] crossRows = new boolean[ROWS];
+        boolean[] crossColumns = new boolean[COLS];
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                if (cells[r][c] == 'X') {
+                    crossRows[r] = true;
+                    crossColumns[c] = true;
+                }
+            }
+        }
+        for (int c = 0; c < COLS; c++) {
+            if (crossColumns[c]) mark(cells, c, GameBoard.BUFFER_ZONE, c, ROWS - 1);
+        }
+        for (int r = 0; r < ROWS; r++) {
+            if (crossRows[r]) mark(cells, 0, r, COLS - 1, r);
+        }
+
+        boolean[] lines = new boolean[ROWS];
+        for (int r = 0; r < ROWS; r++) {
+            boolean hasLineItem = false;
+            boolean full = true;
+            boolean allMarked = true;
+            for (int c = 0; c < COLS; c++) {
+                if (cells[r][c] == 'L') hasLineItem = true;
+                if (cells[r][c] == 0) full = false;
+                if (cells[r][c] != GameBoard.CLEAR_MARK) allMarked = false;
+            }
+            lines[r] = hasLineItem || (full && !allMarked);
+        }
+        for (int r = 0; r < ROWS; r++) {
+            if (lines[r]) mark(cells, 0, r, COLS - 1, r);
+        }
+    }
+
+    private static void mark(int[][] cells, int minX, int minY, int maxX, int maxY) {
+        for (int y = Math.max(0, minY); y <= Math.min(ROWS - 1, maxY); y++) {
+            for (int x = Math.max(0, minX); x <= Math.min(COLS - 1, maxX); x++) {
+                cells[y][x] = GameBoard.CLEAR_MARK;
+            }
+        }
+    }
+
+    /**
+     * 전부 표시된 줄을 하나씩 지우며 위 줄을 내린 뒤, 남은 표시 칸을 비웁니다.
+     */
+    private static void referenceCompact(int[][] cells) {
+        for (int r = ROWS - 1; r >= 0; r--) {
+            boolean allMarked = true;
+            for (int c = 0; c < COLS; c++) {
+                if (cells[r][c] != GameBoard.CLEAR_MARK) { allMarked = false; break; }
+            }
+            if (allMarked) {
+                for (int k = r; k > 0; k--) {
+                    System.arraycopy(cells[k - 1], 0, cells[k], 0, COLS);
+                }
+                java.util.Arrays.fill(cells[0], 0);
+                r++;
+            }
+        }
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                if (cells[r][c] == GameBoard.CLEAR_MARK) cells[r][c] = 0;
+            }
+        }
+    }
+
+    // ----------- 비교 -----------
+
+    private void compareBoard(String phase) {
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                int actual = board.getCellColor(r, c);
+                if (actual != expected[r][c]) {
+                    throw new AssertionError("Board mismatch after " + phase + " at piece " + pieces
+                            + " (" + r + "," + c + "): expected " + expected[r][c] + " but was " + actual);
+                }
+            }
+        }
+    }
+
+    /**
+     * 아이템 인덱스, 삭제 마스크, 보드 해시가 보드 셀과 일치하는지 확인합니다.
+     */
+    private void verifyInvariants() {
+        if (board.getBoardHash() != GameBoard.hashOf(board.getCompressedBoard())) {
+            throw new AssertionError("Board hash mismatch at piece " + pieces);
+        }
+        for (int r = 0; r < ROWS; r++) {
+            int marks = 0;
+            for (int c = 0; c < COLS; c++) {
+                if (board.getCellColor(r, c) == GameBoard.CLEAR_MARK) marks |= 1 << c;
+            }
+            if (marks != board.getPendingClearMask(r)) {
+                throw new AssertionError("Clear mask mismatch at piece " + pieces + " row " + r);
+            }
+        }
+        for (ItemBlock item : ITEM_KINDS) {
+            int rowMask = 0;
+            int columnMask = 0;
+            int count = 0;
+            for (int r = 0; r < ROWS; r++) {
+                for (int c = 0; c < COLS; c++) {
+                    if (board.getCellColor(r, c) == item.getSymbol()) {
+                        rowMask |= 1 << r;
+                        columnMask |= 1 << c;
+                        count++;
+                    }
+                }
+            }
+            if (rowMask != board.getItemRowMask(item) || columnMask != board.getItemColumnMask(item)
+                    || count != board.getItemCount(item)) {
+                throw new AssertionError("Item index mismatch for " + item + " at piece " + pieces);
+            }
+        }
+    }
+
+    private void copyBoard(int[][] out) {
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                out[r][c] = board.getCellColor(r, c);
+            }
+        }
+    }
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * 현재 스레드의 누적 할당 바이트 (HotSpot이 아니면 0)
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean hotspot) {
+            return hotspot.getCurrentThreadAllocatedBytes();
+        }
+        return 0L;
+    }
+
+    public static void main(String[] args) {
+        long pieceCount = 1_000_000;
+        long seed = 1L;
+        boolean check = true;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--pieces" -> pieceCount = Long.parseLong(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--no-check" -> check = false;
+                default -> {
+                    System.err.println("Usage: [--pieces N] [--seed S] [--no-check]");
+                    System.exit(1);
+                }
+            }
+        }
+
+        Report report = new ItemModeFuzzer(seed, check).run(pieceCount);
+        System.out.printf("seed=%d check=%s pieces=%d games=%d%n", seed, check, report.pieces(), report.games());
+        System.out.printf("%.0f pieces/s, engine %.1f B/piece, total %.1f B/piece%n",
+                report.piecesPerSecond(), report.engineBytesPerPiece(), report.totalBytesPerPiece());
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LinkProbe
+ * Verifies ping/pong round trips, RTT smoothing and loss estimation
+ */
+class LinkProbeTest {
+
+    private final LinkProbe sender = new LinkProbe();
+    private final LinkProbe receiver = new LinkProbe();
+
+    /** 핑을 보내고 rtt 뒤에 퐁을 받음 */
+    private boolean roundTrip(long sentAt, long rtt) {
+        ByteBuffer ping = ByteBuffer.allocate(LinkProbe.PING_SIZE);
+        sender.encodePing(ping, sentAt);
+        ping.flip();
+        receiver.countReceived();
+        ByteBuffer pong = ByteBuffer.allocate(LinkProbe.PONG_SIZE);
+        assertTrue(receiver.answerPing(ping, pong, sentAt));
+        pong.flip();
+        return sender.onPong(pong, sentAt + rtt);
+    }
+
+    @Test
+    @DisplayName("First pong sets RTT and later pongs are smoothed")
+    void testRttSmoothing() {
+        assertEquals(-1.0, sender.getRttMs());
+        assertTrue(roundTrip(0, 80));
+        assertEquals(80, sender.getRttMs(), 1e-9);
+
+        assertTrue(roundTrip(500, 160));
+        assertEquals(90, sender.getRttMs(), 1e-9);
+        assertEquals(2, sender.getSampleCount());
+    }
+
+    @Test
+    @DisplayName("Lost data packets raise the loss rate")
+    void testLossRate() {
+        roundTrip(0, 10);
+        for (int round = 1; round <= 20; round++) {
+            // 10개 보내고 그중 5개만 도착
+            for (int i = 0; i < 10; i++) {
+                sender.countSent();
+                if (i % 2 == 0) {
+                    receiver.countReceived();
+                }
+            }
+            roundTrip(round * 500L, 10);
+        }
+        // 핑 포함 11개 중 6개 도착 -> 약 45% 손실
+        assertEquals(5.0 / 11, sender.getLossRate(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Lossless link keeps zero loss")
+    void testNoLoss() {
+        for (int round = 0; round < 5; round++) {
+            sender.countSent();
+            receiver.countReceived();
+            roundTrip(round * 500L, 20);
+        }
+        assertEquals(0.0, sender.getLossRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Stale, reordered and truncated pongs are ignored")
+    void testBadPongs() {
+        ByteBuffer first = ByteBuffer.allocate(LinkProbe.PING_SIZE);
+        sender.encodePing(first, 0);
+        first.flip();
+        ByteBuffer second = ByteBuffer.allocate(LinkProbe.PING_SIZE);
+        sender.encodePing(second, 500);
+        second.flip();
+
+        ByteBuffer firstPong = ByteBuffer.allocate(LinkProbe.PONG_SIZE);
+        receiver.answerPing(first, firstPong, 0);
+        firstPong.flip();
+        ByteBuffer secondPong = ByteBuffer.allocate(LinkProbe.PONG_SIZE);
+        receiver.answerPing(second, secondPong, 500);
+        secondPong.flip();
+
+        assertTrue(sender.onPong(secondPong, 520));
+        assertFalse(sender.onPong(firstPong, 530));
+        assertFalse(sender.onPong(ByteBuffer.wrap(new byte[] { LinkProbe.PACKET_PONG, 0 }), 540));
+        assertFalse(receiver.answerPing(ByteBuffer.wrap(new byte[] { LinkProbe.PACKET_PING }),
+                ByteBuffer.allocate(LinkProbe.PONG_SIZE), 600));
+        assertEquals(1, sender.getSampleCount());
+        assertTrue(sender.isPingDue(1000));
+        assertFalse(sender.isPingDue(900));
+    }
+}
@@ -0,0 +1,234 @@
+package org.example.service;
+
+import org.example.model.GameBoard;
+import org.example.model.GameMode;
+import org.example.service.InputLatencyTracker.Action;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LockstepMatch
+ * Verifies that two peers exchanging only inputs converge to the same match state
+ */
+class LockstepMatchTest {
+
+    private static final Action[] ACTIONS = Action.values();
+
+    /** 지연 배달 중인 메시지 */
+    private record InFlight(int deliverAt, byte[] payload) {}
+
+    /** 한 방향 연결: 보낸 메시지를 지정한 프레임 뒤에 배달 (순서 유지, TCP처럼) */
+    private static final class Link {
+        final Deque<InFlight> queue = new ArrayDeque<>();
+        int lastDeliverAt;
+
+        void send(byte[] message, int deliverAt) {
+            if (message == null) return;
+            lastDeliverAt = Math.max(lastDeliverAt, deliverAt);
+            queue.add(new InFlight(lastDeliverAt, Arrays.copyOfRange(message, 1, message.length)));
+        }
+
+        void deliver(LockstepMatch to, int now) {
+            while (!queue.isEmpty() && queue.peek().deliverAt() <= now) {
+                to.receiveRemoteInputs(queue.poll().payload());
+            }
+        }
+    }
+
+    private static void randomInput(LockstepMatch match, Random random) {
+        if (random.nextInt(6) == 0) {
+            match.addLocalInput(ACTIONS[random.nextInt(ACTIONS.length)]);
+        }
+    }
+
+    private static void assertSameState(LockstepMatch a, LockstepMatch b) {
+        assertEquals(a.getFrame(), b.getFrame());
+        for (int player = 0; player < LockstepMatch.PLAYERS; player++) {
+            TetrisSystem x = a.getEngine().getSession(player).getSystem();
+            TetrisSystem y = b.getEngine().getSession(player).getSystem();
+            assertEquals(x.getScore(), y.getScore(), "score of player " + player);
+            assertEquals(x.getLines(), y.getLines(), "lines of player " + player);
+            assertEquals(x.isGameOver(), y.isGameOver(), "game over of player " + player);
+            assertArrayEquals(x.getCompressedBoardData(), y.getCompressedBoardData(), "board of player " + player);
+        }
+    }
+
+    /** 두 피어를 무작위 지연으로 진행한 뒤 모든 입력을 배달하고 같은 프레임에서 비교 */
+    private static LockstepMatch[] runPeers(GameMode mode, long seed, int frames, int maxDelay) {
+        LockstepMatch a = new LockstepMatch(mode, 2, seed, 0);
+        LockstepMatch b = new LockstepMatch(mode, 2, seed, 1);
+        Link toB = new Link();
+        Link toA = new Link();
+        Random random = new Random(seed);
+
+        for (int f = 0; f < frames; f++) {
+            toA.deliver(a, f);
+            toB.deliver(b, f);
+            randomInput(a, random);
+            randomInput(b, random);
+            a.advanceTo((long) f * LockstepMatch.FRAME_MS);
+            b.advanceTo((long) f * LockstepMatch.FRAME_MS);
+            toB.send(a.pollOutgoing(), f + random.nextInt(maxDelay + 1));
+            toA.send(b.pollOutgoing(), f + random.nextInt(maxDelay + 1));
+        }
+
+        // 입력 없이 몇 번 더 주고받아 양쪽 확정 프레임을 끝까지 맞춤
+        int end = frames + 2 * LockstepMatch.MAX_PREDICTION_FRAMES;
+        for (int f = frames; f <= end; f++) {
+            toA.deliver(a, Integer.MAX_VALUE);
+            toB.deliver(b, Integer.MAX_VALUE);
+            a.advanceTo((long) f * LockstepMatch.FRAME_MS);
+            b.advanceTo((long) f * LockstepMatch.FRAME_MS);
+            toB.send(a.pollOutgoing(), f);
+            toA.send(b.pollOutgoing(), f);
+        }
+        toA.deliver(a, Integer.MAX_VALUE);
+        toB.deliver(b, Integer.MAX_VALUE);
+        a.advanceTo((long) end * LockstepMatch.FRAME_MS);
+        b.advanceTo((long) end * LockstepMatch.FRAME_MS);
+        return new LockstepMatch[] { a, b };
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameMode.class)
+    @DisplayName("Peers exchanging delayed inputs converge to identical state")
+    void testPeersConverge(GameMode mode) {
+        LockstepMatch[] peers = runPeers(mode, 42L, 3000, 6);
+        assertSameState(peers[0], peers[1]);
+        assertTrue(peers[0].getRollbackCount() > 0, "late inputs should have caused rollbacks");
+        assertTrue(peers[0].getEngine().getSession(0).getSystem().getScore() > 0);
+    }
+
+    @Test
+    @DisplayName("Rollback result does not depend on network delay")
+    void testRollbackMatchesReference() {
+        LockstepMatch[] peers = runPeers(GameMode.NORMAL, 7L, 2000, 10);
+        LockstepMatch delayed = peers[0];
+
+        // 같은 입력을 다음 프레임에 바로 받은 피어
+        LockstepMatch[] instant = runPeers(GameMode.NORMAL, 7L, 2000, 0);
+        assertSameState(delayed, instant[0]);
+    }
+
+    @Test
+    @DisplayName("Input logs drop confirmed inputs instead of growing")
+    void testLogsStayBounded() {
+        // 프레임마다 입력 (약 0.5초 예측 구간보다 훨씬 긴 경기)
+        LockstepMatch a = new LockstepMatch(GameMode.NORMAL, 2, 11L, 0);
+        LockstepMatch b = new LockstepMatch(GameMode.NORMAL, 2, 11L, 1);
+        Link toB = new Link();
+        Link toA = new Link();
+        Random random = new Random(11L);
+        int maxLog = 0;
+
+        for (int f = 0; f < 5000; f++) {
+            toA.deliver(a, f);
+            toB.deliver(b, f);
+            a.addLocalInput(ACTIONS[random.nextInt(ACTIONS.length)]);
+            b.addLocalInput(ACTIONS[random.nextInt(ACTIONS.length)]);
+            a.advanceTo((long) f * LockstepMatch.FRAME_MS);
+            b.advanceTo((long) f * LockstepMatch.FRAME_MS);
+            toB.send(a.pollOutgoing(), f + random.nextInt(6));
+            toA.send(b.pollOutgoing(), f + random.nextInt(6));
+            for (int player = 0; player < LockstepMatch.PLAYERS; player++) {
+                maxLog = Math.max(maxLog, Math.max(a.getLogSize(player), b.getLogSize(player)));
+            }
+        }
+        assertTrue(maxLog <= 2 * LockstepMatch.MAX_PREDICTION_FRAMES, "log kept " + maxLog + " inputs");
+    }
+
+    @Test
+    @DisplayName("Inputs that arrive before their frame need no rollback")
+    void testEarlyInputsNoRollback() {
+        LockstepMatch a = new LockstepMatch(GameMode.NORMAL, 2, 3L, 0);
+        LockstepMatch b = new LockstepMatch(GameMode.NORMAL, 2, 3L, 1);
+        Random random = new Random(3L);
+
+        for (int f = 0; f < 600; f++) {
+            randomInput(a, random);
+            a.advanceTo((long) f * LockstepMatch.FRAME_MS);
+            byte[] message = a.pollOutgoing();
+            if (message != null) {
+                b.receiveRemoteInputs(Arrays.copyOfRange(message, 1, message.length));
+            }
+            // b는 a보다 5프레임 뒤에서 진행
+            b.advanceTo((long) Math.max(0, f - 5) * LockstepMatch.FRAME_MS);
+        }
+        assertEquals(0, b.getRollbackCount());
+        assertEquals(0, b.getResimulatedFrames());
+    }
+
+    @Test
+    @DisplayName("Prediction stops after the window until remote inputs confirm")
+    void testPredictionWindow() {
+        LockstepMatch a = new LockstepMatch(GameMode.NORMAL, 2, 5L, 0);
+        LockstepMatch b = new LockstepMatch(GameMode.NORMAL, 2, 5L, 1);
+
+        assertFalse(a.advanceTo(1000));
+        assertEquals(LockstepMatch.MAX_PREDICTION_FRAMES, a.getFrame());
+
+        assertFalse(b.advanceTo(100 * LockstepMatch.FRAME_MS));
+        byte[] message = b.pollOutgoing();
+        a.receiveRemoteInputs(Arrays.copyOfRange(message, 1, message.length));
+        a.advanceTo(1000);
+        assertEquals(b.getFrame() - 1, a.getRemoteConfirmedFrame());
+        assertEquals(a.getRemoteConfirmedFrame() + LockstepMatch.MAX_PREDICTION_FRAMES + 1, a.getFrame());
+    }
+
+    @Test
+    @DisplayName("A predicted top-out is confirmed only after the remote inputs arrive")
+    void testGameOverConfirmed() {
+        LockstepMatch a = new LockstepMatch(GameMode.NORMAL, 2, 13L, 0);
+        LockstepMatch b = new LockstepMatch(GameMode.NORMAL, 2, 13L, 1);
+
+        // 상대 입력 없이 예측 구간 안에서 하드 드롭만 반복해 게임 오버
+        for (int f = 0; f < LockstepMatch.MAX_PREDICTION_FRAMES && !a.getLocalSession().isGameOver(); f++) {
+            a.addLocalInput(Action.HARD_DROP);
+            a.advanceTo((long) f * LockstepMatch.FRAME_MS);
+        }
+        assertTrue(a.getLocalSession().isGameOver());
+        assertFalse(a.isLocalGameOverConfirmed());
+
+        b.advanceTo((long) a.getFrame() * LockstepMatch.FRAME_MS);
+        byte[] message = b.pollOutgoing();
+        a.receiveRemoteInputs(Arrays.copyOfRange(message, 1, message.length));
+        a.advanceTo((long) a.getFrame() * LockstepMatch.FRAME_MS);
+        assertTrue(a.isLocalGameOverConfirmed());
+    }
+
+    @Test
+    @DisplayName("Duplicate and truncated input messages are ignored")
+    void testBadMessages() {
+        LockstepMatch a = new LockstepMatch(GameMode.NORMAL, 2, 9L, 0);
+        LockstepMatch b = new LockstepMatch(GameMode.NORMAL, 2, 9L, 1);
+        b.addLocalInput(Action.MOVE_LEFT);
+        b.addLocalInput(Action.HARD_DROP);
+        b.advanceTo(5 * LockstepMatch.FRAME_MS);
+        byte[] full = b.pollOutgoing();
+        assertEquals(1 + 4 + 2 + 2 * 5, full.length);
+        assertNull(b.pollOutgoing());
+        byte[] message = Arrays.copyOfRange(full, 1, full.length);
+
+        a.advanceTo(5 * LockstepMatch.FRAME_MS);
+        a.receiveRemoteInputs(message);
+        a.receiveRemoteInputs(message.clone());
+        a.receiveRemoteInputs(new byte[] { 0, 0 });
+        a.advanceTo(5 * LockstepMatch.FRAME_MS);
+
+        assertEquals(1, a.getRollbackCount());
+        int[][] expected = b.getLocalSession().getSystem().getBoard().getCompressedBoard();
+        int[][] actual = a.getRemoteSession().getSystem().getBoard().getCompressedBoard();
+        for (int row = 0; row < GameBoard.HEIGHT; row++) {
+            assertArrayEquals(expected[row], actual[row]);
+        }
+    }
+}
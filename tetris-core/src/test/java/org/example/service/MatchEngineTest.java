@@ -0,0 +1,222 @@
+package org.example.service;
+
+import org.example.model.GameMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MatchEngine
+ * Verifies session creation, garbage routing and match result evaluation
+ */
+class MatchEngineTest {
+
+    private static int[] garbageLines(int count) {
+        int[] holeMasks = new int[count];
+        java.util.Arrays.fill(holeMasks, 1); // 0번 열만 구멍
+        return holeMasks;
+    }
+
+    /** 블록을 계속 하드 드롭해 게임 오버 상태로 만듦 */
+    private static void topOut(PlayerSession session) {
+        for (int i = 0; i < 200 && !session.isGameOver(); i++) {
+            session.execute(InputLatencyTracker.Action.HARD_DROP);
+        }
+        assertTrue(session.isGameOver());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4})
+    @DisplayName("Engine creates one independent session per player")
+    void testSessionCreation(int players) {
+        MatchEngine engine = new MatchEngine(GameMode.NORMAL, 2, players);
+
+        assertEquals(players, engine.getPlayerCount());
+        for (int i = 0; i < players; i++) {
+            PlayerSession session = engine.getSession(i);
+            assertEquals(i, session.getIndex());
+            assertEquals(2, session.getSystem().getDifficulty());
+            for (int j = 0; j < i; j++) {
+                assertNotSame(engine.getSession(j).getSystem().getBoard(), session.getSystem().getBoard());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid player counts are rejected")
+    void testInvalidPlayerCount() {
+        assertThrows(IllegalArgumentException.class, () -> new MatchEngine(GameMode.NORMAL, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MatchEngine(GameMode.NORMAL, 2, MatchEngine.MAX_PLAYERS + 1));
+    }
+
+    @Test
+    @DisplayName("System type follows the game mode")
+    void testSystemFactory() {
+        assertInstanceOf(ItemTetrisSystem.class, MatchEngine.createSystem(GameMode.ITEM));
+        assertInstanceOf(TimeTetrisSystem.class, MatchEngine.createSystem(GameMode.TIME_ATTACK));
+        assertEquals(TetrisSystem.class, MatchEngine.createSystem(GameMode.NORMAL).getClass());
+    }
+
+    @Test
+    @DisplayName("Garbage goes to the next player in order")
+    void testGarbageRoutingRoundRobin() {
+        MatchEngine engine = new MatchEngine(GameMode.NORMAL, 2, 3);
+
+        engine.sendGarbage(0, garbageLines(2));
+        engine.sendGarbage(2, garbageLines(3));
+
+        assertEquals(2, engine.getSession(1).getAdderBoard().getLineCount());
+        assertEquals(0, engine.getSession(2).getAdderBoard().getLineCount());
+        assertEquals(3, engine.getSession(0).getAdderBoard().getLineCount());
+    }
+
+    @Test
+    @DisplayName("Garbage skips players that are already out")
+    void testGarbageSkipsDeadPlayers() {
+        MatchEngine engine = new MatchEngine(GameMode.NORMAL, 2, 3);
+        topOut(engine.getSession(1));
+
+        engine.sendGarbage(0, garbageLines(2));
+
+        assertEquals(0, engine.getSession(1).getAdderBoard().getLineCount());
+        assertEquals(2, engine.getSession(2).getAdderBoard().getLineCount());
+    }
+
+    @Test
+    @DisplayName("Garbage sink replaces local routing")
+    void testGarbageSink() {
+        MatchEngine engine = new MatchEngine(GameMode.NORMAL, 2, 1);
+        List<Integer> senders = new ArrayList<>();
+        engine.setGarbageSink((from, lines) -> senders.add(from));
+
+        engine.sendGarbage(0, garbageLines(2));
+
+        assertEquals(List.of(0), senders);
+        assertEquals(0, engine.getSession(0).getAdderBoard().getLineCount());
+    }
+
+    @Test
+    @DisplayName("Single player match ends on game over")
+    void testSinglePlayerMatchOver() {
+        MatchEngine engine = new MatchEngine(GameMode.NORMAL, 2, 1);
+        assertFalse(engine.isMatchOver());
+
+        topOut(engine.getSession(0));
+
+        assertTrue(engine.isMatchOver());
+    }
+
+    @Test
+    @DisplayName("Multiplayer match ends with one survivor")
+    void testSurvivor() {
+        MatchEngine engine = new MatchEngine(GameMode.NORMAL, 2, 3);
+        topOut(engine.getSession(0));
+        assertFalse(engine.isMatchOver());
+        assertEquals(-1, engine.getSurvivorIndex());
+
+        topOut(engine.getSession(2));
+
+        assertTrue(engine.isMatchOver());
+        assertEquals(1, engine.getSurvivorIndex());
+    }
+
+    @Test
+    @DisplayName("Leader is undecided on a tied score")
+    void testLeaderTie() {
+        MatchEngine engine = new MatchEngine(GameMode.NORMAL, 2, 2);
+        assertEquals(-1, engine.getLeaderIndex());
+
+        engine.getSession(1).execute(InputLatencyTracker.Action.HARD_DROP);
+
+        assertEquals(1, engine.getLeaderIndex());
+    }
+
+    @Test
+    @DisplayName("Gravity moves every session once its interval elapses")
+    void testTickAppliesGravity() {
+        MatchEngine engine = new MatchEngine(GameMode.NORMAL, 2, 2);
+        long start = System.currentTimeMillis();
+        engine.resetDropTimers(start);
+        int y0 = engine.getSession(0).getSystem().getCurrentPiece().getY();
+        int y1 = engine.getSession(1).getSystem().getCurrentPiece().getY();
+
+        engine.tick(start);
+        assertEquals(y0, engine.getSession(0).getSystem().getCurrentPiece().getY());
+
+        engine.tick(start + engine.getSession(0).getSystem().getDropInterval());
+
+        assertEquals(y0 + 1, engine.getSession(0).getSystem().getCurrentPiece().getY());
+        assertEquals(y1 + 1, engine.getSession(1).getSystem().getCurrentPiece().getY());
+    }
+
+    @Test
+    @DisplayName("Ghost piece rests at the bottom of an empty board")
+    void testGhostPiece() {
+        PlayerSession session = new MatchEngine(GameMode.NORMAL, 2, 1).getSession(0);
+
+        assertNotNull(session.getGhostPiece());
+        assertTrue(session.getGhostPiece().getY() > session.getSystem().getCurrentPiece().getY());
+        assertNotNull(session.getNextPiece());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameMode.class)
+    @DisplayName("Copied engine continues identically to the original")
+    void testCopyStateFrom(GameMode mode) {
+        GameContext context = new GameContext(21L, () -> 0L);
+        MatchEngine original = new MatchEngine(mode, 2, 2, context);
+        MatchEngine copy = new MatchEngine(mode, 2, 2, context);
+        InputLatencyTracker.Action[] actions = InputLatencyTracker.Action.values();
+        java.util.Random random = new java.util.Random(21L);
+
+        for (int i = 0; i < 300; i++) {
+            original.getSession(i % 2).execute(actions[random.nextInt(actions.length)]);
+        }
+        copy.copyStateFrom(original);
+        for (int i = 0; i < 300; i++) {
+            InputLatencyTracker.Action action = actions[random.nextInt(actions.length)];
+            original.getSession(i % 2).execute(action);
+            copy.getSession(i % 2).execute(action);
+        }
+
+        for (int player = 0; player < 2; player++) {
+            TetrisSystem a = original.getSession(player).getSystem();
+            TetrisSystem b = copy.getSession(player).getSystem();
+            assertEquals(a.getScore(), b.getScore());
+            assertEquals(a.isGameOver(), b.isGameOver());
+            assertArrayEquals(a.getCompressedBoardData(), b.getCompressedBoardData());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> copy.copyStateFrom(new MatchEngine(mode, 2, 3, context)));
+    }
+
+    @Test
+    @DisplayName("State change callback fires on moves and gravity but not on blocked input")
+    void testStateChangeCallback() {
+        long[] now = {0};
+        MatchEngine engine = new MatchEngine(GameMode.NORMAL, 2, 1, new GameContext(3L, () -> now[0]));
+        PlayerSession session = engine.getSession(0);
+        engine.resetDropTimers(0);
+        int[] changes = {0};
+        session.setOnStateChanged(() -> changes[0]++);
+
+        assertTrue(session.execute(InputLatencyTracker.Action.MOVE_LEFT));
+        assertEquals(1, changes[0]);
+        while (session.execute(InputLatencyTracker.Action.MOVE_LEFT)) { }
+        int afterWall = changes[0];
+        assertFalse(session.execute(InputLatencyTracker.Action.MOVE_LEFT));
+        assertEquals(afterWall, changes[0]);
+
+        engine.tick(1);
+        assertEquals(afterWall, changes[0]);
+        engine.tick(session.getSystem().getDropInterval());
+        assertEquals(afterWall + 1, changes[0]);
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NetworkStats
+ * Verifies sequence-based loss accounting, jitter, RTT percentiles and CSV export
+ */
+class NetworkStatsTest {
+
+    @Test
+    @DisplayName("Sequence gaps count as loss")
+    void testSequenceLoss() {
+        NetworkStats stats = new NetworkStats();
+        for (int seq = 0; seq < 100; seq++) {
+            if (seq % 10 != 3) {
+                stats.onSequence(seq, 0);
+            }
+        }
+        assertEquals(90, stats.getReceived());
+        assertEquals(10, stats.getLost());
+        assertEquals(10.0, stats.getLossPercent(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Late packets are reordered, not lost, and duplicates are ignored")
+    void testReorderAndDuplicates() {
+        NetworkStats stats = new NetworkStats();
+        stats.onSequence(10, 0);
+        stats.onSequence(12, 0);
+        stats.onSequence(11, 0); // 늦게 도착
+        stats.onSequence(12, 0); // 중복
+        stats.onSequence(9, 0);  // 측정 시작 전 순번
+
+        assertEquals(3, stats.getReceived());
+        assertEquals(0, stats.getLost());
+        assertEquals(1, stats.getReordered());
+        assertEquals(1, stats.getDuplicates());
+    }
+
+    @Test
+    @DisplayName("Per-second loss windows feed the loss histogram")
+    void testLossWindows() {
+        NetworkStats stats = new NetworkStats();
+        int seq = 0;
+        for (int second = 0; second < 4; second++) {
+            for (int i = 0; i < 50; i++) {
+                if (second != 2 || i % 5 != 0) { // 세 번째 구간만 20% 손실
+                    stats.onSequence(seq, second * 1000L + i * 20);
+                }
+                seq++;
+            }
+        }
+        stats.rollWindow(4000);
+
+        assertEquals(0, stats.getLossPercentile(0.5));
+        assertEquals(20, stats.getLossPercentile(1.0));
+        assertEquals(0.0, stats.snapshot().lossPercent(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Jitter ignores constant clock offset and tracks transit variation")
+    void testJitter() {
+        NetworkStats stats = new NetworkStats();
+        long offset = 123_456; // 두 피어 시계 차이
+        for (int i = 0; i < 100; i++) {
+            long sentAt = i * 500L + offset;
+            long transit = 20 + (i % 2 == 0 ? 0 : 10);
+            stats.recordTransit(sentAt, i * 500L + transit);
+        }
+        assertEquals(10, stats.getJitterPercentile(0.5));
+        assertEquals(10, stats.snapshot().jitterMs(), 1);
+
+        NetworkStats steady = new NetworkStats();
+        for (int i = 0; i < 10; i++) {
+            steady.recordTransit(i * 500L + offset, i * 500L + 40);
+        }
+        assertEquals(0, steady.getJitterPercentile(0.99));
+    }
+
+    @Test
+    @DisplayName("RTT percentiles come from the histogram")
+    void testRttPercentiles() {
+        NetworkStats stats = new NetworkStats();
+        assertEquals(-1, stats.getRttPercentile(0.5));
+        assertEquals(-1, stats.snapshot().rttMs());
+        for (int rtt = 1; rtt <= 100; rtt++) {
+            stats.recordRtt(rtt);
+        }
+        stats.recordRtt(5000); // 상한 초과
+
+        assertEquals(51, stats.getRttPercentile(0.5));
+        assertEquals(100, stats.getRttPercentile(0.99));
+        assertEquals(1000, stats.getRttPercentile(1.0));
+        assertEquals(5000, stats.snapshot().rttMs());
+    }
+
+    @Test
+    @DisplayName("exportCsv writes metric rows and packet totals")
+    void testExportCsv(@TempDir Path tempDir) throws IOException {
+        NetworkStats stats = new NetworkStats();
+        stats.recordRtt(40);
+        stats.onSequence(0, 0);
+        stats.onSequence(2, 0);
+        Path file = tempDir.resolve("network.csv");
+
+        stats.exportCsv(file.toString());
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("metric,count,p50,p95,p99,max", lines.get(0));
+        assertTrue(lines.get(1).startsWith("rtt_ms,1,40,"));
+        assertEquals("2,1,0,0,33.333", lines.get(lines.size() - 1));
+        assertTrue(stats.getSummary().contains("RTT: 40"));
+    }
+
+    @Test
+    @DisplayName("Attack queue keeps the deepest queue seen and the latest drop count")
+    void testAttackQueue() {
+        NetworkStats stats = new NetworkStats();
+        stats.recordAttackQueue(3, 0);
+        stats.recordAttackQueue(12, 2);
+        stats.recordAttackQueue(0, 5);
+
+        assertEquals(12, stats.getMaxAttackQueueDepth());
+        assertEquals(5, stats.getDroppedAttackLines());
+        assertTrue(stats.getSummary().contains("Attack queue: max 12 lines, dropped 5"));
+    }
+}
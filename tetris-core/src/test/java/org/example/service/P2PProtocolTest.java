@@ -0,0 +1,168 @@
+package org.example.service;
+
+import org.example.model.GameMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for P2PProtocol
+ * Verifies the handshake, version negotiation, typed codecs and frame reading without sockets
+ */
+class P2PProtocolTest {
+
+    private static P2PProtocol.Hello roundTripHello(int version, int minVersion, int capabilities) {
+        ByteBuffer out = ByteBuffer.allocate(P2PProtocol.HELLO_SIZE);
+        P2PProtocol.encodeHello(out, version, minVersion, capabilities);
+        assertFalse(out.hasRemaining());
+        byte[] message = out.array();
+        assertEquals(P2PProtocol.MSG_HELLO, message[0]);
+        byte[] payload = java.util.Arrays.copyOfRange(message, 1, message.length);
+        return P2PProtocol.decodeHello(payload, payload.length);
+    }
+
+    @Test
+    @DisplayName("Hello round-trips and negotiates the highest shared version")
+    void testHelloNegotiation() {
+        P2PProtocol.Hello same = roundTripHello(P2PProtocol.VERSION, P2PProtocol.MIN_COMPATIBLE_VERSION,
+                P2PProtocol.LOCAL_CAPABILITIES);
+        assertEquals(P2PProtocol.VERSION, same.negotiateVersion());
+        assertEquals(P2PProtocol.LOCAL_CAPABILITIES, same.sharedCapabilities());
+
+        // 더 새로운 상대도 이 버전까지 내려올 수 있으면 호환
+        P2PProtocol.Hello newer = roundTripHello(P2PProtocol.VERSION + 3, P2PProtocol.VERSION, 0xFF);
+        assertEquals(P2PProtocol.VERSION, newer.negotiateVersion());
+        assertEquals(P2PProtocol.LOCAL_CAPABILITIES, newer.sharedCapabilities());
+
+        P2PProtocol.Hello tooNew = roundTripHello(P2PProtocol.VERSION + 2, P2PProtocol.VERSION + 1, 0);
+        assertEquals(-1, tooNew.negotiateVersion());
+
+        P2PProtocol.Hello poseOnly = roundTripHello(P2PProtocol.VERSION, 1, P2PProtocol.CAP_POSE_SYNC);
+        assertEquals(P2PProtocol.CAP_POSE_SYNC, poseOnly.sharedCapabilities());
+    }
+
+    @Test
+    @DisplayName("Truncated or foreign hello messages are rejected")
+    void testMalformedHello() {
+        byte[] payload = new byte[P2PProtocol.HELLO_SIZE - 1];
+        assertNull(P2PProtocol.decodeHello(payload, payload.length)); // magic 없음
+
+        ByteBuffer out = ByteBuffer.allocate(P2PProtocol.HELLO_SIZE);
+        P2PProtocol.encodeHello(out);
+        byte[] valid = java.util.Arrays.copyOfRange(out.array(), 1, P2PProtocol.HELLO_SIZE);
+        assertNotNull(P2PProtocol.decodeHello(valid, valid.length));
+        assertNull(P2PProtocol.decodeHello(valid, valid.length - 1));
+    }
+
+    @Test
+    @DisplayName("Waiting room messages decode from the front of a reused buffer")
+    void testWaitingRoomCodecs() {
+        byte[] buffer = new byte[32];
+        java.util.Arrays.fill(buffer, (byte) 'X'); // 이전 메시지의 흔적
+
+        for (GameMode mode : GameMode.values()) {
+            ByteBuffer out = ByteBuffer.allocate(P2PProtocol.gameModeSize(mode));
+            P2PProtocol.encodeGameMode(out, mode);
+            assertFalse(out.hasRemaining());
+            int size = out.position() - 1;
+            System.arraycopy(out.array(), 1, buffer, 0, size);
+            assertEquals(mode, P2PProtocol.decodeGameMode(buffer, size));
+        }
+        assertNull(P2PProtocol.decodeGameMode(buffer, 3));
+
+        buffer[0] = (byte) 200;
+        assertEquals(200, P2PProtocol.decodeDifficulty(buffer, 1));
+        buffer[0] = 1;
+        assertTrue(P2PProtocol.decodeReady(buffer, 1));
+        assertFalse(P2PProtocol.decodeReady(buffer, 0));
+
+        byte[] text = P2PProtocol.encodeText("한 판 더");
+        System.arraycopy(text, 0, buffer, 0, text.length);
+        assertEquals("한 판 더", P2PProtocol.decodeText(buffer, text.length));
+
+        long seed = 0x8123456789ABCDEFL;
+        ByteBuffer start = ByteBuffer.allocate(P2PProtocol.GAME_START_SIZE);
+        P2PProtocol.encodeGameStart(start, seed);
+        assertFalse(start.hasRemaining());
+        System.arraycopy(start.array(), 1, buffer, 0, P2PProtocol.GAME_START_SIZE - 1);
+        assertEquals(seed, P2PProtocol.decodeGameStartSeed(buffer, P2PProtocol.GAME_START_SIZE - 1));
+        assertEquals(0, P2PProtocol.decodeGameStartSeed(buffer, 0)); // 시드 없는 이전 버전 START
+    }
+
+    @Test
+    @DisplayName("Match seeds are never zero and rematch seeds agree on both sides")
+    void testMatchSeeds() {
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals(0, P2PProtocol.newMatchSeed());
+        }
+        long seed = P2PProtocol.newMatchSeed();
+        assertEquals(P2PProtocol.nextMatchSeed(seed), P2PProtocol.nextMatchSeed(seed));
+        assertNotEquals(seed, P2PProtocol.nextMatchSeed(seed));
+        assertNotEquals(0, P2PProtocol.nextMatchSeed(-0x9E3779B97F4A7C15L));
+    }
+
+    @Test
+    @DisplayName("Message types are unique across the waiting room and in-game namespaces")
+    void testMessageTypesDoNotOverlap() {
+        byte[] types = {
+            BoardSyncCodec.SIGNAL_ADDER_BOARD, BoardSyncCodec.SIGNAL_GO_WAITING_ROOM, BoardSyncCodec.SIGNAL_GAME_OVER,
+            BoardSyncCodec.SIGNAL_ENDING, BoardSyncCodec.SIGNAL_BOARD_EVENT, BoardSyncCodec.SIGNAL_LOCKSTEP_INPUTS,
+            ResumeCodec.SIGNAL_SESSION, ResumeCodec.SIGNAL_STATE, ResumeCodec.SIGNAL_RESUMED, ResumeCodec.SIGNAL_LEAVE,
+            P2PProtocol.MSG_GAME_MODE_CHANGE, P2PProtocol.MSG_READY_STATE, P2PProtocol.MSG_GAME_START,
+            P2PProtocol.MSG_HEARTBEAT, P2PProtocol.MSG_CHAT_MESSAGE, P2PProtocol.MSG_DIFFICULTY_CHANGE,
+            P2PProtocol.MSG_HELLO
+        };
+        Set<Byte> seen = new HashSet<>();
+        for (byte type : types) {
+            assertTrue(seen.add(type), "duplicate message type " + type);
+        }
+    }
+
+    @Test
+    @DisplayName("Frame reader stops at a frame boundary and leaves the rest unread")
+    void testFrameReaderStopsAtBoundary() throws IOException {
+        ByteBuffer stream = ByteBuffer.allocate(64);
+        for (byte type = 1; type <= 3; type++) {
+            stream.putInt(2).put(type).put((byte) (type * 10));
+        }
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(stream.array(), 0, stream.position()));
+
+        List<Byte> types = new ArrayList<>();
+        P2PProtocol.FrameReader reader = new P2PProtocol.FrameReader();
+        assertTrue(reader.readFrom(channel, (type, data, size) -> {
+            assertEquals(1, size);
+            assertEquals(type * 10, data[0]);
+            types.add(type);
+        }, () -> types.size() == 2));
+        assertEquals(List.of((byte) 1, (byte) 2), types);
+
+        // 남은 프레임은 그대로 채널에 남아 있음
+        ByteBuffer rest = ByteBuffer.allocate(16);
+        assertEquals(P2PProtocol.FRAME_HEADER_SIZE + 1, channel.read(rest));
+        assertEquals(3, rest.get(4));
+    }
+
+    @Test
+    @DisplayName("Frame reader rejects invalid lengths and reports end of stream")
+    void testFrameReaderErrors() throws IOException {
+        ByteBuffer bad = ByteBuffer.allocate(P2PProtocol.FRAME_HEADER_SIZE);
+        bad.putInt(P2PProtocol.MAX_MESSAGE_SIZE + 1).put((byte) 1);
+        ReadableByteChannel badChannel = Channels.newChannel(new ByteArrayInputStream(bad.array()));
+        assertThrows(IOException.class,
+                () -> new P2PProtocol.FrameReader().readFrom(badChannel, (type, data, size) -> {}, () -> false));
+
+        ReadableByteChannel empty = Channels.newChannel(new ByteArrayInputStream(new byte[0]));
+        assertFalse(new P2PProtocol.FrameReader().readFrom(empty, (type, data, size) -> {}, () -> false));
+    }
+}
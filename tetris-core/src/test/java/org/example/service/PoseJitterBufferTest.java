@@ -0,0 +1,117 @@
+package org.example.service;
+
+import org.example.model.Tetromino;
+import org.example.model.TetrominoPosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PoseJitterBuffer
+ * Verifies steady playout under jitter, reordering, bounded depth and fall extrapolation
+ */
+class PoseJitterBufferTest {
+
+    private final PoseJitterBuffer buffer = new PoseJitterBuffer();
+
+    private static PoseSyncCodec.Pose pose(int seq, int tick, Tetromino type, int y) {
+        return new PoseSyncCodec.Pose(seq, 0, tick, new TetrominoPosition(type, 4, y, 0), null, null);
+    }
+
+    @Test
+    @DisplayName("Jittery, reordered arrivals play out at the sender's cadence")
+    void testSteadyPlayout() {
+        // 20ms마다 보내고 전송 지연은 50ms 또는 80ms (홀수 패킷이 다음 패킷보다 늦게 도착)
+        int packets = 200;
+        List<List<PoseSyncCodec.Pose>> arrivals = new ArrayList<>();
+        for (int t = 0; t < packets * 20 + 200; t++) {
+            arrivals.add(new ArrayList<>());
+        }
+        for (int i = 0; i < packets; i++) {
+            int tick = i * 20;
+            arrivals.get(tick + 50 + (i % 2 == 0 ? 0 : 30)).add(pose(i + 1, tick, Tetromino.T, 0));
+        }
+
+        List<Integer> playedTicks = new ArrayList<>();
+        long minLag = Long.MAX_VALUE;
+        long maxLag = Long.MIN_VALUE;
+        for (int now = 0; now < arrivals.size(); now++) {
+            for (PoseSyncCodec.Pose arrived : arrivals.get(now)) {
+                buffer.offer(arrived, now);
+            }
+            PoseSyncCodec.Pose played = buffer.poll(now);
+            if (played != null) {
+                playedTicks.add(played.tick());
+                if (played.tick() >= 2000 && played.tick() < 3600) { // 깊이가 자리잡은 뒤, 스트림 끝 제외
+                    minLag = Math.min(minLag, now - played.tick());
+                    maxLag = Math.max(maxLag, now - played.tick());
+                }
+            }
+        }
+
+        for (int i = 1; i < playedTicks.size(); i++) {
+            assertTrue(playedTicks.get(i) > playedTicks.get(i - 1), "played in tick order");
+        }
+        assertEquals((packets - 1) * 20, playedTicks.get(playedTicks.size() - 1).intValue());
+        // 도착 지연은 30ms씩 흔들리지만 재생 지연은 일정
+        assertTrue(maxLag - minLag <= 1, "lag spread " + (maxLag - minLag));
+        assertTrue(minLag >= 80, "every pose arrives before it is played");
+        assertTrue(buffer.getDepthMs() <= PoseJitterBuffer.MAX_DEPTH_MS);
+        assertEquals(0, buffer.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Poses older than the last played one are dropped")
+    void testLatePoseDropped() {
+        assertTrue(buffer.offer(pose(1, 0, Tetromino.T, 0), 10));
+        assertTrue(buffer.offer(pose(2, 100, Tetromino.T, 1), 110));
+        assertEquals(100, buffer.poll(200).tick());
+        assertFalse(buffer.offer(pose(3, 50, Tetromino.T, 2), 210));
+        assertFalse(buffer.offer(pose(2, 100, Tetromino.T, 1), 210));
+        assertEquals(2, buffer.getDroppedCount());
+        assertFalse(buffer.offer(new PoseSyncCodec.Pose(4, 0, null, null, null), 220));
+    }
+
+    @Test
+    @DisplayName("Depth follows jitter but stays within the bound")
+    void testDepthBounded() {
+        for (int i = 0; i < 500; i++) {
+            int tick = i * 10;
+            buffer.offer(pose(i + 1, tick, Tetromino.T, 0), tick + (i % 2 == 0 ? 0 : 1000));
+            buffer.poll(tick);
+        }
+        assertTrue(buffer.getJitterMs() > 500);
+        assertEquals(PoseJitterBuffer.MAX_DEPTH_MS, buffer.getDepthMs());
+    }
+
+    @Test
+    @DisplayName("Late frames extrapolate the falling piece by a bounded number of rows")
+    void testFallExtrapolation() {
+        // 100ms에 한 줄씩 떨어지는 조각, 전송 지연 10ms 고정
+        for (int i = 0; i <= 4; i++) {
+            buffer.offer(pose(i + 1, i * 100, Tetromino.T, i), i * 100 + 10);
+        }
+        for (int now = 0; now <= 420; now++) {
+            buffer.poll(now);
+        }
+        assertEquals(0, buffer.getPendingCount());
+        assertEquals(0, buffer.extrapolatedRows(420));
+        assertEquals(1, buffer.extrapolatedRows(520));
+        assertEquals(2, buffer.extrapolatedRows(620));
+        assertEquals(PoseJitterBuffer.MAX_EXTRAPOLATED_ROWS, buffer.extrapolatedRows(5000));
+        assertEquals(PoseJitterBuffer.FRAME_MS, buffer.delayUntilNext(500));
+        assertEquals(Long.MAX_VALUE, buffer.delayUntilNext(1000));
+
+        assertTrue(buffer.updateFallRows(1));
+        assertFalse(buffer.updateFallRows(1));
+
+        // 새 조각이 나오면 낙하 속도를 다시 잼
+        buffer.offer(pose(6, 500, Tetromino.O, 0), 510);
+        assertNotNull(buffer.poll(520));
+        assertEquals(0, buffer.extrapolatedRows(800));
+    }
+}
@@ -0,0 +1,329 @@
+package org.example.service;
+
+import org.example.model.GameBoard;
+import org.example.model.GarbageLine;
+import org.example.model.ItemBlock;
+import org.example.model.Tetromino;
+import org.example.model.TetrominoPosition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PoseSyncCodec
+ * Verifies that pose packets plus board events rebuild the sender's compressed board
+ */
+class PoseSyncCodecTest {
+
+    private PoseSyncCodec.EventEncoder encoder;
+    private PoseSyncCodec.Mirror mirror;
+    private int[][] composed;
+    private int poseSeq;
+    private long eventBytes;
+    private long poseBytes;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new PoseSyncCodec.EventEncoder();
+        mirror = new PoseSyncCodec.Mirror();
+        composed = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+    }
+
+    /** 송신 한 틱: 바뀐 보드 이벤트와 포즈를 만들어 미러에 적용 */
+    private byte[] sync(TetrisSystem system) {
+        byte[] event = encoder.poll(system.getBoard().getCompressedBoard());
+        if (event != null) {
+            eventBytes += event.length;
+            assertEquals(PoseSyncCodec.SIGNAL_BOARD_EVENT, event[0]);
+            assertTrue(mirror.applyEvent(Arrays.copyOfRange(event, 1, event.length)));
+        }
+        ByteBuffer pose = ByteBuffer.allocate(PoseSyncCodec.POSE_PACKET_SIZE);
+        var next = system.getNextQueue();
+        PoseSyncCodec.encodePose(pose, ++poseSeq, encoder.getSeq(), system.getCurrentPiece(),
+                next.isEmpty() ? null : next.get(0), system.getHoldPiece());
+        pose.flip();
+        poseBytes += pose.remaining();
+        assertTrue(mirror.applyPose(PoseSyncCodec.decodePose(pose)));
+        return event;
+    }
+
+    private void assertMirrors(TetrisSystem system, String context) {
+        assertTrue(mirror.compose(composed), context);
+        int[][] expected = system.getCompressedBoardData();
+        for (int row = 0; row < GameBoard.HEIGHT; row++) {
+            assertArrayEquals(expected[row], composed[row], context + " row " + row);
+        }
+    }
+
+    private void play(TetrisSystem system, AtomicLong now, long seed, int pieces) {
+        Random random = new Random(seed);
+        PlacementBot bot = new PlacementBot();
+        for (int i = 0; i < pieces; i++) {
+            if (system.getCurrentPiece() == null) {
+                system.update();
+            } else {
+                if (random.nextInt(4) == 0) system.hold();
+                bot.moveToBest(system);
+                sync(system);
+                assertMirrors(system, "piece " + i + " before drop");
+                while (system.moveDown()) { }
+            }
+            if (random.nextInt(6) == 0) {
+                GarbageLine.insert(system.getBoard(), new int[] { 1 << random.nextInt(GameBoard.WIDTH) }, 1);
+            }
+            now.addAndGet(250);
+            system.getBoard().processPendingClearsIfDue();
+            if (system.isGameOver()) {
+                system.reset();
+            }
+            sync(system);
+            if (!system.isGameOver()) {
+                assertMirrors(system, "piece " + i + " after lock");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Pose packets plus board events reproduce the compressed board")
+    void testNormalGameMirrors() {
+        AtomicLong now = new AtomicLong();
+        TetrisSystem system = new TetrisSystem(new GameContext(7L, now::get));
+        play(system, now, 7L, 300);
+
+        long ticks = poseSeq;
+        assertTrue((eventBytes + poseBytes) / ticks < 60,
+                "Average bytes per tick too large: " + (eventBytes + poseBytes) / ticks);
+    }
+
+    @Test
+    @DisplayName("Item pieces and item cells survive the pose round trip")
+    void testItemGameMirrors() {
+        AtomicLong now = new AtomicLong();
+        TetrisSystem system = new ItemTetrisSystem(new GameContext(11L, now::get));
+        play(system, now, 11L, 300);
+    }
+
+    @Test
+    @DisplayName("Pose packet round-trips item and special pieces")
+    void testPoseRoundTrip() {
+        TetrominoPosition item = new TetrominoPosition(Tetromino.T, 3, 5, 2);
+        item.setItemAtBlockIndex(1, ItemBlock.CROSS_CLEAR);
+        TetrominoPosition weight = TetrominoPosition.createWeightPiece(-1, 0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(PoseSyncCodec.POSE_PACKET_SIZE);
+        PoseSyncCodec.encodePose(buffer, 9, 4, item, weight, null);
+        assertEquals(PoseSyncCodec.POSE_PACKET_SIZE, buffer.position());
+        buffer.flip();
+
+        PoseSyncCodec.Pose pose = PoseSyncCodec.decodePose(buffer);
+        assertEquals(9, pose.poseSeq());
+        assertEquals(4, pose.boardSeq());
+        assertEquals(Tetromino.T, pose.current().getType());
+        assertEquals(3, pose.current().getX());
+        assertEquals(5, pose.current().getY());
+        assertEquals(2, pose.current().getRotation());
+        assertEquals(Integer.valueOf(1), pose.current().getItemBlockIndex());
+        assertEquals(ItemBlock.CROSS_CLEAR, pose.current().getItemType());
+        assertEquals(TetrominoPosition.SpecialKind.WEIGHT, pose.next().getSpecialKind());
+        assertNull(pose.hold());
+
+        assertNull(PoseSyncCodec.decodePose(ByteBuffer.wrap(new byte[] { PoseSyncCodec.PACKET_POSE, 0, 0 })));
+    }
+
+    @Test
+    @DisplayName("Timed pose carries the sender tick and untimed pose reports none")
+    void testTimedPose() {
+        TetrominoPosition piece = new TetrominoPosition(Tetromino.L, 4, 6, 1);
+        ByteBuffer buffer = ByteBuffer.allocate(PoseSyncCodec.TIMED_POSE_PACKET_SIZE);
+        PoseSyncCodec.encodePose(buffer, 3, 1, 12345, piece, null, null);
+        assertEquals(PoseSyncCodec.TIMED_POSE_PACKET_SIZE, buffer.position());
+        buffer.flip();
+        PoseSyncCodec.Pose pose = PoseSyncCodec.decodePose(buffer);
+        assertTrue(pose.hasTick());
+        assertEquals(12345, pose.tick());
+        assertEquals(6, pose.current().getY());
+
+        buffer.clear();
+        PoseSyncCodec.encodePose(buffer, 4, 1, piece, null, null);
+        buffer.flip();
+        assertFalse(PoseSyncCodec.decodePose(buffer).hasTick());
+    }
+
+    @Test
+    @DisplayName("Extrapolated fall stops on the floor")
+    void testComposeWithFall() {
+        ByteBuffer buffer = ByteBuffer.allocate(PoseSyncCodec.POSE_PACKET_SIZE);
+        PoseSyncCodec.encodePose(buffer, 1, 0, new TetrominoPosition(Tetromino.O, 4, GameBoard.BUFFER_ZONE, 0), null, null);
+        buffer.flip();
+        assertTrue(mirror.applyPose(PoseSyncCodec.decodePose(buffer)));
+
+        int[][] still = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        assertTrue(mirror.compose(still));
+        assertTrue(mirror.compose(composed, 2));
+        assertEquals(still[0][5], composed[2][5]);
+        assertEquals(0, composed[0][5]);
+
+        // 바닥 아래로는 내려가지 않음 (고스트 위치와 같아짐)
+        assertTrue(mirror.compose(composed, 100));
+        assertEquals(still[0][5], composed[GameBoard.HEIGHT - 1][5]);
+    }
+
+    @Test
+    @DisplayName("Line clears and garbage pushes are sent as compact events")
+    void testStructuralEvents() {
+        int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        for (int row = 8; row < GameBoard.HEIGHT; row++) {
+            for (int col = 0; col < GameBoard.WIDTH; col++) {
+                board[row][col] = (row + col) % 3 == 0 ? 0 : (col % 7) + 1;
+            }
+        }
+        Arrays.fill(board[15], GameBoard.CLEAR_MARK);
+        Arrays.fill(board[17], GameBoard.CLEAR_MARK);
+        mirror.applyEvent(slice(encoder.poll(board)));
+
+        // 15, 17행 삭제
+        int[][] cleared = new int[GameBoard.HEIGHT][];
+        for (int row = GameBoard.HEIGHT - 1, write = GameBoard.HEIGHT - 1; row >= 0; row--) {
+            if (row != 15 && row != 17) cleared[write--] = board[row].clone();
+        }
+        cleared[0] = new int[GameBoard.WIDTH];
+        cleared[1] = new int[GameBoard.WIDTH];
+        byte[] clearEvent = encoder.poll(cleared);
+        assertEquals(PoseSyncCodec.OP_CLEAR, clearEvent[6]);
+        assertTrue(clearEvent.length <= 11, "Clear event too large: " + clearEvent.length);
+        assertTrue(mirror.applyEvent(slice(clearEvent)));
+
+        // 공격 라인 3줄 삽입
+        int[][] pushed = new int[GameBoard.HEIGHT][];
+        for (int row = 0; row < GameBoard.HEIGHT - 3; row++) {
+            pushed[row] = cleared[row + 3].clone();
+        }
+        for (int i = 0; i < 3; i++) {
+            pushed[GameBoard.HEIGHT - 3 + i] = GarbageLine.toRow(1 << (i * 3));
+        }
+        byte[] garbageEvent = encoder.poll(pushed);
+        assertEquals(PoseSyncCodec.OP_GARBAGE, garbageEvent[6]);
+        assertTrue(garbageEvent.length <= 14, "Garbage event too large: " + garbageEvent.length);
+        assertTrue(mirror.applyEvent(slice(garbageEvent)));
+
+        assertNull(encoder.poll(pushed));
+        assertTrue(mirror.compose(composed));
+        assertArrayEquals(pushed, composed);
+    }
+
+    @Test
+    @DisplayName("Out-of-order events are rejected and poses wait for their board events")
+    void testSequencing() {
+        int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        board[19][0] = 3;
+        byte[] first = encoder.poll(board);
+        board[19][1] = 4;
+        byte[] second = encoder.poll(board);
+
+        assertFalse(mirror.applyEvent(slice(second)));
+
+        ByteBuffer pose = ByteBuffer.allocate(PoseSyncCodec.POSE_PACKET_SIZE);
+        PoseSyncCodec.encodePose(pose, 2, 2, null, null, null);
+        pose.flip();
+        assertTrue(mirror.applyPose(PoseSyncCodec.decodePose(pose)));
+        assertFalse(mirror.compose(composed));
+
+        assertTrue(mirror.applyEvent(slice(first)));
+        assertTrue(mirror.applyEvent(slice(second)));
+        assertTrue(mirror.compose(composed));
+        assertArrayEquals(board, composed);
+
+        pose.rewind();
+        assertFalse(mirror.applyPose(PoseSyncCodec.decodePose(pose)));
+    }
+
+    private static byte[] slice(byte[] event) {
+        return Arrays.copyOfRange(event, 1, event.length);
+    }
+
+    @Test
+    @DisplayName("Board hash detects a diverged mirror and a reset event resyncs it")
+    void testHashMismatchAndReset() {
+        GameBoard board = new GameBoard();
+        int bottom = GameBoard.HEIGHT + GameBoard.BUFFER_ZONE - 1;
+        for (int col = 0; col < 6; col++) {
+            board.setCellColor(bottom, col, 2);
+        }
+        byte[] event = encoder.poll(board.getCompressedBoard());
+        assertTrue(mirror.applyEvent(Arrays.copyOfRange(event, 1, event.length)));
+        assertFalse(checkHash(encoder.getSeq(), board.getBoardHash()));
+        // 다른 순번의 해시는 아직 판단하지 않음
+        assertFalse(checkHash(encoder.getSeq() + 1, board.getBoardHash() + 1));
+
+        // 같은 순번이지만 다른 보드로 만든 이벤트를 적용한 미러 (송신 측 보드와 어긋남)
+        PoseSyncCodec.Mirror diverged = new PoseSyncCodec.Mirror();
+        GameBoard other = new GameBoard();
+        other.setCellColor(bottom, 9, 3);
+        byte[] wrong = new PoseSyncCodec.EventEncoder().poll(other.getCompressedBoard());
+        assertTrue(diverged.applyEvent(Arrays.copyOfRange(wrong, 1, wrong.length)));
+        mirror = diverged;
+        assertTrue(checkHash(encoder.getSeq(), board.getBoardHash()));
+
+        // 재동기화: 변화가 없어도 OP_RESET으로 시작하는 이벤트가 보드 전체를 다시 보냄
+        encoder.requestReset();
+        event = encoder.poll(board.getCompressedBoard());
+        assertNotNull(event);
+        assertEquals(PoseSyncCodec.OP_RESET, event[6]);
+        assertTrue(mirror.applyEvent(Arrays.copyOfRange(event, 1, event.length)));
+        assertFalse(checkHash(encoder.getSeq(), board.getBoardHash()));
+        assertTrue(mirror.compose(composed));
+        assertEquals(2, composed[GameBoard.HEIGHT - 1][0]);
+        assertEquals(0, composed[GameBoard.HEIGHT - 1][9]);
+        assertNull(encoder.poll(board.getCompressedBoard()));
+    }
+
+    private boolean checkHash(int seq, long hash) {
+        ByteBuffer packet = ByteBuffer.allocate(PoseSyncCodec.BOARD_HASH_SIZE);
+        PoseSyncCodec.encodeBoardHash(packet, seq, hash);
+        packet.flip();
+        return PoseSyncCodec.checkBoardHash(packet, mirror);
+    }
+
+    @Test
+    @DisplayName("A skipped board event is reported until a reset event resyncs the mirror at any sequence")
+    void testSkippedEventResync() {
+        int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        board[19][0] = 3;
+        byte[] first = encoder.poll(board);
+        board[19][1] = 4;
+        encoder.poll(board); // 유실 (TCP 대체 경로의 다음 이벤트가 앞지름)
+        board[19][2] = 5;
+        byte[] third = encoder.poll(board);
+
+        assertTrue(mirror.applyEvent(slice(first)));
+        assertFalse(mirror.isMissingEvents());
+        assertFalse(mirror.applyEvent(slice(third)));
+        assertTrue(mirror.isMissingEvents());
+        assertEquals(1, mirror.getBoardSeq());
+        // 뒤처진 미러는 해시 순번이 달라도 재동기화가 필요하다고 봄
+        assertTrue(checkHash(encoder.getSeq(), 0));
+
+        encoder.requestReset();
+        byte[] reset = encoder.poll(board);
+        assertTrue(mirror.applyEvent(slice(reset)));
+        assertFalse(mirror.isMissingEvents());
+        assertEquals(encoder.getSeq(), mirror.getBoardSeq());
+        assertTrue(mirror.compose(composed));
+        assertArrayEquals(board, composed);
+
+        // 늦게 도착한 이전 이벤트는 보드를 되돌리지 않음
+        assertFalse(mirror.applyEvent(slice(third)));
+        assertFalse(mirror.isMissingEvents());
+        board[18][0] = 6;
+        assertTrue(mirror.applyEvent(slice(encoder.poll(board))));
+        assertTrue(mirror.compose(composed));
+        assertArrayEquals(board, composed);
+    }
+}
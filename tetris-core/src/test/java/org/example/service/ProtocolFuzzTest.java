@@ -0,0 +1,32 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Short seeded runs of ProtocolFuzzer
+ * Long runs and throughput numbers: gradle :tetris-core:fuzzProtocol
+ */
+class ProtocolFuzzTest {
+
+    @Test
+    @DisplayName("Typed messages round-trip through fragmented frames")
+    void testRoundTrip() {
+        for (long seed = 1; seed <= 3; seed++) {
+            ProtocolFuzzer.Report report = new ProtocolFuzzer(seed, true).run(20_000);
+            assertTrue(report.messages() >= 20_000);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark mode runs without decoder corruption checks")
+    void testBenchmarkMode() {
+        ProtocolFuzzer.Report report = new ProtocolFuzzer(9L, false).run(5_000);
+
+        assertTrue(report.messages() >= 5_000);
+        assertTrue(report.messagesPerSecond() > 0);
+        assertTrue(report.bytesPerMessage() > P2PProtocol.FRAME_HEADER_SIZE);
+    }
+}
@@ -0,0 +1,294 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+import org.example.model.GameMode;
+import org.example.model.GarbageLine;
+
+/**
+ * P2P 제어 프로토콜 왕복(round-trip) 퍼저 겸 처리량 벤치마크
+ *
+ * 시드 고정 랜덤 메시지(HELLO, 대기실, 게임 중 메시지)를 타입별 인코더로 재사용 버퍼에 프레임으로 쓰고,
+ * 무작위 크기로 잘라 읽는 채널을 통해 FrameReader로 다시 읽어 타입별 디코더 결과를 원래 값과 비교합니다.
+ * 검사 모드에서는 잘린/망가진 payload를 디코더에 넣어 예외 없이 거부하는지도 확인합니다.
+ *
+ * 실행: gradle :tetris-core:fuzzProtocol --args="--messages 5000000 --seed 1"
+ *       --no-check 를 주면 손상 검사와 채팅(문자열 생성) 없이 처리량/할당량만 측정합니다.
+ */
+public final class ProtocolFuzzer {
+
+    private static final int BATCH = 64;            // 한 번에 쓰고 읽는 메시지 수
+    private static final int MAX_ADDER_LINES = 10;
+    private static final int MAX_CHUNK = 300;       // 채널이 한 번에 넘겨주는 최대 바이트
+    private static final String[] CHAT = { "gg", "안녕하세요", "ready?", "", "한 판 더 🎮" };
+    private static final GameMode[] MODES = GameMode.values();
+
+    private final Random random;
+    private final boolean check;
+    private final ByteBuffer wire = ByteBuffer.allocate(BATCH * (4 + 1 + MAX_ADDER_LINES * 2 + 64));
+    private final ChunkedChannel channel = new ChunkedChannel();
+    private final P2PProtocol.FrameReader reader = new P2PProtocol.FrameReader();
+    private final P2PProtocol.FrameHandler verifier = this::verify;
+    private final BooleanSupplier never = () -> false;
+    private final byte[] garbage = new byte[64];
+
+    // 보낸 메시지의 기대값 (재사용)
+    private final byte[] types = new byte[BATCH];
+    private final int[] values = new int[BATCH];
+    private final int[] extras = new int[BATCH];
+    private final int[] capabilities = new int[BATCH];
+    private final int[][][] masks = new int[BATCH][MAX_ADDER_LINES + 1][]; // [메시지][줄 수]
+    private final int[][] sentMasks = new int[BATCH][];
+    private final String[] texts = new String[BATCH];
+    private int received;
+
+    private long messages;
+    private long bytes;
+
+    /**
+     * 한 번의 실행 결과
+     */
+    public record Report(long messages, long bytes, long nanos, long allocatedBytes) {
+        public double messagesPerSecond() {
+            return nanos > 0 ? messages * 1e9 / nanos : 0;
+        }
+
+        public double bytesPerMessage() {
+            return messages > 0 ? (double) bytes / messages : 0;
+        }
+
+        public double allocatedBytesPerMessage() {
+            return messages > 0 ? (double) allocatedBytes / messages : 0;
+        }
+    }
+
+    public ProtocolFuzzer(long seed, boolean check) {
+        this.random = new Random(seed);
+        this.check = check;
+        for (int i = 0; i < BATCH; i++) {
+            for (int lines = 0; lines <= MAX_ADDER_LINES; lines++) {
+                masks[i][lines] = new int[lines];
+            }
+        }
+    }
+
+    /**
+     * messageCount개 이상의 메시지를 왕복시킵니다.
+     *
+     * @throws AssertionError 디코딩 결과가 보낸 값과 다르면 (시드, 메시지 번호 포함)
+     */
+    public Report run(long messageCount) {
+        long start = System.nanoTime();
+        long startBytes = allocatedBytes();
+        while (messages < messageCount) {
+            roundTrip();
+        }
+        return new Report(messages, bytes, System.nanoTime() - start, allocatedBytes() - startBytes);
+    }
+
+    private void roundTrip() {
+        wire.clear();
+        for (int i = 0; i < BATCH; i++) {
+            writeFrame(i);
+        }
+        wire.flip();
+        bytes += wire.remaining();
+
+        received = 0;
+        try {
+            while (wire.hasRemaining()) {
+                if (!reader.readFrom(channel, verifier, never)) {
+                    throw new AssertionError("unexpected end of stream");
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError("frame rejected at message " + (messages + received), e);
+        }
+        expect(received == BATCH, "frame count");
+        messages += BATCH;
+
+        if (check) {
+            fuzzDecoders();
+        }
+    }
+
+    /**
+     * i번째 메시지를 무작위로 골라 [길이][종류][데이터]로 씁니다.
+     */
+    private void writeFrame(int i) {
+        int lengthAt = wire.position();
+        wire.putInt(0); // 길이는 쓴 뒤에 채움
+        int kind = random.nextInt(check ? 11 : 10);
+        switch (kind) {
+            case 0 -> {
+                values[i] = 1 + random.nextInt(Short.MAX_VALUE);
+                extras[i] = random.nextInt(values[i]) + 1;
+                capabilities[i] = random.nextInt();
+                P2PProtocol.encodeHello(wire, values[i], extras[i], capabilities[i]);
+            }
+            case 1 -> {
+                values[i] = random.nextInt(MODES.length);
+                P2PProtocol.encodeGameMode(wire, MODES[values[i]]);
+            }
+            case 2 -> {
+                values[i] = random.nextInt(2);
+                P2PProtocol.encodeByteMessage(wire, P2PProtocol.MSG_READY_STATE, values[i]);
+            }
+            case 3 -> {
+                values[i] = random.nextInt(256);
+                P2PProtocol.encodeByteMessage(wire, P2PProtocol.MSG_DIFFICULTY_CHANGE, values[i]);
+            }
+            case 4 -> wire.put(random.nextBoolean() ? P2PProtocol.MSG_HEARTBEAT : P2PProtocol.MSG_GAME_START);
+            case 5 -> {
+                int[] lines = masks[i][random.nextInt(MAX_ADDER_LINES + 1)];
+                for (int k = 0; k < lines.length; k++) {
+                    lines[k] = random.nextInt(1 << 16); // 범위 밖 비트는 인코더가 잘라냄
+                }
+                sentMasks[i] = lines;
+                BoardSyncCodec.encodeAdderBoard(wire, lines);
+            }
+            case 6 -> wire.put(BoardSyncCodec.SIGNAL_GO_WAITING_ROOM);
+            case 7 -> {
+                values[i] = random.nextInt();
+                extras[i] = random.nextInt(2);
+                BoardSyncCodec.encodeGameOver(wire, values[i], extras[i] == 1);
+            }
+            case 8, 9 -> {
+                values[i] = random.nextInt(10) == 0 ? -1 : random.nextInt(1_000_000);
+                BoardSyncCodec.encodeEnding(wire, values[i]);
+            }
+            default -> {
+                texts[i] = CHAT[random.nextInt(CHAT.length)];
+                wire.put(P2PProtocol.MSG_CHAT_MESSAGE).put(P2PProtocol.encodeText(texts[i]));
+            }
+        }
+        types[i] = wire.get(lengthAt + 4);
+        wire.putInt(lengthAt, wire.position() - lengthAt - 4);
+    }
+
+    private void verify(byte type, byte[] data, int size) {
+        int i = received++;
+        expect(type == types[i], "type");
+        switch (type) {
+            case P2PProtocol.MSG_HELLO -> {
+                P2PProtocol.Hello hello = P2PProtocol.decodeHello(data, size);
+                expect(hello != null && hello.version() == values[i] && hello.minVersion() == extras[i]
+                        && hello.capabilities() == capabilities[i], "hello");
+            }
+            case P2PProtocol.MSG_GAME_MODE_CHANGE ->
+                    expect(P2PProtocol.decodeGameMode(data, size) == MODES[values[i]], "game mode");
+            case P2PProtocol.MSG_READY_STATE -> expect(P2PProtocol.decodeReady(data, size) == (values[i] == 1), "ready");
+            case P2PProtocol.MSG_DIFFICULTY_CHANGE ->
+                    expect(P2PProtocol.decodeDifficulty(data, size) == values[i], "difficulty");
+            case P2PProtocol.MSG_HEARTBEAT, P2PProtocol.MSG_GAME_START, BoardSyncCodec.SIGNAL_GO_WAITING_ROOM ->
+                    expect(size == 0, "empty payload");
+            case BoardSyncCodec.SIGNAL_ADDER_BOARD -> {
+                int[] lines = sentMasks[i];
+                expect(size == lines.length * BoardSyncCodec.ADDER_LINE_BYTES, "adder size");
+                for (int k = 0; k < lines.length; k++) {
+                    int mask = P2PProtocol.readShort(data, k * BoardSyncCodec.ADDER_LINE_BYTES) & GarbageLine.ALL_HOLES;
+                    expect(mask == (lines[k] & GarbageLine.ALL_HOLES), "adder line");
+                }
+            }
+            case BoardSyncCodec.SIGNAL_GAME_OVER -> expect(BoardSyncCodec.decodeScore(data, size) == values[i]
+                    && BoardSyncCodec.decodeTimeover(data, size) == (extras[i] == 1), "game over");
+            case BoardSyncCodec.SIGNAL_ENDING -> expect(BoardSyncCodec.decodeScore(data, size) == values[i], "ending");
+            case P2PProtocol.MSG_CHAT_MESSAGE -> expect(P2PProtocol.decodeText(data, size).equals(texts[i]), "chat");
+            default -> expect(false, "unknown type");
+        }
+    }
+
+    /**
+     * 잘리거나 망가진 payload도 예외 없이 거부(또는 기본값)하는지 확인합니다.
+     */
+    private void fuzzDecoders() {
+        int size = random.nextInt(garbage.length + 1);
+        random.nextBytes(garbage);
+        try {
+            P2PProtocol.Hello hello = P2PProtocol.decodeHello(garbage, Math.min(size, P2PProtocol.HELLO_SIZE - 2));
+            expect(hello == null, "truncated hello accepted");
+            P2PProtocol.decodeGameMode(garbage, size);
+            P2PProtocol.decodeReady(garbage, size);
+            P2PProtocol.decodeDifficulty(garbage, size);
+            BoardSyncCodec.decodeScore(garbage, size);
+            BoardSyncCodec.decodeTimeover(garbage, size);
+            BoardSyncCodec.decodeAdderBoard(Arrays.copyOf(garbage, size));
+        } catch (RuntimeException e) {
+            throw new AssertionError("decoder threw on " + size + " garbage bytes near message " + messages, e);
+        }
+    }
+
+    /** what은 상수 문자열만 (측정 중 할당하지 않도록) */
+    private void expect(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError("mismatch at message " + (messages + received - 1) + ": " + what);
+        }
+    }
+
+    /**
+     * wire 버퍼를 무작위 크기 조각으로 넘겨주는 채널 (논블로킹 소켓의 부분 읽기 흉내)
+     */
+    private final class ChunkedChannel implements ReadableByteChannel {
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!wire.hasRemaining()) {
+                return 0;
+            }
+            int count = Math.min(Math.min(dst.remaining(), wire.remaining()), 1 + random.nextInt(MAX_CHUNK));
+            int limit = wire.limit();
+            wire.limit(wire.position() + count);
+            dst.put(wire);
+            wire.limit(limit);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * 현재 스레드의 누적 할당 바이트 (HotSpot이 아니면 0)
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean hotspot) {
+            return hotspot.getCurrentThreadAllocatedBytes();
+        }
+        return 0L;
+    }
+
+    public static void main(String[] args) {
+        long messageCount = 5_000_000;
+        long seed = 1L;
+        boolean check = true;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--messages" -> messageCount = Long.parseLong(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--no-check" -> check = false;
+                default -> {
+                    System.err.println("Usage: [--messages N] [--seed S] [--no-check]");
+                    System.exit(1);
+                }
+            }
+        }
+
+        Report report = new ProtocolFuzzer(seed, check).run(messageCount);
+        System.out.printf("seed=%d check=%s messages=%d%n", seed, check, report.messages());
+        System.out.printf("%.0f messages/s, %.1f B/message on the wire, %.2f B/message allocated%n",
+                report.messagesPerSecond(), report.bytesPerMessage(), report.allocatedBytesPerMessage());
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReliableLane
+ * Verifies in-order delivery, selective ACKs, timeout and fast retransmit
+ */
+class ReliableLaneTest {
+
+    private final List<byte[]> delivered = new ArrayList<>();
+    private final ReliableLane sender = new ReliableLane((type, data, size) -> { });
+    private final ReliableLane receiver = new ReliableLane((type, data, size) -> {
+        byte[] message = new byte[size + 1];
+        message[0] = type;
+        System.arraycopy(data, 0, message, 1, size);
+        delivered.add(message);
+    });
+
+    /** 보낼 패킷을 모두 꺼냄 */
+    private List<ByteBuffer> drain(ReliableLane lane, long now) {
+        List<ByteBuffer> packets = new ArrayList<>();
+        while (true) {
+            ByteBuffer packet = ByteBuffer.allocate(ReliableLane.MAX_PACKET_SIZE);
+            if (!lane.pollPacket(packet, now)) {
+                return packets;
+            }
+            packet.flip();
+            packets.add(packet);
+        }
+    }
+
+    private static byte[] message(int value) {
+        return new byte[] {BoardSyncCodec.SIGNAL_ADDER_BOARD, (byte) value};
+    }
+
+    @Test
+    @DisplayName("Messages are delivered in order and acknowledged")
+    void testInOrderDelivery() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sender.offer(message(i)));
+        }
+        List<ByteBuffer> packets = drain(sender, 0);
+        assertEquals(5, packets.size());
+        for (ByteBuffer packet : packets) {
+            assertTrue(receiver.onPacket(packet, 10));
+        }
+        assertEquals(5, delivered.size());
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(message(i), delivered.get(i));
+        }
+
+        List<ByteBuffer> acks = drain(receiver, 10);
+        assertEquals(1, acks.size());
+        assertEquals(ReliableLane.PACKET_ACK, acks.get(0).get(0));
+        assertTrue(sender.onPacket(acks.get(0), 20));
+        assertEquals(0, sender.getInFlight());
+        assertEquals(Long.MAX_VALUE, sender.delayUntilNext(20));
+    }
+
+    @Test
+    @DisplayName("Out-of-order messages wait for the gap and are selectively acknowledged")
+    void testReorderAndSelectiveAck() {
+        for (int i = 0; i < 4; i++) {
+            sender.offer(message(i));
+        }
+        List<ByteBuffer> packets = drain(sender, 0);
+        // 첫 메시지를 잃음
+        for (int i = 1; i < 4; i++) {
+            receiver.onPacket(packets.get(i), 5);
+        }
+        assertTrue(delivered.isEmpty());
+
+        ByteBuffer ack = drain(receiver, 5).get(0);
+        sender.onPacket(ack, 10);
+        // 뒤의 3개는 확인됨 -> 빠른 재전송으로 첫 메시지만 바로 다시 보냄
+        assertEquals(4, sender.getInFlight());
+        List<ByteBuffer> resent = drain(sender, 10);
+        assertEquals(1, resent.size());
+        assertEquals(1, sender.getRetransmitCount());
+
+        receiver.onPacket(resent.get(0), 15);
+        assertEquals(4, delivered.size());
+        for (int i = 0; i < 4; i++) {
+            assertArrayEquals(message(i), delivered.get(i));
+        }
+        sender.onPacket(drain(receiver, 15).get(0), 20);
+        assertEquals(0, sender.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Unacknowledged messages are retransmitted after the RTO")
+    void testTimeoutRetransmit() {
+        sender.offer(message(7));
+        assertEquals(1, drain(sender, 0).size());
+        assertTrue(drain(sender, ReliableLane.INITIAL_RTO_MS - 1).isEmpty());
+        assertEquals(1, sender.delayUntilNext(ReliableLane.INITIAL_RTO_MS - 1));
+
+        List<ByteBuffer> resent = drain(sender, ReliableLane.INITIAL_RTO_MS);
+        assertEquals(1, resent.size());
+        // 두 번째 시간 초과는 두 배 뒤
+        assertEquals(2 * ReliableLane.INITIAL_RTO_MS, sender.delayUntilNext(ReliableLane.INITIAL_RTO_MS));
+
+        receiver.onPacket(resent.get(0), 300);
+        receiver.onPacket(resent.get(0).rewind(), 301); // 중복은 한 번만 넘김
+        assertEquals(1, delivered.size());
+        assertArrayEquals(message(7), delivered.get(0));
+    }
+
+    @Test
+    @DisplayName("Full window and oversized messages are refused")
+    void testWindowLimit() {
+        for (int i = 0; i < ReliableLane.WINDOW; i++) {
+            assertTrue(sender.offer(message(i)));
+        }
+        assertFalse(sender.offer(message(0)));
+        assertFalse(new ReliableLane((t, d, s) -> { })
+                .offer(new byte[ReliableLane.MAX_MESSAGE_SIZE + 1]));
+    }
+
+    @Test
+    @DisplayName("RTT samples set the retransmission timeout")
+    void testRtoFromRtt() {
+        sender.onRttSample(40);
+        // srtt 40 + 4 * rttvar 20
+        assertEquals(120, sender.getRtoMs());
+        sender.onRttSample(1);
+        sender.onRttSample(1);
+        assertTrue(sender.getRtoMs() >= ReliableLane.MIN_RTO_MS);
+    }
+
+    @Test
+    @DisplayName("Malformed packets are rejected")
+    void testMalformed() {
+        assertFalse(receiver.onPacket(ByteBuffer.wrap(new byte[] {ReliableLane.PACKET_DATA, 0, 0}), 0));
+        ByteBuffer badLength = ByteBuffer.allocate(ReliableLane.DATA_HEADER_SIZE + 1);
+        badLength.put(ReliableLane.PACKET_DATA).putInt(1).putInt(0).putInt(0).putShort((short) 500).put((byte) 1);
+        badLength.flip();
+        assertFalse(receiver.onPacket(badLength, 0));
+        assertTrue(delivered.isEmpty());
+    }
+}
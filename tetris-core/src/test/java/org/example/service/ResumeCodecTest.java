@@ -0,0 +1,144 @@
+package org.example.service;
+
+import org.example.model.GameBoard;
+import org.example.model.GarbageLine;
+import org.example.model.ItemBlock;
+import org.example.model.Tetromino;
+import org.example.model.TetrominoPosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResumeCodec
+ * Verifies the session and state keyframe messages used to resume a match on a new socket
+ */
+class ResumeCodecTest {
+
+    /** 인코딩한 메시지를 종류 바이트 뒤부터 수신 버퍼처럼 풂 */
+    private static ResumeCodec.State roundTrip(ResumeCodec.State state) {
+        ByteBuffer out = ByteBuffer.allocate(ResumeCodec.MAX_STATE_SIZE);
+        ResumeCodec.encodeState(out, state);
+        assertEquals(ResumeCodec.stateSize(state), out.position());
+        assertEquals(ResumeCodec.SIGNAL_STATE, out.get(0));
+        byte[] received = new byte[ResumeCodec.MAX_STATE_SIZE + 16];
+        System.arraycopy(out.array(), 1, received, 0, out.position() - 1);
+        return ResumeCodec.decodeState(received, out.position() - 1);
+    }
+
+    @Test
+    @DisplayName("Session message round-trips")
+    void testSessionRoundTrip() {
+        ByteBuffer out = ByteBuffer.allocate(ResumeCodec.SESSION_SIZE);
+        ResumeCodec.encodeSession(out, 0x1234_5678_9ABC_DEF0L);
+        byte[] data = Arrays.copyOfRange(out.array(), 1, ResumeCodec.SESSION_SIZE);
+
+        assertEquals(0x1234_5678_9ABC_DEF0L, ResumeCodec.decodeSession(data, data.length));
+        assertEquals(0, ResumeCodec.decodeSession(data, 3));
+    }
+
+    @Test
+    @DisplayName("State keyframe round-trips board, pieces, score, timer and attack count")
+    void testStateRoundTrip() {
+        int[][] cells = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        cells[GameBoard.HEIGHT - 1][0] = 3;
+        cells[GameBoard.HEIGHT - 1][9] = 0x7F0_0001;
+        cells[0][4] = 8;
+        TetrominoPosition current = new TetrominoPosition(Tetromino.S, 4, 6, 1);
+        current.setItemAtBlockIndex(2, ItemBlock.CROSS_CLEAR);
+        PoseSyncCodec.Pose pose = new PoseSyncCodec.Pose(41, 17, current,
+                new TetrominoPosition(Tetromino.I, 0, 0, 0), TetrominoPosition.createBombPiece(0, 0));
+
+        ResumeCodec.State decoded = roundTrip(new ResumeCodec.State(99L, 5, 12_300, 42_000L, pose, cells));
+
+        assertNotNull(decoded);
+        assertEquals(99L, decoded.sessionId());
+        assertEquals(5, decoded.attacksReceived());
+        assertEquals(12_300, decoded.score());
+        assertTrue(decoded.hasTimer());
+        assertEquals(42_000L, decoded.remainingMs());
+        assertEquals(41, decoded.pose().poseSeq());
+        assertEquals(17, decoded.pose().boardSeq());
+        assertEquals(Tetromino.S, decoded.pose().current().getType());
+        assertEquals(6, decoded.pose().current().getY());
+        assertTrue(decoded.pose().current().hasItems());
+        assertEquals(Tetromino.I, decoded.pose().next().getType());
+        assertEquals(TetrominoPosition.SpecialKind.BOMB, decoded.pose().hold().getSpecialKind());
+        assertFalse(decoded.pose().hasTick());
+        for (int row = 0; row < GameBoard.HEIGHT; row++) {
+            assertArrayEquals(cells[row], decoded.cells()[row]);
+        }
+    }
+
+    @Test
+    @DisplayName("Board-delta keyframe without pieces or timer round-trips")
+    void testStateWithoutPose() {
+        int[][] cells = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        for (int[] row : cells) {
+            Arrays.fill(row, 2); // 꽉 찬 보드도 한 메시지에 들어감
+        }
+
+        ResumeCodec.State decoded = roundTrip(new ResumeCodec.State(7L, 0, 0, ResumeCodec.NO_TIMER, null, cells));
+
+        assertNotNull(decoded);
+        assertNull(decoded.pose());
+        assertFalse(decoded.hasTimer());
+        assertEquals(2, decoded.cells()[GameBoard.HEIGHT - 1][GameBoard.WIDTH - 1]);
+    }
+
+    @Test
+    @DisplayName("Truncated or corrupt keyframes are rejected")
+    void testCorruptState() {
+        int[][] cells = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        cells[5][5] = 1;
+        ByteBuffer out = ByteBuffer.allocate(ResumeCodec.MAX_STATE_SIZE);
+        ResumeCodec.encodeState(out, new ResumeCodec.State(1L, 0, 0, ResumeCodec.NO_TIMER, null, cells));
+        byte[] data = Arrays.copyOfRange(out.array(), 1, out.position());
+
+        assertNull(ResumeCodec.decodeState(data, data.length - 1));
+        data[data.length - 5] = (byte) 250; // 보드 밖 칸 인덱스
+        assertNull(ResumeCodec.decodeState(data, data.length));
+    }
+
+    @Test
+    @DisplayName("A mirror loaded from the keyframe continues with the following board events")
+    void testMirrorResumesFromKeyframe() {
+        AtomicLong now = new AtomicLong();
+        TetrisSystem system = new TetrisSystem(new GameContext(3L, now::get));
+        PoseSyncCodec.EventEncoder encoder = new PoseSyncCodec.EventEncoder();
+        PoseSyncCodec.Mirror mirror = new PoseSyncCodec.Mirror();
+        PlacementBot bot = new PlacementBot();
+
+        // 끊기기 전 이벤트 몇 개는 상대에게 닿지 못함 (미러에 적용하지 않음)
+        for (int i = 0; i < 6; i++) {
+            bot.moveToBest(system);
+            system.hardDrop();
+            now.addAndGet(250);
+            system.getBoard().processPendingClearsIfDue();
+            system.update();
+            encoder.poll(system.getBoard().getCompressedBoard());
+        }
+        GarbageLine.insert(system.getBoard(), new int[] {1 << 4}, 1);
+        encoder.poll(system.getBoard().getCompressedBoard());
+
+        int[][] sent = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+        encoder.copySentBoard(sent);
+        PoseSyncCodec.Pose pose = new PoseSyncCodec.Pose(10, encoder.getSeq(), system.getCurrentPiece(), null, null);
+        ResumeCodec.State state = roundTrip(new ResumeCodec.State(1L, 0, system.getScore(),
+                ResumeCodec.NO_TIMER, pose, sent));
+        mirror.load(state.pose(), state.cells());
+
+        // 다시 붙은 뒤의 이벤트는 그대로 이어서 적용됨
+        bot.moveToBest(system);
+        system.hardDrop();
+        byte[] event = encoder.poll(system.getBoard().getCompressedBoard());
+        assertNotNull(event);
+        assertTrue(mirror.applyEvent(Arrays.copyOfRange(event, 1, event.length)));
+        assertFalse(mirror.isDesynced(encoder.getSeq(), system.getBoard().getBoardHash()));
+    }
+}
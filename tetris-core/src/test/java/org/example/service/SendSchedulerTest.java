@@ -0,0 +1,80 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SendScheduler
+ * Verifies change-triggered sends, burst capping, heartbeats and link adaptation
+ */
+class SendSchedulerTest {
+
+    /** 보낼 때가 되면 보낸 것으로 처리 */
+    private static boolean trySend(SendScheduler scheduler, long now) {
+        if (scheduler.delayUntilSend(now) > 0) {
+            return false;
+        }
+        scheduler.clearChanged();
+        scheduler.onSent(now);
+        return true;
+    }
+
+    @Test
+    @DisplayName("Sends immediately on start and on a change after the minimum interval")
+    void testChangeTriggersSend() {
+        SendScheduler scheduler = new SendScheduler();
+        assertTrue(trySend(scheduler, 1000));
+
+        scheduler.markChanged();
+        assertEquals(SendScheduler.BASE_INTERVAL_MS, scheduler.delayUntilSend(1000));
+        assertTrue(trySend(scheduler, 1000 + SendScheduler.BASE_INTERVAL_MS));
+    }
+
+    @Test
+    @DisplayName("Idle sender only wakes for heartbeats")
+    void testHeartbeatWhileIdle() {
+        SendScheduler scheduler = new SendScheduler();
+        trySend(scheduler, 0);
+
+        assertEquals(SendScheduler.HEARTBEAT_MS, scheduler.delayUntilSend(0));
+        assertFalse(scheduler.isHeartbeatDue(SendScheduler.HEARTBEAT_MS - 1));
+        assertFalse(trySend(scheduler, SendScheduler.HEARTBEAT_MS - 1));
+        assertTrue(scheduler.isHeartbeatDue(SendScheduler.HEARTBEAT_MS));
+        assertTrue(trySend(scheduler, SendScheduler.HEARTBEAT_MS));
+    }
+
+    @Test
+    @DisplayName("A burst of changes is capped to one send per interval")
+    void testBurstCap() {
+        SendScheduler scheduler = new SendScheduler();
+        int sends = 0;
+        for (long now = 0; now < 1000; now++) {
+            scheduler.markChanged(); // 매 ms마다 변화
+            if (trySend(scheduler, now)) {
+                sends++;
+            }
+        }
+        assertEquals(1000 / SendScheduler.BASE_INTERVAL_MS + 1, sends);
+    }
+
+    @Test
+    @DisplayName("Loss widens the interval and recovery narrows it back")
+    void testLinkAdaptation() {
+        SendScheduler scheduler = new SendScheduler();
+        for (int i = 0; i < 20; i++) {
+            scheduler.updateLink(40, 0.2);
+        }
+        assertEquals(SendScheduler.MAX_INTERVAL_MS, scheduler.getMinIntervalMs());
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.updateLink(40, 0.0);
+        }
+        assertEquals(SendScheduler.BASE_INTERVAL_MS, scheduler.getMinIntervalMs());
+
+        // RTT가 길면 RTT/8 아래로 줄이지 않음
+        scheduler.updateLink(400, 0.0);
+        assertEquals(50, scheduler.getMinIntervalMs());
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.service;
+
+import org.example.model.GameBoard;
+import org.example.model.GameMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpectatorCodec
+ * Verifies multicast frames, late joiners catching up on keyframes and redundant match events
+ */
+class SpectatorCodecTest {
+
+    private static final int KEYFRAME_INTERVAL = 10;
+
+    private final SpectatorCodec.FrameEncoder encoder =
+            new SpectatorCodec.FrameEncoder(77, GameMode.TIME_ATTACK, KEYFRAME_INTERVAL);
+    private final ByteBuffer out = ByteBuffer.allocate(SpectatorCodec.MAX_FRAME_SIZE);
+    private final List<SpectatorCodec.Event> events = new ArrayList<>();
+
+    /** 프레임마다 다른 보드 두 개 (호스트는 바닥이, 상대는 첫 줄이 바뀜) */
+    private static int[][][] boards(int frame) {
+        int[][][] boards = new int[SpectatorCodec.PLAYERS][GameBoard.HEIGHT][GameBoard.WIDTH];
+        boards[0][GameBoard.HEIGHT - 1][frame % GameBoard.WIDTH] = frame % 8 + 1;
+        boards[1][0][frame % GameBoard.WIDTH] = 0x7F0_0000 | frame; // escape 값도 그대로
+        return boards;
+    }
+
+    private ByteBuffer frame(int frame, int state) {
+        out.clear();
+        encoder.encode(out, state, 30_000 - frame, boards(frame), new int[] { frame * 10, frame * 20 });
+        out.flip();
+        return out;
+    }
+
+    @Test
+    @DisplayName("Frames carry both boards, scores, mode, timer and state")
+    void testRoundTrip() {
+        SpectatorCodec.MatchDecoder decoder = new SpectatorCodec.MatchDecoder(77);
+        int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(decoder.apply(frame(i, 0), events::add));
+        }
+        assertTrue(decoder.apply(frame(3, 1 << 1), events::add));
+
+        assertTrue(decoder.copyBoard(0, board));
+        assertArrayEquals(boards(3)[0], board);
+        assertTrue(decoder.copyBoard(1, board));
+        assertArrayEquals(boards(3)[1], board);
+        assertEquals(30, decoder.getScore(0));
+        assertEquals(60, decoder.getScore(1));
+        assertEquals(GameMode.TIME_ATTACK, decoder.getMode());
+        assertEquals(30_000 - 3, decoder.getRemainingMs());
+        assertFalse(decoder.isToppedOut(0));
+        assertTrue(decoder.isToppedOut(1));
+        assertFalse(decoder.isEnded());
+        assertTrue(out.position() <= 1472, "frame fits in one Ethernet datagram: " + out.position());
+    }
+
+    @Test
+    @DisplayName("A late joiner shows boards from the next keyframe on")
+    void testLateJoiner() {
+        for (int i = 0; i < 3; i++) {
+            frame(i, 0); // 관전자가 들어오기 전
+        }
+        SpectatorCodec.MatchDecoder decoder = new SpectatorCodec.MatchDecoder(77);
+        int[][] board = new int[GameBoard.HEIGHT][GameBoard.WIDTH];
+
+        int frame = 3;
+        for (; frame < KEYFRAME_INTERVAL; frame++) {
+            decoder.apply(frame(frame, 0), events::add);
+            assertFalse(decoder.copyBoard(0, board), "no keyframe yet at frame " + frame);
+            assertEquals(frame * 10, decoder.getScore(0)); // 점수는 바로 보임
+        }
+        decoder.apply(frame(frame, 0), events::add);
+        assertTrue(decoder.copyBoard(0, board));
+        assertArrayEquals(boards(frame)[0], board);
+        assertTrue(decoder.copyBoard(1, board));
+    }
+
+    @Test
+    @DisplayName("Events survive a few lost frames and are delivered once, in order")
+    void testRedundantEvents() {
+        SpectatorCodec.MatchDecoder decoder = new SpectatorCodec.MatchDecoder(77);
+        decoder.apply(frame(0, 0), events::add);
+
+        encoder.addEvent(SpectatorCodec.EVENT_ATTACK, 0, 4);
+        encoder.addEvent(SpectatorCodec.EVENT_ATTACK, 1, 2);
+        for (int i = 1; i < SpectatorCodec.EVENT_REPEATS; i++) {
+            frame(i, 0); // 이벤트를 실은 프레임을 잃음
+        }
+        decoder.apply(frame(SpectatorCodec.EVENT_REPEATS, 0), events::add);
+        decoder.apply(frame(SpectatorCodec.EVENT_REPEATS + 1, 0), events::add);
+
+        assertEquals(List.of(new SpectatorCodec.Event(0, SpectatorCodec.EVENT_ATTACK, 0, 4),
+                new SpectatorCodec.Event(1, SpectatorCodec.EVENT_ATTACK, 1, 2)), events);
+        assertEquals(SpectatorCodec.EVENT_REPEATS - 1, decoder.getLostFrames());
+
+        encoder.addEvent(SpectatorCodec.EVENT_MATCH_END, -1, 0);
+        decoder.apply(frame(SpectatorCodec.EVENT_REPEATS + 2, SpectatorCodec.STATE_ENDED), events::add);
+        assertEquals(-1, events.get(2).player());
+        assertTrue(decoder.isEnded());
+    }
+
+    @Test
+    @DisplayName("Old, foreign and truncated frames are ignored")
+    void testRejectedFrames() {
+        SpectatorCodec.MatchDecoder decoder = new SpectatorCodec.MatchDecoder(77);
+        ByteBuffer first = frame(0, 0);
+        byte[] stale = new byte[first.remaining()];
+        first.get(stale);
+        assertTrue(decoder.apply(frame(1, 0), events::add));
+
+        assertFalse(decoder.apply(ByteBuffer.wrap(stale), events::add));
+        assertEquals(77, SpectatorCodec.peekMatchId(ByteBuffer.wrap(stale)));
+        assertFalse(new SpectatorCodec.MatchDecoder(78).apply(ByteBuffer.wrap(stale), events::add));
+        assertEquals(0, SpectatorCodec.peekMatchId(ByteBuffer.wrap(new byte[] { 0x10, 1, 0, 0, 0, 77 })));
+
+        ByteBuffer next = frame(2, 0);
+        next.limit(next.limit() - 3);
+        assertFalse(decoder.apply(next, events::add));
+        assertEquals(20, decoder.getScore(1)); // 잘린 프레임 전 상태 그대로
+    }
+}